@@ -99,6 +99,9 @@ public class AutomatedSuite extends TestSuite {
 		addTest(new TestSuite(ProvideArgumentsTests.class));
 		addTest(new TestSuite(ContendedMonitorTests.class));
 
+		// JDWP recording and replay, no target VM required
+		addTest(new TestSuite(JdwpReplayTests.class));
+
 		// Java 19 capability tests
 		if (Runtime.version().feature() >= 19) {
 			addTest(new TestSuite(VirtualThreadTest.class));
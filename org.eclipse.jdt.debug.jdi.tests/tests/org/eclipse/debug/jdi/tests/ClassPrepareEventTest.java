@@ -14,6 +14,9 @@
 
 package org.eclipse.debug.jdi.tests;
 
+import java.util.List;
+
+import com.sun.jdi.ReferenceType;
 import com.sun.jdi.event.ClassPrepareEvent;
 import com.sun.jdi.request.ClassPrepareRequest;
 
@@ -82,4 +85,11 @@ public class ClassPrepareEventTest extends AbstractJDITest {
 	public void testJDIThread() {
 		assertEquals("1", "Test Thread", fEvent.thread().name());
 	}
+	/**
+	 * Test that a prepared class is found by name.
+	 */
+	public void testJDIClassesByNameAfterPrepare() {
+		List<ReferenceType> classes = fVM.classesByName("org.eclipse.debug.jdi.tests.program.TestClass");
+		assertTrue("Prepared class not found", classes.contains(fEvent.referenceType()));
+	}
 }
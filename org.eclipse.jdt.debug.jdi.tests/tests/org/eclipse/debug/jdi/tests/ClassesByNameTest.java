@@ -117,4 +117,17 @@ public class ClassesByNameTest extends AbstractJDITest {
 				&& ((Type) classes.get(0)).signature().equals(
 					"Ljava/lang/String;"));
 	}
+
+	/**
+	 * Test that repeated lookups return the same types, in lists owned by the
+	 * caller
+	 */
+	public void testJDIRepeatedLookup() {
+		List<?> first = fVM.classesByName("java.lang.String");
+		assertEquals("Should be one class for java.lang.String", 1, first.size());
+		first.clear();
+		List<?> second = fVM.classesByName("java.lang.String");
+		assertEquals("Cached lookup affected by caller", 1, second.size());
+		assertSame("Should be the same type", second.get(0), fVM.classesByName("java.lang.String").get(0));
+	}
 }
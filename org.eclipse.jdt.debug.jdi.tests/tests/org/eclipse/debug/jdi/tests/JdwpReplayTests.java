@@ -0,0 +1,661 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.jdi.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdi.internal.connect.RecordingConnection;
+import org.eclipse.jdi.internal.connect.ReplayConnection;
+import org.eclipse.jdi.internal.event.EventImpl;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpMetrics;
+import org.eclipse.jdi.internal.jdwp.JdwpPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+
+import com.sun.jdi.Field;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.VMDisconnectedException;
+import com.sun.jdi.Value;
+import com.sun.jdi.connect.spi.ClosedConnectionException;
+import com.sun.jdi.connect.spi.Connection;
+import com.sun.jdi.event.EventSet;
+import com.sun.jdi.event.StepEvent;
+import com.sun.jdi.request.ClassPrepareRequest;
+import com.sun.jdi.request.EventRequest;
+import com.sun.jdi.request.EventRequestManager;
+import com.sun.jdi.request.StepRequest;
+import com.sun.jdi.request.ThreadDeathRequest;
+import com.sun.jdi.request.ThreadStartRequest;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests recording JDWP sessions and replaying them without a target VM,
+ * measures replay of attach, stepping, variable expansion and request burst
+ * sessions, and tests the JDWP metrics kept per VM.
+ * <p>
+ * The sessions run against a scripted VM with a few threads suspended in one
+ * method of one class. Each benchmark checks the number of JDWP commands the
+ * session sends, as every command is a round trip to a remote target, and
+ * replays it with a latency per reply to check the time it takes is bound by
+ * those round trips.
+ * </p>
+ */
+public class JdwpReplayTests extends TestCase {
+
+	/**
+	 * Number of threads in the scripted VM
+	 */
+	static final int THREADS = 4;
+
+	/**
+	 * Number of stack frames of each thread in the scripted VM
+	 */
+	static final int FRAMES = 3;
+
+	/**
+	 * Number of int fields of the receiver of each frame in the scripted VM
+	 */
+	static final int FIELDS = 8;
+
+	static final long THREAD_ID = 1000;
+	static final long CLASS_ID = 2000;
+	static final long METHOD_ID = 3000;
+	static final long FRAME_ID = 4000;
+	static final long OBJECT_ID = 5000;
+	static final long FIELD_ID = 6000;
+
+	/**
+	 * Name of the class of the scripted VM
+	 */
+	static final String CLASS_NAME = "scripted.Worker";
+
+	/**
+	 * Latency per reply in milliseconds for the timed replays
+	 */
+	static final int LATENCY = 10;
+
+	/**
+	 * Milliseconds a timed replay may take beyond its latency
+	 */
+	static final int SLACK = 2000;
+
+	/**
+	 * A connection that answers commands like a minimal VM would, with
+	 * {@link JdwpReplayTests#THREADS} threads suspended in the same method.
+	 * Stepping a thread moves the code index of its frames by one.
+	 */
+	static class ScriptedConnection extends Connection {
+
+		private final LinkedList<byte[]> fReplies = new LinkedList<>();
+		private boolean fOpen = true;
+		private int fNextRequestId = 1;
+		private int fNextEventId = 1;
+
+		/**
+		 * Id of the enabled step request, or 0
+		 */
+		private int fStepRequestId = 0;
+
+		/**
+		 * Thread of the enabled step request
+		 */
+		private long fStepThread = 0;
+
+		/**
+		 * Number of steps done
+		 */
+		private long fSteps = 0;
+
+		/**
+		 * Whether the class is loaded, set by tests looking it up
+		 */
+		volatile boolean fLoaded = true;
+
+		@Override
+		public synchronized byte[] readPacket() throws IOException {
+			while (fOpen && fReplies.isEmpty()) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					throw new ClosedConnectionException();
+				}
+			}
+			if (!fOpen) {
+				throw new ClosedConnectionException();
+			}
+			return fReplies.removeFirst();
+		}
+
+		@Override
+		public synchronized void writePacket(byte[] packet) throws IOException {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(packet, 11, packet.length - 11));
+			ByteArrayOutputStream data = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(data);
+			boolean stepped = false;
+			short error = 0;
+			switch ((packet[9] << 8) + packet[10]) {
+				case JdwpCommandPacket.VM_ID_SIZES:
+					for (int i = 0; i < 5; i++) {
+						out.writeInt(8);
+					}
+					break;
+				case JdwpCommandPacket.VM_VERSION:
+					writeString(out, "Scripted VM");
+					out.writeInt(17);
+					out.writeInt(0);
+					writeString(out, "17");
+					writeString(out, "Scripted");
+					break;
+				case JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE:
+					byte[] signature = new byte[in.readInt()];
+					in.readFully(signature);
+					if (fLoaded && new String(signature, StandardCharsets.UTF_8).equals("L" + CLASS_NAME.replace('.', '/') + ";")) {
+						out.writeInt(1);
+						out.writeByte(1);
+						out.writeLong(CLASS_ID);
+						out.writeInt(7);
+					} else {
+						out.writeInt(0);
+					}
+					break;
+				case JdwpCommandPacket.VM_ALL_THREADS:
+					out.writeInt(THREADS);
+					for (int i = 0; i < THREADS; i++) {
+						out.writeLong(THREAD_ID + i);
+					}
+					break;
+				case JdwpCommandPacket.TR_NAME:
+					writeString(out, "Worker-" + (in.readLong() - THREAD_ID));
+					break;
+				case JdwpCommandPacket.TR_FRAMES:
+					in.readLong();
+					int start = in.readInt();
+					int length = in.readInt();
+					int count = length < 0 ? FRAMES - start : length;
+					out.writeInt(count);
+					for (int i = start; i < start + count; i++) {
+						out.writeLong(FRAME_ID + i);
+						writeLocation(out, fSteps + i);
+					}
+					break;
+				case JdwpCommandPacket.TR_RESUME:
+					stepped = fStepRequestId != 0 && in.readLong() == fStepThread;
+					break;
+				case JdwpCommandPacket.RT_METHODS_WITH_GENERIC:
+					out.writeInt(1);
+					out.writeLong(METHOD_ID);
+					writeString(out, "run");
+					writeString(out, "()V");
+					writeString(out, "");
+					out.writeInt(1);
+					break;
+				case JdwpCommandPacket.RT_FIELDS_WITH_GENERIC:
+					out.writeInt(FIELDS);
+					for (int i = 0; i < FIELDS; i++) {
+						out.writeLong(FIELD_ID + i);
+						writeString(out, "f" + i);
+						writeString(out, "I");
+						writeString(out, "");
+						out.writeInt(2);
+					}
+					break;
+				case JdwpCommandPacket.SF_THIS_OBJECT:
+					out.writeByte('L');
+					out.writeLong(OBJECT_ID);
+					break;
+				case JdwpCommandPacket.OR_REFERENCE_TYPE:
+					out.writeByte(1);
+					out.writeLong(CLASS_ID);
+					break;
+				case JdwpCommandPacket.OR_GET_VALUES:
+					in.readLong();
+					int values = in.readInt();
+					out.writeInt(values);
+					for (int i = 0; i < values; i++) {
+						out.writeByte('I');
+						out.writeInt((int) (in.readLong() - FIELD_ID));
+					}
+					break;
+				case JdwpCommandPacket.ER_SET:
+					int id = fNextRequestId++;
+					if (in.readByte() == EventImpl.EVENT_SINGLE_STEP) {
+						// suspend policy, modifier count and the step modifier
+						in.readByte();
+						in.readInt();
+						in.readByte();
+						fStepRequestId = id;
+						fStepThread = in.readLong();
+					}
+					out.writeInt(id);
+					break;
+				case JdwpCommandPacket.ER_CLEAR:
+					in.readByte();
+					if (in.readInt() == fStepRequestId) {
+						fStepRequestId = 0;
+					}
+					break;
+				default:
+					error = JdwpReplyPacket.NOT_IMPLEMENTED;
+			}
+			fReplies.add(packet(ByteBuffer.wrap(packet).getInt(4), JdwpPacket.FLAG_REPLY_PACKET, error, data.toByteArray()));
+			if (stepped) {
+				fSteps++;
+				data.reset();
+				out.writeByte(EventRequest.SUSPEND_EVENT_THREAD);
+				out.writeInt(1);
+				out.writeByte(EventImpl.EVENT_SINGLE_STEP);
+				out.writeInt(fStepRequestId);
+				out.writeLong(fStepThread);
+				writeLocation(out, fSteps);
+				fReplies.add(packet(fNextEventId++, (byte) 0, (short) JdwpCommandPacket.E_COMPOSITE, data.toByteArray()));
+			}
+			notifyAll();
+		}
+
+		/**
+		 * Returns a packet with the given id, flags, error code or command, and
+		 * body.
+		 */
+		private static byte[] packet(int id, byte flags, short code, byte[] body) throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(11 + body.length);
+			out.writeInt(id);
+			out.writeByte(flags);
+			out.writeShort(code);
+			out.write(body);
+			return bytes.toByteArray();
+		}
+
+		private static void writeLocation(DataOutputStream out, long index) throws IOException {
+			out.writeByte(1);
+			out.writeLong(CLASS_ID);
+			out.writeLong(METHOD_ID);
+			out.writeLong(index);
+		}
+
+		private static void writeString(DataOutputStream out, String string) throws IOException {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+
+		@Override
+		public synchronized void close() {
+			fOpen = false;
+			notifyAll();
+		}
+
+		@Override
+		public synchronized boolean isOpen() {
+			return fOpen;
+		}
+	}
+
+	/**
+	 * A debug session run against a VM
+	 */
+	interface Session {
+		/**
+		 * Runs the session and returns a description of what it saw, which is
+		 * the same for a recording and its replays.
+		 */
+		String run(VirtualMachineImpl vm) throws Exception;
+	}
+
+	/**
+	 * Number of JDWP commands sent by the last session run
+	 */
+	private long fCommands;
+
+	/**
+	 * Runs the given session against a VM on the given connection, and
+	 * closes the connection.
+	 */
+	private String run(Connection connection, Session session) throws Exception {
+		VirtualMachineImpl vm = new VirtualMachineImpl(connection);
+		try {
+			String result = session.run(vm);
+			fCommands = count(vm);
+			return result;
+		} finally {
+			connection.close();
+		}
+	}
+
+	/**
+	 * Returns the number of commands sent to the VM.
+	 */
+	private static long count(VirtualMachineImpl vm) {
+		long count = 0;
+		for (JdwpMetrics.CommandMetrics metrics : vm.metrics().getCommandMetrics()) {
+			if (metrics.getCommand() != JdwpCommandPacket.E_COMPOSITE) {
+				count += metrics.getCount();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of the given commands sent to the VM.
+	 */
+	private static long count(VirtualMachineImpl vm, int command) {
+		for (JdwpMetrics.CommandMetrics metrics : vm.metrics().getCommandMetrics()) {
+			if (metrics.getCommand() == command) {
+				return metrics.getCount();
+			}
+		}
+		return 0;
+	}
+
+	private byte[] record(Session session) throws Exception {
+		ByteArrayOutputStream recording = new ByteArrayOutputStream();
+		run(new RecordingConnection(new ScriptedConnection(), recording), session);
+		return recording.toByteArray();
+	}
+
+	private ReplayConnection replay(byte[] recording, int latency) throws IOException {
+		return new ReplayConnection(new ByteArrayInputStream(recording), latency);
+	}
+
+	/**
+	 * Replays the given recording of the given session with
+	 * {@link #LATENCY}, checking it sees what the recording saw and that it
+	 * takes the time of its round trips. Returns the elapsed time.
+	 */
+	private long replayTimed(byte[] recording, Session session, String expected) throws Exception {
+		long start = System.currentTimeMillis();
+		assertEquals("Wrong result from replay", expected, run(replay(recording, LATENCY), session));
+		long elapsed = System.currentTimeMillis() - start;
+		long bound = fCommands * LATENCY;
+		assertTrue("Latency not applied to " + fCommands + " commands: " + elapsed + "ms", elapsed >= bound);
+		assertTrue(fCommands + " commands took " + elapsed + "ms", elapsed < bound + SLACK);
+		return elapsed;
+	}
+
+	/**
+	 * Returns a session creating the given number of class prepare requests.
+	 */
+	private static Session requests(final int requests) {
+		return vm -> {
+			String version = vm.version();
+			EventRequestManager manager = vm.eventRequestManager();
+			for (int i = 0; i < requests; i++) {
+				ClassPrepareRequest request = manager.createClassPrepareRequest();
+				request.addClassFilter("a.b.C" + i);
+				request.enable();
+			}
+			return version;
+		};
+	}
+
+	/**
+	 * A session attaching to the VM like the debug target does: it reads the
+	 * version and the threads with their names, and requests thread start and
+	 * death events.
+	 */
+	private static String attach(VirtualMachineImpl vm) {
+		StringBuilder result = new StringBuilder(vm.version());
+		for (ThreadReference thread : vm.allThreads()) {
+			result.append(' ').append(thread.name());
+		}
+		EventRequestManager manager = vm.eventRequestManager();
+		ThreadStartRequest start = manager.createThreadStartRequest();
+		start.setSuspendPolicy(EventRequest.SUSPEND_NONE);
+		start.enable();
+		ThreadDeathRequest death = manager.createThreadDeathRequest();
+		death.setSuspendPolicy(EventRequest.SUSPEND_NONE);
+		death.enable();
+		return result.toString();
+	}
+
+	/**
+	 * Returns a session stepping over the given number of lines in the first
+	 * thread, reading its frames after each step like the debug target does.
+	 */
+	private static Session steps(final int steps) {
+		return vm -> {
+			ThreadReference thread = vm.allThreads().get(0);
+			EventRequestManager manager = vm.eventRequestManager();
+			StringBuilder result = new StringBuilder();
+			for (int i = 0; i < steps; i++) {
+				StepRequest request = manager.createStepRequest(thread, StepRequest.STEP_LINE, StepRequest.STEP_OVER);
+				request.setSuspendPolicy(EventRequest.SUSPEND_EVENT_THREAD);
+				request.enable();
+				thread.resume();
+				EventSet events = vm.eventQueue().remove(10000);
+				assertNotNull("No step event", events);
+				StepEvent event = (StepEvent) events.eventIterator().nextEvent();
+				assertEquals("Wrong step request", request, event.request());
+				List<StackFrame> frames = thread.frames();
+				assertEquals("Wrong frame count", FRAMES, frames.size());
+				result.append(frames.get(0).location().codeIndex()).append(' ');
+				manager.deleteEventRequest(request);
+			}
+			return result.toString();
+		};
+	}
+
+	/**
+	 * Returns a session expanding the receiver of the top frame of the first
+	 * thread the given number of times, like the variables view does at each
+	 * suspend.
+	 */
+	private static Session expansions(final int expansions) {
+		return vm -> {
+			ThreadReference thread = vm.allThreads().get(0);
+			StringBuilder result = new StringBuilder();
+			for (int i = 0; i < expansions; i++) {
+				ObjectReference object = thread.frame(0).thisObject();
+				List<Field> fields = object.referenceType().fields();
+				Map<Field, Value> values = object.getValues(fields);
+				for (Field field : fields) {
+					result.append(field.name()).append('=').append(values.get(field)).append(' ');
+				}
+			}
+			return result.toString();
+		};
+	}
+
+	/**
+	 * Tests that a recorded session replays with the same results.
+	 */
+	public void testRecordAndReplay() throws Exception {
+		byte[] recording = record(requests(10));
+		ReplayConnection replay = replay(recording, 0);
+		assertTrue("Recording should contain packets", replay.size() > 20);
+		assertEquals("Wrong version from replay", "17", run(replay, requests(10)));
+	}
+
+	/**
+	 * Tests that the same recording can be replayed repeatedly in one VM,
+	 * although command ids differ between sessions.
+	 */
+	public void testReplayTwice() throws Exception {
+		byte[] recording = record(requests(5));
+		for (int i = 0; i < 2; i++) {
+			assertEquals("Wrong version from replay", "17", run(replay(recording, 0), requests(5)));
+		}
+	}
+
+	/**
+	 * Tests that latency is added to replies.
+	 */
+	public void testReplayLatency() throws Exception {
+		byte[] recording = record(requests(3));
+		long start = System.currentTimeMillis();
+		run(replay(recording, 20), requests(3));
+		long elapsed = System.currentTimeMillis() - start;
+		// ID sizes, class unload request, version and three requests
+		assertTrue("Latency not applied: " + elapsed, elapsed >= 6 * 20);
+	}
+
+	/**
+	 * Tests that a session that diverges from the recording fails.
+	 */
+	public void testReplayDiverges() throws Exception {
+		byte[] recording = record(requests(1));
+		try {
+			run(replay(recording, 0), requests(2));
+			fail("Replay should fail when the session diverges");
+		} catch (VMDisconnectedException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Tests that JDWP metrics are recorded for every request.
+	 */
+	public void testMetrics() throws Exception {
+		Connection connection = new ScriptedConnection();
+		VirtualMachineImpl vm = new VirtualMachineImpl(connection);
+		try {
+			vm.version();
+			EventRequestManager manager = vm.eventRequestManager();
+			for (int i = 0; i < 3; i++) {
+				manager.createClassPrepareRequest().enable();
+			}
+			JdwpMetrics.CommandMetrics set = null;
+			for (JdwpMetrics.CommandMetrics metrics : vm.metrics().getCommandMetrics()) {
+				if (metrics.getCommand() == JdwpCommandPacket.ER_SET) {
+					set = metrics;
+				}
+			}
+			assertNotNull("No metrics for EventRequest.Set", set);
+			// the class unload request created by the VM and three class prepare requests
+			assertEquals("Wrong request count", 4, set.getCount());
+			assertEquals("Wrong reply bytes", 4 * 15, set.getBytesIn());
+			assertTrue("No latency recorded", set.getLatencyPercentile(1.0) > 0);
+			assertEquals("Unexpected timeouts", 0, set.getTimeouts());
+			assertTrue("Dump should name the command", vm.metrics().toString().contains("EVENT_REQUEST - SET"));
+			vm.metrics().reset();
+			assertTrue("Metrics not reset", vm.metrics().getCommandMetrics().isEmpty());
+		} finally {
+			connection.close();
+		}
+	}
+
+	/**
+	 * Tests that loaded types are looked up by name once, that a type that is
+	 * not loaded is looked up again until it is, and that no request is
+	 * registered to watch the class loads of the VM.
+	 */
+	public void testClassesByNameCache() throws Exception {
+		ScriptedConnection connection = new ScriptedConnection();
+		connection.fLoaded = false;
+		VirtualMachineImpl vm = new VirtualMachineImpl(connection);
+		try {
+			vm.version();
+			vm.metrics().reset();
+			for (int i = 0; i < 3; i++) {
+				assertTrue("Class should not be loaded", vm.classesByName(CLASS_NAME).isEmpty());
+			}
+			assertEquals("Lookups of a class that is not loaded should not be cached", 3, count(vm));
+			connection.fLoaded = true;
+			for (int i = 0; i < 3; i++) {
+				assertEquals("Class should be found once loaded", 1, vm.classesByName(CLASS_NAME).size());
+			}
+			assertEquals("Lookups of a loaded class should be cached", 4, count(vm));
+			assertEquals("No event request should be registered", 4, count(vm, JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE));
+		} finally {
+			connection.close();
+		}
+	}
+
+	/**
+	 * Replays attaching to a VM, which sends one command per thread to read
+	 * its name.
+	 */
+	public void testReplayAttach() throws Exception {
+		Session session = JdwpReplayTests::attach;
+		byte[] recording = record(session);
+		// ID sizes, class unload request, version, threads, a name per thread
+		// and the thread start and death requests
+		assertEquals("Wrong command count", 6 + THREADS, fCommands);
+		replayTimed(recording, session, "17 Worker-0 Worker-1 Worker-2 Worker-3");
+	}
+
+	/**
+	 * Replays stepping 20 lines, which sends four commands per step once the
+	 * method of the location is known.
+	 */
+	public void testReplayStepping() throws Exception {
+		int steps = 20;
+		Session session = steps(steps);
+		byte[] recording = record(session);
+		StringBuilder expected = new StringBuilder();
+		for (int i = 1; i <= steps; i++) {
+			expected.append(i).append(' ');
+		}
+		// ID sizes, class unload request, version, threads and the methods of
+		// the class, then per step the request, resume, frames and clear
+		assertEquals("Wrong command count", 5 + 4 * steps, fCommands);
+		replayTimed(recording, session, expected.toString());
+	}
+
+	/**
+	 * Replays expanding the receiver of a frame at ten suspends. The fields of
+	 * its type are read once; each later expansion sends four commands and is
+	 * faster than the first.
+	 */
+	public void testReplayVariableExpansion() throws Exception {
+		byte[] once = record(expansions(1));
+		long first = fCommands;
+		int expansions = 10;
+		byte[] recording = record(expansions(expansions));
+		// ID sizes, class unload request, threads, then the frame, methods,
+		// version, receiver, type, fields and values
+		assertEquals("Wrong command count of the first expansion", 10, first);
+		// frame, receiver, type and values
+		assertEquals("Wrong command count", first + 4 * (expansions - 1), fCommands);
+		String expected = run(new ScriptedConnection(), expansions(1));
+		assertEquals("Wrong fields", "f0=0 f1=1 f2=2 f3=3 f4=4 f5=5 f6=6 f7=7 ", expected);
+		long elapsedFirst = replayTimed(once, expansions(1), expected);
+		StringBuilder all = new StringBuilder();
+		for (int i = 0; i < expansions; i++) {
+			all.append(expected);
+		}
+		long elapsed = replayTimed(recording, expansions(expansions), all.toString());
+		assertTrue("Later expansions should be faster than the first: " + elapsed + "ms for " + expansions + ", " + elapsedFirst + "ms for the first",
+				(elapsed - elapsedFirst) / (expansions - 1) < elapsedFirst);
+	}
+
+	/**
+	 * Replays a burst of 1000 request creations, as done when installing
+	 * breakpoints, which sends one command per request.
+	 */
+	public void testReplayRequestBurst() throws Exception {
+		int requests = 1000;
+		byte[] recording = record(requests(requests));
+		// ID sizes, class unload request and version
+		assertEquals("Wrong command count", 3 + requests, fCommands);
+		long start = System.currentTimeMillis();
+		run(replay(recording, 0), requests(requests));
+		long elapsed = System.currentTimeMillis() - start;
+		assertTrue("Replay of " + requests + " requests took " + elapsed + "ms", elapsed < SLACK);
+	}
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+import java.util.concurrent.CountDownLatch;
+
+public class Deadlock {
+	static final Object first = new Object();
+	static final Object second = new Object();
+
+	public static void main(String[] args) throws Exception {
+		CountDownLatch locked = new CountDownLatch(2);
+		Thread one = new Thread(() -> lock(first, second, locked), "One");
+		Thread two = new Thread(() -> lock(second, first, locked), "Two");
+		Thread three = new Thread(() -> {
+			try {
+				locked.await();
+			} catch (InterruptedException e) {
+			}
+			synchronized (first) {
+			}
+		}, "Three");
+		one.setDaemon(true);
+		two.setDaemon(true);
+		three.setDaemon(true);
+		one.start();
+		two.start();
+		three.start();
+		while (one.getState() != Thread.State.BLOCKED || two.getState() != Thread.State.BLOCKED || three.getState() != Thread.State.BLOCKED) {
+			Thread.sleep(10);
+		}
+		System.out.println("deadlocked");
+	}
+
+	static void lock(Object a, Object b, CountDownLatch locked) {
+		synchronized (a) {
+			locked.countDown();
+			try {
+				locked.await();
+			} catch (InterruptedException e) {
+			}
+			synchronized (b) {
+			}
+		}
+	}
+}
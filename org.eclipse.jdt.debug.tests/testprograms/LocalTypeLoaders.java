@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LocalTypeLoaders {
+	public static void main(String[] args) throws Exception {
+		URL location = LocalTypeLoaders.class.getProtectionDomain().getCodeSource().getLocation();
+		List<Class<?>> copies = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			ClassLoader loader = new URLClassLoader(new URL[] { location }, null);
+			copies.add(loader.loadClass("LocalTypeLoaders"));
+		}
+		for (Class<?> copy : copies) {
+			copy.getMethod("run").invoke(null);
+		}
+		System.out.println("loaded");
+		for (Class<?> copy : copies) {
+			copy.getMethod("run").invoke(null);
+		}
+	}
+
+	public static void run() {
+		Runnable runnable = new Runnable() {
+			@Override
+			public void run() {
+				System.out.println("run");
+			}
+		};
+		runnable.run();
+	}
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package java6;
+
+import java.util.LinkedList;
+
+/**
+ * Class to test retained size estimates of structures with cycles
+ */
+public class RetainedSizeTests {
+
+	static class TreeNode {
+		TreeNode fParent;
+		TreeNode[] fChildren;
+
+		TreeNode(TreeNode parent, int depth) {
+			fParent = parent;
+			fChildren = new TreeNode[depth > 0 ? 2 : 0];
+			for (int i = 0; i < fChildren.length; i++) {
+				fChildren[i] = new TreeNode(this, depth - 1);
+			}
+		}
+	}
+
+	static class Tree {
+		TreeNode fRoot = new TreeNode(null, 2);
+	}
+
+	public static void main(String[] args) {
+		LinkedList linked = new LinkedList();
+		for (int i = 0; i < 100; i++) {
+			linked.add(new Object());
+		}
+		Tree tree = new Tree();
+		Tree leaked = new Tree();
+		Object[] outside = new Object[] { leaked.fRoot.fChildren[0] };
+		System.out.println("end");  //TODO breakpoint
+	}
+}
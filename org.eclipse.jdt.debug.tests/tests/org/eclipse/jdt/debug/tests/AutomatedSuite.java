@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,7 @@ import org.eclipse.jdt.debug.tests.breakpoints.ImportBreakpointsTest;
 import org.eclipse.jdt.debug.tests.breakpoints.JavaBreakpointListenerTests;
 import org.eclipse.jdt.debug.tests.breakpoints.JavaThreadEventHandlerTests;
 import org.eclipse.jdt.debug.tests.breakpoints.LambdaBreakpointsInJava8Tests;
+import org.eclipse.jdt.debug.tests.breakpoints.LocalTypeBreakpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.MethodBreakpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.MethodBreakpointTests15;
 import org.eclipse.jdt.debug.tests.breakpoints.MiscBreakpointsTests;
@@ -135,6 +136,7 @@ import org.eclipse.jdt.debug.tests.sourcelookup.ExternalArchiveSourceContainerTe
 import org.eclipse.jdt.debug.tests.sourcelookup.FolderSourceContainerTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.JarSourceLookupTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.JavaProjectSourceContainerTests;
+import org.eclipse.jdt.debug.tests.sourcelookup.JavaSourceLookupParticipantTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.ProjectSourceContainerTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.SourceLocationTests;
 import org.eclipse.jdt.debug.tests.sourcelookup.SourceLookupTests;
@@ -145,6 +147,7 @@ import org.eclipse.jdt.debug.tests.ui.DebugViewTests;
 import org.eclipse.jdt.debug.tests.ui.DetailPaneManagerTests;
 import org.eclipse.jdt.debug.tests.ui.JavaSnippetEditorTest;
 import org.eclipse.jdt.debug.tests.ui.OpenFromClipboardTests;
+import org.eclipse.jdt.debug.tests.ui.ScrapbookVMPoolTests;
 import org.eclipse.jdt.debug.tests.ui.ViewManagementTests;
 import org.eclipse.jdt.debug.tests.ui.presentation.ModelPresentationTests;
 import org.eclipse.jdt.debug.tests.ui.presentation.ModelPresentationTests18;
@@ -214,6 +217,7 @@ public class AutomatedSuite extends DebugSuite {
 		addTest(new TestSuite(ExternalArchiveSourceContainerTests.class));
 		addTest(new TestSuite(ArchiveSourceLookupTests.class));
 		addTest(new TestSuite(JavaProjectSourceContainerTests.class));
+		addTest(new TestSuite(JavaSourceLookupParticipantTests.class));
 		addTest(new TestSuite(SourceLocationTests.class));
 		addTest(new TestSuite(TypeResolutionTests.class));
 		addTest(new TestSuite(JarSourceLookupTests.class));
@@ -329,6 +333,7 @@ public class AutomatedSuite extends DebugSuite {
 
 	// Scrapbook editor tests
 		addTest(new TestSuite(JavaSnippetEditorTest.class));
+		addTest(new TestSuite(ScrapbookVMPoolTests.class));
 
 	// Debug hover tests
 		addTest(new TestSuite(DebugHoverTests.class));
@@ -368,6 +373,7 @@ public class AutomatedSuite extends DebugSuite {
 		addTest(new TestSuite(TypeNameBreakpointTests.class));
 		addTest(new TestSuite(DeferredBreakpointTests.class));
 		addTest(new TestSuite(HitCountBreakpointsTests.class));
+		addTest(new TestSuite(LocalTypeBreakpointTests.class));
 		addTest(new TestSuite(ThreadFilterBreakpointsTests.class));
 		addTest(new TestSuite(SuspendVMBreakpointsTests.class));
 		addTest(new TestSuite(SuspendVMConditionalBreakpointsTests.class));
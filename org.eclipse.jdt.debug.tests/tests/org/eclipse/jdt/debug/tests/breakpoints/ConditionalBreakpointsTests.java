@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,8 @@ import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.debug.tests.TestUtil;
+import org.eclipse.jdt.internal.debug.core.breakpoints.ConditionPredicate;
+import org.eclipse.jdt.internal.debug.core.model.JDIStackFrame;
 
 /**
  * Tests conditional breakpoints.
@@ -65,6 +67,68 @@ public class ConditionalBreakpointsTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests a condition combining locals, arithmetic and array length, which
+	 * is evaluated without the evaluation engine
+	 * @throws Exception
+	 */
+	public void testCompoundSimpleConditionalBreakpoint() throws Exception {
+		String typeName = "HitCountLooper";
+		String condition = "i > 2 && i % 2 == 0 && args.length == 0 && args != null";
+		IJavaLineBreakpoint bp = createConditionalLineBreakpoint(19, typeName, condition, true);
+
+		IJavaThread thread= null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+
+			IJavaStackFrame frame = (IJavaStackFrame)thread.getTopStackFrame();
+			IVariable var = findVariable(frame, "i");
+			assertNotNull("Could not find variable 'i'", var);
+
+			IJavaPrimitiveValue value = (IJavaPrimitiveValue)var.getValue();
+			assertNotNull("variable 'i' has no value", value);
+			int iValue = value.getIntValue();
+			assertEquals("value of 'i' should be '4', but was " + iValue, 4, iValue);
+			assertEquals("condition should be evaluated without the engine", Boolean.TRUE,
+					ConditionPredicate.evaluate(condition, ((JDIStackFrame) frame).getUnderlyingStackFrame()));
+
+			bp.delete();
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that fields read by simple conditions are resolved against the
+	 * declared type of their qualifier, and that fields which are not
+	 * accessible are left to the evaluation engine
+	 * @throws Exception
+	 */
+	public void testSimpleConditionResolvesDeclaredField() throws Exception {
+		String typeName = "InstanceVariablesTests";
+		IJavaLineBreakpoint bp = createLineBreakpoint(33, typeName);
+
+		IJavaThread thread= null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+
+			JDIStackFrame frame = (JDIStackFrame)thread.getTopStackFrame();
+			// 'ivt' is declared as InstanceVariablesTests and is an IVTSubclass, which hides 'pubStr' and 'protStr'
+			assertEquals("public field should be read from the declared type", Boolean.TRUE,
+					ConditionPredicate.evaluate("ivt.pubStr.equals(\"public\")", frame.getUnderlyingStackFrame()));
+			assertEquals("protected field should be read from the declared type", Boolean.TRUE,
+					ConditionPredicate.evaluate("ivt.protStr.equals(\"protected\")", frame.getUnderlyingStackFrame()));
+			assertEquals("private field of the same type should be read", Boolean.TRUE,
+					ConditionPredicate.evaluate("ivt.privStr.equals(\"private\")", frame.getUnderlyingStackFrame()));
+			assertNull("private field of another type should be left to the engine",
+					ConditionPredicate.evaluate("ivt.date.fastTime == 0", frame.getUnderlyingStackFrame()));
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	/**
 	 * Tests a static method call that has a conditional breakpoint on it
 	 * @throws Exception
@@ -25,6 +25,8 @@ import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.tests.ui.AbstractDebugUiTests;
+import org.eclipse.jdt.internal.debug.core.breakpoints.SharedClassPrepareRequests;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.ui.IEditorPart;
 
 /**
@@ -167,4 +169,29 @@ public class DeferredBreakpointTests extends AbstractDebugUiTests {
 			getBreakpointManager().setEnabled(true);
 		}
 	}
+
+	/**
+	 * Tests that breakpoints in the same type share their class prepare
+	 * requests and are all hit
+	 * @throws Exception
+	 */
+	public void testSharedClassPrepareRequests() throws Exception {
+		String typeName = "Breakpoints";
+		ILineBreakpoint first = createLineBreakpoint(55, typeName);
+		ILineBreakpoint second = createLineBreakpoint(57, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread= launchToLineBreakpoint(typeName, first);
+			if (SharedClassPrepareRequests.isEnabled()) {
+				JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+				assertEquals("Requests should be shared by both breakpoints", 2, target.getSharedClassPrepareRequests().size());
+			}
+			thread= resumeToLineBreakpoint(thread, second);
+			resumeAndExit(thread);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
 }
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.breakpoints;
+
+import java.util.Map;
+
+import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaObject;
+import org.eclipse.jdt.debug.core.IJavaStackFrame;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.debug.tests.ui.Accessor;
+import org.eclipse.jdt.internal.debug.core.breakpoints.LocalTypeIndex;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+
+/**
+ * Tests installing breakpoints in local and anonymous types that are loaded
+ * by more than one class loader.
+ */
+public class LocalTypeBreakpointTests extends AbstractDebugTest {
+
+	private static final String TYPE_NAME = "LocalTypeLoaders";
+
+	private static final String ANONYMOUS_TYPE_NAME = "LocalTypeLoaders$1";
+
+	/**
+	 * Line in the anonymous type
+	 */
+	private static final int LINE = 40;
+
+	/**
+	 * Constructor
+	 * @param name
+	 */
+	public LocalTypeBreakpointTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Tests that a breakpoint in a local type without a location hint is
+	 * installed in the copies of every class loader, and that the hint is
+	 * remembered.
+	 *
+	 * @throws Exception
+	 */
+	public void testInstallWithoutHint() throws Exception {
+		assertInstalledInAllLoaders(null, true);
+	}
+
+	/**
+	 * Tests that a breakpoint in a local type with a location hint is
+	 * installed in the copies of every class loader without building the
+	 * local type index.
+	 *
+	 * @throws Exception
+	 */
+	public void testInstallWithHint() throws Exception {
+		assertInstalledInAllLoaders(ANONYMOUS_TYPE_NAME, false);
+	}
+
+	/**
+	 * Tests that a breakpoint in a local type whose location hint names a
+	 * type that is not loaded falls back to the local type index, and that
+	 * the hint is corrected.
+	 *
+	 * @throws Exception
+	 */
+	public void testInstallWithStaleHint() throws Exception {
+		assertInstalledInAllLoaders("LocalTypeLoaders$2", true);
+	}
+
+	/**
+	 * Tests that a type tracked while it is not loaded does not make the
+	 * local type index take another snapshot of the loaded classes, and that
+	 * a loaded type tracked after the snapshot does.
+	 *
+	 * @throws Exception
+	 */
+	public void testTrackingAfterSnapshot() throws Exception {
+		IJavaLineBreakpoint bp = createLineBreakpoint(30, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(TYPE_NAME, bp);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			LocalTypeIndex index = target.getLocalTypeIndex();
+			Accessor accessor = new Accessor(index, LocalTypeIndex.class);
+			long snapshot = ((Long) accessor.get("fSnapshot")).longValue();
+
+			index.tracking("a.b.NotLoaded");
+			Map<?, ?> tracked = (Map<?, ?>) accessor.get("fTracked");
+			assertEquals("Type that is not loaded should be complete", Long.valueOf(0), tracked.get("a.b.NotLoaded"));
+			index.tracking("java.lang.Thread");
+			assertTrue("Loaded type should need a snapshot", ((Long) tracked.get("java.lang.Thread")).longValue() > snapshot);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Adds a breakpoint in the anonymous type of the test program once both
+	 * class loaders have loaded it, and checks that the breakpoint suspends in
+	 * the copy of each loader.
+	 *
+	 * @param hint location hint to start with, or <code>null</code>
+	 * @param built whether the local type index is expected to be built
+	 */
+	private void assertInstalledInAllLoaders(String hint, boolean built) throws Exception {
+		IJavaLineBreakpoint loaded = createLineBreakpoint(30, TYPE_NAME);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(TYPE_NAME, loaded);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			String project = loaded.getMarker().getResource().getProject().getName();
+			LocalTypeIndex.setLocationHint(project, TYPE_NAME, LINE, hint);
+			LocalTypeIndex.setLocationHint("Other", TYPE_NAME, LINE, "LocalTypeLoaders$2");
+			IJavaLineBreakpoint bp = createLineBreakpoint(LINE, TYPE_NAME);
+
+			thread = resumeToLineBreakpoint(thread, bp);
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			assertEquals("Should suspend in the anonymous type", ANONYMOUS_TYPE_NAME, frame.getDeclaringTypeName());
+			IJavaObject first = frame.getReferenceType().getClassLoaderObject();
+
+			thread = resumeToLineBreakpoint(thread, bp);
+			frame = (IJavaStackFrame) thread.getTopStackFrame();
+			assertEquals("Should suspend in the anonymous type", ANONYMOUS_TYPE_NAME, frame.getDeclaringTypeName());
+			IJavaObject second = frame.getReferenceType().getClassLoaderObject();
+			assertFalse("Should suspend in the copy of each class loader", first.equals(second));
+
+			assertEquals("Local type index built", built, target.getLocalTypeIndex().isBuilt());
+			assertEquals("Wrong location hint", ANONYMOUS_TYPE_NAME, LocalTypeIndex.getLocationHint(project, TYPE_NAME, LINE));
+			assertEquals("Hint of another project should be kept", "LocalTypeLoaders$2", LocalTypeIndex.getLocationHint("Other", TYPE_NAME, LINE));
+
+			resumeAndExit(thread);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+}
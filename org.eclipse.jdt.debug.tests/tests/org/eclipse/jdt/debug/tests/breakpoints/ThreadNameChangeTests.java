@@ -42,6 +42,7 @@ import org.eclipse.jface.preference.IPreferenceStore;
 public class ThreadNameChangeTests extends AbstractDebugTest {
 
 	private static final String DISABLE_THREAD_NAME_CHANGE_LISTENER = "org.eclipse.jdt.internal.debug.core.model.ThreadNameChangeListener.disable";
+	private static final String THREAD_NAME_REFRESH_MODE = "org.eclipse.jdt.internal.debug.core.model.ThreadNameChangeListener.mode";
 
 	/**
 	 * Constructor
@@ -152,6 +153,58 @@ public class ThreadNameChangeTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests that thread names are refreshed when a thread suspends if names are refreshed lazily
+	 *
+	 * @throws Exception
+	 */
+	public void testLazyThreadNameRefresh() throws Exception {
+		System.setProperty(THREAD_NAME_REFRESH_MODE, "lazy");
+
+		String typeName = "ThreadNameChange";
+		final int bpLine1 = 39;
+		final int bpLine2 = 43;
+
+		IJavaLineBreakpoint bp1 = createLineBreakpoint(bpLine1, "", typeName + ".java", typeName);
+		IJavaLineBreakpoint bp2 = createLineBreakpoint(bpLine2, "", typeName + ".java", typeName);
+		bp1.setSuspendPolicy(IJavaBreakpoint.SUSPEND_THREAD);
+		bp2.setSuspendPolicy(IJavaBreakpoint.SUSPEND_THREAD);
+		AtomicReference<List<DebugEvent>> events = new AtomicReference<>(new ArrayList<>());
+		IDebugEventSetListener listener = new IDebugEventSetListener() {
+			@Override
+			public void handleDebugEvents(DebugEvent[] e) {
+				events.get().addAll(Arrays.asList(e));
+			}
+		};
+		DebugPlugin.getDefault().addDebugEventListener(listener);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp1);
+			TestUtil.waitForJobs(getName(), 100, 3000);
+
+			// expect that thread with name "1" is started
+			IThread second = findThread(thread, "1");
+			assertNotNull(second);
+			events.get().clear();
+
+			resumeToLineBreakpoint(thread, bp2);
+			TestUtil.waitForJobs(getName(), 1000, 3000);
+
+			// expect one single "CHANGE" event for second thread, from the refresh after suspending
+			List<DebugEvent> changeEvents = getStateChangeEvents(events, second);
+			assertEquals("unexpected number of events: " + changeEvents, 1, changeEvents.size());
+
+			// expect that thread name is changed to "2"
+			assertEquals("2", second.getName());
+		}
+		finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+			DebugPlugin.getDefault().removeDebugEventListener(listener);
+			System.getProperties().remove(THREAD_NAME_REFRESH_MODE);
+		}
+	}
+
 	private List<DebugEvent> getStateChangeEvents(AtomicReference<List<DebugEvent>> events, IThread second) {
 		List<DebugEvent> list = events.get();
 		Stream<DebugEvent> filtered = list.stream().filter(x -> x.getKind() == DebugEvent.CHANGE && x.getDetail() == DebugEvent.STATE
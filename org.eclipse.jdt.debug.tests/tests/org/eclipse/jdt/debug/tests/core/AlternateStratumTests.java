@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,10 @@
 package org.eclipse.jdt.debug.tests.core;
 
 import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -29,7 +33,12 @@ import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.debug.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.debug.testplugin.JavaTestPlugin;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.debug.tests.ui.Accessor;
 import org.eclipse.jdt.internal.debug.core.JavaDebugUtils;
+import org.eclipse.jdt.internal.debug.core.breakpoints.StratumIndex;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+
+import com.sun.jdi.ReferenceType;
 
 /**
  * Tests strata.
@@ -161,6 +170,37 @@ public class AlternateStratumTests extends AbstractDebugTest {
 		}
 	}
 
+	public void testStratumIndex() throws Exception {
+		String typeName = "HelloWorld";
+		prepareXtendBreakpoint(typeName, 3);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			StratumIndex index = ((JDIDebugTarget) thread.getDebugTarget()).getStratumIndex();
+			Predicate<String> helloWorld = name -> name.equals(typeName);
+			List<ReferenceType> types = index.getTypes("Xtend", helloWorld, "HelloWorld.xtend", null);
+			assertEquals("Wrong number of types", 1, types.size());
+			assertEquals("Wrong type", typeName, types.get(0).name());
+			assertTrue("Java source name should not match in Xtend stratum", index.getTypes("Xtend", helloWorld, "HelloWorld.java", null).isEmpty());
+			assertTrue("Filtered out type should not match", index.getTypes("Xtend", name -> false, "HelloWorld.xtend", null).isEmpty());
+			types = index.getTypes("Java", helloWorld, "HelloWorld.java", null);
+			assertEquals("Wrong number of types", 1, types.size());
+
+			int loaded = index.getTypes("Java", name -> true, null, null).size();
+			Map<?, ?> strata = (Map<?, ?>) new Accessor(index, StratumIndex.class).get("fStrata");
+			Object entries = strata.get("Java");
+			Set<?> indexed = (Set<?>) new Accessor(entries, entries.getClass()).get("fIndexed");
+			assertEquals("Only types matching the filter should be indexed", 1, indexed.size());
+			assertTrue("Loaded types should be known", loaded > 1);
+		}
+		finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	@Override
 	protected IJavaProject getProjectContext() {
 		return get15Project();
@@ -26,14 +26,19 @@ import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.model.IStackFrame;
+import org.eclipse.debug.core.model.IThread;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.debug.tests.TestUtil;
 import org.eclipse.jdt.internal.debug.core.EventDispatcher.AbstractDispatchJob;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 
 public class EventDispatcherTest extends AbstractDebugTest {
 
+	private static final String COALESCE_THREAD_EVENTS = "org.eclipse.jdt.internal.debug.core.model.ThreadLifecycle.coalesce";
+	private static final String EXCLUDE_THREAD_NAMES = "org.eclipse.jdt.internal.debug.core.model.ThreadLifecycle.excludeNames";
+
 	private JobChangeAdapter jobListener;
 	private Map<AbstractDispatchJob, Object> jobs;
 
@@ -103,6 +108,82 @@ public class EventDispatcherTest extends AbstractDebugTest {
 		assertEquals("Unexpected number of event dispatching jobs: " + jobs.size() + " | " + jobs.keySet(), 0, jobs.size());
 	}
 
+	/**
+	 * Tests that with coalesced thread lifecycle events every reported thread start is matched by a terminate event, and that no bulk thread
+	 * remains in the target once all of them were joined.
+	 */
+	public void testCoalescedThreadLifecycle() throws Exception {
+		System.setProperty(COALESCE_THREAD_EVENTS, String.valueOf(Boolean.TRUE));
+		AtomicInteger created = new AtomicInteger();
+		AtomicInteger terminated = new AtomicInteger();
+		IDebugEventSetListener debugListener = events -> {
+			for (DebugEvent event : events) {
+				if (event.getSource() instanceof JDIThread && isBulkThread((JDIThread) event.getSource())) {
+					if (event.getKind() == DebugEvent.CREATE) {
+						created.incrementAndGet();
+					} else if (event.getKind() == DebugEvent.TERMINATE) {
+						terminated.incrementAndGet();
+					}
+				}
+			}
+		};
+		IJavaThread suspendedThread = null;
+		try {
+			DebugPlugin.getDefault().addDebugEventListener(debugListener);
+			createLineBreakpoint(27, "BulkThreadCreationTest");
+			suspendedThread = launchToBreakpoint("BulkThreadCreationTest");
+			TestUtil.waitForJobs(getName(), 500, 5000);
+
+			for (IThread thread : suspendedThread.getDebugTarget().getThreads()) {
+				assertFalse("Bulk thread still present: " + thread.getName(), isBulkThread((JDIThread) thread));
+			}
+			assertTrue("Too many thread-create events: " + created.get(), created.get() <= 1000);
+			assertEquals("Thread-create events not matched by terminate events", created.get(), terminated.get());
+		}
+		finally {
+			terminateAndRemove(suspendedThread);
+			removeAllBreakpoints();
+			DebugPlugin.getDefault().removeDebugEventListener(debugListener);
+			System.getProperties().remove(COALESCE_THREAD_EVENTS);
+		}
+	}
+
+	/**
+	 * Tests that threads excluded by name are not tracked.
+	 */
+	public void testExcludedThreadNames() throws Exception {
+		System.setProperty(EXCLUDE_THREAD_NAMES, "bulk-*");
+		AtomicInteger created = new AtomicInteger();
+		IDebugEventSetListener debugListener = events -> {
+			for (DebugEvent event : events) {
+				if (event.getKind() == DebugEvent.CREATE && event.getSource() instanceof JDIThread && isBulkThread((JDIThread) event.getSource())) {
+					created.incrementAndGet();
+				}
+			}
+		};
+		IJavaThread suspendedThread = null;
+		try {
+			DebugPlugin.getDefault().addDebugEventListener(debugListener);
+			createLineBreakpoint(27, "BulkThreadCreationTest");
+			suspendedThread = launchToBreakpoint("BulkThreadCreationTest");
+			assertEquals("Excluded threads were reported", 0, created.get());
+		}
+		finally {
+			terminateAndRemove(suspendedThread);
+			removeAllBreakpoints();
+			DebugPlugin.getDefault().removeDebugEventListener(debugListener);
+			System.getProperties().remove(EXCLUDE_THREAD_NAMES);
+		}
+	}
+
+	private static boolean isBulkThread(JDIThread thread) {
+		try {
+			return thread.getName().startsWith("bulk-");
+		} catch (DebugException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * Tests that a conditional breakpoint with an expression that will hit a breakpoint will complete the conditional expression evaluation (bug
 	 * 269231) and that we dispatch events for conditional breakpoints in dedicated jobs.
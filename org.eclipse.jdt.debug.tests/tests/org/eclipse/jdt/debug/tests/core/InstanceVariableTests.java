@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.jdt.debug.tests.core;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.debug.core.model.ILineBreakpoint;
 import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
@@ -26,6 +27,8 @@ import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 
 public class InstanceVariableTests extends AbstractDebugTest {
 
@@ -226,4 +229,38 @@ public class InstanceVariableTests extends AbstractDebugTest {
 			removeAllBreakpoints();
 		}
 	}
+
+	public void testPrefetchExpandedVariables() throws Exception {
+		String typeName = "InstanceVariablesTests";
+
+		ILineBreakpoint bp = createLineBreakpoint(31, typeName);
+
+		IJavaThread thread= null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+
+			IJavaStackFrame frame = (IJavaStackFrame)thread.getTopStackFrame();
+			JDIDebugTarget target = (JDIDebugTarget)frame.getDebugTarget();
+			IVariable thisVar = findVariable(frame, "this");
+			assertNotNull("Could not find variable 'this'", thisVar);
+
+			// expand 'this' and 'this.date'
+			IJavaObject thisObject = (IJavaObject)thisVar.getValue();
+			thisObject.getVariables();
+			IJavaVariable date = thisObject.getField("date", false);
+			assertNotNull("Could not find field 'date'", date);
+			date.getValue().getVariables();
+
+			// the expanded paths are read again after a step in the same method
+			stepOver(frame);
+			frame = (IJavaStackFrame)thread.getTopStackFrame();
+			assertEquals("Should be on line 32", 32, frame.getLineNumber());
+			int read = target.getVariablePrefetcher().prefetch((JDIThread)thread, new NullProgressMonitor());
+			assertTrue("Expanded paths should be prefetched", read > 0);
+			assertEquals("'this' should be unchanged", thisObject, findVariable(frame, "this").getValue());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
 }
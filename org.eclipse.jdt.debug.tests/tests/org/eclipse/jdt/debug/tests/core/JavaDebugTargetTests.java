@@ -16,15 +16,21 @@ package org.eclipse.jdt.debug.tests.core;
 import static org.junit.Assert.assertNotEquals;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.debug.core.model.IBreakpoint;
+import org.eclipse.debug.core.model.IThread;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.debug.core.IJavaBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.model.DeadlockDetector;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 
 /**
@@ -178,6 +184,47 @@ public class JavaDebugTargetTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests that the debug target finds the threads deadlocked on monitors,
+	 * and the threads waiting for them
+	 */
+	public void testDetectDeadlocks() throws Exception {
+		String typeName = "Deadlock";
+		IJavaLineBreakpoint bp = createLineBreakpoint(41, typeName);
+		bp.setSuspendPolicy(IJavaBreakpoint.SUSPEND_VM);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			if (!target.supportsMonitorInformation()) {
+				return;
+			}
+			DeadlockDetector.Result result = target.detectDeadlocks();
+			assertTrue("Deadlock not found", result.hasDeadlock());
+			assertEquals(1, result.getCycles().size());
+			IJavaThread[] cycle = result.getCycles().get(0);
+			assertEquals(2, cycle.length);
+			Set<String> names = new HashSet<>();
+			for (IJavaThread deadlocked : cycle) {
+				names.add(deadlocked.getName());
+			}
+			assertEquals(new HashSet<>(Arrays.asList("One", "Two")), names);
+			for (IThread other : target.getThreads()) {
+				boolean expected = names.contains(other.getName()) || "Three".equals(other.getName());
+				assertEquals(other.getName(), expected, result.isInDeadlock((IJavaThread) other));
+			}
+			assertFalse(result.isInDeadlock(thread));
+
+			DeadlockDetector sequential = new DeadlockDetector(target);
+			sequential.setConcurrency(1);
+			assertEquals(1, sequential.detect().getCycles().size());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	private List<IBreakpoint> getUserBreakpoints(JDIDebugTarget target) {
 		List<IBreakpoint> breakpoints = target.getBreakpoints();
 		return breakpoints;
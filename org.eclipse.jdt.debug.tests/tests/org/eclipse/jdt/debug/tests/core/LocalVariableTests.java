@@ -26,8 +26,10 @@ import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.debug.tests.TestAgainException;
 import org.eclipse.jdt.internal.debug.core.model.JDIArrayValue;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDILocalVariable;
 import org.eclipse.jdt.internal.debug.core.model.JDINullValue;
+import org.eclipse.jdt.internal.debug.core.model.SuspendSnapshot;
 
 public class LocalVariableTests extends AbstractDebugTest implements IValueDetailListener {
 
@@ -157,6 +159,38 @@ public class LocalVariableTests extends AbstractDebugTest implements IValueDetai
 		}
 	}
 
+	public void testSuspendSnapshot() throws Exception {
+		String typeName = "LocalVariablesTests";
+
+		ILineBreakpoint bp = createLineBreakpoint(25, typeName);
+
+		IJavaThread thread= null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+
+			IJavaStackFrame frame = (IJavaStackFrame)thread.getTopStackFrame();
+			JDIDebugTarget target = (JDIDebugTarget)frame.getDebugTarget();
+			IVariable i1 = findVariable(frame, "i1");
+			assertNotNull("Could not find variable 'i1'", i1);
+			assertEquals("'i1' value should be '0'", target.newValue(0), i1.getValue());
+			SuspendSnapshot snapshot = target.getSnapshot();
+			assertEquals("'i2' value should be '1'", target.newValue(1), findVariable(frame, "i2").getValue());
+			assertSame("Snapshot should be kept while suspended", snapshot, target.getSnapshot());
+
+			i1.setValue("5");
+			assertNotSame("Snapshot should be discarded on modification", snapshot, target.getSnapshot());
+			assertEquals("'i1' value should be '5'", target.newValue(5), i1.getValue());
+
+			snapshot = target.getSnapshot();
+			stepOver(frame);
+			SuspendSnapshot next = target.getSnapshot();
+			assertTrue("Snapshot should be discarded on step", next.getEpoch() > snapshot.getEpoch());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	protected void doArrayDetailTestNonDefPkg(String varName, String expectedDetails) throws Exception {
 		doArrayDetailTest(varName, expectedDetails, "org.eclipse.debug.tests.targets.ArrayDetailTests", 67);
 	}
@@ -71,6 +71,35 @@ public class WatchExpressionTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Test watch expressions evaluated in one batch in the same frame.
+	 */
+	public void testDeferredExpressions() throws Exception {
+		IWatchExpression first = getExpressionManager().newWatchExpression("((Integer)fVector.get(3)).intValue()");
+		IWatchExpression second = getExpressionManager().newWatchExpression("((Integer)fVector.get(4)).intValue() + 1");
+		getExpressionManager().addExpressions(new IWatchExpression[] { first, second });
+		String typeName = "WatchItemTests";
+		createLineBreakpoint(42, typeName);
+		IJavaThread thread= null;
+		try {
+			DebugElementEventWaiter firstWaiter = new ExpressionWaiter(DebugEvent.CHANGE, first);
+			DebugElementEventWaiter secondWaiter = new ExpressionWaiter(DebugEvent.CHANGE, second);
+			firstWaiter.setTimeout(60000);
+			secondWaiter.setTimeout(60000);
+			thread= launchToBreakpoint(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			assertNotNull("First watch expression did not change", firstWaiter.waitForEvent());
+			assertNotNull("Second watch expression did not change", secondWaiter.waitForEvent());
+			IJavaDebugTarget target = (IJavaDebugTarget)thread.getDebugTarget();
+			assertEquals("First watch expression should be Integer(3)", target.newValue(3), first.getValue());
+			assertEquals("Second watch expression should be Integer(5)", target.newValue(5), second.getValue());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+			removeAllExpressions();
+		}
+	}
+
 	/**
 	 * Test a watch expression that is created while a program is suspended.
      *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Gayan Perera and others.
+ * Copyright (c) 2021, 2026 Gayan Perera and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,16 @@ package org.eclipse.jdt.debug.tests.eval;
 
 import org.eclipse.debug.core.model.IValue;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.eval.IAstEvaluationEngine;
+import org.eclipse.jdt.debug.eval.ICompiledExpression;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.debug.tests.ui.Accessor;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.BinaryOperator;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.Instruction;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.InstructionSequence;
 
 public class ExpressionEvalTest extends AbstractDebugTest {
 	private IJavaThread javaThread;
@@ -111,6 +119,72 @@ public class ExpressionEvalTest extends AbstractDebugTest {
 		assertEquals("value is not false", "false", value.getValueString());
 	}
 
+	public void testConstantExpressions_Folded() throws Exception {
+		debugWithBreakpoint("EvalSimpleTests", 18);
+		IValue value = doEval(javaThread, "Integer.MAX_VALUE + 1 == Integer.MIN_VALUE");
+		assertNotNull("value is null", value);
+		assertEquals("int overflow not preserved", "true", value.getValueString());
+
+		value = doEval(javaThread, "1L << 40");
+		assertNotNull("value is null", value);
+		assertEquals("wrong long value", "1099511627776", value.getValueString());
+
+		value = doEval(javaThread, "\"a\" + 1 + 'b' + (2 + 3)");
+		assertNotNull("value is null", value);
+		assertEquals("wrong string value", "a1b5", value.getValueString());
+
+		value = doEval(javaThread, "-(7 / 2) * 1.5f");
+		assertNotNull("value is null", value);
+		assertEquals("wrong float value", "-4.5", value.getValueString());
+	}
+
+	public void testRepeatedEvaluation_SameValues() throws Exception {
+		debugWithBreakpoint("EvalSimpleTests", 18);
+		for (int i = 0; i < 10; i++) {
+			IValue value = doEval(javaThread, "(args.length < 2) == !(args.length > 4) && args.length == 0");
+			assertNotNull("value is null", value);
+			assertEquals("value is not true", "true", value.getValueString());
+		}
+	}
+
+	public void testCompiledExpression_ReusedInSameFrame() throws Exception {
+		debugWithBreakpoint("EvalSimpleTests", 18);
+		IJavaStackFrame frame = (IJavaStackFrame) javaThread.getTopStackFrame();
+		IAstEvaluationEngine engine = ((JDIDebugTarget) javaThread.getDebugTarget()).getEvaluationEngine(getProjectContext());
+		ICompiledExpression first = engine.getCompiledExpression("args.length + 1", frame);
+		assertFalse("expression has errors", first.hasErrors());
+		assertSame("expression compiled again", first, engine.getCompiledExpression("args.length + 1", frame));
+		assertNotSame("other snippet not compiled", first, engine.getCompiledExpression("args.length + 2", frame));
+	}
+
+	public void testPrimitiveIntermediates() throws Exception {
+		debugWithBreakpoint("EvalSimpleTests", 18);
+		String[][] expressions = {
+				{ "(args.length + 1) * 3 - (args.length + 10) / 4", "1" },
+				{ "(args.length + Integer.MAX_VALUE) + 1 == Integer.MIN_VALUE", "true" },
+				{ "(args.length + 16777217L) * 1.0f", "1.6777216E7" },
+				{ "(args.length + 0.5f) * 3 < (args.length + 1) * 1.5", "false" },
+				{ "(args.length + 1L) << 40", "1099511627776" },
+				{ "\"a\" + (args.length + 1) * 2", "a2" } };
+		for (String[] expression : expressions) {
+			IValue value = doEval(javaThread, expression[0]);
+			assertNotNull("value is null", value);
+			assertEquals("wrong value of " + expression[0], expression[1], value.getValueString());
+		}
+
+		IJavaStackFrame frame = (IJavaStackFrame) javaThread.getTopStackFrame();
+		IAstEvaluationEngine engine = ((JDIDebugTarget) javaThread.getDebugTarget()).getEvaluationEngine(getProjectContext());
+		InstructionSequence sequence = (InstructionSequence) engine.getCompiledExpression("(args.length + 1) * 3 - 1", frame);
+		assertFalse("expression has errors", sequence.hasErrors());
+		StringBuilder primitiveResults = new StringBuilder();
+		for (Instruction instruction : sequence.getInstructions()) {
+			if (instruction instanceof BinaryOperator) {
+				primitiveResults.append(new Accessor(instruction, BinaryOperator.class).get("fPrimitiveResult")).append(' ');
+			}
+		}
+		assertEquals("only the operands of operators should be left unboxed", "true true false ", primitiveResults.toString());
+	}
+
 	private void debugWithBreakpoint(String testClass, int lineNumber) throws Exception {
 		createLineBreakpoint(lineNumber, testClass);
 		javaThread = launchToBreakpoint(testClass);
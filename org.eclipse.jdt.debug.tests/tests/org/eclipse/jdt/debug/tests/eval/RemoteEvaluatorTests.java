@@ -104,6 +104,17 @@ public class RemoteEvaluatorTests extends AbstractDebugTest {
 		assertEquals("value is not false", "false", value.getValueString());
 	}
 
+	public void testEvaluate_SameLambdaTwice() throws Exception {
+		debugWithBreakpoint("RemoteEvaluator", 20);
+		String code = "java.util.stream.IntStream.range(0, 10).map(i -> i * 2).sum()";
+		for (int i = 0; i < 2; i++) {
+			IValue value = evaluate(code);
+
+			assertNotNull("result is null", value);
+			assertEquals("sum is not 90", "90", value.getValueString());
+		}
+	}
+
 	@Override
 	protected IJavaProject getProjectContext() {
 		return get18Project();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2015 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,20 @@
  *******************************************************************************/
 package org.eclipse.jdt.debug.tests.performance;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.Path;
 import org.eclipse.debug.core.ILaunchManager;
 import org.eclipse.debug.internal.ui.DebugUIPlugin;
 import org.eclipse.debug.ui.actions.ContextualLaunchAction;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.debug.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.debug.tests.AbstractDebugPerformanceTest;
+import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.swt.widgets.Menu;
@@ -42,10 +51,52 @@ public class PerfContextualLaunchMenu extends AbstractDebugPerformanceTest {
      */
     public void testContextualLaunchMenu() throws Exception {
     	setDegradationComment("This test is unreliable as it improved 10x during 3.3 (vs 3.2), and needs to be replaced.");
-        final PerfTestContextualLaunchAction launchaction = new PerfTestContextualLaunchAction();
-
         ICompilationUnit cu = getCompilationUnit(get14Project(), "src", "org.eclipse.debug.tests.targets", "SourceLookup.java");
-        StructuredSelection selection = new StructuredSelection(new Object[] {cu});
+        measureContextualLaunchMenu(new StructuredSelection(new Object[] {cu}));
+    }
+
+    /**
+     * Tests the performance of the fly-out time of the contextual launch menu
+     * for a selection of compilation units and packages of a deep package tree,
+     * whose launchable elements are only found in the leaves
+     * @throws Exception
+     */
+    public void testContextualLaunchMenuDeepPackageTree() throws Exception {
+        IJavaProject project = JavaProjectHelper.createJavaProject("PerfDeepPackageTree", "bin");
+        try {
+            JavaProjectHelper.addContainerEntry(project, new Path(JavaRuntime.JRE_CONTAINER));
+            IPackageFragmentRoot root = JavaProjectHelper.addSourceContainer(project, "src");
+            List<Object> selected = new ArrayList<>();
+            String name = null;
+            for (int depth = 0; depth < 12; depth++) {
+                name = name == null ? "p" + depth : name + ".p" + depth;
+                IPackageFragment fragment = root.createPackageFragment(name, true, null);
+                selected.add(fragment);
+                for (int i = 0; i < 10; i++) {
+                    StringBuilder buf = new StringBuilder();
+                    buf.append("package ").append(name).append(";\n");
+                    buf.append("@Deprecated\n");
+                    buf.append("public class C").append(i).append(" extends Thread implements Runnable {\n");
+                    buf.append("    public static class Inner {\n");
+                    buf.append("        public static class Leaf {\n");
+                    if (depth == 11 && i == 9) {
+                        buf.append("            public static void main(String[] args) {}\n");
+                    }
+                    buf.append("        }\n");
+                    buf.append("    }\n");
+                    buf.append("    @Deprecated public void test() {}\n");
+                    buf.append("}\n");
+                    selected.add(fragment.createCompilationUnit("C" + i + ".java", buf.toString(), true, null));
+                }
+            }
+            measureContextualLaunchMenu(new StructuredSelection(selected));
+        } finally {
+            JavaProjectHelper.delete(project);
+        }
+    }
+
+    private void measureContextualLaunchMenu(StructuredSelection selection) {
+        final PerfTestContextualLaunchAction launchaction = new PerfTestContextualLaunchAction();
         launchaction.selectionChanged(new BogusAction(), selection);
 
         DebugUIPlugin.getStandardDisplay().syncExec(new Runnable() {
@@ -28,6 +28,7 @@ import org.eclipse.jdt.internal.corext.refactoring.reorg.IReorgPolicy.IMovePolic
 import org.eclipse.jdt.internal.corext.refactoring.reorg.JavaMoveProcessor;
 import org.eclipse.jdt.internal.corext.refactoring.reorg.ReorgDestinationFactory;
 import org.eclipse.jdt.internal.corext.refactoring.reorg.ReorgPolicyFactory;
+import org.eclipse.jdt.internal.debug.core.refactoring.RefactoringIndex;
 import org.eclipse.ltk.core.refactoring.participants.MoveRefactoring;
 //
 //then check number of and location of created breakpoint
@@ -86,6 +87,28 @@ public class MoveCompilationUnitTests extends AbstractRefactoringDebugTest {
 		}
 	}//end testLineBreakPoint
 
+	/**
+	 * Tests that the refactoring index follows breakpoints being added,
+	 * changed and removed.
+	 * @throws Exception
+	 */
+	public void testIndexTracksBreakpoints() throws Exception {
+		IJavaProject javaProject = get14Project();
+		ICompilationUnit cunit= getCompilationUnit(javaProject, "src", "a.b.c", "Movee.java");
+		IPackageFragment pkg= getPackageFragmentRoot(javaProject, "src").getPackageFragment("a.b.c");
+		RefactoringIndex index = RefactoringIndex.getDefault();
+		try {
+			IJavaLineBreakpoint breakpoint = createLineBreakpoint(21, "a.b.c.Movee");
+			assertEquals("wrong number of markers for the unit", 1, index.findMarkers(cunit.getResource(), IBreakpoint.BREAKPOINT_MARKER, cunit).length);
+			assertEquals("wrong number of markers for the package", 1, index.findMarkers(pkg.getResource(), IBreakpoint.BREAKPOINT_MARKER, pkg).length);
+			assertEquals("wrong number of markers for the project", 1, index.findMarkers(javaProject.getResource(), IBreakpoint.BREAKPOINT_MARKER, javaProject).length);
+			breakpoint.delete();
+			assertEquals("marker of deleted breakpoint returned", 0, index.findMarkers(cunit.getResource(), IBreakpoint.BREAKPOINT_MARKER, cunit).length);
+		} finally {
+			removeAllBreakpoints();
+		}
+	}
+
 	/**
 	 * Tests if a MethodBreakPoint was moved appropriately.
 	 * @throws Exception
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2011 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,14 @@
 package org.eclipse.jdt.debug.tests.sourcelookup;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipFile;
 
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.debug.testplugin.JavaTestPlugin;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.launching.ZipFilePool;
 import org.eclipse.jdt.launching.sourcelookup.ArchiveSourceLocation;
 import org.eclipse.jdt.launching.sourcelookup.ZipEntryStorage;
 
@@ -27,6 +31,20 @@ import org.eclipse.jdt.launching.sourcelookup.ZipEntryStorage;
 @SuppressWarnings("deprecation")
 public class ArchiveSourceLookupTests extends AbstractDebugTest {
 
+	/**
+	 * Source location giving access to its archive
+	 */
+	private static class TestArchiveSourceLocation extends ArchiveSourceLocation {
+		TestArchiveSourceLocation(String archiveName) {
+			super(archiveName, null);
+		}
+
+		@Override
+		public ZipFile getArchive() throws IOException {
+			return super.getArchive();
+		}
+	}
+
 	public ArchiveSourceLookupTests(String name) {
 		super(name);
 	}
@@ -119,4 +137,65 @@ public class ArchiveSourceLookupTests extends AbstractDebugTest {
 		ZipEntryStorage storage = (ZipEntryStorage) location.findSourceElement("org.eclipse.debug.tests.targets.Source_$_Lookup$Inner$Nested");
 		assertEquals("Did not find source", "Source_$_Lookup.java", storage.getName());
 	}
+
+	/**
+	 * Tests that a source element can still be read after the shared archives
+	 * have been closed.
+	 */
+	public void testContentsAfterCloseArchives() throws Exception {
+		File file = JavaTestPlugin.getDefault().getFileInPlugin(new Path("testresources/testJarWithOutRoot.jar"));
+		ArchiveSourceLocation location = new ArchiveSourceLocation(file.getAbsolutePath(), null);
+
+		ZipEntryStorage storage = (ZipEntryStorage) location.findSourceElement("org.eclipse.debug.tests.targets.SourceLookup");
+		assertNotNull("Did not find source", storage);
+		ArchiveSourceLocation.closeArchives();
+		try (InputStream stream = storage.getContents()) {
+			assertTrue("Source should not be empty", stream.read() != -1);
+		}
+	}
+
+	/**
+	 * Tests that the archive returned by a source location stays open while
+	 * the zip file pool closes its archives, until the archives of source
+	 * locations are closed.
+	 */
+	public void testArchiveOpenUntilCloseArchives() throws Exception {
+		File file = JavaTestPlugin.getDefault().getFileInPlugin(new Path("testresources/testJarWithOutRoot.jar"));
+		TestArchiveSourceLocation location = new TestArchiveSourceLocation(file.getAbsolutePath());
+
+		ZipFile archive = location.getArchive();
+		assertSame("Archive should be shared", archive, location.getArchive());
+		ZipFilePool.getDefault().closeAll();
+		assertNotNull("Archive should still be readable", archive.getEntry("Breakpoints.java"));
+		ArchiveSourceLocation.closeArchives();
+		try {
+			archive.getEntry("Breakpoints.java");
+			fail("Archive should be closed");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertNotSame("Archive should be opened again", archive, location.getArchive());
+		ArchiveSourceLocation.closeArchives();
+	}
+
+	/**
+	 * Tests that the zip file pool does not keep more unreferenced archives open
+	 * than its capacity, and defers closing referenced archives.
+	 */
+	public void testZipFilePoolEviction() throws Exception {
+		File source = JavaTestPlugin.getDefault().getFileInPlugin(new Path("testresources/TestSource.jar"));
+		File withOutRoot = JavaTestPlugin.getDefault().getFileInPlugin(new Path("testresources/testJarWithOutRoot.jar"));
+		ZipFilePool pool = new ZipFilePool(1);
+
+		ZipFile first = pool.acquire(withOutRoot.getAbsolutePath());
+		ZipFile second = pool.acquire(source.getAbsolutePath());
+		assertEquals("Referenced archive should remain open after eviction", 2, pool.size());
+		assertNotNull("Evicted archive should still be readable", first.getEntry("Breakpoints.java"));
+		assertFalse("Entry index should find source", pool.getEntryNames(first, "Breakpoints.java").isEmpty());
+		pool.release(first);
+		assertEquals("Released evicted archive should be closed", 1, pool.size());
+		pool.release(second);
+		pool.closeAll();
+		assertEquals("Pool should be empty", 0, pool.size());
+	}
 }
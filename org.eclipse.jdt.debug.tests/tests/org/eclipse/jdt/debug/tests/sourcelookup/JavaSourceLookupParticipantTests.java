@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.sourcelookup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.sourcelookup.ISourceContainer;
+import org.eclipse.debug.core.sourcelookup.ISourceContainerType;
+import org.eclipse.debug.core.sourcelookup.ISourceLookupDirector;
+import org.eclipse.debug.core.sourcelookup.containers.AbstractSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.DirectorySourceContainer;
+import org.eclipse.jdt.debug.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.debug.tests.ui.Accessor;
+import org.eclipse.jdt.internal.launching.JavaSourceLookupDirector;
+import org.eclipse.jdt.launching.sourcelookup.containers.JavaSourceLookupParticipant;
+
+/**
+ * Tests the search of source containers in parallel by the Java source lookup
+ * participant, and the cache of its results
+ */
+public class JavaSourceLookupParticipantTests extends AbstractDebugTest {
+
+	/**
+	 * Name of the threads searching containers in parallel
+	 */
+	private static final String THREAD_NAME = "Java Source Lookup";
+
+	/**
+	 * A source container that finds the given elements after a delay, or fails
+	 */
+	static class TestSourceContainer extends AbstractSourceContainer {
+
+		private final Object[] fElements;
+		private final long fDelay;
+		private final AtomicInteger fLookups = new AtomicInteger();
+		private volatile String fThread;
+
+		/**
+		 * @param elements
+		 *            the elements found, or <code>null</code> to fail
+		 * @param delay
+		 *            milliseconds to wait before answering
+		 */
+		TestSourceContainer(Object[] elements, long delay) {
+			fElements = elements;
+			fDelay = delay;
+		}
+
+		@Override
+		public Object[] findSourceElements(String name) throws CoreException {
+			fLookups.incrementAndGet();
+			fThread = Thread.currentThread().getName();
+			try {
+				Thread.sleep(fDelay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (fElements == null) {
+				throw new CoreException(new Status(IStatus.ERROR, "org.eclipse.jdt.debug.tests", "Lookup failed"));
+			}
+			return fElements;
+		}
+
+		@Override
+		public String getName() {
+			return "Test";
+		}
+
+		@Override
+		public ISourceContainerType getType() {
+			return getSourceContainerType(DirectorySourceContainer.TYPE_ID);
+		}
+
+		int getLookups() {
+			return fLookups.get();
+		}
+
+		String getThread() {
+			return fThread;
+		}
+	}
+
+	private ISourceLookupDirector fDirector;
+
+	public JavaSourceLookupParticipantTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fDirector != null) {
+			fDirector.dispose();
+			fDirector = null;
+		}
+		super.tearDown();
+	}
+
+	/**
+	 * Returns the Java participant of a new director searching the given
+	 * containers.
+	 */
+	private JavaSourceLookupParticipant getParticipant(boolean duplicates, ISourceContainer... containers) {
+		if (fDirector != null) {
+			fDirector.dispose();
+		}
+		fDirector = new JavaSourceLookupDirector();
+		fDirector.initializeParticipants();
+		fDirector.setFindDuplicates(duplicates);
+		fDirector.setSourceContainers(containers);
+		return (JavaSourceLookupParticipant) fDirector.getParticipants()[0];
+	}
+
+	/**
+	 * Tests that containers are searched in parallel and the element of the
+	 * first container that has one is found, although later containers
+	 * answer first.
+	 */
+	public void testParallelLookupInContainerOrder() throws Exception {
+		TestSourceContainer empty = new TestSourceContainer(new Object[0], 0);
+		TestSourceContainer slow = new TestSourceContainer(new Object[] { "one" }, 500);
+		TestSourceContainer fast = new TestSourceContainer(new Object[] { "two" }, 0);
+		TestSourceContainer last = new TestSourceContainer(new Object[] { "three" }, 0);
+		JavaSourceLookupParticipant participant = getParticipant(false, empty, slow, fast, last);
+
+		Object[] elements = participant.findSourceElements("a/b/C.java");
+		assertEquals("Wrong number of elements", 1, elements.length);
+		assertEquals("Wrong element", "one", elements[0]);
+		assertTrue("Container should be searched in parallel: " + slow.getThread(), slow.getThread().startsWith(THREAD_NAME));
+		assertTrue("Container should be searched in parallel: " + fast.getThread(), fast.getThread().startsWith(THREAD_NAME));
+	}
+
+	/**
+	 * Tests that the elements of all containers are found in container order
+	 * when duplicates are searched for.
+	 */
+	public void testParallelLookupDuplicates() throws Exception {
+		JavaSourceLookupParticipant participant = getParticipant(true,
+				new TestSourceContainer(new Object[] { "one" }, 300),
+				new TestSourceContainer(new Object[0], 0),
+				new TestSourceContainer(new Object[] { "two", "three" }, 100),
+				new TestSourceContainer(new Object[] { "four" }, 0));
+
+		Object[] elements = participant.findSourceElements("a/b/C.java");
+		assertEquals("Wrong number of elements", 4, elements.length);
+		for (int i = 0; i < elements.length; i++) {
+			assertEquals("Wrong element " + i, new String[] { "one", "two", "three", "four" }[i], elements[i]);
+		}
+	}
+
+	/**
+	 * Tests that failing containers are skipped when another container has
+	 * the element, and that their failures are reported otherwise.
+	 */
+	public void testParallelLookupErrors() throws Exception {
+		JavaSourceLookupParticipant participant = getParticipant(false,
+				new TestSourceContainer(null, 0),
+				new TestSourceContainer(null, 0),
+				new TestSourceContainer(new Object[] { "one" }, 100),
+				new TestSourceContainer(null, 0));
+		Object[] elements = participant.findSourceElements("a/b/C.java");
+		assertEquals("Wrong number of elements", 1, elements.length);
+		assertEquals("Wrong element", "one", elements[0]);
+
+		participant = getParticipant(false,
+				new TestSourceContainer(null, 0),
+				new TestSourceContainer(new Object[0], 0),
+				new TestSourceContainer(null, 100),
+				new TestSourceContainer(null, 0));
+		try {
+			participant.findSourceElements("a/b/C.java");
+			fail("Lookup should fail");
+		} catch (CoreException e) {
+			assertEquals("Each failure should be reported", 3, e.getStatus().getChildren().length);
+		}
+	}
+
+	/**
+	 * Tests that failing containers are skipped when other containers have
+	 * elements and duplicates are searched for.
+	 */
+	public void testParallelLookupDuplicatesErrors() throws Exception {
+		JavaSourceLookupParticipant participant = getParticipant(true,
+				new TestSourceContainer(null, 0),
+				new TestSourceContainer(new Object[] { "one" }, 100),
+				new TestSourceContainer(null, 0),
+				new TestSourceContainer(new Object[] { "two" }, 0));
+		Object[] elements = participant.findSourceElements("a/b/C.java");
+		assertEquals("Wrong number of elements", 2, elements.length);
+		assertEquals("Wrong element", "one", elements[0]);
+		assertEquals("Wrong element", "two", elements[1]);
+	}
+
+	/**
+	 * Tests that lookup results, including empty results, are cached until the
+	 * source containers change.
+	 */
+	public void testResultCache() throws Exception {
+		TestSourceContainer[] containers = new TestSourceContainer[4];
+		for (int i = 0; i < containers.length; i++) {
+			containers[i] = new TestSourceContainer(i == 3 ? new Object[] { "three" } : new Object[0], 0);
+		}
+		JavaSourceLookupParticipant participant = getParticipant(false, containers);
+
+		assertEquals("Wrong element", "three", participant.findSourceElements("a/b/C.java")[0]);
+		assertEquals("Wrong element", "three", participant.findSourceElements("a/b/C.java")[0]);
+		assertEquals("Nothing should be found", 0, participant.findSourceElements("a/b/D.java").length);
+		assertEquals("Nothing should be found", 0, participant.findSourceElements("a/b/D.java").length);
+		for (TestSourceContainer container : containers) {
+			assertEquals("Container should be searched once per name", 2, container.getLookups());
+		}
+
+		fDirector.setSourceContainers(containers);
+		assertEquals("Wrong element", "three", participant.findSourceElements("a/b/C.java")[0]);
+		assertEquals("Containers should be searched again after they change", 3, containers[0].getLookups());
+	}
+
+	/**
+	 * Tests that adding a file only drops the cached results of the source
+	 * names it matches.
+	 */
+	public void testResultCacheResourceChanges() throws Exception {
+		IProject project = JavaProjectHelper.createProject("SourceLookupCache");
+		try {
+			IFolder folder = project.getFolder("a");
+			folder.create(true, true, null);
+			folder = folder.getFolder("b");
+			folder.create(true, true, null);
+			TestSourceContainer[] containers = new TestSourceContainer[4];
+			for (int i = 0; i < containers.length; i++) {
+				containers[i] = new TestSourceContainer(new Object[0], 0);
+			}
+			JavaSourceLookupParticipant participant = getParticipant(false, containers);
+			participant.findSourceElements("a/b/C.java");
+			participant.findSourceElements("a/b/D.java");
+
+			folder.getFile("C.java").create(new ByteArrayInputStream(new byte[0]), true, null);
+			participant.findSourceElements("a/b/C.java");
+			participant.findSourceElements("a/b/D.java");
+			assertEquals("Containers should be searched again for the added file only", 3, containers[0].getLookups());
+		} finally {
+			project.delete(true, true, null);
+		}
+	}
+
+	/**
+	 * Tests that the executor searching containers in parallel is shut down
+	 * when the last participant is disposed.
+	 */
+	public void testExecutorShutDownOnDispose() throws Exception {
+		Accessor accessor = new Accessor(JavaSourceLookupParticipant.class);
+		int participants = ((Integer) accessor.get("fgParticipants")).intValue();
+		JavaSourceLookupParticipant participant = getParticipant(false,
+				new TestSourceContainer(new Object[0], 0),
+				new TestSourceContainer(new Object[0], 0),
+				new TestSourceContainer(new Object[0], 0),
+				new TestSourceContainer(new Object[] { "one" }, 0));
+		assertEquals("Participant should be counted", participants + 1, ((Integer) accessor.get("fgParticipants")).intValue());
+		participant.findSourceElements("a/b/C.java");
+		ExecutorService executor = (ExecutorService) accessor.get("fgExecutor");
+		assertNotNull("Executor should be created", executor);
+
+		fDirector.dispose();
+		fDirector = null;
+		assertEquals("Participant should no longer be counted", participants, ((Integer) accessor.get("fgParticipants")).intValue());
+		if (participants == 0) {
+			assertTrue("Executor should be shut down", executor.isShutdown());
+			assertNull("Executor should be released", accessor.get("fgExecutor"));
+		} else {
+			assertFalse("Executor is still used by other participants", executor.isShutdown());
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 Andrey Loskutov (loskutov@gmx.de) and others.
+ * Copyright (c) 2023, 2026 Andrey Loskutov (loskutov@gmx.de) and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,9 +15,18 @@
 package org.eclipse.jdt.debug.tests.ui;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.internal.debug.eval.LocalEvaluationEngine;
+import org.eclipse.jdt.internal.debug.ui.JDIDebugUIPlugin;
 import org.eclipse.jdt.internal.debug.ui.snippeteditor.JavaSnippetEditor;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.TextSelection;
@@ -100,4 +109,68 @@ public class JavaSnippetEditorTest extends AbstractDebugUiTests {
 		assertEquals("Editor should show evaluation result", EXPRESSION + "(int) 4", newText);
 	}
 
+	public void testEvaluationTwice() throws Exception {
+		JavaSnippetEditor snippetEditor = (JavaSnippetEditor) openEditor(scrapbook);
+		processUiEvents();
+		IDocumentProvider documentProvider = snippetEditor.getDocumentProvider();
+		IDocument document = documentProvider.getDocument(new FileEditorInput(scrapbook));
+		assertEquals("Unexpected content", EXPRESSION, document.get());
+		File directory = project.getProject().getWorkingLocation(JDIDebugUIPlugin.getUniqueIdentifier()).toFile();
+		Set<String> classFiles = getClassFiles(directory);
+
+		// the second evaluation runs the snippet compiled by the first one
+		for (int i = 0; i < 2; i++) {
+			sync(() -> {
+				snippetEditor.getSelectionProvider().setSelection(new TextSelection(0, EXPRESSION.length()));
+				processUiEvents();
+				snippetEditor.evalSelection(JavaSnippetEditor.RESULT_DISPLAY);
+			});
+			long start = System.currentTimeMillis();
+			while (snippetEditor.isEvaluating() && System.currentTimeMillis() - start < 60_000) {
+				processUiEvents(1000);
+			}
+		}
+
+		assertEquals("Editor should show both evaluation results", EXPRESSION + "(int) 4(int) 4", document.get());
+		LocalEvaluationEngine engine = (LocalEvaluationEngine) new Accessor(snippetEditor, JavaSnippetEditor.class).get("fEngine");
+		assertEquals("Second evaluation should reuse the compiled snippet", 1, engine.getCompiledSnippetHits());
+		assertEquals("No class files should be written to the output directory", classFiles, getClassFiles(directory));
+	}
+
+	/**
+	 * Tests that a snippet in the default package, whose class files are not
+	 * written to the output directory, can access package-private members of
+	 * project classes in the default package.
+	 */
+	public void testEvaluationPackageAccess() throws Exception {
+		String snippet = "new Bug569413().packageProcessors.size()";
+		scrapbook.setContents(new ByteArrayInputStream(snippet.getBytes()), true, false, null);
+		JavaSnippetEditor snippetEditor = (JavaSnippetEditor) openEditor(scrapbook);
+		processUiEvents();
+		IDocument document = snippetEditor.getDocumentProvider().getDocument(new FileEditorInput(scrapbook));
+		assertEquals("Unexpected content", snippet, document.get());
+
+		sync(() -> {
+			snippetEditor.getSelectionProvider().setSelection(new TextSelection(0, snippet.length()));
+			processUiEvents();
+			snippetEditor.evalSelection(JavaSnippetEditor.RESULT_DISPLAY);
+		});
+		long start = System.currentTimeMillis();
+		while (snippetEditor.isEvaluating() && System.currentTimeMillis() - start < 60_000) {
+			processUiEvents(1000);
+		}
+
+		assertEquals("Editor should show evaluation result", snippet + "(int) 1", document.get());
+	}
+
+	private static Set<String> getClassFiles(File directory) throws IOException {
+		Set<String> classFiles = new TreeSet<>();
+		if (directory.isDirectory()) {
+			try (Stream<Path> files = Files.walk(directory.toPath())) {
+				files.filter(file -> file.toString().endsWith(".class")).forEach(file -> classFiles.add(file.toString()));
+			}
+		}
+		return classFiles;
+	}
+
 }
@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.ui;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.Launch;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.debug.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.ui.snippeteditor.ScrapbookVMPool;
+
+/**
+ * Tests taking, replenishing and discarding the spare VMs of the scrapbook VM
+ * pool. The spare VMs are launches of a configuration that does not start a
+ * VM.
+ */
+public class ScrapbookVMPoolTests extends AbstractDebugTest {
+
+	/**
+	 * A launch without a VM, terminated on request
+	 */
+	static class TestLaunch extends Launch {
+
+		private volatile boolean fStopped = false;
+
+		TestLaunch(ILaunchConfiguration configuration) {
+			super(configuration, ILaunchManager.DEBUG_MODE, null);
+		}
+
+		@Override
+		public boolean canTerminate() {
+			return !fStopped;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return fStopped;
+		}
+
+		@Override
+		public void terminate() {
+			fStopped = true;
+		}
+	}
+
+	/**
+	 * Launches of the configuration, in launch order
+	 */
+	private final List<TestLaunch> fLaunches = new ArrayList<>();
+
+	/**
+	 * When set, launching waits until it is counted down
+	 */
+	private volatile CountDownLatch fLaunchLatch;
+
+	public ScrapbookVMPoolTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Returns a configuration whose launches are {@link TestLaunch}es.
+	 */
+	private ILaunchConfiguration newConfiguration() {
+		return (ILaunchConfiguration) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ILaunchConfiguration.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "launch":
+					CountDownLatch latch = fLaunchLatch;
+					if (latch != null) {
+						latch.await(30, TimeUnit.SECONDS);
+					}
+					TestLaunch launch = new TestLaunch((ILaunchConfiguration) proxy);
+					synchronized (fLaunches) {
+						fLaunches.add(launch);
+					}
+					return launch;
+				case "equals":
+					return Boolean.valueOf(proxy == args[0]);
+				case "hashCode":
+					return Integer.valueOf(System.identityHashCode(proxy));
+				case "toString":
+					return "Scrapbook";
+				default:
+					throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+
+	private TestLaunch getLaunch(int index) {
+		synchronized (fLaunches) {
+			return fLaunches.get(index);
+		}
+	}
+
+	private int getLaunchCount() {
+		synchronized (fLaunches) {
+			return fLaunches.size();
+		}
+	}
+
+	/**
+	 * Waits until the spare VMs being started by the given pool are started.
+	 */
+	private static void join(ScrapbookVMPool pool) throws InterruptedException {
+		Job.getJobManager().join(pool, null);
+	}
+
+	/**
+	 * Tests that a spare VM is started once per key, and taken by a page with
+	 * the same key only.
+	 */
+	public void testTake() throws Exception {
+		ScrapbookVMPool pool = new ScrapbookVMPool(2);
+		ILaunchConfiguration config = newConfiguration();
+		pool.replenish("a", "P", config);
+		join(pool);
+		assertEquals("Spare VM should be started", 1, pool.size());
+		pool.replenish("a", "P", config);
+		join(pool);
+		assertEquals("Spare VM with the same key should not be started again", 1, getLaunchCount());
+
+		assertNull("Spare VM with another key should not be taken", pool.take("b", "Q"));
+		assertEquals("Spare VM of another project should be kept", 1, pool.size());
+		ILaunch launch = pool.take("a", "P");
+		assertSame("Spare VM should be taken", getLaunch(0), launch);
+		assertFalse("Taken VM should not be terminated", launch.isTerminated());
+		assertEquals("Taken VM should be removed from the pool", 0, pool.size());
+		assertNull("Spare VM should only be taken once", pool.take("a", "P"));
+	}
+
+	/**
+	 * Tests that taking a VM for a page terminates the spare VMs of its
+	 * project started with other settings.
+	 */
+	public void testTakeTerminatesOtherSettings() throws Exception {
+		ScrapbookVMPool pool = new ScrapbookVMPool(2);
+		ILaunchConfiguration config = newConfiguration();
+		pool.replenish("a", "P", config);
+		join(pool);
+		pool.replenish("b", "Q", config);
+		join(pool);
+		assertEquals("Spare VMs should be started", 2, pool.size());
+
+		assertNull("Spare VM with another key should not be taken", pool.take("c", "P"));
+		assertTrue("Spare VM of the project with other settings should be terminated", getLaunch(0).isTerminated());
+		assertFalse("Spare VM of another project should not be terminated", getLaunch(1).isTerminated());
+		assertEquals("Wrong number of spare VMs", 1, pool.size());
+	}
+
+	/**
+	 * Tests that a spare VM that terminated while it waited is not taken.
+	 */
+	public void testTakeTerminated() throws Exception {
+		ScrapbookVMPool pool = new ScrapbookVMPool(1);
+		pool.replenish("a", "P", newConfiguration());
+		join(pool);
+		getLaunch(0).terminate();
+
+		assertNull("Terminated VM should not be taken", pool.take("a", "P"));
+		assertEquals("Terminated VM should be removed from the pool", 0, pool.size());
+	}
+
+	/**
+	 * Tests that the oldest spare VM is terminated when the pool is full.
+	 */
+	public void testReplenishFullPool() throws Exception {
+		ScrapbookVMPool pool = new ScrapbookVMPool(1);
+		ILaunchConfiguration config = newConfiguration();
+		pool.replenish("a", "P", config);
+		join(pool);
+		pool.replenish("b", "Q", config);
+		join(pool);
+
+		assertEquals("Pool should keep one spare VM", 1, pool.size());
+		assertTrue("Oldest spare VM should be terminated", getLaunch(0).isTerminated());
+		assertSame("Newest spare VM should be kept", getLaunch(1), pool.take("b", "Q"));
+	}
+
+	/**
+	 * Tests that a VM being started for a project whose spare VMs are
+	 * discarded is terminated once it is started.
+	 */
+	public void testDiscardWhileStarting() throws Exception {
+		ScrapbookVMPool pool = new ScrapbookVMPool(1);
+		fLaunchLatch = new CountDownLatch(1);
+		try {
+			pool.replenish("a", "P", newConfiguration());
+			pool.discard("P");
+		} finally {
+			fLaunchLatch.countDown();
+			fLaunchLatch = null;
+		}
+		join(pool);
+
+		assertEquals("VM should be started", 1, getLaunchCount());
+		assertTrue("Discarded VM should be terminated", getLaunch(0).isTerminated());
+		assertEquals("Discarded VM should not be kept", 0, pool.size());
+	}
+
+	/**
+	 * Tests that the spare VMs of a project are terminated when its class path
+	 * changes.
+	 */
+	public void testDiscardOnClasspathChange() throws Exception {
+		IJavaProject project = JavaProjectHelper.createJavaProject("ScrapbookVMPool", "bin");
+		ScrapbookVMPool pool = new ScrapbookVMPool(2);
+		JavaCore.addElementChangedListener(pool, ElementChangedEvent.POST_CHANGE);
+		try {
+			ILaunchConfiguration config = newConfiguration();
+			pool.replenish("a", project.getElementName(), config);
+			join(pool);
+			pool.replenish("b", "Other", config);
+			join(pool);
+			assertEquals("Spare VMs should be started", 2, pool.size());
+
+			JavaProjectHelper.addSourceContainer(project, "src");
+			assertTrue("Spare VM of the project should be terminated", getLaunch(0).isTerminated());
+			assertFalse("Spare VM of another project should not be terminated", getLaunch(1).isTerminated());
+			assertEquals("Wrong number of spare VMs", 1, pool.size());
+		} finally {
+			JavaCore.removeElementChangedListener(pool);
+			JavaProjectHelper.delete(project);
+		}
+	}
+}
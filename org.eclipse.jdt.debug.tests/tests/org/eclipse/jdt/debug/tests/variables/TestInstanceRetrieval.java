@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.debug.tests.variables;
 
 import org.eclipse.debug.core.model.IBreakpoint;
+import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaObject;
@@ -22,6 +23,14 @@ import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.HeapWalkingManager;
+import org.eclipse.jdt.internal.debug.core.logicalstructures.JDIAllInstancesValue;
+import org.eclipse.jdt.internal.debug.core.model.HeapHistogram;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIPlaceholderValue;
+import org.eclipse.jdt.internal.debug.core.model.JDIReferenceType;
+import org.eclipse.jdt.internal.debug.core.model.ObjectPages;
+import org.eclipse.jdt.internal.debug.core.model.RetainedSizeEstimator;
 
 /**
  * Tests for instance retrieval
@@ -97,4 +106,200 @@ public class TestInstanceRetrieval extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests heap histogram snapshots and the growth between them.
+	 *
+	 * @throws Exception
+	 */
+	public void testHeapHistogramDiff() throws Exception {
+		String typeName = "java6.AllInstancesTests";
+		createLineBreakpoint(64, typeName);
+		IJavaLineBreakpoint bp2 = createLineBreakpoint(66, typeName);
+		IJavaThread thread= null;
+		try {
+			thread= launchToBreakpoint(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			if (target.supportsInstanceRetrieval()) {
+				HeapHistogram histogram = target.getHeapHistogram();
+				// small chunks to exercise concurrent requests
+				histogram.setChunkSize(50);
+				HeapHistogram.Snapshot first = histogram.takeSnapshot(null);
+				assertTrue("No instances counted", first.getTotalInstances() > 0);
+
+				thread = resumeToLineBreakpoint(thread, bp2);
+				histogram.takeSnapshot(null);
+				assertEquals("Wrong number of snapshots", 2, histogram.getSnapshots().size());
+
+				HeapHistogram.Entry refClass = null;
+				for (HeapHistogram.Entry entry : histogram.diffLast(10)) {
+					if (entry.getType().name().equals("java6.AllInstancesTests$RefClass")) {
+						refClass = entry;
+					}
+				}
+				assertNotNull("RefClass growth not reported", refClass);
+				assertEquals("Wrong instance count", 1002, refClass.getCount());
+				assertTrue("Wrong growth", refClass.getDelta() >= 1002 - Math.max(0, refClass.getPreviousCount()));
+
+				// dropping the first snapshot compacts the type table
+				histogram.setHistory(2);
+				HeapHistogram.Snapshot third = histogram.takeSnapshot(null);
+				assertEquals("Wrong number of snapshots", 2, histogram.getSnapshots().size());
+				assertEquals("Wrong instance count", 1002, third.getInstanceCount(refClass.getType()));
+				boolean grown = false;
+				for (HeapHistogram.Entry entry : histogram.diff(first, third, 10)) {
+					grown |= entry.getType().equals(refClass.getType());
+				}
+				assertTrue("Growth since a dropped snapshot not reported", grown);
+			}
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests that the Java objects of all instances are created a page at a
+	 * time, and that the size of the list is the number of instances read.
+	 *
+	 * @throws Exception
+	 */
+	public void testPagedAllInstances() throws Exception {
+		String typeName = "java6.AllInstancesTests";
+		IJavaLineBreakpoint bp = createLineBreakpoint(66, typeName);
+		IJavaThread thread= null;
+		HeapWalkingManager manager = HeapWalkingManager.getDefault();
+		int previousMax = manager.getAllInstancesMaxCount();
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			if (target.supportsInstanceRetrieval()) {
+				IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+				IJavaVariable variable = frame.findVariable("rc");
+				assertNotNull("Missing variable 'rc'", variable);
+				IJavaReferenceType refType = (IJavaReferenceType) ((IJavaObject) variable.getValue()).getJavaType();
+
+				manager.setAllInstancesMaxCount(0);
+				JDIAllInstancesValue value = new JDIAllInstancesValue(target, (JDIReferenceType) refType);
+				assertEquals("Wrong number of instances", 1002, value.getSize());
+
+				IVariable[] last = value.getVariables(1000, 2);
+				assertEquals("Wrong number of variables", 2, last.length);
+				assertEquals("Instance is of unexpected type", refType, ((IJavaObject) last[1].getValue()).getJavaType());
+				for (int i = 0; i < 1000; i += ObjectPages.PAGE_SIZE) {
+					IVariable[] page = value.getVariables(i, ObjectPages.PAGE_SIZE);
+					assertEquals("Instance is of unexpected type", refType, ((IJavaObject) page[0].getValue()).getJavaType());
+				}
+				IJavaObject first = (IJavaObject) value.getValue(0);
+				assertEquals("Instance is of unexpected type", refType, first.getJavaType());
+
+				manager.setAllInstancesMaxCount(100);
+				value = new JDIAllInstancesValue(target, (JDIReferenceType) refType);
+				assertEquals("Wrong number of instances", 101, value.getSize());
+				assertTrue("Missing placeholder", value.getValue(100) instanceof JDIPlaceholderValue);
+			}
+		} finally {
+			manager.setAllInstancesMaxCount(previousMax);
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests estimating the retained size of a list, of all instances of a type,
+	 * and with a depth limit.
+	 *
+	 * @throws Exception
+	 */
+	public void testRetainedSize() throws Exception {
+		String typeName = "java6.AllInstancesTests";
+		IJavaLineBreakpoint bp = createLineBreakpoint(66, typeName);
+		IJavaThread thread= null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			IJavaVariable list = frame.findVariable("list");
+			assertNotNull("Missing variable 'list'", list);
+			RetainedSizeEstimator estimator = new RetainedSizeEstimator(target);
+
+			RetainedSizeEstimator.Estimate estimate = estimator.estimate(list, null);
+			assertFalse("Estimate should not be truncated", estimate.isTruncated());
+			assertEquals("Wrong number of roots", 1, estimate.getRootCount());
+			assertTrue("No shallow size", estimate.getShallowSize() > 0);
+			// list, array and 1001 RefClass instances, which refer to the enclosing instance
+			assertEquals("Wrong reachable count", 1004, estimate.getReachableCount());
+			assertTrue("Retained size too small", estimate.getRetainedSize() >= estimate.getShallowSize() + 1001 * 16);
+			if (estimate.isReferrersChecked()) {
+				assertEquals("Enclosing instance should not be retained", 1003, estimate.getRetainedCount());
+				assertTrue("Retained size should exclude the enclosing instance", estimate.getRetainedSize() < estimate.getReachableSize());
+			}
+
+			if (target.supportsInstanceRetrieval()) {
+				IJavaObject rc = (IJavaObject) frame.findVariable("rc").getValue();
+				estimate = estimator.estimate((IJavaReferenceType) rc.getJavaType(), null);
+				assertEquals("Wrong number of roots", 1002, estimate.getRootCount());
+				assertEquals("Only the instances should be retained", 1002, estimate.getRetainedCount());
+			}
+
+			estimator.setMaxDepth(0);
+			estimate = estimator.estimate(list, null);
+			assertTrue("Estimate should be truncated", estimate.isTruncated());
+			assertEquals("Only the list should be walked", 1, estimate.getReachableCount());
+			assertEquals("Wrong retained size", estimate.getShallowSize(), estimate.getRetainedSize());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Tests estimating the retained size of structures with cycles: a linked
+	 * list, a tree with parent links, and the same tree with a node referred
+	 * to from outside.
+	 *
+	 * @throws Exception
+	 */
+	public void testRetainedSizeOfCycles() throws Exception {
+		String typeName = "java6.RetainedSizeTests";
+		IJavaLineBreakpoint bp = createLineBreakpoint(48, typeName);
+		IJavaThread thread= null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			RetainedSizeEstimator estimator = new RetainedSizeEstimator(target);
+
+			RetainedSizeEstimator.Estimate estimate = estimator.estimate(frame.findVariable("linked"), null);
+			assertFalse("Estimate should not be truncated", estimate.isTruncated());
+			// list, 100 nodes linked both ways and their elements
+			assertEquals("Wrong reachable count", 201, estimate.getReachableCount());
+			assertEquals("Nodes linked both ways should be retained", 201, estimate.getRetainedCount());
+			assertEquals("Wrong retained size", estimate.getReachableSize(), estimate.getRetainedSize());
+
+			estimate = estimator.estimate(frame.findVariable("tree"), null);
+			// tree, 7 nodes referring to their parent and their 7 child arrays
+			assertEquals("Wrong reachable count", 15, estimate.getReachableCount());
+			assertEquals("Nodes referring to their parent should be retained", 15, estimate.getRetainedCount());
+
+			estimate = estimator.estimate(frame.findVariable("leaked"), null);
+			assertEquals("Wrong reachable count", 15, estimate.getReachableCount());
+			if (estimate.isReferrersChecked()) {
+				// every node is reachable from the node referred to from outside
+				assertEquals("Only the tree should be retained", 1, estimate.getRetainedCount());
+			} else {
+				assertEquals("All reachable objects should be retained", 15, estimate.getRetainedCount());
+			}
+
+			estimator.setMaxReferrerChecks(0);
+			estimate = estimator.estimate(frame.findVariable("tree"), null);
+			if (estimate.isReferrersChecked()) {
+				assertTrue("Estimate should be truncated", estimate.isTruncated());
+				assertEquals("Unchecked objects should not be retained", 1, estimate.getRetainedCount());
+			}
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
 }
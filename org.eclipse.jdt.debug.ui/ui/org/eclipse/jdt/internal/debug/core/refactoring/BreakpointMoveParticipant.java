@@ -117,7 +117,7 @@ public abstract class BreakpointMoveParticipant extends MoveParticipant {
 	public Change createChange(IProgressMonitor pm) throws CoreException, OperationCanceledException {
 		List<Change> changes = new ArrayList<>();
 		IResource resource = getBreakpointContainer();
-		IMarker[] markers= resource.findMarkers(IBreakpoint.BREAKPOINT_MARKER, true, IResource.DEPTH_INFINITE);
+		IMarker[] markers= RefactoringIndex.getDefault().findMarkers(resource, IBreakpoint.BREAKPOINT_MARKER, getOriginalElement());
 		gatherChanges(markers, changes);
 		if (changes.size() > 1) {
 			return new CompositeChange(RefactoringMessages.BreakpointRenameParticipant_1, changes.toArray(new Change[changes.size()]));
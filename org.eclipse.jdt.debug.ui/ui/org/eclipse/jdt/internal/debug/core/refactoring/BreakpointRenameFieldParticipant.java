@@ -53,7 +53,7 @@ public class BreakpointRenameFieldParticipant extends BreakpointRenameParticipan
 	public Change createChange(IProgressMonitor pm) throws CoreException, OperationCanceledException {
 		List<Change> changes = new ArrayList<>();
 		IResource resource = getBreakpointContainer();
-		IMarker[] markers = resource.findMarkers(JavaWatchpoint.JAVA_WATCHPOINT, true, IResource.DEPTH_INFINITE);
+		IMarker[] markers = RefactoringIndex.getDefault().findMarkers(resource, JavaWatchpoint.JAVA_WATCHPOINT, getOriginalElement());
 		gatherChanges(markers, changes, getArguments().getNewName());
 		if (changes.size() > 1) {
 			return new CompositeChange(RefactoringMessages.BreakpointRenameParticipant_1, changes.toArray(new Change[changes.size()]));
@@ -102,7 +102,7 @@ public abstract class BreakpointRenameParticipant extends RenameParticipant {
 	public Change createChange(IProgressMonitor pm) throws CoreException, OperationCanceledException {
 		List<Change> changes = new ArrayList<>();
 		IResource resource = getBreakpointContainer();
-		IMarker[] markers= resource.findMarkers(IBreakpoint.BREAKPOINT_MARKER, true, IResource.DEPTH_INFINITE);
+		IMarker[] markers= RefactoringIndex.getDefault().findMarkers(resource, IBreakpoint.BREAKPOINT_MARKER, getOriginalElement());
 		gatherChanges(markers, changes, getArguments().getNewName());
 		if (changes.size() > 1) {
 			return new CompositeChange(RefactoringMessages.BreakpointRenameParticipant_1, changes.toArray(new Change[changes.size()]));
@@ -18,7 +18,6 @@ import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
@@ -26,7 +25,6 @@ import org.eclipse.jdt.core.IModuleDescription;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.CompositeChange;
@@ -286,22 +284,7 @@ public class JDTDebugRefactoringUtil {
 	 * @since 3.2
 	 */
 	protected static ILaunchConfiguration[] getJavaTypeLaunchConfigurations(String pname) {
-		try {
-			ILaunchConfiguration[] configs = DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurations();
-			ArrayList<ILaunchConfiguration> list = new ArrayList<>();
-			String attrib;
-			for(int i = 0; i < configs.length; i++) {
-				attrib = configs[i].getAttribute(IJavaLaunchConfigurationConstants.ATTR_PROJECT_NAME, (String)null);
-				if(attrib != null) {
-					if(attrib.equals(pname)) {
-						list.add(configs[i]);
-					}
-				}
-			}
-			return list.toArray(new ILaunchConfiguration[list.size()]);
-		}
-		catch(CoreException e) {JDIDebugPlugin.log(e);}
-		return new ILaunchConfiguration[0];
+		return RefactoringIndex.getDefault().getLaunchConfigurationsForProject(pname);
 	}
 
 	/**
@@ -312,23 +295,7 @@ public class JDTDebugRefactoringUtil {
 	 * @return the list of java type launch configurations that have the specified module attribute
 	 */
 	protected static ILaunchConfiguration[] getJavaTypeLaunchConfigurationsForModule(String pname) {
-		try {
-			ILaunchConfiguration[] configs = DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurations();
-			ArrayList<ILaunchConfiguration> list = new ArrayList<>();
-			String attrib;
-			for (int i = 0; i < configs.length; i++) {
-				attrib = configs[i].getAttribute(IJavaLaunchConfigurationConstants.ATTR_MODULE_NAME, (String) null);
-				if (attrib != null) {
-					if (attrib.equals(pname)) {
-						list.add(configs[i]);
-					}
-				}
-			}
-			return list.toArray(new ILaunchConfiguration[list.size()]);
-		} catch (CoreException e) {
-			JDIDebugPlugin.log(e);
-		}
-		return new ILaunchConfiguration[0];
+		return RefactoringIndex.getDefault().getLaunchConfigurationsForModule(pname);
 	}
 
 }
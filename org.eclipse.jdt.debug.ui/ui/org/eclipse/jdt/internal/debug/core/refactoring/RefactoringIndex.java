@@ -0,0 +1,378 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.refactoring;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IBreakpointManager;
+import org.eclipse.debug.core.IBreakpointsListener;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchConfigurationListener;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.model.IBreakpoint;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.debug.core.IJavaBreakpoint;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
+
+/**
+ * In-memory index of the Java breakpoints and launch configurations that
+ * refactorings may have to update, so that participants visit only the items
+ * related to the elements being refactored.
+ * <p>
+ * Breakpoints are indexed by the package and top level type of their type
+ * name, and launch configurations by their project and module attributes. The
+ * index is built on first use and is then kept current from breakpoint
+ * (marker) and launch configuration changes. Breakpoints whose type name is
+ * not a plain type name, such as patterns, are returned for every lookup.
+ * </p>
+ */
+public class RefactoringIndex implements IBreakpointsListener, ILaunchConfigurationListener {
+
+	private static RefactoringIndex fgDefault;
+
+	/**
+	 * Breakpoints keyed by package name and by top level type name
+	 */
+	private final Map<String, Set<IJavaBreakpoint>> fByPackage = new HashMap<>();
+	private final Map<String, Set<IJavaBreakpoint>> fByType = new HashMap<>();
+
+	/**
+	 * Breakpoints that cannot be keyed
+	 */
+	private final Set<IJavaBreakpoint> fUnkeyed = new LinkedHashSet<>();
+
+	/**
+	 * Top level type name each breakpoint is indexed under, <code>null</code>
+	 * for unkeyed breakpoints
+	 */
+	private final Map<IJavaBreakpoint, String> fBreakpointKeys = new HashMap<>();
+
+	/**
+	 * Launch configurations keyed by project name and by module name
+	 */
+	private final Map<String, Set<ILaunchConfiguration>> fByProject = new HashMap<>();
+	private final Map<String, Set<ILaunchConfiguration>> fByModule = new HashMap<>();
+
+	/**
+	 * Project and module name each launch configuration is indexed under
+	 */
+	private final Map<ILaunchConfiguration, String[]> fConfigurationKeys = new HashMap<>();
+
+	/**
+	 * Returns the index, building it on first use.
+	 *
+	 * @return the refactoring index
+	 */
+	public static synchronized RefactoringIndex getDefault() {
+		if (fgDefault == null) {
+			fgDefault = new RefactoringIndex();
+			fgDefault.initialize();
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Stops maintaining the index, if it was built.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			DebugPlugin plugin = DebugPlugin.getDefault();
+			if (plugin != null) {
+				plugin.getBreakpointManager().removeBreakpointListener(fgDefault);
+				plugin.getLaunchManager().removeLaunchConfigurationListener(fgDefault);
+			}
+			fgDefault = null;
+		}
+	}
+
+	private void initialize() {
+		IBreakpointManager breakpointManager = DebugPlugin.getDefault().getBreakpointManager();
+		ILaunchManager launchManager = DebugPlugin.getDefault().getLaunchManager();
+		// listen first so that no change is missed while building
+		breakpointManager.addBreakpointListener(this);
+		launchManager.addLaunchConfigurationListener(this);
+		synchronized (this) {
+			for (IBreakpoint breakpoint : breakpointManager.getBreakpoints(JDIDebugModel.getPluginIdentifier())) {
+				add(breakpoint);
+			}
+			try {
+				for (ILaunchConfiguration configuration : launchManager.getLaunchConfigurations()) {
+					add(configuration);
+				}
+			} catch (CoreException e) {
+				JDIDebugPlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the markers of the given type, under the given container, of the
+	 * Java breakpoints that may be related to the given element.
+	 *
+	 * @param container resource the markers must be in or under
+	 * @param markerType marker type, including subtypes
+	 * @param element the element being refactored
+	 * @return markers, a superset of the markers of the breakpoints related to
+	 *         the element
+	 * @throws CoreException if the markers cannot be read
+	 */
+	public IMarker[] findMarkers(IResource container, String markerType, IJavaElement element) throws CoreException {
+		Collection<IJavaBreakpoint> candidates = getBreakpoints(element);
+		IPath path = container.getFullPath();
+		List<IMarker> markers = new ArrayList<>(candidates.size());
+		for (IJavaBreakpoint breakpoint : candidates) {
+			IMarker marker = breakpoint.getMarker();
+			if (marker != null && marker.exists() && path.isPrefixOf(marker.getResource().getFullPath()) && marker.isSubtypeOf(markerType)) {
+				markers.add(marker);
+			}
+		}
+		return markers.toArray(new IMarker[markers.size()]);
+	}
+
+	/**
+	 * Returns the Java breakpoints that may be related to the given element.
+	 */
+	private Collection<IJavaBreakpoint> getBreakpoints(IJavaElement element) throws JavaModelException {
+		// read the Java model before locking the index
+		List<String> typeNames = null;
+		if (element instanceof IMember) {
+			IType type = element instanceof IType ? (IType) element : ((IMember) element).getDeclaringType();
+			if (type != null) {
+				ICompilationUnit unit = type.getCompilationUnit();
+				if (unit == null) {
+					while (type.getDeclaringType() != null) {
+						type = type.getDeclaringType();
+					}
+					typeNames = new ArrayList<>();
+					typeNames.add(type.getFullyQualifiedName());
+				} else {
+					element = unit;
+				}
+			}
+		}
+		if (element instanceof ICompilationUnit) {
+			typeNames = new ArrayList<>();
+			for (IType type : ((ICompilationUnit) element).getTypes()) {
+				typeNames.add(type.getFullyQualifiedName());
+			}
+		}
+		synchronized (this) {
+			Set<IJavaBreakpoint> breakpoints = new LinkedHashSet<>(fUnkeyed);
+			if (typeNames != null) {
+				for (String typeName : typeNames) {
+					addAll(breakpoints, fByType.get(typeName));
+				}
+			} else if (element instanceof IPackageFragment) {
+				String name = element.getElementName();
+				String prefix = name + '.';
+				for (Map.Entry<String, Set<IJavaBreakpoint>> entry : fByPackage.entrySet()) {
+					String packageName = entry.getKey();
+					if (packageName.equals(name) || name.length() > 0 && packageName.startsWith(prefix)) {
+						breakpoints.addAll(entry.getValue());
+					}
+				}
+			} else {
+				// projects, source folders and other containers
+				breakpoints.addAll(fBreakpointKeys.keySet());
+			}
+			return breakpoints;
+		}
+	}
+
+	/**
+	 * Returns the launch configurations whose project attribute is the given
+	 * project name.
+	 *
+	 * @param projectName project name
+	 * @return launch configurations
+	 */
+	public synchronized ILaunchConfiguration[] getLaunchConfigurationsForProject(String projectName) {
+		return toArray(fByProject.get(projectName));
+	}
+
+	/**
+	 * Returns the launch configurations whose module attribute is the given
+	 * module name.
+	 *
+	 * @param moduleName module name
+	 * @return launch configurations
+	 */
+	public synchronized ILaunchConfiguration[] getLaunchConfigurationsForModule(String moduleName) {
+		return toArray(fByModule.get(moduleName));
+	}
+
+	private static ILaunchConfiguration[] toArray(Set<ILaunchConfiguration> configurations) {
+		if (configurations == null) {
+			return new ILaunchConfiguration[0];
+		}
+		return configurations.toArray(new ILaunchConfiguration[configurations.size()]);
+	}
+
+	private static <T> void addAll(Set<T> set, Set<T> elements) {
+		if (elements != null) {
+			set.addAll(elements);
+		}
+	}
+
+	@Override
+	public synchronized void breakpointsAdded(IBreakpoint[] breakpoints) {
+		for (IBreakpoint breakpoint : breakpoints) {
+			add(breakpoint);
+		}
+	}
+
+	@Override
+	public synchronized void breakpointsRemoved(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+		for (IBreakpoint breakpoint : breakpoints) {
+			if (breakpoint instanceof IJavaBreakpoint) {
+				remove((IJavaBreakpoint) breakpoint);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void breakpointsChanged(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+		for (IBreakpoint breakpoint : breakpoints) {
+			if (breakpoint instanceof IJavaBreakpoint) {
+				// the type name may have changed
+				remove((IJavaBreakpoint) breakpoint);
+				add(breakpoint);
+			}
+		}
+	}
+
+	private void add(IBreakpoint breakpoint) {
+		if (!(breakpoint instanceof IJavaBreakpoint)) {
+			return;
+		}
+		IJavaBreakpoint javaBreakpoint = (IJavaBreakpoint) breakpoint;
+		String typeName = null;
+		try {
+			typeName = javaBreakpoint.getTypeName();
+		} catch (CoreException e) {
+			// indexed as unkeyed
+		}
+		String topLevelName = getTopLevelName(typeName);
+		fBreakpointKeys.put(javaBreakpoint, topLevelName);
+		if (topLevelName == null) {
+			fUnkeyed.add(javaBreakpoint);
+			return;
+		}
+		int index = topLevelName.lastIndexOf('.');
+		String packageName = index < 0 ? "" : topLevelName.substring(0, index); //$NON-NLS-1$
+		fByType.computeIfAbsent(topLevelName, key -> new LinkedHashSet<>()).add(javaBreakpoint);
+		fByPackage.computeIfAbsent(packageName, key -> new LinkedHashSet<>()).add(javaBreakpoint);
+	}
+
+	private void remove(IJavaBreakpoint breakpoint) {
+		if (!fBreakpointKeys.containsKey(breakpoint)) {
+			return;
+		}
+		String topLevelName = fBreakpointKeys.remove(breakpoint);
+		if (topLevelName == null) {
+			fUnkeyed.remove(breakpoint);
+			return;
+		}
+		int index = topLevelName.lastIndexOf('.');
+		remove(fByType, topLevelName, breakpoint);
+		remove(fByPackage, index < 0 ? "" : topLevelName.substring(0, index), breakpoint); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the top level type of the given type name, or <code>null</code>
+	 * if it is not a plain type name.
+	 */
+	private static String getTopLevelName(String typeName) {
+		if (typeName == null || typeName.isEmpty() || typeName.indexOf('*') >= 0 || typeName.indexOf(',') >= 0) {
+			return null;
+		}
+		int index = typeName.indexOf('$');
+		return index > 0 ? typeName.substring(0, index) : typeName;
+	}
+
+	@Override
+	public synchronized void launchConfigurationAdded(ILaunchConfiguration configuration) {
+		add(configuration);
+	}
+
+	@Override
+	public synchronized void launchConfigurationChanged(ILaunchConfiguration configuration) {
+		remove(configuration);
+		add(configuration);
+	}
+
+	@Override
+	public synchronized void launchConfigurationRemoved(ILaunchConfiguration configuration) {
+		remove(configuration);
+	}
+
+	private void add(ILaunchConfiguration configuration) {
+		if (configuration.isWorkingCopy()) {
+			return;
+		}
+		String projectName = null;
+		String moduleName = null;
+		try {
+			projectName = configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_PROJECT_NAME, (String) null);
+			moduleName = configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_MODULE_NAME, (String) null);
+		} catch (CoreException e) {
+			// not readable, e.g. deleted meanwhile
+			return;
+		}
+		fConfigurationKeys.put(configuration, new String[] { projectName, moduleName });
+		if (projectName != null) {
+			fByProject.computeIfAbsent(projectName, key -> new LinkedHashSet<>()).add(configuration);
+		}
+		if (moduleName != null) {
+			fByModule.computeIfAbsent(moduleName, key -> new LinkedHashSet<>()).add(configuration);
+		}
+	}
+
+	private void remove(ILaunchConfiguration configuration) {
+		String[] keys = fConfigurationKeys.remove(configuration);
+		if (keys != null) {
+			remove(fByProject, keys[0], configuration);
+			remove(fByModule, keys[1], configuration);
+		}
+	}
+
+	private static <T> void remove(Map<String, Set<T>> map, String key, T element) {
+		if (key == null) {
+			return;
+		}
+		Set<T> elements = map.get(key);
+		if (elements != null && elements.remove(element) && elements.isEmpty()) {
+			map.remove(key);
+		}
+	}
+}
@@ -57,6 +57,7 @@ import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.debug.ui.IJavaDebugUIConstants;
+import org.eclipse.jdt.internal.debug.core.refactoring.RefactoringIndex;
 import org.eclipse.jdt.internal.debug.ui.breakpoints.ExceptionInspector;
 import org.eclipse.jdt.internal.debug.ui.breakpoints.JavaBreakpointTypeAdapterFactory;
 import org.eclipse.jdt.internal.debug.ui.classpath.ClasspathEntryAdapterFactory;
@@ -66,6 +67,7 @@ import org.eclipse.jdt.internal.debug.ui.monitors.JavaOwnedMonitor;
 import org.eclipse.jdt.internal.debug.ui.monitors.JavaOwningThread;
 import org.eclipse.jdt.internal.debug.ui.monitors.JavaWaitingThread;
 import org.eclipse.jdt.internal.debug.ui.monitors.MonitorsAdapterFactory;
+import org.eclipse.jdt.internal.debug.ui.snippeteditor.ScrapbookVMPool;
 import org.eclipse.jdt.internal.debug.ui.snippeteditor.SnippetFileDocumentProvider;
 import org.eclipse.jdt.internal.debug.ui.sourcelookup.JavaDebugShowInAdapterFactory;
 import org.eclipse.jdt.internal.debug.ui.threadgroups.TargetAdapterFactory;
@@ -445,6 +447,9 @@ public class JDIDebugUIPlugin extends AbstractUIPlugin {
 			setShuttingDown(true);
 			JDIDebugModel.removeHotCodeReplaceListener(fHCRListener);
 			JavaDebugOptionsManager.getDefault().shutdown();
+			RefactoringIndex.shutdown();
+			ScrapbookVMPool.shutdown();
+			WatchExpressionScheduler.shutdown();
 			if (fImageDescriptorRegistry != null) {
 				fImageDescriptorRegistry.dispose();
 			}
@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.ui;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.debug.core.model.IValue;
+import org.eclipse.debug.core.model.IWatchExpressionListener;
+import org.eclipse.debug.core.model.IWatchExpressionResult;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaStackFrame;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.eval.IAstEvaluationEngine;
+import org.eclipse.jdt.debug.eval.ICompiledExpression;
+import org.eclipse.jdt.debug.eval.IEvaluationListener;
+import org.eclipse.jdt.debug.eval.IEvaluationResult;
+import org.eclipse.jdt.internal.debug.core.JDIDebugOptions;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.JavaDebugUtils;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.ASTEvaluationEngine;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.SnapshotRuntimeContext;
+import org.eclipse.jdt.internal.debug.ui.display.JavaInspectExpression;
+
+/**
+ * Coalesces the evaluations of watch expressions in a stack frame into one
+ * batch, queued once on the thread.
+ * <p>
+ * Watch expressions asked to evaluate in the same frame before the batch
+ * starts are added to it. The expressions of a batch are evaluated one after
+ * the other, sharing one snapshot of the locals and receiver of the frame.
+ * When the thread resumes, or a batch for another frame of the thread is
+ * scheduled, the expressions of the batch that are not evaluated yet are
+ * reported without a result, so that stepping quickly does not leave stale
+ * evaluations queued on the thread. The compile and total time of each
+ * expression is written to the AST evaluation trace.
+ * </p>
+ */
+public class WatchExpressionScheduler implements IDebugEventSetListener {
+
+	private static WatchExpressionScheduler fgDefault;
+
+	/**
+	 * A watch expression to evaluate and its listener
+	 */
+	private static class Request {
+		final String fExpression;
+		final IWatchExpressionListener fListener;
+
+		Request(String expression, IWatchExpressionListener listener) {
+			fExpression = expression;
+			fListener = listener;
+		}
+	}
+
+	/**
+	 * The latest batch of each thread
+	 */
+	private final Map<IJavaThread, Batch> fBatches = new HashMap<>();
+
+	/**
+	 * Returns the shared scheduler, listening to debug events once created.
+	 *
+	 * @return the shared scheduler
+	 */
+	public static synchronized WatchExpressionScheduler getDefault() {
+		if (fgDefault == null) {
+			fgDefault = new WatchExpressionScheduler();
+			DebugPlugin.getDefault().addDebugEventListener(fgDefault);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Cancels the pending batches of the shared scheduler and stops listening
+	 * to debug events.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			DebugPlugin.getDefault().removeDebugEventListener(fgDefault);
+			fgDefault.cancelAll();
+			fgDefault = null;
+		}
+	}
+
+	/**
+	 * Evaluates the given watch expression in the given stack frame, in the
+	 * batch of the frame.
+	 *
+	 * @param frame the stack frame
+	 * @param expression the watch expression text
+	 * @param listener the listener to report the result to
+	 */
+	public void schedule(IJavaStackFrame frame, String expression, IWatchExpressionListener listener) {
+		IJavaThread thread = (IJavaThread) frame.getThread();
+		Batch batch;
+		Batch cancelled = null;
+		synchronized (this) {
+			batch = fBatches.get(thread);
+			if (batch != null && !batch.fStarted && !batch.fCancelled && batch.fFrame.equals(frame)) {
+				batch.fRequests.add(new Request(expression, listener));
+				return;
+			}
+			if (batch != null && !batch.fFrame.equals(frame)) {
+				cancelled = batch;
+			}
+			batch = new Batch(thread, frame);
+			batch.fRequests.add(new Request(expression, listener));
+			fBatches.put(thread, batch);
+		}
+		if (cancelled != null) {
+			cancelled.cancel();
+		}
+		thread.queueRunnable(batch);
+	}
+
+	private void cancelAll() {
+		List<Batch> batches;
+		synchronized (this) {
+			batches = new ArrayList<>(fBatches.values());
+			fBatches.clear();
+		}
+		for (Batch batch : batches) {
+			batch.cancel();
+		}
+	}
+
+	@Override
+	public void handleDebugEvents(DebugEvent[] events) {
+		for (DebugEvent event : events) {
+			if (!(event.getSource() instanceof IJavaThread)) {
+				continue;
+			}
+			int kind = event.getKind();
+			if (kind == DebugEvent.TERMINATE || kind == DebugEvent.RESUME && !event.isEvaluation()) {
+				Batch batch;
+				synchronized (this) {
+					batch = fBatches.remove(event.getSource());
+				}
+				if (batch != null) {
+					batch.cancel();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Watch expressions evaluated in a stack frame, one after the other
+	 */
+	private class Batch implements Runnable {
+		final IJavaThread fThread;
+		final IJavaStackFrame fFrame;
+		final List<Request> fRequests = new ArrayList<>();
+		boolean fStarted = false;
+		boolean fCancelled = false;
+
+		/**
+		 * Index of the next expression to evaluate
+		 */
+		private int fNext = 0;
+
+		private ASTEvaluationEngine fEngine;
+		private SnapshotRuntimeContext fContext;
+
+		Batch(IJavaThread thread, IJavaStackFrame frame) {
+			fThread = thread;
+			fFrame = frame;
+		}
+
+		@Override
+		public void run() {
+			synchronized (WatchExpressionScheduler.this) {
+				fStarted = true;
+				if (fCancelled) {
+					return;
+				}
+			}
+			IJavaProject project = JavaDebugUtils.resolveJavaProject(fFrame);
+			IAstEvaluationEngine engine = project == null ? null
+					: JDIDebugPlugin.getDefault().getEvaluationEngine(project, (IJavaDebugTarget) fFrame.getDebugTarget());
+			if (!(engine instanceof ASTEvaluationEngine)) {
+				finish();
+				return;
+			}
+			fEngine = (ASTEvaluationEngine) engine;
+			fContext = new SnapshotRuntimeContext(project, fFrame);
+			evaluateNext();
+		}
+
+		/**
+		 * Evaluates the next expression, unless the batch is cancelled. The
+		 * next one is evaluated once its evaluation completes.
+		 */
+		void evaluateNext() {
+			final Request request;
+			synchronized (WatchExpressionScheduler.this) {
+				if (fCancelled || fNext >= fRequests.size()) {
+					if (fBatches.get(fThread) == this) {
+						fBatches.remove(fThread);
+					}
+					request = null;
+				} else {
+					request = fRequests.get(fNext++);
+				}
+			}
+			if (request == null) {
+				finish();
+				return;
+			}
+			final long start = System.currentTimeMillis();
+			ICompiledExpression compiled = fEngine.getCompiledExpression(request.fExpression, fContext);
+			final long compileEnd = System.currentTimeMillis();
+			IEvaluationListener listener = new IEvaluationListener() {
+				@Override
+				public void evaluationComplete(IEvaluationResult result) {
+					trace(request, compileEnd - start, System.currentTimeMillis() - start);
+					request.fListener.watchEvaluationFinished(new Result(result));
+					evaluateNext();
+				}
+			};
+			try {
+				fEngine.evaluateExpression(compiled, fContext, listener, DebugEvent.EVALUATION_IMPLICIT, false);
+			} catch (DebugException e) {
+				JDIDebugPlugin.log(e);
+				request.fListener.watchEvaluationFinished(null);
+				evaluateNext();
+			}
+		}
+
+		/**
+		 * Reports the expressions not evaluated yet without a result.
+		 */
+		void cancel() {
+			synchronized (WatchExpressionScheduler.this) {
+				fCancelled = true;
+				if (fStarted) {
+					// remaining expressions are reported by the running batch
+					return;
+				}
+			}
+			finish();
+		}
+
+		private void finish() {
+			List<Request> remaining;
+			synchronized (WatchExpressionScheduler.this) {
+				remaining = new ArrayList<>(fRequests.subList(fNext, fRequests.size()));
+				fNext = fRequests.size();
+			}
+			for (Request request : remaining) {
+				request.fListener.watchEvaluationFinished(null);
+			}
+		}
+
+		private void trace(Request request, long compile, long total) {
+			if (JDIDebugOptions.DEBUG_AST_EVAL) {
+				StringBuilder buf = new StringBuilder();
+				buf.append(JDIDebugOptions.FORMAT.format(Instant.now()));
+				buf.append(" : Watch Expression"); //$NON-NLS-1$
+				buf.append("\n\tExpression: "); //$NON-NLS-1$
+				buf.append(request.fExpression);
+				buf.append("\n\tBatch: "); //$NON-NLS-1$
+				buf.append(fNext);
+				buf.append(" of "); //$NON-NLS-1$
+				buf.append(fRequests.size());
+				buf.append("\n\tCompile: "); //$NON-NLS-1$
+				buf.append(compile);
+				buf.append("ms Total: "); //$NON-NLS-1$
+				buf.append(total);
+				buf.append("ms"); //$NON-NLS-1$
+				JDIDebugOptions.trace(buf.toString());
+			}
+		}
+	}
+
+	/**
+	 * The result of a watch expression evaluation
+	 */
+	private static class Result implements IWatchExpressionResult {
+		private final IEvaluationResult fResult;
+
+		Result(IEvaluationResult result) {
+			fResult = result;
+		}
+
+		@Override
+		public IValue getValue() {
+			return fResult.getValue();
+		}
+
+		@Override
+		public boolean hasErrors() {
+			return fResult.hasErrors();
+		}
+
+		@Override
+		public String[] getErrorMessages() {
+			return JavaInspectExpression.getErrorMessages(fResult);
+		}
+
+		@Override
+		public String getExpressionText() {
+			return fResult.getSnippet();
+		}
+
+		@Override
+		public DebugException getException() {
+			return fResult.getException();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2015 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.ui.monitors;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.debug.core.DebugEvent;
@@ -29,6 +28,7 @@ import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaObject;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.ui.IJavaDebugUIConstants;
+import org.eclipse.jdt.internal.debug.core.model.DeadlockDetector;
 import org.eclipse.jdt.internal.debug.ui.JDIDebugUIPlugin;
 import org.eclipse.jdt.internal.debug.ui.JDIDebugUIPreferenceInitializer;
 import org.eclipse.jface.preference.IPreferenceStore;
@@ -241,46 +241,28 @@ public class ThreadMonitorManager implements IDebugEventSetListener, IPropertyCh
 		public void run() {
 			JavaMonitorThread[] threads= getJavaMonitorThreads();
 			JavaMonitor[] monitors= getJavaMonitors();
-			List<Object> inDeadlock= new ArrayList<>();
+			// wait-for graph of the cached model: thread -> owner of the monitor it waits for
+			Map<JavaMonitorThread, Integer> indexes= new HashMap<>();
 			for (int i = 0; i < threads.length; i++) {
-				JavaMonitorThread thread= threads[i];
-				List<JavaMonitorThread> threadStack= new ArrayList<>();
-				List<JavaMonitor> monitorStack= new ArrayList<>();
-				while (thread != null) {
-					boolean isInDeadlock= false;
-					if (inDeadlock.contains(thread) || threadStack.contains(thread)) {
-						isInDeadlock= true;
-					} else {
-						JavaMonitor monitor = thread.getContendedMonitor0();
-						if (monitor == null) {
-							thread= null;
-						} else if (inDeadlock.contains(monitor)) {
-							isInDeadlock= true;
-						} else {
-							threadStack.add(thread);
-							monitorStack.add(monitor);
-							thread= monitor.getOwningThread0();
-						}
-					}
-					if (isInDeadlock) {
-						// is in a deadlock, set the elements of the back trace as 'in a deadlock'
-						for (Iterator<JavaMonitorThread> iter = threadStack.iterator(); iter.hasNext();) {
-							inDeadlock.add(iter.next());
-						}
-						for (Iterator<JavaMonitor> iter = monitorStack.iterator(); iter.hasNext();) {
-							inDeadlock.add(iter.next());
-						}
-						thread= null;
-					}
-				}
+				indexes.put(threads[i], Integer.valueOf(i));
+			}
+			JavaMonitor[] contended= new JavaMonitor[threads.length];
+			int[] next= new int[threads.length];
+			for (int i = 0; i < threads.length; i++) {
+				contended[i]= threads[i].getContendedMonitor0();
+				Integer owner= contended[i] == null ? null : indexes.get(contended[i].getOwningThread0());
+				next[i]= owner == null ? -1 : owner.intValue();
 			}
+			boolean[] deadlocked= DeadlockDetector.findDeadlocked(next);
+			Set<JavaMonitor> inDeadlock= new HashSet<>();
 			for (int i = 0; i < threads.length; i++) {
-				JavaMonitorThread thread= threads[i];
-				thread.setInDeadlock(inDeadlock.contains(thread));
+				threads[i].setInDeadlock(deadlocked[i]);
+				if (deadlocked[i]) {
+					inDeadlock.add(contended[i]);
+				}
 			}
 			for (int i = 0; i < monitors.length; i++) {
-				JavaMonitor monitor= monitors[i];
-				monitor.setInDeadlock(inDeadlock.contains(monitor));
+				monitors[i].setInDeadlock(inDeadlock.contains(monitors[i]));
 			}
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -238,7 +238,18 @@ public class ScrapbookLauncher implements IDebugEventSetListener {
 
 			config = wc.doSave();
 
-			ILaunch launch = config.launch(ILaunchManager.DEBUG_MODE, null);
+			ScrapbookVMPool pool = ScrapbookVMPool.getDefault();
+			String key = pool == null ? null : ScrapbookVMPool.getKey(config);
+			ILaunch launch = pool == null ? null : pool.take(key, p.getElementName());
+			if (launch != null) {
+				// a spare VM started with the same settings
+				getLaunchManager().addLaunch(launch);
+			} else {
+				launch = config.launch(ILaunchManager.DEBUG_MODE, null);
+			}
+			if (pool != null) {
+				pool.replenish(key, p.getElementName(), config);
+			}
 			if (launch != null) {
 				IDebugTarget dt = launch.getDebugTarget();
 				IBreakpoint magicBreakpoint = createMagicBreakpoint(jarFile);
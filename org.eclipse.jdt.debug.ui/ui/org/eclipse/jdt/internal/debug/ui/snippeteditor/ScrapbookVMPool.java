@@ -0,0 +1,333 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.ui.snippeteditor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.debug.ui.JDIDebugUIPlugin;
+import org.eclipse.jdt.launching.IVMInstall;
+import org.eclipse.jdt.launching.JavaRuntime;
+
+/**
+ * A pool of scrapbook VMs started ahead of time, so that evaluating a
+ * scrapbook page for the first time or after a reset does not wait for a VM to
+ * start.
+ * <p>
+ * Once a scrapbook VM is launched, a spare VM is started in the background
+ * with the same launch configuration, without registering its launch. A spare
+ * VM waits in the evaluation loop of <code>ScrapbookMain</code> until the
+ * launcher takes it for a page whose launch settings (JRE, VM arguments,
+ * working directory and class path) are the same, registers its launch and
+ * installs the evaluation breakpoint. Spare VMs of a project are terminated
+ * when its class path changes, or when a page of the project is launched with
+ * other settings.
+ * </p>
+ * <p>
+ * As the launch of a spare VM is not registered until it is taken, no console
+ * is connected to its process while it waits: output it writes before then is
+ * not shown as it is written. <code>ScrapbookMain</code> writes nothing until
+ * a snippet is evaluated, which only happens once the VM is taken. A spare VM
+ * that exits while it waits is removed from the pool without its output being
+ * shown.
+ * </p>
+ * <p>
+ * The pool is disabled unless the system property
+ * <code>org.eclipse.jdt.internal.debug.ui.snippeteditor.ScrapbookVMPool.size</code>
+ * sets the maximum number of spare VMs.
+ * </p>
+ */
+public class ScrapbookVMPool implements IElementChangedListener, IDebugEventSetListener {
+
+	/**
+	 * Default maximum number of spare VMs, 0 when the pool is disabled
+	 */
+	public static final int DEFAULT_SIZE = Integer.getInteger("org.eclipse.jdt.internal.debug.ui.snippeteditor.ScrapbookVMPool.size", 0).intValue(); //$NON-NLS-1$
+
+	private static ScrapbookVMPool fgDefault;
+
+	/**
+	 * A started VM waiting to be taken
+	 */
+	private static class Spare {
+		final String fKey;
+		final String fProjectName;
+		final ILaunch fLaunch;
+
+		Spare(String key, String projectName, ILaunch launch) {
+			fKey = key;
+			fProjectName = projectName;
+			fLaunch = launch;
+		}
+	}
+
+	/**
+	 * Spare VMs, oldest first
+	 */
+	private final LinkedList<Spare> fSpares = new LinkedList<>();
+
+	/**
+	 * Project names of the spare VMs being started, by key
+	 */
+	private final Map<String, String> fStarting = new HashMap<>();
+
+	private final int fSize;
+
+	private boolean fDisposed = false;
+
+	/**
+	 * Returns the shared pool, or <code>null</code> if the pool is disabled.
+	 *
+	 * @return the shared pool or <code>null</code>
+	 */
+	public static synchronized ScrapbookVMPool getDefault() {
+		if (fgDefault == null && DEFAULT_SIZE > 0) {
+			fgDefault = new ScrapbookVMPool(DEFAULT_SIZE);
+			JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE);
+			DebugPlugin.getDefault().addDebugEventListener(fgDefault);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Terminates the spare VMs of the shared pool and stops listening to
+	 * changes.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			DebugPlugin.getDefault().removeDebugEventListener(fgDefault);
+			fgDefault.dispose();
+			fgDefault = null;
+		}
+	}
+
+	/**
+	 * Constructs a pool keeping at most <code>size</code> spare VMs.
+	 *
+	 * @param size maximum number of spare VMs, at least 1
+	 */
+	public ScrapbookVMPool(int size) {
+		fSize = Math.max(1, size);
+	}
+
+	/**
+	 * Returns the key of the VMs launched with the given configuration: VMs
+	 * with the same key can be used for each other.
+	 *
+	 * @param config scrapbook launch configuration
+	 * @return the key
+	 * @throws CoreException if the configuration cannot be read
+	 */
+	public static String getKey(ILaunchConfiguration config) throws CoreException {
+		Map<String, Object> attributes = new TreeMap<>(config.getAttributes());
+		attributes.remove(ScrapbookLauncher.SCRAPBOOK_FILE_PATH);
+		IVMInstall vm = JavaRuntime.computeVMInstall(config);
+		return vm.getVMInstallType().getId() + '/' + vm.getId() + '\n' + attributes;
+	}
+
+	/**
+	 * Returns a spare VM with the given key, removed from the pool, or
+	 * <code>null</code> if none. The launch of the VM is not registered with
+	 * the launch manager, callers register it so that a console is connected
+	 * to its process. Spare VMs of the project with another key are
+	 * terminated.
+	 *
+	 * @param key key from {@link #getKey(ILaunchConfiguration)}
+	 * @param projectName name of the project of the scrapbook page
+	 * @return launch of a spare VM or <code>null</code>
+	 */
+	public ILaunch take(String key, String projectName) {
+		ILaunch launch = null;
+		List<Spare> stale = new ArrayList<>();
+		synchronized (this) {
+			Iterator<Spare> iter = fSpares.iterator();
+			while (iter.hasNext()) {
+				Spare spare = iter.next();
+				if (spare.fLaunch.isTerminated()) {
+					iter.remove();
+				} else if (spare.fKey.equals(key)) {
+					if (launch == null) {
+						iter.remove();
+						launch = spare.fLaunch;
+					}
+				} else if (spare.fProjectName.equals(projectName)) {
+					iter.remove();
+					stale.add(spare);
+				}
+			}
+		}
+		terminate(stale);
+		return launch;
+	}
+
+	/**
+	 * Starts a spare VM with the given configuration in the background, unless
+	 * the pool has one with the given key already. The job starting the VM
+	 * belongs to the family of this pool.
+	 *
+	 * @param key key from {@link #getKey(ILaunchConfiguration)}
+	 * @param projectName name of the project of the scrapbook page
+	 * @param config scrapbook launch configuration
+	 */
+	public void replenish(String key, String projectName, ILaunchConfiguration config) {
+		synchronized (this) {
+			if (fDisposed || fStarting.containsKey(key)) {
+				return;
+			}
+			for (Spare spare : fSpares) {
+				if (spare.fKey.equals(key) && !spare.fLaunch.isTerminated()) {
+					return;
+				}
+			}
+			fStarting.put(key, projectName);
+		}
+		Job job = new Job(SnippetMessages.getString("ScrapbookVMPool.0")) { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				ILaunch launch = null;
+				try {
+					launch = config.launch(ILaunchManager.DEBUG_MODE, monitor, false, false);
+				} catch (CoreException e) {
+					JDIDebugUIPlugin.log(e);
+				}
+				List<Spare> evicted = new ArrayList<>();
+				synchronized (ScrapbookVMPool.this) {
+					boolean wanted = fStarting.remove(key) != null && !fDisposed;
+					if (launch != null) {
+						Spare spare = new Spare(key, projectName, launch);
+						if (wanted) {
+							fSpares.add(spare);
+							while (fSpares.size() > fSize) {
+								evicted.add(fSpares.removeFirst());
+							}
+						} else {
+							evicted.add(spare);
+						}
+					}
+				}
+				terminate(evicted);
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return family == ScrapbookVMPool.this;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	/**
+	 * Terminates the spare VMs of the given project, and the ones being
+	 * started once they are.
+	 *
+	 * @param projectName project name
+	 */
+	public void discard(String projectName) {
+		List<Spare> discarded = new ArrayList<>();
+		synchronized (this) {
+			Iterator<Spare> iter = fSpares.iterator();
+			while (iter.hasNext()) {
+				Spare spare = iter.next();
+				if (spare.fProjectName.equals(projectName)) {
+					iter.remove();
+					discarded.add(spare);
+				}
+			}
+			fStarting.values().removeIf(name -> name.equals(projectName));
+		}
+		terminate(discarded);
+	}
+
+	/**
+	 * Returns the number of spare VMs.
+	 *
+	 * @return number of spare VMs
+	 */
+	public synchronized int size() {
+		return fSpares.size();
+	}
+
+	private void dispose() {
+		List<Spare> spares;
+		synchronized (this) {
+			fDisposed = true;
+			spares = new ArrayList<>(fSpares);
+			fSpares.clear();
+			fStarting.clear();
+		}
+		terminate(spares);
+	}
+
+	private static void terminate(List<Spare> spares) {
+		for (Spare spare : spares) {
+			try {
+				spare.fLaunch.terminate();
+			} catch (DebugException e) {
+				JDIDebugUIPlugin.log(e);
+			}
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		for (IJavaElementDelta delta : event.getDelta().getAffectedChildren()) {
+			IJavaElement element = delta.getElement();
+			if (element.getElementType() != IJavaElement.JAVA_PROJECT) {
+				continue;
+			}
+			int flags = delta.getFlags();
+			if (delta.getKind() == IJavaElementDelta.REMOVED
+					|| (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_CLOSED)) != 0) {
+				discard(element.getElementName());
+			}
+		}
+	}
+
+	@Override
+	public void handleDebugEvents(DebugEvent[] events) {
+		for (DebugEvent event : events) {
+			if (event.getKind() == DebugEvent.TERMINATE) {
+				synchronized (this) {
+					fSpares.removeIf(spare -> spare.fLaunch.isTerminated());
+				}
+				return;
+			}
+		}
+	}
+}
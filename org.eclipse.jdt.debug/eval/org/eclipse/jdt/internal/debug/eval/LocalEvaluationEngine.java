@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,12 +16,22 @@ package org.eclipse.jdt.internal.debug.eval;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLDecoder;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.CoreException;
@@ -30,17 +40,24 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.IStackFrame;
 import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.eval.ICodeSnippetRequestor;
 import org.eclipse.jdt.core.eval.IEvaluationContext;
 import org.eclipse.jdt.debug.core.IEvaluationRunnable;
+import org.eclipse.jdt.debug.core.IJavaArray;
+import org.eclipse.jdt.debug.core.IJavaArrayType;
 import org.eclipse.jdt.debug.core.IJavaClassObject;
 import org.eclipse.jdt.debug.core.IJavaClassType;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaObject;
+import org.eclipse.jdt.debug.core.IJavaReferenceType;
 import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.IJavaType;
@@ -52,6 +69,7 @@ import org.eclipse.jdt.debug.eval.IEvaluationEngine;
 import org.eclipse.jdt.debug.eval.IEvaluationListener;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.JavaDebugUtils;
+import org.eclipse.jdt.internal.debug.core.model.JDIArrayValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDIValue;
 
@@ -60,6 +78,24 @@ import com.sun.jdi.ObjectReference;
 
 /**
  * An evaluation engine that deploys class files locally
+ * <p>
+ * Evaluations without a stack frame or receiver context, as done by the
+ * scrapbook, do not deploy class files to the output directory: the class
+ * files are kept in memory and defined in the class loader that has the output
+ * directory on its class path, so that the snippet is in the runtime package
+ * of the project classes it accesses. The class files are sent to the target a
+ * whole array at a time. Class files are deployed to the output directory when
+ * no such class loader is found, when the evaluation has a stack frame or
+ * receiver context, which needs the classes in the runtime package of the
+ * receiving type, or when the system property
+ * <code>org.eclipse.jdt.internal.debug.eval.LocalEvaluationEngine.inMemory.disable</code>
+ * is set.
+ * </p>
+ * <p>
+ * The class files compiled for a snippet are kept, keyed by snippet and
+ * context, so that evaluating it again does not compile it again. They are
+ * dropped when Java elements change.
+ * </p>
  */
 
 public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
@@ -67,6 +103,31 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 
 	private static final String CODE_SNIPPET_NAME = "CodeSnippet.class"; //$NON-NLS-1$
 
+	/**
+	 * Whether to define class files in memory when possible
+	 */
+	private static final boolean IN_MEMORY = !Boolean.getBoolean("org.eclipse.jdt.internal.debug.eval.LocalEvaluationEngine.inMemory.disable"); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of compiled snippets kept
+	 */
+	private static final int MAX_COMPILED_SNIPPETS = 32;
+
+	/**
+	 * Class files compiled for a snippet
+	 */
+	private static class CompiledSnippet {
+		final byte[][] fClassFiles;
+		final String[][] fClassFileNames;
+		final String fCodeSnippetClassName;
+
+		CompiledSnippet(byte[][] classFiles, String[][] classFileNames, String codeSnippetClassName) {
+			fClassFiles = classFiles;
+			fClassFileNames = classFileNames;
+			fCodeSnippetClassName = codeSnippetClassName;
+		}
+	}
+
 	/**
 	 * A count of the number of engines created. Count is incremented on
 	 * instantiation and decremented on dispose. When the count == 0, the
@@ -115,6 +176,61 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 	 */
 	private List<File> fDirectories;
 
+	/**
+	 * Class files the code snippet classes depend on, such as the code snippet
+	 * super class, which the evaluation context provides once, by name. Kept
+	 * in memory to be defined in the class loader of each evaluation.
+	 */
+	private final Map<String, byte[]> fSupportClassFiles = new LinkedHashMap<>();
+
+	/**
+	 * Class files of the current evaluation kept in memory by name, or
+	 * <code>null</code> if they are deployed to the output directory
+	 */
+	private Map<String, byte[]> fEvaluationClassFiles;
+
+	/**
+	 * Compiled snippets keyed by snippet and context, in access order
+	 */
+	private final Map<String, CompiledSnippet> fCompiledSnippets = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CompiledSnippet> eldest) {
+			return size() > MAX_COMPILED_SNIPPETS;
+		}
+	};
+
+	/**
+	 * Key of the snippet being compiled, or <code>null</code>
+	 */
+	private String fCompileKey;
+
+	/**
+	 * Number of evaluations that ran a compiled snippet again
+	 */
+	private int fCompiledSnippetHits = 0;
+
+	/**
+	 * Name of the type whose class loader had the output directory on its
+	 * class path, or <code>null</code> if not found yet
+	 */
+	private volatile String fClassPathTypeName;
+
+	/**
+	 * Drops the compiled snippets when Java elements change
+	 */
+	private final IElementChangedListener fElementListener = new IElementChangedListener() {
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			if (JavaDebugUtils.isJavaChange(event.getDelta())) {
+				synchronized (fCompiledSnippets) {
+					fCompiledSnippets.clear();
+				}
+			}
+		}
+	};
+
 	/**
 	 * Evaluation context for the Java project associated with this evaluation
 	 * engine.
@@ -196,6 +312,7 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 		setDebugTarget(vm);
 		setOutputDirectory(directory);
 		ENGINE_COUNT++;
+		JavaCore.addElementChangedListener(fElementListener, ElementChangedEvent.POST_CHANGE);
 	}
 
 	/**
@@ -204,8 +321,25 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 	@Override
 	public boolean acceptClassFiles(byte[][] classFileBytes,
 			String[][] classFileCompoundNames, String codeSnippetClassName) {
+		if (codeSnippetClassName != null && fCompileKey != null) {
+			synchronized (fCompiledSnippets) {
+				fCompiledSnippets.put(fCompileKey, new CompiledSnippet(classFileBytes, classFileCompoundNames, codeSnippetClassName));
+			}
+		}
 		try {
-			deploy(classFileBytes, classFileCompoundNames);
+			if (IN_MEMORY && getStackFrame() == null && getThis() == null) {
+				// defined in the target when the evaluation runs
+				Map<String, byte[]> classFiles = codeSnippetClassName == null ? fSupportClassFiles : new LinkedHashMap<>();
+				for (int i = 0; i < classFileBytes.length; i++) {
+					classFiles.put(String.join(".", classFileCompoundNames[i]), classFileBytes[i]); //$NON-NLS-1$
+				}
+				if (codeSnippetClassName != null) {
+					fEvaluationClassFiles = classFiles;
+				}
+			} else {
+				deploySupportClassFiles();
+				deploy(classFileBytes, classFileCompoundNames);
+			}
 		} catch (DebugException e) {
 			getResult().setException(e);
 			return false;
@@ -226,7 +360,11 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 	public void run(IJavaThread thread, IProgressMonitor monitor) {
 		IJavaObject codeSnippetInstance = null;
 		try {
-			codeSnippetInstance = newInstance(getCodeSnippetClassName());
+			if (fEvaluationClassFiles != null) {
+				codeSnippetInstance = newInstanceInMemory();
+			} else {
+				codeSnippetInstance = newInstance(getCodeSnippetClassName());
+			}
 			initializeLocals(codeSnippetInstance);
 			codeSnippetInstance.sendMessage(RUN_METHOD,	"()V", null, getThread(), false); //$NON-NLS-1$
 			restoreLocals(codeSnippetInstance);
@@ -443,21 +581,26 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 			setLocalVariableNames(EMPTY_STRING_ARRAY);
 			setLocalVariableTypeNames(EMPTY_STRING_ARRAY);
 			setLocalVariableModifiers(EMPTY_INT_ARRAY);
+			final String key = getCompileKey(null, false, false);
 
 			// do the evaluation in a different thread
 			Runnable r = new Runnable() {
 				@Override
 				public void run() {
 					try {
-						LocalEvaluationEngine.this
-								.getEvaluationContext()
-								.evaluateCodeSnippet(
-										LocalEvaluationEngine.this.getSnippet(),
-										LocalEvaluationEngine.this, null);
+						if (!LocalEvaluationEngine.this.runCompiled(key)) {
+							LocalEvaluationEngine.this.fCompileKey = key;
+							LocalEvaluationEngine.this
+									.getEvaluationContext()
+									.evaluateCodeSnippet(
+											LocalEvaluationEngine.this.getSnippet(),
+											LocalEvaluationEngine.this, null);
+						}
 					} catch (JavaModelException e) {
 						LocalEvaluationEngine.this.getResult().setException(
 								new DebugException(e.getStatus()));
 					} finally {
+						LocalEvaluationEngine.this.fCompileKey = null;
 						LocalEvaluationEngine.this.evaluationComplete();
 					}
 				}
@@ -522,28 +665,33 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 			final IType receivingType = JavaDebugUtils
 					.resolveDeclaringType(frame);
 			validateReceivingType(receivingType);
+			final String key = getCompileKey(receivingType, isStatic, isConstructor);
 
 			// do the evaluation in a different thread
 			Runnable r = new Runnable() {
 				@Override
 				public void run() {
 					try {
-						LocalEvaluationEngine.this
-								.getEvaluationContext()
-								.evaluateCodeSnippet(
-										LocalEvaluationEngine.this.getSnippet(),
-										LocalEvaluationEngine.this
-												.getLocalVariableTypeNames(),
-										LocalEvaluationEngine.this
-												.getLocalVariableNames(),
-										LocalEvaluationEngine.this
-												.getLocalVariableModifiers(),
-										receivingType, isStatic, isConstructor,
-										LocalEvaluationEngine.this, null);
+						if (!LocalEvaluationEngine.this.runCompiled(key)) {
+							LocalEvaluationEngine.this.fCompileKey = key;
+							LocalEvaluationEngine.this
+									.getEvaluationContext()
+									.evaluateCodeSnippet(
+											LocalEvaluationEngine.this.getSnippet(),
+											LocalEvaluationEngine.this
+													.getLocalVariableTypeNames(),
+											LocalEvaluationEngine.this
+													.getLocalVariableNames(),
+											LocalEvaluationEngine.this
+													.getLocalVariableModifiers(),
+											receivingType, isStatic, isConstructor,
+											LocalEvaluationEngine.this, null);
+						}
 					} catch (JavaModelException e) {
 						LocalEvaluationEngine.this.getResult().setException(
 								new DebugException(e.getStatus()));
 					} finally {
+						LocalEvaluationEngine.this.fCompileKey = null;
 						LocalEvaluationEngine.this.evaluationComplete();
 					}
 				}
@@ -561,6 +709,51 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 		}
 	}
 
+	/**
+	 * Returns the key of the compiled snippet for the current snippet and
+	 * context.
+	 *
+	 * @param receivingType
+	 *            receiving type, or <code>null</code> if none
+	 * @param isStatic
+	 *            whether the context is static
+	 * @param isConstructor
+	 *            whether the context is a constructor
+	 * @return the key
+	 */
+	private String getCompileKey(IType receivingType, boolean isStatic,
+			boolean isConstructor) {
+		StringBuilder key = new StringBuilder(getSnippet());
+		key.append('\n').append(receivingType == null ? "" : receivingType.getHandleIdentifier()); //$NON-NLS-1$
+		key.append('\n').append(isStatic).append(isConstructor);
+		key.append('\n').append(Arrays.toString(getLocalVariableTypeNames()));
+		key.append('\n').append(Arrays.toString(getLocalVariableNames()));
+		key.append('\n').append(Arrays.toString(getLocalVariableModifiers()));
+		key.append('\n').append(Arrays.toString(getImports()));
+		return key.toString();
+	}
+
+	/**
+	 * Runs the class files compiled earlier for the snippet with the given
+	 * key, if any.
+	 *
+	 * @param key
+	 *            key of the compiled snippet
+	 * @return whether compiled class files were found and run
+	 */
+	private boolean runCompiled(String key) {
+		CompiledSnippet compiled;
+		synchronized (fCompiledSnippets) {
+			compiled = fCompiledSnippets.get(key);
+			if (compiled == null) {
+				return false;
+			}
+			fCompiledSnippetHits++;
+		}
+		acceptClassFiles(compiled.fClassFiles, compiled.fClassFileNames, compiled.fCodeSnippetClassName);
+		return true;
+	}
+
 	/**
 	 * Verifies the receiving type was resolved and is not an inner type.
 	 *
@@ -619,28 +812,33 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 			final IType receivingType = JavaDebugUtils.resolveType(thisContext
 					.getJavaType());
 			validateReceivingType(receivingType);
+			final String key = getCompileKey(receivingType, isStatic, isConstructor);
 
 			// do the evaluation in a different thread
 			Runnable r = new Runnable() {
 				@Override
 				public void run() {
 					try {
-						LocalEvaluationEngine.this
-								.getEvaluationContext()
-								.evaluateCodeSnippet(
-										LocalEvaluationEngine.this.getSnippet(),
-										LocalEvaluationEngine.this
-												.getLocalVariableTypeNames(),
-										LocalEvaluationEngine.this
-												.getLocalVariableNames(),
-										LocalEvaluationEngine.this
-												.getLocalVariableModifiers(),
-										receivingType, isStatic, isConstructor,
-										LocalEvaluationEngine.this, null);
+						if (!LocalEvaluationEngine.this.runCompiled(key)) {
+							LocalEvaluationEngine.this.fCompileKey = key;
+							LocalEvaluationEngine.this
+									.getEvaluationContext()
+									.evaluateCodeSnippet(
+											LocalEvaluationEngine.this.getSnippet(),
+											LocalEvaluationEngine.this
+													.getLocalVariableTypeNames(),
+											LocalEvaluationEngine.this
+													.getLocalVariableNames(),
+											LocalEvaluationEngine.this
+													.getLocalVariableModifiers(),
+											receivingType, isStatic, isConstructor,
+											LocalEvaluationEngine.this, null);
+						}
 					} catch (JavaModelException e) {
 						LocalEvaluationEngine.this.getResult().setException(
 								new DebugException(e.getStatus()));
 					} finally {
+						LocalEvaluationEngine.this.fCompileKey = null;
 						LocalEvaluationEngine.this.evaluationComplete();
 					}
 				}
@@ -721,6 +919,7 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 	public void dispose() {
 		fDisposed = true;
 		ENGINE_COUNT--;
+		JavaCore.removeElementChangedListener(fElementListener);
 		if (isEvaluating()) {
 			// cannot dispose if in an evaluation, must
 			// wait for evaluation to complete
@@ -767,6 +966,11 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 			i--;
 		}
 		reset();
+		fSupportClassFiles.clear();
+		synchronized (fCompiledSnippets) {
+			fCompiledSnippets.clear();
+		}
+		fClassPathTypeName = null;
 		setJavaProject(null);
 		setDebugTarget(null);
 		setOutputDirectory(null);
@@ -781,6 +985,7 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 		setThis(null);
 		setStackFrame(null);
 		setListener(null);
+		fEvaluationClassFiles = null;
 	}
 
 	/**
@@ -907,6 +1112,39 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 		}
 	}
 
+	/**
+	 * Deploys the given class files, keyed by qualified name, to this engine's
+	 * output location.
+	 *
+	 * @exception DebugException
+	 *                if this fails due to a lower level exception.
+	 */
+	private void deploy(Map<String, byte[]> classFiles) throws DebugException {
+		byte[][] bytes = new byte[classFiles.size()][];
+		String[][] names = new String[classFiles.size()][];
+		int i = 0;
+		for (Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
+			bytes[i] = entry.getValue();
+			names[i] = entry.getKey().split("\\."); //$NON-NLS-1$
+			i++;
+		}
+		deploy(bytes, names);
+	}
+
+	/**
+	 * Deploys the support class files kept in memory to this engine's output
+	 * location, where the class loaders of later evaluations find them.
+	 *
+	 * @exception DebugException
+	 *                if this fails due to a lower level exception.
+	 */
+	private void deploySupportClassFiles() throws DebugException {
+		if (!fSupportClassFiles.isEmpty()) {
+			deploy(fSupportClassFiles);
+			fSupportClassFiles.clear();
+		}
+	}
+
 	/**
 	 * Adds the given file to this engine's collection of deployed snippet class
 	 * files, which are to be deleted when this engine is disposed.
@@ -1098,6 +1336,239 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 		return object;
 	}
 
+	/**
+	 * Defines the class files of the current evaluation in the class loader of
+	 * the evaluation thread that has the output directory on its class path,
+	 * and returns a new instance of the code snippet class. Being defined by
+	 * that class loader, the snippet is in the runtime package of the project
+	 * classes it accesses. The class files are deployed to the output directory
+	 * instead when no such class loader is found.
+	 *
+	 * @return a new instance of the code snippet class
+	 * @exception DebugException
+	 *                if creation fails
+	 */
+	protected IJavaObject newInstanceInMemory() throws DebugException {
+		IJavaObject loader = findClassLoader();
+		if (loader == null) {
+			deploySupportClassFiles();
+			deploy(fEvaluationClassFiles);
+			return newInstance(getCodeSnippetClassName());
+		}
+		Map<String, byte[]> classFiles = new LinkedHashMap<>(fSupportClassFiles);
+		classFiles.putAll(fEvaluationClassFiles);
+		IJavaClassObject codeSnippetClass = defineClasses(loader, classFiles);
+		if (codeSnippetClass == null) {
+			throw new DebugException(
+					new Status(
+							IStatus.ERROR,
+							JDIDebugModel.getPluginIdentifier(),
+							DebugException.REQUEST_FAILED,
+							EvaluationMessages.LocalEvaluationEngine_Evaluation_failed___unable_to_instantiate_code_snippet_class__11,
+							null));
+		}
+		return (IJavaObject) codeSnippetClass.sendMessage(
+				"newInstance", "()Ljava/lang/Object;", null, getThread(), false); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Defines the given class files in the given class loader. Classes the
+	 * class loader already defined, in an earlier evaluation that stopped in
+	 * the same class loader, are not defined again. A class whose super type
+	 * is defined later in the same batch fails to be defined, and is defined
+	 * again once the other classes are.
+	 *
+	 * @return the code snippet class, or <code>null</code> if not defined
+	 */
+	private IJavaClassObject defineClasses(IJavaObject loader,
+			Map<String, byte[]> classFiles) throws DebugException {
+		IJavaClassObject codeSnippetClass = null;
+		List<String> pending = new ArrayList<>(classFiles.keySet());
+		DebugException failure = null;
+		boolean defined = true;
+		while (!pending.isEmpty() && defined) {
+			defined = false;
+			Iterator<String> names = pending.iterator();
+			while (names.hasNext()) {
+				String name = names.next();
+				try {
+					IJavaClassObject theClass = getLoadedClass(loader, name);
+					if (theClass == null) {
+						theClass = defineClass(loader, name, classFiles.get(name));
+					}
+					names.remove();
+					defined = true;
+					if (name.equals(getCodeSnippetClassName())) {
+						codeSnippetClass = theClass;
+					}
+				} catch (DebugException e) {
+					failure = e;
+				}
+			}
+		}
+		if (!pending.isEmpty() && failure != null) {
+			throw failure;
+		}
+		return codeSnippetClass;
+	}
+
+	/**
+	 * Returns the class of the given name defined by the given class loader,
+	 * or <code>null</code> if none.
+	 */
+	private IJavaClassObject getLoadedClass(IJavaObject loader, String name)
+			throws DebugException {
+		IJavaType[] types = getDebugTarget().getJavaTypes(name);
+		if (types != null) {
+			for (IJavaType type : types) {
+				if (type instanceof IJavaReferenceType
+						&& loader.equals(((IJavaReferenceType) type).getClassLoaderObject())) {
+					return ((IJavaReferenceType) type).getClassObject();
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Defines a class in the given class loader, sending the class file as
+	 * one array.
+	 */
+	private IJavaClassObject defineClass(IJavaObject loader, String name,
+			byte[] classFile) throws DebugException {
+		IJavaType[] types = getDebugTarget().getJavaTypes("byte[]"); //$NON-NLS-1$
+		if (types == null || types.length == 0) {
+			throw new DebugException(
+					new Status(
+							IStatus.ERROR,
+							JDIDebugModel.getPluginIdentifier(),
+							DebugException.REQUEST_FAILED,
+							EvaluationMessages.LocalEvaluationEngine_Evaluation_failed___unable_to_instantiate_code_snippet_class__11,
+							null));
+		}
+		IJavaArray bytes = ((IJavaArrayType) types[0]).newInstance(classFile.length);
+		if (bytes instanceof JDIArrayValue) {
+			((JDIArrayValue) bytes).setValues(classFile);
+		} else {
+			IJavaValue[] values = new IJavaValue[classFile.length];
+			for (int i = 0; i < classFile.length; i++) {
+				values[i] = getDebugTarget().newValue(classFile[i]);
+			}
+			bytes.setValues(values);
+		}
+		IJavaValue[] args = new IJavaValue[] {
+				getDebugTarget().newValue(name), bytes,
+				getDebugTarget().newValue(0),
+				getDebugTarget().newValue(classFile.length),
+				getDebugTarget().nullValue() };
+		return (IJavaClassObject) loader.sendMessage("defineClass", //$NON-NLS-1$
+				"(Ljava/lang/String;[BIILjava/security/ProtectionDomain;)Ljava/lang/Class;", //$NON-NLS-1$
+				args, getThread(), false);
+	}
+
+	/**
+	 * Returns the class loader of a method on the stack of the evaluation
+	 * thread that has the output directory on its class path, or
+	 * <code>null</code> if none.
+	 * <p>
+	 * The scrapbook creates a new class loader with the same class path for
+	 * each evaluation, so class loaders cannot be remembered. The name of the
+	 * type whose class loader had the output directory on its class path is
+	 * remembered instead, and the class loader of that type is taken without
+	 * reading its class path again.
+	 * </p>
+	 *
+	 * @return class loader or <code>null</code>
+	 * @exception DebugException
+	 *                if the class loaders cannot be retrieved
+	 */
+	private IJavaObject findClassLoader() throws DebugException {
+		IStackFrame[] frames = getThread().getStackFrames();
+		String typeName = fClassPathTypeName;
+		if (typeName != null) {
+			for (IStackFrame frame : frames) {
+				IJavaReferenceType type = ((IJavaStackFrame) frame).getReferenceType();
+				if (typeName.equals(type.getName())) {
+					IJavaObject loader = type.getClassLoaderObject();
+					if (loader != null) {
+						return loader;
+					}
+				}
+			}
+		}
+		File directory = getOutputDirectory().getAbsoluteFile();
+		Set<Long> seen = new HashSet<>();
+		for (IStackFrame frame : frames) {
+			IJavaReferenceType type = ((IJavaStackFrame) frame).getReferenceType();
+			IJavaObject loader = type.getClassLoaderObject();
+			if (loader != null && seen.add(Long.valueOf(loader.getUniqueId()))
+					&& readClassPath(directory, loader)) {
+				fClassPathTypeName = type.getName();
+				return loader;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the class path of the given class loader from the target and
+	 * returns whether the given directory is on it.
+	 */
+	private boolean readClassPath(File directory, IJavaObject loader)
+			throws DebugException {
+		boolean urlClassLoader = false;
+		IJavaType type = loader.getJavaType();
+		while (type instanceof IJavaClassType && !urlClassLoader) {
+			urlClassLoader = "java.net.URLClassLoader".equals(type.getName()); //$NON-NLS-1$
+			type = ((IJavaClassType) type).getSuperclass();
+		}
+		if (!urlClassLoader) {
+			return false;
+		}
+		IJavaValue urls = loader.sendMessage("getURLs", "()[Ljava/net/URL;", null, getThread(), false); //$NON-NLS-1$ //$NON-NLS-2$
+		if (!(urls instanceof IJavaArray)) {
+			return false;
+		}
+		for (IJavaValue url : ((IJavaArray) urls).getValues()) {
+			if (url instanceof IJavaObject && !url.isNull()) {
+				IJavaValue form = ((IJavaObject) url).sendMessage("toExternalForm", "()Ljava/lang/String;", null, getThread(), false); //$NON-NLS-1$ //$NON-NLS-2$
+				if (!form.isNull() && isDirectory(form.getValueString(), directory)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the given <code>file</code> URL denotes the given
+	 * directory.
+	 */
+	private static boolean isDirectory(String url, File directory) {
+		try {
+			URL location = new URL(url);
+			return "file".equals(location.getProtocol()) && isDirectoryPath(location.getPath(), directory); //$NON-NLS-1$
+		} catch (MalformedURLException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns whether the given URL path, encoded or not, denotes the given
+	 * directory.
+	 */
+	private static boolean isDirectoryPath(String path, File directory) {
+		try {
+			if (directory.equals(new File(new URI("file", null, path, null)))) { //$NON-NLS-1$
+				return true;
+			}
+			String decoded = URLDecoder.decode(path.replace("+", "%2B"), "UTF-8"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			return directory.equals(new File(new URI("file", null, decoded, null))); //$NON-NLS-1$
+		} catch (URISyntaxException | IllegalArgumentException | UnsupportedEncodingException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * Interprets and returns the result of the running the snippet class file.
 	 * The type of the result is described by an instance of
@@ -1351,6 +1822,18 @@ public class LocalEvaluationEngine implements IClassFileEvaluationEngine,
 		return fCodeSnippetClassName;
 	}
 
+	/**
+	 * Returns the number of evaluations that ran the class files compiled
+	 * for an earlier evaluation of the same snippet.
+	 *
+	 * @return number of compiled snippet cache hits
+	 */
+	public int getCompiledSnippetHits() {
+		synchronized (fCompiledSnippets) {
+			return fCompiledSnippetHits;
+		}
+	}
+
 	/**
 	 * @see ICodeSnippetRequestor#isRequestingClassFiles()
 	 */
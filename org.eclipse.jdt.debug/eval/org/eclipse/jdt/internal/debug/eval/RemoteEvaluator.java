@@ -1,6 +1,6 @@
 /*******************************************************************************
 
- * Copyright (c) 2019, 2020 Jesper Steen Møller and others.
+ * Copyright (c) 2019, 2026 Jesper Steen Møller and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,9 @@ package org.eclipse.jdt.internal.debug.eval;
 
 import static org.eclipse.jdt.core.eval.ICodeSnippetRequestor.LOCAL_VAR_PREFIX;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,7 +42,9 @@ import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.model.JDIArrayValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIObjectValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIValue;
 
 import com.sun.jdi.InvocationException;
@@ -88,10 +93,25 @@ public class RemoteEvaluator {
 
 		IJavaReferenceType surroundingClass = findType(this.enclosingTypeName, debugTarget);
 		classloader = surroundingClass.getClassLoaderObject();
+		String loaderKey = classloader == null ? "" : Long.toString(classloader.getUniqueId()); //$NON-NLS-1$
 
 		for (Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
 			String className = entry.getKey();
 
+			// classes injected by an earlier evaluation of the same code need not be looked up or defined again
+			String cacheKey = getInjectedClassKey(loaderKey, className, entry.getValue());
+			IJavaClassObject injectedClass = debugTarget.getInjectedClass(cacheKey);
+			if (injectedClass != null && ((JDIObjectValue) injectedClass).getUnderlyingObject().isCollected()) {
+				debugTarget.setInjectedClass(cacheKey, null);
+				injectedClass = null;
+			}
+			if (injectedClass != null) {
+				if (codeSnippetClassName.equals(className)) {
+					theMainClass = injectedClass;
+				}
+				continue;
+			}
+
 			IJavaReferenceType existingClass = tryLoadType(className, debugTarget);
 			if (existingClass != null) {
 				if (codeSnippetClassName.equals(className)) {
@@ -108,6 +128,7 @@ public class RemoteEvaluator {
 				};
 
 				IJavaClassObject theClass = (IJavaClassObject) classloader.sendMessage("defineClass", "(Ljava/lang/String;[BIILjava/security/ProtectionDomain;)Ljava/lang/Class;", defineClassArgs, theThread, false); //$NON-NLS-1$//$NON-NLS-2$
+				debugTarget.setInjectedClass(cacheKey, theClass);
 				if (codeSnippetClassName.equals(className)) {
 					theMainClass = theClass;
 				}
@@ -116,14 +137,36 @@ public class RemoteEvaluator {
 		return theMainClass;
 	}
 
+	/**
+	 * Returns the key under which a class defined by the given class loader
+	 * from the given class file is remembered by the debug target. The class
+	 * file is identified by its SHA-256 digest, so that different class files
+	 * never share a key.
+	 */
+	private static String getInjectedClassKey(String loaderKey, String className, byte[] classBytes) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Unsupported JVM", e); //$NON-NLS-1$
+		}
+		return loaderKey + '|' + className + '|' + Base64.getEncoder().encodeToString(digest.digest(classBytes));
+	}
+
 	private IJavaArray createClassBytes(IJavaThread theThread, JDIDebugTarget debugTarget, Map.Entry<String, byte[]> entry) throws DebugException {
 		IJavaReferenceType byteArrayType = findType("byte[]", debugTarget);//$NON-NLS-1$
 		byte[] classBytes = entry.getValue();
 		IJavaArray byteArray = ((IJavaArrayType) byteArrayType).newInstance(classBytes.length);
+		if (byteArray instanceof JDIArrayValue) {
+			// send the class file in one packet rather than as one value per byte
+			((JDIArrayValue) byteArray).setValues(classBytes);
+			return byteArray;
+		}
 
 		IJavaValue[] debugClassBytes = new IJavaValue[classBytes.length];
 		for (int ix = 0; ix < classBytes.length; ++ix) {
-			debugClassBytes[ix] = ((JDIDebugTarget) theThread.getDebugTarget()).newValue(classBytes[ix]);
+			debugClassBytes[ix] = debugTarget.newValue(classBytes[ix]);
 		}
 		byteArray.setValues(debugClassBytes);
 		return byteArray;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -89,6 +89,12 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 
 	private IJavaDebugTarget fDebugTarget;
 
+	/**
+	 * Expressions compiled in the context of stack frames, or
+	 * <code>null</code> if not cached
+	 */
+	private CompiledExpressionCache fCompiledExpressions;
+
 	/**
 	 * Regex to find occurrences of 'this' in a code snippet
 	 */
@@ -133,10 +139,20 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 
 	public void setJavaProject(IJavaProject project) {
 		fProject = project;
+		if (fCompiledExpressions != null) {
+			fCompiledExpressions.clear();
+		}
 	}
 
 	public void setDebugTarget(IJavaDebugTarget debugTarget) {
 		fDebugTarget = debugTarget;
+		if (fCompiledExpressions != null) {
+			fCompiledExpressions.dispose();
+			fCompiledExpressions = null;
+		}
+		if (debugTarget != null && CompiledExpressionCache.DEFAULT_CAPACITY > 0) {
+			fCompiledExpressions = new CompiledExpressionCache(debugTarget, CompiledExpressionCache.DEFAULT_CAPACITY);
+		}
 	}
 
 	/*
@@ -217,8 +233,35 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 	public void evaluateExpression(ICompiledExpression expression,
 			IJavaStackFrame frame, IEvaluationListener listener,
 			int evaluationDetail, boolean hitBreakpoints) throws DebugException {
+		evaluateExpression(expression, new RuntimeContext(getJavaProject(), frame),
+				listener, evaluationDetail, hitBreakpoints);
+	}
+
+	/**
+	 * Evaluates the given expression in the stack frame of the given context,
+	 * with the locals and receiver the context provides.
+	 *
+	 * @param expression
+	 *            expression compiled by {@link #getCompiledExpression(String, RuntimeContext)}
+	 * @param context
+	 *            stack frame context
+	 * @param listener
+	 *            the listener that will receive notification when/if the
+	 *            evaluation completes
+	 * @param evaluationDetail
+	 *            one of <code>DebugEvent.EVALUATION</code> or
+	 *            <code>DebugEvent.EVALUATION_IMPLICIT</code>
+	 * @param hitBreakpoints
+	 *            whether or not breakpoints should be honored in the
+	 *            evaluation thread during the evaluation
+	 * @exception DebugException
+	 *                if the evaluation cannot be performed
+	 */
+	public void evaluateExpression(ICompiledExpression expression,
+			RuntimeContext context, IEvaluationListener listener,
+			int evaluationDetail, boolean hitBreakpoints) throws DebugException {
+		IJavaStackFrame frame = context.getFrame();
 		traceCaller(expression.getSnippet(), frame.getThread());
-		RuntimeContext context = new RuntimeContext(getJavaProject(), frame);
 		doEvaluation(expression, context, (IJavaThread) frame.getThread(),
 				listener, evaluationDetail, hitBreakpoints);
 	}
@@ -295,11 +338,28 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 	@Override
 	public ICompiledExpression getCompiledExpression(String snippet,
 			IJavaStackFrame frame) {
+		return getCompiledExpression(snippet, new RuntimeContext(getJavaProject(), frame));
+	}
+
+	/**
+	 * Returns a compiled expression for the given snippet in the stack frame
+	 * of the given context, with the locals and receiver the context provides.
+	 *
+	 * @param snippet
+	 *            code snippet
+	 * @param context
+	 *            stack frame context
+	 * @return compiled expression
+	 */
+	public ICompiledExpression getCompiledExpression(String snippet,
+			RuntimeContext context) {
 		IJavaProject javaProject = getJavaProject();
-		RuntimeContext context = new RuntimeContext(javaProject, frame);
+		IJavaStackFrame frame = context.getFrame();
 
 		EvaluationSourceGenerator mapper = null;
 		CompilationUnit unit = null;
+		String shape = null;
+		long stamp = 0;
 		try {
 			List<IJavaVariable> localsVar = new ArrayList<>();
 			localsVar.addAll(Arrays.asList(context.getLocals()));
@@ -370,6 +430,18 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 			// String[] localVariables = Arrays.clonesub(localVariablesWithNull, names.size());
 			String[] localVariables = new String[names.size()];
 			System.arraycopy(localVariablesWithNull, 0, localVariables, 0, localVariables.length);
+			// the generated source and the instructions only depend on the
+			// shape of the frame, not on the values of its variables
+			CompiledExpressionCache cache = fCompiledExpressions;
+			if (cache != null && javaProject != null) {
+				shape = CompiledExpressionCache.getShape(javaProject.getHandleIdentifier(), snippet, frame.getDeclaringTypeName(),
+						frame.getMethodName() + frame.getSignature(), frame.isStatic(), localTypesNames, localVariables);
+				ICompiledExpression expression = cache.get(shape, (IJavaThread) frame.getThread());
+				if (expression != null) {
+					return expression;
+				}
+				stamp = cache.getStamp();
+			}
 			mapper = new EvaluationSourceGenerator(localTypesNames,
 					localVariables, snippet, getJavaProject());
 			// Compile in context of declaring type to get proper visibility of
@@ -403,7 +475,12 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 			return expression;
 		}
 
-		return createExpressionFromAST(snippet, mapper, unit);
+		ICompiledExpression expression = createExpressionFromAST(snippet, mapper, unit);
+		CompiledExpressionCache cache = fCompiledExpressions;
+		if (shape != null && cache != null) {
+			cache.put(shape, (IJavaThread) frame.getThread(), expression, stamp);
+		}
+		return expression;
 	}
 
 	private IVariable[] extractVariables(IJavaObject thisClass) throws DebugException {
@@ -746,6 +823,9 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 	 */
 	@Override
 	public void dispose() {
+		if (fCompiledExpressions != null) {
+			fCompiledExpressions.dispose();
+		}
 	}
 
 	class EvalRunnable implements Runnable {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,6 +39,7 @@ import org.eclipse.jdt.internal.debug.eval.ast.instructions.AndOperator;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.ArrayAllocation;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.ArrayInitializerInstruction;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.AssignmentOperator;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.BinaryOperator;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.Cast;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.CompoundInstruction;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.ConditionalJump;
@@ -2577,6 +2578,11 @@ public class ASTInstructionCompiler extends ASTVisitor {
 			return false;
 		}
 
+		if (pushConstant(node)) {
+			storeInstruction();
+			return false;
+		}
+
 		String opToken = node.getOperator().toString();
 		int opTokenLength = opToken.length();
 		char char0 = opToken.charAt(0);
@@ -2871,6 +2877,7 @@ public class ASTInstructionCompiler extends ASTVisitor {
 
 		} else { // other operators
 
+			BinaryOperator operator = (BinaryOperator) fStack.peek();
 			boolean storeRequired = false;
 			if (unbox) {
 				storeRequired = unBoxing(leftBinding);
@@ -2878,6 +2885,8 @@ public class ASTInstructionCompiler extends ASTVisitor {
 			leftOperand.accept(this);
 			if (storeRequired) {
 				storeInstruction();
+			} else {
+				operator.setOperand(getOperator(leftOperand));
 			}
 			if (unbox) {
 				storeRequired = unBoxing(rightBinding);
@@ -2885,10 +2894,16 @@ public class ASTInstructionCompiler extends ASTVisitor {
 			rightOperand.accept(this);
 			if (storeRequired) {
 				storeInstruction();
+			} else {
+				operator.setOperand(getOperator(rightOperand));
 			}
 
 			storeInstruction();
 			for (int i = 1; i < operatorNumber; i++) {
+				// the result of the previous operator is the left operand
+				BinaryOperator previous = operator;
+				operator = (BinaryOperator) fStack.peek();
+				operator.setOperand(previous);
 				Expression operand = iterator.next();
 				if (unbox) {
 					ITypeBinding typeBinding = resolveTypeBinding(operand);
@@ -2900,6 +2915,8 @@ public class ASTInstructionCompiler extends ASTVisitor {
 				operand.accept(this);
 				if (storeRequired) {
 					storeInstruction();
+				} else {
+					operator.setOperand(getOperator(operand));
 				}
 				storeInstruction();
 			}
@@ -2908,6 +2925,21 @@ public class ASTInstructionCompiler extends ASTVisitor {
 		return false;
 	}
 
+	/**
+	 * Returns the operator computing the value of the given operand of an
+	 * infix expression, or <code>null</code> if the operand is not an infix
+	 * expression. The operand must have just been compiled.
+	 */
+	private Instruction getOperator(Expression operand) {
+		while (operand instanceof ParenthesizedExpression) {
+			operand = ((ParenthesizedExpression) operand).getExpression();
+		}
+		if (operand instanceof InfixExpression && !fInstructions.isEmpty()) {
+			return fInstructions.get(fInstructions.getEnd());
+		}
+		return null;
+	}
+
 	/**
 	 * @see ASTVisitor#visit(Initializer)
 	 */
@@ -3517,6 +3549,11 @@ public class ASTInstructionCompiler extends ASTVisitor {
 			return false;
 		}
 
+		if (pushConstant(node)) {
+			// stored by endVisit(PrefixExpression)
+			return false;
+		}
+
 		Expression operand = node.getOperand();
 		int expressionTypeId = getTypeId(operand);
 
@@ -4487,6 +4524,37 @@ public class ASTInstructionCompiler extends ASTVisitor {
 
 	// --------------------------
 
+	/**
+	 * Pushes the value of the given expression if it is a compile time
+	 * constant, such that operators on constants are folded at compile time
+	 * rather than evaluated in the target.
+	 *
+	 * @param expression
+	 *            an operator expression
+	 * @return whether a constant was pushed
+	 */
+	private boolean pushConstant(Expression expression) {
+		Object value = expression.resolveConstantExpressionValue();
+		if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			push(new PushInt(((Number) value).intValue()));
+		} else if (value instanceof Long) {
+			push(new PushLong(((Long) value).longValue()));
+		} else if (value instanceof Float) {
+			push(new PushFloat(((Float) value).floatValue()));
+		} else if (value instanceof Double) {
+			push(new PushDouble(((Double) value).doubleValue()));
+		} else if (value instanceof Boolean) {
+			push(new PushBoolean(((Boolean) value).booleanValue()));
+		} else if (value instanceof Character) {
+			push(new PushChar(((Character) value).charValue()));
+		} else if (value instanceof String) {
+			push(new PushString((String) value));
+		} else {
+			return false;
+		}
+		return true;
+	}
+
 	private int getTypeId(Expression expression) {
 		ITypeBinding typeBinding = expression.resolveTypeBinding();
 		if (typeBinding == null) {
@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.eval.ast.engine;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaHotCodeReplaceListener;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.eval.ICompiledExpression;
+import org.eclipse.jdt.internal.debug.core.JavaDebugUtils;
+
+/**
+ * A bounded cache of the expressions an {@link ASTEvaluationEngine} compiles
+ * in the context of stack frames, so that watch expressions and conditions
+ * evaluated again in the same method are not generated, parsed and compiled
+ * again at each step.
+ * <p>
+ * Expressions are keyed by the shape of the frame they are compiled for:
+ * project, snippet, declaring type, method, static-ness and the names and
+ * types of the visible variables, and by thread, as an instruction sequence is
+ * executed by one interpreter at a time. Expressions are kept in least
+ * recently used order, and are all dropped when Java elements change or when a
+ * hot code replace is done in the target.
+ * </p>
+ * <p>
+ * The capacity can be set with the system property
+ * <code>org.eclipse.jdt.internal.debug.eval.ast.engine.CompiledExpressionCache.size</code>,
+ * 0 disables the cache.
+ * </p>
+ */
+public class CompiledExpressionCache implements IElementChangedListener, IJavaHotCodeReplaceListener {
+
+	/**
+	 * Default maximum number of compiled expressions
+	 */
+	public static final int DEFAULT_CAPACITY = Integer.getInteger("org.eclipse.jdt.internal.debug.eval.ast.engine.CompiledExpressionCache.size", 64).intValue(); //$NON-NLS-1$
+
+	/**
+	 * A frame shape and the thread an expression is compiled for
+	 */
+	private static class Key {
+		final String fShape;
+		final IJavaThread fThread;
+
+		Key(String shape, IJavaThread thread) {
+			fShape = shape;
+			fThread = thread;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof Key) {
+				Key key = (Key) obj;
+				return fShape.equals(key.fShape) && fThread.equals(key.fThread);
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return fShape.hashCode() * 31 + fThread.hashCode();
+		}
+	}
+
+	/**
+	 * Compiled expressions in access order
+	 */
+	private final LinkedHashMap<Key, ICompiledExpression> fExpressions = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final IJavaDebugTarget fTarget;
+
+	private final int fCapacity;
+
+	/**
+	 * Incremented by each invalidation, so that expressions compiled meanwhile
+	 * are not cached
+	 */
+	private long fStamp = 0;
+
+	private boolean fListening = false;
+
+	/**
+	 * Constructs a cache for the expressions compiled for the given target.
+	 *
+	 * @param target debug target
+	 * @param capacity maximum number of compiled expressions, at least 1
+	 */
+	public CompiledExpressionCache(IJavaDebugTarget target, int capacity) {
+		fTarget = target;
+		fCapacity = Math.max(1, capacity);
+	}
+
+	/**
+	 * Returns the shape of a frame an expression is compiled for.
+	 *
+	 * @param projectHandle handle of the project the expression is compiled in
+	 * @param snippet the snippet
+	 * @param declaringType name of the declaring type of the frame
+	 * @param method name and signature of the method of the frame
+	 * @param isStatic whether the method is static
+	 * @param localTypeNames type names of the visible variables
+	 * @param localNames names of the visible variables
+	 * @return the shape
+	 */
+	public static String getShape(String projectHandle, String snippet, String declaringType, String method, boolean isStatic, String[] localTypeNames, String[] localNames) {
+		return projectHandle + '\n' + declaringType + '\n' + method + '\n' + isStatic + '\n' + Arrays.toString(localTypeNames) + '\n'
+				+ Arrays.toString(localNames) + '\n' + snippet;
+	}
+
+	/**
+	 * Returns the expression compiled for the given shape and thread, or
+	 * <code>null</code> if none.
+	 *
+	 * @param shape shape from {@link #getShape}
+	 * @param thread the thread the expression is evaluated in
+	 * @return compiled expression or <code>null</code>
+	 */
+	public synchronized ICompiledExpression get(String shape, IJavaThread thread) {
+		return fExpressions.get(new Key(shape, thread));
+	}
+
+	/**
+	 * Returns a stamp to pass to {@link #put} once an expression is compiled.
+	 *
+	 * @return the current stamp
+	 */
+	public synchronized long getStamp() {
+		return fStamp;
+	}
+
+	/**
+	 * Caches a compiled expression, unless the cache was invalidated since the
+	 * given stamp was returned.
+	 *
+	 * @param shape shape from {@link #getShape}
+	 * @param thread the thread the expression is evaluated in
+	 * @param expression the compiled expression
+	 * @param stamp stamp from {@link #getStamp()} taken before the expression
+	 *            was compiled
+	 */
+	public void put(String shape, IJavaThread thread, ICompiledExpression expression, long stamp) {
+		boolean listen;
+		synchronized (this) {
+			if (stamp != fStamp) {
+				return;
+			}
+			fExpressions.put(new Key(shape, thread), expression);
+			Iterator<ICompiledExpression> iter = fExpressions.values().iterator();
+			while (fExpressions.size() > fCapacity && iter.hasNext()) {
+				iter.next();
+				iter.remove();
+			}
+			listen = !fListening;
+			fListening = true;
+		}
+		if (listen) {
+			JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+			fTarget.addHotCodeReplaceListener(this);
+		}
+	}
+
+	/**
+	 * Removes all compiled expressions.
+	 */
+	public synchronized void clear() {
+		fStamp++;
+		fExpressions.clear();
+	}
+
+	/**
+	 * Returns the number of compiled expressions.
+	 *
+	 * @return number of compiled expressions
+	 */
+	public synchronized int size() {
+		return fExpressions.size();
+	}
+
+	/**
+	 * Removes all compiled expressions and stops listening to changes.
+	 */
+	public void dispose() {
+		synchronized (this) {
+			clear();
+			if (!fListening) {
+				return;
+			}
+			fListening = false;
+		}
+		JavaCore.removeElementChangedListener(this);
+		fTarget.removeHotCodeReplaceListener(this);
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (fTarget.isTerminated() || fTarget.isDisconnected()) {
+			dispose();
+		} else if (JavaDebugUtils.isJavaChange(event.getDelta())) {
+			clear();
+		}
+	}
+
+	@Override
+	public void hotCodeReplaceFailed(IJavaDebugTarget target, DebugException exception) {
+		clear();
+	}
+
+	@Override
+	public void hotCodeReplaceSucceeded(IJavaDebugTarget target) {
+		clear();
+	}
+
+	@Override
+	public void obsoleteMethods(IJavaDebugTarget target) {
+		clear();
+	}
+}
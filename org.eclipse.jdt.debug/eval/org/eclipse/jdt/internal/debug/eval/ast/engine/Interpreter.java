@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,12 @@
 package org.eclipse.jdt.internal.debug.eval.ast.engine;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
@@ -39,9 +40,33 @@ public class Interpreter {
 	private final Instruction[] fInstructions;
 	private int fInstructionCounter;
 	private final IRuntimeContext fContext;
-	private Stack<Object> fStack;
+	/**
+	 * The operand stack and its size. Only the evaluation thread accesses the
+	 * stack, so it is not synchronized.
+	 */
+	private Object[] fStack;
+	private int fStackSize;
+
+	/**
+	 * Primitives pushed without creating a value in the target, at the index
+	 * of their {@link #PRIMITIVE} slot in the operand stack
+	 */
+	private long[] fPrimitives;
+
+	/**
+	 * Operand stack slot of a primitive in {@link #fPrimitives}
+	 */
+	private static final Object PRIMITIVE = new Object();
 	private IJavaValue fLastValue;
 
+	/**
+	 * Boolean values created by this interpreter, index 0 for
+	 * <code>false</code> and 1 for <code>true</code>. Comparisons and logical
+	 * operators produce many intermediate booleans, primitive values are
+	 * immutable so two instances suffice.
+	 */
+	private final IJavaValue[] fBooleanValues = new IJavaValue[2];
+
 	/**
 	 * The list of internal variables
 	 */
@@ -84,7 +109,13 @@ public class Interpreter {
 	}
 
 	private void reset() {
-		fStack = new Stack<>();
+		if (fStack == null) {
+			// most instructions push at most one value
+			fStack = new Object[Math.max(8, fInstructions.length)];
+		} else {
+			Arrays.fill(fStack, 0, fStackSize, null);
+		}
+		fStackSize = 0;
 		fInstructionCounter = 0;
 	}
 
@@ -101,7 +132,10 @@ public class Interpreter {
 	 * evaluation completes.
 	 */
 	public void push(Object object) {
-		fStack.push(object);
+		if (fStackSize == fStack.length) {
+			fStack = Arrays.copyOf(fStack, fStackSize * 2);
+		}
+		fStack[fStackSize++] = object;
 		if (object instanceof IJavaObject) {
 			disableCollection((IJavaObject) object);
 		}
@@ -158,14 +192,72 @@ public class Interpreter {
 	 * Peeks at the top object of the stack
 	 */
 	public Object peek() {
-		return fStack.peek();
+		if (fStackSize == 0) {
+			throw new EmptyStackException();
+		}
+		return fStack[fStackSize - 1];
 	}
 
 	/**
 	 * Pops an object off of the stack
 	 */
 	public Object pop() {
-		return fStack.pop();
+		if (fStackSize == 0) {
+			throw new EmptyStackException();
+		}
+		Object object = fStack[--fStackSize];
+		fStack[fStackSize] = null;
+		return object;
+	}
+
+	/**
+	 * Pushes a primitive, an intermediate result of an operator that the next
+	 * operator reads without a value being created in the target.
+	 *
+	 * @param bits
+	 *            the value of an integral primitive, or the bits of a
+	 *            floating point one as a double
+	 */
+	public void pushPrimitive(long bits) {
+		push(PRIMITIVE);
+		if (fPrimitives == null || fPrimitives.length < fStack.length) {
+			fPrimitives = fPrimitives == null ? new long[fStack.length] : Arrays.copyOf(fPrimitives, fStack.length);
+		}
+		fPrimitives[fStackSize - 1] = bits;
+	}
+
+	/**
+	 * Returns whether the top of the stack is a primitive pushed by
+	 * {@link #pushPrimitive(long)}
+	 */
+	public boolean isPrimitiveOnStack() {
+		return fStackSize > 0 && fStack[fStackSize - 1] == PRIMITIVE;
+	}
+
+	/**
+	 * Pops a primitive pushed by {@link #pushPrimitive(long)}
+	 */
+	public long popPrimitive() {
+		pop();
+		return fPrimitives[fStackSize];
+	}
+
+	/**
+	 * Returns a boolean value in the target of this interpreter, reusing
+	 * values previously created by this interpreter.
+	 *
+	 * @param value
+	 *            the boolean
+	 * @return the value in the target
+	 */
+	public IJavaValue newValue(boolean value) {
+		int index = value ? 1 : 0;
+		IJavaValue javaValue = fBooleanValues[index];
+		if (javaValue == null) {
+			javaValue = fContext.getVM().newValue(value);
+			fBooleanValues[index] = javaValue;
+		}
+		return javaValue;
 	}
 
 	/**
@@ -176,13 +268,13 @@ public class Interpreter {
 	}
 
 	public IJavaValue getResult() {
-		if (fStack == null || fStack.isEmpty()) {
+		if (fStackSize == 0) {
 			if (fLastValue == null) {
 				return getContext().getVM().voidValue();
 			}
 			return fLastValue;
 		}
-		Object top = fStack.peek();
+		Object top = fStack[fStackSize - 1];
 		if (top instanceof IJavaVariable) {
 			try {
 				return (IJavaValue) ((IJavaVariable) top).getValue();
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.eval.ast.engine;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.debug.core.IJavaObject;
+import org.eclipse.jdt.debug.core.IJavaStackFrame;
+import org.eclipse.jdt.debug.core.IJavaVariable;
+
+/**
+ * A stack frame context that reads the local variables and the receiver of
+ * its frame once, so that expressions compiled and evaluated one after the
+ * other while the thread is suspended share them. The values of the variables
+ * are still read from the target.
+ */
+public class SnapshotRuntimeContext extends RuntimeContext {
+
+	private IJavaVariable[] fLocals;
+
+	private IJavaObject fThis;
+
+	private boolean fThisRead = false;
+
+	/**
+	 * Creates a runtime context for the given java project and stack frame.
+	 *
+	 * @param project
+	 *            Java project context used to compile expressions in
+	 * @param frame
+	 *            stack frame used to define locals and receiving type context
+	 */
+	public SnapshotRuntimeContext(IJavaProject project, IJavaStackFrame frame) {
+		super(project, frame);
+	}
+
+	/**
+	 * @see IRuntimeContext#getThis()
+	 */
+	@Override
+	public synchronized IJavaObject getThis() throws CoreException {
+		if (!fThisRead) {
+			fThis = super.getThis();
+			fThisRead = true;
+		}
+		return fThis;
+	}
+
+	/**
+	 * @see IRuntimeContext#getLocals()
+	 */
+	@Override
+	public synchronized IJavaVariable[] getLocals() throws CoreException {
+		if (fLocals == null) {
+			fLocals = super.getLocals();
+		}
+		return fLocals;
+	}
+}
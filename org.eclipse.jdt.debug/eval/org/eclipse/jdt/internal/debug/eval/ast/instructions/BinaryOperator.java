@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.debug.eval.ast.instructions;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
 import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 
@@ -23,6 +24,17 @@ public abstract class BinaryOperator extends CompoundInstruction {
 	protected int fRightTypeId;
 	protected boolean fIsAssignmentOperator;
 
+	/**
+	 * Whether the result is left on the stack as a primitive, read by the
+	 * enclosing operator without creating a value in the target
+	 */
+	private boolean fPrimitiveResult;
+
+	/**
+	 * Whether an operand is left on the stack as a primitive
+	 */
+	private boolean fPrimitiveOperands;
+
 	protected BinaryOperator(int resultId, int leftTypeId, int rightTypeId,
 			boolean isAssignementOperator, int start) {
 		super(start);
@@ -44,6 +56,53 @@ public abstract class BinaryOperator extends CompoundInstruction {
 		}
 	}
 
+	/**
+	 * Notifies this operator of the operator computing one of its operands.
+	 * When both operators compute on primitives, the result of the operand
+	 * operator is left on the stack as a primitive.
+	 *
+	 * @param operand
+	 *            the last instruction of the operand, or <code>null</code>
+	 */
+	public void setOperand(Instruction operand) {
+		if (operand instanceof BinaryOperator && isPrimitiveOperator()) {
+			BinaryOperator operator = (BinaryOperator) operand;
+			if (operator.isPrimitiveOperator() && isPrimitiveType(operator.fResultTypeId)) {
+				operator.fPrimitiveResult = true;
+				fPrimitiveOperands = true;
+			}
+		}
+	}
+
+	/**
+	 * Returns whether this operator computes its result from primitive
+	 * operands.
+	 */
+	private boolean isPrimitiveOperator() {
+		return !fIsAssignmentOperator && hasPrimitiveResults()
+				&& isPrimitiveType(getInternResultType());
+	}
+
+	private static boolean isPrimitiveType(int typeId) {
+		switch (typeId) {
+		case T_int:
+		case T_long:
+		case T_float:
+		case T_double:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Returns whether this operator implements the methods computing its
+	 * result from primitive operands.
+	 */
+	protected boolean hasPrimitiveResults() {
+		return false;
+	}
+
 	private void executeAssignment() throws CoreException {
 		IJavaValue value = popValue();
 		IJavaVariable variable = (IJavaVariable) pop();
@@ -83,6 +142,10 @@ public abstract class BinaryOperator extends CompoundInstruction {
 	}
 
 	private void executeBinary() throws CoreException {
+		if (fPrimitiveResult || fPrimitiveOperands) {
+			executePrimitive();
+			return;
+		}
 		IJavaValue right = popValue();
 		IJavaValue left = popValue();
 
@@ -108,6 +171,99 @@ public abstract class BinaryOperator extends CompoundInstruction {
 		}
 	}
 
+	/**
+	 * Computes the result from primitive operands, which may have been left on
+	 * the stack as primitives, and leaves the result as a primitive when the
+	 * enclosing operator reads it so.
+	 */
+	private void executePrimitive() throws CoreException {
+		switch (getInternResultType()) {
+		case T_double: {
+			double right = popDouble(fRightTypeId);
+			double left = popDouble(fLeftTypeId);
+			if (fResultTypeId == T_boolean) {
+				pushNewValue(getBooleanResult(left, right));
+			} else if (fPrimitiveResult) {
+				pushPrimitive(Double.doubleToRawLongBits(getDoubleResult(left, right)));
+			} else {
+				pushNewValue(getDoubleResult(left, right));
+			}
+			break;
+		}
+		case T_float: {
+			float right = popFloat(fRightTypeId);
+			float left = popFloat(fLeftTypeId);
+			if (fResultTypeId == T_boolean) {
+				pushNewValue(getBooleanResult(left, right));
+			} else if (fPrimitiveResult) {
+				pushPrimitive(Double.doubleToRawLongBits(getFloatResult(left, right)));
+			} else {
+				pushNewValue(getFloatResult(left, right));
+			}
+			break;
+		}
+		case T_long: {
+			long right = popLong();
+			long left = popLong();
+			if (fResultTypeId == T_boolean) {
+				pushNewValue(getBooleanResult(left, right));
+			} else if (fPrimitiveResult) {
+				pushPrimitive(getLongResult(left, right));
+			} else {
+				pushNewValue(getLongResult(left, right));
+			}
+			break;
+		}
+		case T_int: {
+			int right = popInt();
+			int left = popInt();
+			if (fResultTypeId == T_boolean) {
+				pushNewValue(getBooleanResult(left, right));
+			} else if (fPrimitiveResult) {
+				pushPrimitive(getIntResult(left, right));
+			} else {
+				pushNewValue(getIntResult(left, right));
+			}
+			break;
+		}
+		}
+	}
+
+	/*
+	 * Primitives left on the stack hold the bits of a double for float and
+	 * double results, and the value for int and long results.
+	 */
+
+	private int popInt() throws CoreException {
+		if (isPrimitiveOnStack()) {
+			return (int) popPrimitive();
+		}
+		return ((IJavaPrimitiveValue) popValue()).getIntValue();
+	}
+
+	private long popLong() throws CoreException {
+		if (isPrimitiveOnStack()) {
+			return popPrimitive();
+		}
+		return ((IJavaPrimitiveValue) popValue()).getLongValue();
+	}
+
+	private float popFloat(int typeId) throws CoreException {
+		if (isPrimitiveOnStack()) {
+			long bits = popPrimitive();
+			return typeId == T_float ? (float) Double.longBitsToDouble(bits) : (float) bits;
+		}
+		return ((IJavaPrimitiveValue) popValue()).getFloatValue();
+	}
+
+	private double popDouble(int typeId) throws CoreException {
+		if (isPrimitiveOnStack()) {
+			long bits = popPrimitive();
+			return typeId == T_float || typeId == T_double ? Double.longBitsToDouble(bits) : (double) bits;
+		}
+		return ((IJavaPrimitiveValue) popValue()).getDoubleValue();
+	}
+
 	private IJavaValue getByteValueResult(IJavaValue leftOperand,
 			IJavaValue rightOperand) throws CoreException {
 		switch (getInternResultType()) {
@@ -248,6 +404,38 @@ public abstract class BinaryOperator extends CompoundInstruction {
 	protected abstract String getStringResult(IJavaValue leftOperand,
 			IJavaValue rightOperand) throws CoreException;
 
+	/*
+	 * Results from primitive operands, implemented by the operators whose
+	 * hasPrimitiveResults() returns true. Comparisons of int and float
+	 * operands use the long and double methods.
+	 */
+
+	protected int getIntResult(int leftOperand, int rightOperand)
+			throws CoreException {
+		return 0;
+	}
+
+	protected long getLongResult(long leftOperand, long rightOperand)
+			throws CoreException {
+		return 0;
+	}
+
+	protected float getFloatResult(float leftOperand, float rightOperand) {
+		return 0;
+	}
+
+	protected double getDoubleResult(double leftOperand, double rightOperand) {
+		return 0;
+	}
+
+	protected boolean getBooleanResult(long leftOperand, long rightOperand) {
+		return false;
+	}
+
+	protected boolean getBooleanResult(double leftOperand, double rightOperand) {
+		return false;
+	}
+
 	protected int getInternResultType() {
 		return getBinaryPromotionType(fLeftTypeId, fRightTypeId);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -46,8 +46,13 @@ public class DivideOperator extends BinaryOperator {
 	@Override
 	protected double getDoubleResult(IJavaValue leftOperand,
 			IJavaValue rightOperand) {
-		return ((IJavaPrimitiveValue) leftOperand).getDoubleValue()
-				/ ((IJavaPrimitiveValue) rightOperand).getDoubleValue();
+		return getDoubleResult(((IJavaPrimitiveValue) leftOperand).getDoubleValue(),
+				((IJavaPrimitiveValue) rightOperand).getDoubleValue());
+	}
+
+	@Override
+	protected double getDoubleResult(double leftOperand, double rightOperand) {
+		return leftOperand / rightOperand;
 	}
 
 	/*
@@ -56,8 +61,13 @@ public class DivideOperator extends BinaryOperator {
 	@Override
 	protected float getFloatResult(IJavaValue leftOperand,
 			IJavaValue rightOperand) {
-		return ((IJavaPrimitiveValue) leftOperand).getFloatValue()
-				/ ((IJavaPrimitiveValue) rightOperand).getFloatValue();
+		return getFloatResult(((IJavaPrimitiveValue) leftOperand).getFloatValue(),
+				((IJavaPrimitiveValue) rightOperand).getFloatValue());
+	}
+
+	@Override
+	protected float getFloatResult(float leftOperand, float rightOperand) {
+		return leftOperand / rightOperand;
 	}
 
 	/*
@@ -66,8 +76,14 @@ public class DivideOperator extends BinaryOperator {
 	@Override
 	protected int getIntResult(IJavaValue leftOperand, IJavaValue rightOperand)
 			throws CoreException {
-		int divisor = ((IJavaPrimitiveValue) rightOperand).getIntValue();
-		if (divisor == 0) {
+		return getIntResult(((IJavaPrimitiveValue) leftOperand).getIntValue(),
+				((IJavaPrimitiveValue) rightOperand).getIntValue());
+	}
+
+	@Override
+	protected int getIntResult(int leftOperand, int rightOperand)
+			throws CoreException {
+		if (rightOperand == 0) {
 			throw new CoreException(
 					new Status(
 							IStatus.ERROR,
@@ -76,7 +92,7 @@ public class DivideOperator extends BinaryOperator {
 							InstructionsEvaluationMessages.DivideOperator_Divide_by_zero_1,
 							null));
 		}
-		return ((IJavaPrimitiveValue) leftOperand).getIntValue() / divisor;
+		return leftOperand / rightOperand;
 	}
 
 	/*
@@ -85,8 +101,14 @@ public class DivideOperator extends BinaryOperator {
 	@Override
 	protected long getLongResult(IJavaValue leftOperand, IJavaValue rightOperand)
 			throws CoreException {
-		long divisor = ((IJavaPrimitiveValue) rightOperand).getLongValue();
-		if (divisor == 0) {
+		return getLongResult(((IJavaPrimitiveValue) leftOperand).getLongValue(),
+				((IJavaPrimitiveValue) rightOperand).getLongValue());
+	}
+
+	@Override
+	protected long getLongResult(long leftOperand, long rightOperand)
+			throws CoreException {
+		if (rightOperand == 0) {
 			throw new CoreException(
 					new Status(
 							IStatus.ERROR,
@@ -95,7 +117,7 @@ public class DivideOperator extends BinaryOperator {
 							InstructionsEvaluationMessages.DivideOperator_Divide_by_zero_2,
 							null));
 		}
-		return ((IJavaPrimitiveValue) leftOperand).getLongValue() / divisor;
+		return leftOperand / rightOperand;
 	}
 
 	/*
@@ -107,6 +129,11 @@ public class DivideOperator extends BinaryOperator {
 		return null;
 	}
 
+	@Override
+	protected boolean hasPrimitiveResults() {
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return InstructionsEvaluationMessages.DivideOperator______operator_3;
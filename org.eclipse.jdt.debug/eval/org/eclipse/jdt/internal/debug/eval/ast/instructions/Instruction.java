@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -108,6 +108,22 @@ public abstract class Instruction {
 		return fInterpreter.pop();
 	}
 
+	/**
+	 * Pushes a primitive that is read by the next instruction without creating
+	 * a value in the target.
+	 */
+	protected void pushPrimitive(long bits) {
+		fInterpreter.pushPrimitive(bits);
+	}
+
+	protected boolean isPrimitiveOnStack() {
+		return fInterpreter.isPrimitiveOnStack();
+	}
+
+	protected long popPrimitive() {
+		return fInterpreter.popPrimitive();
+	}
+
 	protected IJavaValue popValue() throws CoreException {
 		Object element = fInterpreter.pop();
 		if (element instanceof IJavaVariable) {
@@ -121,7 +137,7 @@ public abstract class Instruction {
 	}
 
 	protected IJavaValue newValue(boolean value) {
-		return getVM().newValue(value);
+		return fInterpreter.newValue(value);
 	}
 
 	protected void pushNewValue(byte value) {
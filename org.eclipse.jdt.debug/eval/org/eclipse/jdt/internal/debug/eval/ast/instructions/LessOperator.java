@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -88,6 +88,21 @@ public class LessOperator extends BinaryOperator {
 		return null;
 	}
 
+	@Override
+	protected boolean getBooleanResult(long leftOperand, long rightOperand) {
+		return leftOperand < rightOperand;
+	}
+
+	@Override
+	protected boolean getBooleanResult(double leftOperand, double rightOperand) {
+		return leftOperand < rightOperand;
+	}
+
+	@Override
+	protected boolean hasPrimitiveResults() {
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return InstructionsEvaluationMessages.LessOperator______operator_1;
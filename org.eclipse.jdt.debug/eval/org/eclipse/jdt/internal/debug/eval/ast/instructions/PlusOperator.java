@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -89,8 +89,13 @@ public class PlusOperator extends BinaryOperator {
 	@Override
 	protected double getDoubleResult(IJavaValue leftOperand,
 			IJavaValue rightOperand) {
-		return ((IJavaPrimitiveValue) leftOperand).getDoubleValue()
-				+ ((IJavaPrimitiveValue) rightOperand).getDoubleValue();
+		return getDoubleResult(((IJavaPrimitiveValue) leftOperand).getDoubleValue(),
+				((IJavaPrimitiveValue) rightOperand).getDoubleValue());
+	}
+
+	@Override
+	protected double getDoubleResult(double leftOperand, double rightOperand) {
+		return leftOperand + rightOperand;
 	}
 
 	/*
@@ -99,8 +104,13 @@ public class PlusOperator extends BinaryOperator {
 	@Override
 	protected float getFloatResult(IJavaValue leftOperand,
 			IJavaValue rightOperand) {
-		return ((IJavaPrimitiveValue) leftOperand).getFloatValue()
-				+ ((IJavaPrimitiveValue) rightOperand).getFloatValue();
+		return getFloatResult(((IJavaPrimitiveValue) leftOperand).getFloatValue(),
+				((IJavaPrimitiveValue) rightOperand).getFloatValue());
+	}
+
+	@Override
+	protected float getFloatResult(float leftOperand, float rightOperand) {
+		return leftOperand + rightOperand;
 	}
 
 	/*
@@ -108,8 +118,13 @@ public class PlusOperator extends BinaryOperator {
 	 */
 	@Override
 	protected int getIntResult(IJavaValue leftOperand, IJavaValue rightOperand) {
-		return ((IJavaPrimitiveValue) leftOperand).getIntValue()
-				+ ((IJavaPrimitiveValue) rightOperand).getIntValue();
+		return getIntResult(((IJavaPrimitiveValue) leftOperand).getIntValue(),
+				((IJavaPrimitiveValue) rightOperand).getIntValue());
+	}
+
+	@Override
+	protected int getIntResult(int leftOperand, int rightOperand) {
+		return leftOperand + rightOperand;
 	}
 
 	/*
@@ -117,8 +132,13 @@ public class PlusOperator extends BinaryOperator {
 	 */
 	@Override
 	protected long getLongResult(IJavaValue leftOperand, IJavaValue rightOperand) {
-		return ((IJavaPrimitiveValue) leftOperand).getLongValue()
-				+ ((IJavaPrimitiveValue) rightOperand).getLongValue();
+		return getLongResult(((IJavaPrimitiveValue) leftOperand).getLongValue(),
+				((IJavaPrimitiveValue) rightOperand).getLongValue());
+	}
+
+	@Override
+	protected long getLongResult(long leftOperand, long rightOperand) {
+		return leftOperand + rightOperand;
 	}
 
 	/*
@@ -131,6 +151,11 @@ public class PlusOperator extends BinaryOperator {
 				+ getString(rightOperand, fRightTypeId);
 	}
 
+	@Override
+	protected boolean hasPrimitiveResults() {
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return InstructionsEvaluationMessages.PlusOperator______operator_2;
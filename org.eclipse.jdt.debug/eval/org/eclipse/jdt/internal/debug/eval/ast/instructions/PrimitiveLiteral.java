@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.eval.ast.instructions;
+
+import org.eclipse.jdt.debug.core.IJavaValue;
+
+/**
+ * Pushes a primitive literal onto the stack.
+ * <p>
+ * Primitive values are immutable, so the value created for the literal is
+ * pushed again by later executions in the same target. Compiled expressions
+ * such as breakpoint conditions are executed many times, this avoids creating
+ * a new value for every literal in every execution.
+ * </p>
+ */
+public abstract class PrimitiveLiteral extends SimpleInstruction {
+
+	private IJavaValue fJavaValue;
+
+	@Override
+	public final void execute() {
+		IJavaValue value = fJavaValue;
+		if (value == null || value.getDebugTarget() != getVM()) {
+			value = createValue();
+			fJavaValue = value;
+		}
+		push(value);
+	}
+
+	/**
+	 * Creates the value of this literal in the current target.
+	 *
+	 * @return the value
+	 */
+	protected abstract IJavaValue createValue();
+}
@@ -13,10 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.eval.ast.instructions;
 
+import org.eclipse.jdt.debug.core.IJavaValue;
+
 /**
  * Pushes a boolean literal onto the stack.
  */
-public class PushBoolean extends SimpleInstruction {
+public class PushBoolean extends PrimitiveLiteral {
 	private final boolean fValue;
 
 	public PushBoolean(boolean value) {
@@ -24,8 +26,8 @@ public class PushBoolean extends SimpleInstruction {
 	}
 
 	@Override
-	public void execute() {
-		pushNewValue(fValue);
+	protected IJavaValue createValue() {
+		return newValue(fValue);
 	}
 
 	@Override
@@ -13,10 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.eval.ast.instructions;
 
+import org.eclipse.jdt.debug.core.IJavaValue;
+
 /**
  * Pushes a char literal onto the stack.
  */
-public class PushChar extends SimpleInstruction {
+public class PushChar extends PrimitiveLiteral {
 
 	private final char fValue;
 
@@ -25,8 +27,8 @@ public class PushChar extends SimpleInstruction {
 	}
 
 	@Override
-	public void execute() {
-		pushNewValue(fValue);
+	protected IJavaValue createValue() {
+		return newValue(fValue);
 	}
 
 	@Override
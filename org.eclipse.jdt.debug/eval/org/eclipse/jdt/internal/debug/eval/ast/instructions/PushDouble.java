@@ -13,10 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.eval.ast.instructions;
 
+import org.eclipse.jdt.debug.core.IJavaValue;
+
 /**
  * Pushes a double literal onto the stack.
  */
-public class PushDouble extends SimpleInstruction {
+public class PushDouble extends PrimitiveLiteral {
 
 	private final double fValue;
 
@@ -25,8 +27,8 @@ public class PushDouble extends SimpleInstruction {
 	}
 
 	@Override
-	public void execute() {
-		pushNewValue(fValue);
+	protected IJavaValue createValue() {
+		return newValue(fValue);
 	}
 
 	@Override
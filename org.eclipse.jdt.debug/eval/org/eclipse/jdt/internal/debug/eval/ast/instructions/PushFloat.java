@@ -13,10 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.eval.ast.instructions;
 
+import org.eclipse.jdt.debug.core.IJavaValue;
+
 /**
  * Pushes a float literal onto the stack.
  */
-public class PushFloat extends SimpleInstruction {
+public class PushFloat extends PrimitiveLiteral {
 
 	private final float fValue;
 
@@ -25,8 +27,8 @@ public class PushFloat extends SimpleInstruction {
 	}
 
 	@Override
-	public void execute() {
-		pushNewValue(fValue);
+	protected IJavaValue createValue() {
+		return newValue(fValue);
 	}
 
 	@Override
@@ -13,10 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.eval.ast.instructions;
 
+import org.eclipse.jdt.debug.core.IJavaValue;
+
 /**
  * Pushes an int literal onto the stack.
  */
-public class PushInt extends SimpleInstruction {
+public class PushInt extends PrimitiveLiteral {
 
 	private final int fValue;
 
@@ -25,8 +27,8 @@ public class PushInt extends SimpleInstruction {
 	}
 
 	@Override
-	public void execute() {
-		pushNewValue(fValue);
+	protected IJavaValue createValue() {
+		return newValue(fValue);
 	}
 
 	@Override
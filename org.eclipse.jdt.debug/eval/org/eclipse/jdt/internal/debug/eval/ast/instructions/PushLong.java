@@ -13,10 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.eval.ast.instructions;
 
+import org.eclipse.jdt.debug.core.IJavaValue;
+
 /**
  * Pushes a long literal onto the stack.
  */
-public class PushLong extends SimpleInstruction {
+public class PushLong extends PrimitiveLiteral {
 
 	private final long fValue;
 
@@ -25,8 +27,8 @@ public class PushLong extends SimpleInstruction {
 	}
 
 	@Override
-	public void execute() {
-		pushNewValue(fValue);
+	protected IJavaValue createValue() {
+		return newValue(fValue);
 	}
 
 	@Override
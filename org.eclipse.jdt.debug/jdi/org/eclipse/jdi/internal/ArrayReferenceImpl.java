@@ -18,6 +18,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -383,6 +384,89 @@ public class ArrayReferenceImpl extends ObjectReferenceImpl implements
 		}
 	}
 
+	/**
+	 * Replaces a range of components of a <code>byte</code> array with the given
+	 * bytes, sent in a single request without creating a mirror per byte.
+	 *
+	 * @param index
+	 *            offset in this array to start replacing values at
+	 * @param values
+	 *            replacement values
+	 * @param srcIndex
+	 *            the first offset where values are copied from the given
+	 *            replacement values
+	 * @param length
+	 *            the number of values to replace in this array, or -1 to
+	 *            replace as many as possible
+	 * @throws InvalidTypeException
+	 *             thrown if this is not a <code>byte</code> array
+	 * @throws ClassNotLoadedException
+	 *             thrown if the class type for the {@link ArrayReference} is
+	 *             not loaded or has been GC'd
+	 * @see #setValues(int, List, int, int)
+	 */
+	public void setValues(int index, byte[] values, int srcIndex, int length)
+			throws InvalidTypeException, ClassNotLoadedException {
+		if (values == null || values.length == 0) {
+			// trying to set nothing should do no work
+			return;
+		}
+		if (!"B".equals(((ArrayTypeImpl) referenceType()).componentSignature())) { //$NON-NLS-1$
+			throw new InvalidTypeException();
+		}
+		int arrayLength = length();
+
+		if (index < 0 || index >= arrayLength) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Invalid_index_1);
+		}
+		if (srcIndex < 0 || srcIndex >= values.length) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Invalid_srcIndex_2);
+		}
+
+		if (length < -1) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Invalid_number_of_value_to_set_in_array_3);
+		} else if (length == -1) {
+			length = Math.min(arrayLength - index, values.length - srcIndex);
+		} else if (index + length > arrayLength) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Attempted_to_set_more_values_in_array_than_length_of_array_3);
+		} else if (srcIndex + length > values.length) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Attempted_to_set_more_values_in_array_than_given_4);
+		}
+
+		initJdwpRequest();
+		try {
+			ByteArrayOutputStream outBytes = new ByteArrayOutputStream(length + 16);
+			DataOutputStream outData = new DataOutputStream(outBytes);
+			write(this, outData);
+			writeInt(index, "index", outData); //$NON-NLS-1$
+			writeInt(length, "length", outData); //$NON-NLS-1$
+			// byte array components are untagged, so the bytes are sent as is
+			outData.write(values, srcIndex, length);
+			if (fVerboseWriter != null) {
+				fVerboseWriter.println("values", Arrays.copyOfRange(values, srcIndex, srcIndex + length)); //$NON-NLS-1$
+			}
+
+			JdwpReplyPacket replyPacket = requestVM(
+					JdwpCommandPacket.AR_SET_VALUES, outBytes);
+			switch (replyPacket.errorCode()) {
+			case JdwpReplyPacket.TYPE_MISMATCH:
+				throw new InvalidTypeException();
+			case JdwpReplyPacket.INVALID_CLASS:
+				throw new ClassNotLoadedException(type().name());
+			}
+			defaultReplyErrorHandler(replyPacket.errorCode());
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+		} finally {
+			handledJdwpRequest();
+		}
+	}
+
 	/**
 	 * Check the type and the VM of the values. If the given type is a primitive
 	 * type, the values may be converted to match this type.
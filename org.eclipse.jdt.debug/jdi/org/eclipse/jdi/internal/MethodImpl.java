@@ -142,7 +142,7 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 	/**
 	 * Gets line table from VM.
 	 */
-	private void getLineTable() throws AbsentInformationException {
+	private synchronized void getLineTable() throws AbsentInformationException {
 		if (isObsolete()) {
 			return;
 		}
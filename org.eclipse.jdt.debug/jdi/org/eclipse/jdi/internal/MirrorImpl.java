@@ -200,12 +200,19 @@ public class MirrorImpl implements Mirror {
 		JdwpCommandPacket commandPacket = new JdwpCommandPacket(command);
 		commandPacket.setData(outData);
 		long sent = System.currentTimeMillis();
+		long sentNanos = System.nanoTime();
 		fVirtualMachineImpl.packetSendManager().sendPacket(commandPacket);
 		fPendingJdwpRequest = true;
 		writeVerboseCommandPacketHeader(commandPacket);
 
-		JdwpReplyPacket reply = fVirtualMachineImpl.packetReceiveManager()
-				.getReply(commandPacket);
+		JdwpReplyPacket reply;
+		try {
+			reply = fVirtualMachineImpl.packetReceiveManager().getReply(commandPacket);
+		} catch (TimeoutException e) {
+			fVirtualMachineImpl.metrics().requestTimedOut(command, commandPacket.getLength(), System.nanoTime() - sentNanos);
+			throw e;
+		}
+		fVirtualMachineImpl.metrics().requestCompleted(command, commandPacket.getLength(), reply.getLength(), System.nanoTime() - sentNanos);
 		long recieved = System.currentTimeMillis();
 		if (JDIDebugOptions.DEBUG_JDI_REQUEST_TIMES) {
 			StringBuilder buf = new StringBuilder();
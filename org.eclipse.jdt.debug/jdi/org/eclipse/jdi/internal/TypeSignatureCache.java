@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.jdi.ReferenceType;
+
+/**
+ * Cache of the results of <code>VirtualMachine.ClassesBySignature</code> for
+ * class and interface signatures, shared by everything that looks types up by
+ * name in a virtual machine.
+ * <p>
+ * Only non-empty results are cached: a signature without loaded types is
+ * queried again on every lookup, so a class is found as soon as it is loaded.
+ * No class prepare request is registered by the cache. An entry is invalidated
+ * when a class with its signature is unloaded or redefined, and by every class
+ * prepare event the VM sends for it, whichever request it was sent for, such
+ * as the requests of breakpoints on the type. The number of cached signatures
+ * is bounded.
+ * </p>
+ */
+public class TypeSignatureCache {
+
+	/**
+	 * Maximum number of cached signatures
+	 */
+	private static final int MAX_ENTRIES = 256;
+
+	/**
+	 * System property to disable the cache
+	 */
+	private static final boolean DISABLED = Boolean.getBoolean("org.eclipse.jdi.typeSignatureCache.disable"); //$NON-NLS-1$
+
+	/**
+	 * A cached signature
+	 */
+	private static class Entry {
+		/**
+		 * Loaded types, or <code>null</code> if they need to be retrieved
+		 */
+		List<ReferenceType> fTypes;
+
+		/**
+		 * Incremented on every invalidation, to discard results of queries
+		 * that overlap an invalidation
+		 */
+		int fGeneration;
+	}
+
+	private final VirtualMachineImpl fVM;
+
+	private final Map<String, Entry> fEntries = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/**
+	 * Constructs a cache for the given virtual machine.
+	 *
+	 * @param vm virtual machine
+	 */
+	TypeSignatureCache(VirtualMachineImpl vm) {
+		fVM = vm;
+	}
+
+	/**
+	 * Returns whether results for the given signature can be cached. Array
+	 * classes are created without class prepare events, and primitive
+	 * signatures never name loaded classes.
+	 */
+	private static boolean isCacheable(String signature) {
+		return !DISABLED && signature.length() > 2 && signature.charAt(0) == 'L';
+	}
+
+	/**
+	 * Returns the loaded reference types with the given signature.
+	 *
+	 * @param signature type signature
+	 * @return loaded types, a list owned by the caller
+	 */
+	List<ReferenceType> classesBySignature(String signature) {
+		if (!isCacheable(signature)) {
+			return fVM.queryClassesBySignature(signature);
+		}
+		Entry entry;
+		int generation;
+		synchronized (fEntries) {
+			entry = fEntries.get(signature);
+			if (entry != null && entry.fTypes != null) {
+				return new ArrayList<>(entry.fTypes);
+			}
+			if (entry == null) {
+				entry = new Entry();
+				fEntries.put(signature, entry);
+			}
+			generation = entry.fGeneration;
+		}
+		List<ReferenceType> types = fVM.queryClassesBySignature(signature);
+		synchronized (fEntries) {
+			if (fEntries.get(signature) == entry) {
+				if (types == null || types.isEmpty()) {
+					// not loaded yet, do not let misses evict loaded types
+					if (entry.fTypes == null) {
+						fEntries.remove(signature);
+					}
+				} else if (entry.fGeneration == generation) {
+					entry.fTypes = new ArrayList<>(types);
+				}
+			}
+		}
+		return types;
+	}
+
+	/**
+	 * Invalidates the cached types with the given signature. Called when a
+	 * class with the signature is prepared, unloaded or redefined.
+	 *
+	 * @param signature type signature
+	 */
+	public void invalidate(String signature) {
+		synchronized (fEntries) {
+			Entry entry = fEntries.get(signature);
+			if (entry != null) {
+				entry.fTypes = null;
+				entry.fGeneration++;
+			}
+		}
+	}
+
+	/**
+	 * Invalidates all cached types.
+	 */
+	public void invalidateAll() {
+		synchronized (fEntries) {
+			for (Entry entry : fEntries.values()) {
+				entry.fTypes = null;
+				entry.fGeneration++;
+			}
+		}
+	}
+}
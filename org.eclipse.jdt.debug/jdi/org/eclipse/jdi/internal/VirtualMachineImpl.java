@@ -31,6 +31,7 @@ import org.eclipse.jdi.internal.connect.PacketReceiveManager;
 import org.eclipse.jdi.internal.connect.PacketSendManager;
 import org.eclipse.jdi.internal.event.EventQueueImpl;
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpMetrics;
 import org.eclipse.jdi.internal.jdwp.JdwpObjectID;
 import org.eclipse.jdi.internal.jdwp.JdwpReferenceTypeID;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
@@ -99,6 +100,12 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	private final ValueCache fCachedReftypes = new ValueCache();
 	private final ValueCache fCachedObjects = new ValueCache();
 
+	/**
+	 * Loaded types by signature, kept current from class prepare and unload
+	 * events
+	 */
+	private final TypeSignatureCache fTypeSignatureCache = new TypeSignatureCache(this);
+
 	/** The following are the stored results of JDWP calls. */
 	private String fVersionDescription = null; // Text information on the VM
 												// version.
@@ -162,6 +169,11 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	private final PacketReceiveManager fPacketReceiveManager;
 	private final PacketSendManager fPacketSendManager;
 
+	/**
+	 * Metrics of the JDWP traffic with this VM.
+	 */
+	private final JdwpMetrics fMetrics = new JdwpMetrics();
+
 	/**
 	 * Creates a new Virtual Machine.
 	 */
@@ -264,6 +276,7 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 			refType.flushStoredJdwpResults();
 		}
 
+		fTypeSignatureCache.invalidateAll();
 		fVersionDescription = null;
 		fGotIDSizes = false;
 		fHcrCapabilities = null;
@@ -275,7 +288,8 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	 * it.
 	 */
 	public final void removeKnownRefType(String signature) {
-		List<ReferenceType> refTypeList = classesBySignature(signature);
+		fTypeSignatureCache.invalidate(signature);
+		List<ReferenceType> refTypeList = queryClassesBySignature(signature);
 		if (refTypeList.isEmpty()) {
 			return;
 		}
@@ -334,6 +348,13 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		return fPacketReceiveManager;
 	}
 
+	/**
+	 * @return Returns the metrics of the JDWP traffic with this Virtual Machine.
+	 */
+	public final JdwpMetrics metrics() {
+		return fMetrics;
+	}
+
 	/*
 	 * @return Returns Manager for sending packets to the Virtual Machine.
 	 */
@@ -648,7 +669,21 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	 * @return Returns the loaded reference types that match a given signature.
 	 */
 	public List<ReferenceType> classesBySignature(String signature) {
-		// Note that this information should not be cached.
+		return fTypeSignatureCache.classesBySignature(signature);
+	}
+
+	/**
+	 * @return Returns the cache of loaded reference types by signature.
+	 */
+	public TypeSignatureCache typeSignatureCache() {
+		return fTypeSignatureCache;
+	}
+
+	/**
+	 * @return Returns the loaded reference types that match a given signature,
+	 *         as reported by the VM.
+	 */
+	List<ReferenceType> queryClassesBySignature(String signature) {
 		initJdwpRequest();
 		try {
 			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
@@ -1144,6 +1179,7 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 			writeInt(names.length, "length", outData); //$NON-NLS-1$
 			for (int i = 0; i < names.length; i++) {
 				signatures[i] = TypeImpl.classNameToSignature(names[i]);
+				fTypeSignatureCache.invalidate(signatures[i]);
 				writeString(signatures[i], "signature", outData); //$NON-NLS-1$
 			}
 
@@ -1277,6 +1313,7 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 				for (byte b : bytes) {
 					writeByte(b, "classByte", outData); //$NON-NLS-1$
 				}
+				fTypeSignatureCache.invalidate(type.signature());
 				fCachedReftypes.remove(type.getRefTypeID()); // flush local
 																// cache of
 																// redefined
@@ -23,6 +23,7 @@ import java.util.List;
 
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.preferences.IPreferencesService;
+import org.eclipse.jdi.internal.connect.RecordingConnection;
 import org.eclipse.jdi.internal.connect.SocketAttachingConnectorImpl;
 import org.eclipse.jdi.internal.connect.SocketLaunchingConnectorImpl;
 import org.eclipse.jdi.internal.connect.SocketListeningConnectorImpl;
@@ -240,7 +241,7 @@ public class VirtualMachineManagerImpl implements VirtualMachineManager {
 	 */
 	@Override
 	public VirtualMachine createVirtualMachine(Connection connection) throws IOException {
-		VirtualMachineImpl vmImpl = new VirtualMachineImpl(connection);
+		VirtualMachineImpl vmImpl = new VirtualMachineImpl(RecordingConnection.record(connection));
 		return vmImpl;
 	}
 
@@ -249,7 +250,7 @@ public class VirtualMachineManagerImpl implements VirtualMachineManager {
 	 */
 	@Override
 	public VirtualMachine createVirtualMachine(Connection connection, Process process) throws IOException {
-		VirtualMachineImpl vmImpl = new VirtualMachineImpl(connection);
+		VirtualMachineImpl vmImpl = new VirtualMachineImpl(RecordingConnection.record(connection));
 		vmImpl.setLaunchedProcess(process);
 		return vmImpl;
 	}
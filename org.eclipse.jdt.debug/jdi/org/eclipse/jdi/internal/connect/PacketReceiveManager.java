@@ -286,6 +286,7 @@ public class PacketReceiveManager extends PacketManager {
 	 */
 	private void addReplyPacket(JdwpReplyPacket packet) {
 		if (isTimedOut(packet)) {
+			fVM.metrics().lateReplyReceived();
 			return; // already timed out. No need to keep this one
 		}
 		synchronized (fReplyPackets) {
@@ -303,9 +304,12 @@ public class PacketReceiveManager extends PacketManager {
 		byte[] bytes = getConnection().readPacket();
 		JdwpPacket packet = JdwpPacket.build(bytes);
 		// Add packet to command or reply queue.
-		if (packet instanceof JdwpCommandPacket)
-			addCommandPacket((JdwpCommandPacket) packet);
-		else
+		if (packet instanceof JdwpCommandPacket) {
+			JdwpCommandPacket command = (JdwpCommandPacket) packet;
+			fVM.metrics().commandReceived(command.getCommand(), command.getLength());
+			addCommandPacket(command);
+		} else {
 			addReplyPacket((JdwpReplyPacket) packet);
+		}
 	}
 }
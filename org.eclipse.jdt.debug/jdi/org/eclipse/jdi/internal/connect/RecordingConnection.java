@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.connect;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.sun.jdi.connect.spi.Connection;
+
+/**
+ * A connection that records all JDWP packets exchanged over another connection
+ * in a compact binary format that can be replayed with a
+ * {@link ReplayConnection}.
+ * <p>
+ * The recording starts with the {@link #MAGIC} bytes and the format
+ * {@link #VERSION}, followed by one record per packet:
+ * </p>
+ * <pre>
+ * byte   direction ({@link #OUT} for packets sent to the VM, {@link #IN} for packets received)
+ * long   nanoseconds since the start of the recording
+ * int    packet length
+ * byte[] packet, as sent over the wire
+ * </pre>
+ * <p>
+ * Recording of debug sessions can be enabled by setting the system property
+ * {@link #RECORD_DIRECTORY_PROPERTY} to an existing directory.
+ * </p>
+ */
+public class RecordingConnection extends Connection {
+
+	/**
+	 * System property naming a directory in which all JDWP sessions are recorded
+	 */
+	public static final String RECORD_DIRECTORY_PROPERTY = "org.eclipse.jdi.recordDirectory"; //$NON-NLS-1$
+
+	/**
+	 * Bytes at the start of every recording
+	 */
+	public static final byte[] MAGIC = { 'J', 'D', 'W', 'P', 'R', 'E', 'C' };
+
+	/**
+	 * Version of the recording format
+	 */
+	public static final byte VERSION = 1;
+
+	/**
+	 * Direction of packets sent to the VM
+	 */
+	public static final byte OUT = 0;
+
+	/**
+	 * Direction of packets received from the VM
+	 */
+	public static final byte IN = 1;
+
+	private final Connection fConnection;
+	private final DataOutputStream fRecording;
+	private final long fStart;
+
+	/**
+	 * Constructs a connection that records the packets exchanged over the given
+	 * connection to the given stream. The stream is closed when this
+	 * connection is closed.
+	 *
+	 * @param connection connection to record
+	 * @param recording stream to write the recording to
+	 * @throws IOException if unable to write to the recording
+	 */
+	public RecordingConnection(Connection connection, OutputStream recording) throws IOException {
+		fConnection = connection;
+		fRecording = new DataOutputStream(new BufferedOutputStream(recording));
+		fRecording.write(MAGIC);
+		fRecording.writeByte(VERSION);
+		fStart = System.nanoTime();
+	}
+
+	/**
+	 * Returns the given connection wrapped in a recording connection if
+	 * recording is enabled by {@link #RECORD_DIRECTORY_PROPERTY}, or the
+	 * connection itself otherwise.
+	 *
+	 * @param connection connection
+	 * @return connection to use
+	 */
+	public static Connection record(Connection connection) {
+		String directory = System.getProperty(RECORD_DIRECTORY_PROPERTY);
+		if (directory == null || directory.isEmpty()) {
+			return connection;
+		}
+		try {
+			File file = File.createTempFile("jdwp-", ".rec", new File(directory)); //$NON-NLS-1$ //$NON-NLS-2$
+			return new RecordingConnection(connection, new FileOutputStream(file));
+		} catch (IOException e) {
+			return connection;
+		}
+	}
+
+	/**
+	 * Appends a packet to the recording.
+	 */
+	private void record(byte direction, byte[] packet, int length) {
+		synchronized (fRecording) {
+			try {
+				fRecording.writeByte(direction);
+				fRecording.writeLong(System.nanoTime() - fStart);
+				fRecording.writeInt(length);
+				fRecording.write(packet, 0, length);
+			} catch (IOException e) {
+				// recording is best effort, never disturb the session
+			}
+		}
+	}
+
+	@Override
+	public byte[] readPacket() throws IOException {
+		byte[] packet = fConnection.readPacket();
+		if (packet.length > 0) {
+			record(IN, packet, packet.length);
+		}
+		return packet;
+	}
+
+	@Override
+	public void writePacket(byte[] packet) throws IOException {
+		// record before sending so that the reply is always recorded after its command
+		if (packet != null && packet.length >= 11) {
+			int length = Math.min(packet.length, ((packet[0] & 0xFF) << 24) + ((packet[1] & 0xFF) << 16) + ((packet[2] & 0xFF) << 8) + (packet[3] & 0xFF));
+			record(OUT, packet, length);
+		}
+		fConnection.writePacket(packet);
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			fConnection.close();
+		} finally {
+			synchronized (fRecording) {
+				fRecording.close();
+			}
+		}
+	}
+
+	@Override
+	public boolean isOpen() {
+		return fConnection.isOpen();
+	}
+}
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.connect;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdi.internal.jdwp.JdwpPacket;
+
+import com.sun.jdi.connect.spi.ClosedConnectionException;
+import com.sun.jdi.connect.spi.Connection;
+
+/**
+ * A connection that answers the JDI layer from a recording made by a
+ * {@link RecordingConnection}, without a target VM.
+ * <p>
+ * Packets sent by the JDI layer are matched in order against the recorded
+ * outgoing packets by command set and command; the replay fails with an
+ * <code>IOException</code> when the session diverges from the recording.
+ * Recorded packets from the VM are delivered in their recorded order, and only
+ * once every packet that preceded them in the recording has been sent. Reply
+ * ids are rewritten to the ids of the packets actually sent, so a recording can
+ * be replayed any number of times in the same VM.
+ * </p>
+ * <p>
+ * An optional latency is added before each reply is delivered to simulate a
+ * remote target.
+ * </p>
+ */
+public class ReplayConnection extends Connection {
+
+	/**
+	 * A recorded packet
+	 */
+	private static class Record {
+		final byte fDirection;
+		final byte[] fPacket;
+
+		Record(byte direction, byte[] packet) {
+			fDirection = direction;
+			fPacket = packet;
+		}
+
+		boolean isReply() {
+			return (fPacket[8] & JdwpPacket.FLAG_REPLY_PACKET) != 0;
+		}
+	}
+
+	private final List<Record> fRecords;
+	private final long fLatency;
+
+	/**
+	 * Index of the next recorded outgoing packet to match
+	 */
+	private int fNextOut = 0;
+
+	/**
+	 * Index of the next recorded incoming packet to deliver
+	 */
+	private int fNextIn = 0;
+
+	/**
+	 * Recorded command ids mapped to the ids used in this replay
+	 */
+	private final Map<Integer, Integer> fIds = new HashMap<>();
+
+	private boolean fOpen = true;
+
+	/**
+	 * Constructs a replay connection from the given recording. The recording is
+	 * read completely and closed.
+	 *
+	 * @param recording stream containing a recording
+	 * @param latency milliseconds to wait before each reply is delivered, or 0
+	 * @throws IOException if the recording cannot be read
+	 */
+	public ReplayConnection(InputStream recording, long latency) throws IOException {
+		fRecords = read(recording);
+		fLatency = latency;
+		fNextOut = nextIndex(0, RecordingConnection.OUT);
+		fNextIn = nextIndex(0, RecordingConnection.IN);
+	}
+
+	private static List<Record> read(InputStream recording) throws IOException {
+		List<Record> records = new ArrayList<>();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(recording))) {
+			byte[] magic = new byte[RecordingConnection.MAGIC.length];
+			in.readFully(magic);
+			if (!Arrays.equals(magic, RecordingConnection.MAGIC) || in.readByte() != RecordingConnection.VERSION) {
+				throw new IOException("Not a JDWP recording"); //$NON-NLS-1$
+			}
+			while (true) {
+				byte direction;
+				try {
+					direction = in.readByte();
+				} catch (EOFException e) {
+					break;
+				}
+				in.readLong(); // time stamp
+				byte[] packet = new byte[in.readInt()];
+				in.readFully(packet);
+				if (packet.length >= 11) {
+					records.add(new Record(direction, packet));
+				}
+			}
+		}
+		return records;
+	}
+
+	/**
+	 * Returns the number of recorded packets.
+	 *
+	 * @return number of packets in the recording
+	 */
+	public int size() {
+		return fRecords.size();
+	}
+
+	/**
+	 * Returns the index of the next record in the given direction at or after
+	 * <code>start</code>.
+	 */
+	private int nextIndex(int start, byte direction) {
+		int index = start;
+		while (index < fRecords.size() && fRecords.get(index).fDirection != direction) {
+			index++;
+		}
+		return index;
+	}
+
+	@Override
+	public byte[] readPacket() throws IOException {
+		Record record;
+		synchronized (this) {
+			// wait until every packet recorded before the next incoming packet
+			// has been sent; once the recording is exhausted behave like an idle VM
+			while (fOpen && (fNextIn >= fRecords.size() || fNextOut < fNextIn)) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					throw new ClosedConnectionException();
+				}
+			}
+			if (!fOpen) {
+				throw new ClosedConnectionException();
+			}
+			record = fRecords.get(fNextIn);
+			fNextIn = nextIndex(fNextIn + 1, RecordingConnection.IN);
+		}
+		byte[] packet = record.fPacket.clone();
+		if (record.isReply()) {
+			Integer id;
+			synchronized (this) {
+				id = fIds.remove(Integer.valueOf(getId(packet)));
+			}
+			if (id != null) {
+				setId(packet, id.intValue());
+			}
+			if (fLatency > 0) {
+				try {
+					Thread.sleep(fLatency);
+				} catch (InterruptedException e) {
+					throw new ClosedConnectionException();
+				}
+			}
+		}
+		return packet;
+	}
+
+	@Override
+	public synchronized void writePacket(byte[] packet) throws IOException {
+		if (!fOpen) {
+			throw new ClosedConnectionException();
+		}
+		if (fNextOut >= fRecords.size()) {
+			throw new IOException("Replay exhausted: no recorded packet left to match"); //$NON-NLS-1$
+		}
+		byte[] recorded = fRecords.get(fNextOut).fPacket;
+		if (recorded[8] != packet[8] || recorded[9] != packet[9] || recorded[10] != packet[10]) {
+			throw new IOException("Replay diverged from recording at packet " + fNextOut); //$NON-NLS-1$
+		}
+		if ((packet[8] & JdwpPacket.FLAG_REPLY_PACKET) == 0) {
+			fIds.put(Integer.valueOf(getId(recorded)), Integer.valueOf(getId(packet)));
+		}
+		fNextOut = nextIndex(fNextOut + 1, RecordingConnection.OUT);
+		notifyAll();
+	}
+
+	@Override
+	public synchronized void close() {
+		fOpen = false;
+		notifyAll();
+	}
+
+	@Override
+	public synchronized boolean isOpen() {
+		return fOpen;
+	}
+
+	private static int getId(byte[] packet) {
+		return ((packet[4] & 0xFF) << 24) + ((packet[5] & 0xFF) << 16) + ((packet[6] & 0xFF) << 8) + (packet[7] & 0xFF);
+	}
+
+	private static void setId(byte[] packet, int id) {
+		packet[4] = (byte) (id >>> 24);
+		packet[5] = (byte) (id >>> 16);
+		packet[6] = (byte) (id >>> 8);
+		packet[7] = (byte) id;
+	}
+}
@@ -60,6 +60,10 @@ public class ClassPrepareEventImpl extends EventImpl implements
 				target, false, dataInStream);
 		target.readInt(
 				"class status", ReferenceTypeImpl.classStatusStrings(), dataInStream); //$NON-NLS-1$
+		if (event.fReferenceType != null) {
+			// another class with this signature may now be loaded
+			vmImpl.typeSignatureCache().invalidate(event.fReferenceType.signature());
+		}
 		return event;
 	}
 
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.jdwp;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for a JDWP request sent to a target VM. Only referenced
+ * through {@link JdwpCommandEvents}, so that the JDI implementation does not
+ * depend on flight recorder being available.
+ */
+@Name("org.eclipse.jdi.JdwpCommand")
+@Label("JDWP Command")
+@Description("A JDWP request sent to a debug target and its reply")
+@Category({ "Eclipse", "Java Debugger" })
+@StackTrace(false)
+class JdwpCommandEvent extends Event {
+
+	@Label("Command")
+	String command;
+
+	@Label("Bytes Sent")
+	@DataAmount
+	int bytesOut;
+
+	@Label("Bytes Received")
+	@DataAmount
+	int bytesIn;
+
+	@Label("Round Trip")
+	@Timespan(Timespan.NANOSECONDS)
+	long roundTrip;
+
+	@Label("Timed Out")
+	boolean timedOut;
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.jdwp;
+
+/**
+ * Emits {@link JdwpCommandEvent}s when flight recorder is available and the
+ * event is enabled in a running recording.
+ */
+class JdwpCommandEvents {
+
+	private static final boolean fgAvailable;
+	static {
+		boolean available;
+		try {
+			Class.forName("jdk.jfr.Event", false, JdwpCommandEvents.class.getClassLoader()); //$NON-NLS-1$
+			available = true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			available = false;
+		}
+		fgAvailable = available;
+	}
+
+	private JdwpCommandEvents() {
+	}
+
+	/**
+	 * Commits an event for a request, if enabled.
+	 *
+	 * @param command JDWP command
+	 * @param bytesOut length of the command packet
+	 * @param bytesIn length of the reply packet, or 0
+	 * @param nanos round trip time in nanoseconds
+	 * @param timedOut whether the request timed out
+	 */
+	static void commit(int command, int bytesOut, int bytesIn, long nanos, boolean timedOut) {
+		if (fgAvailable) {
+			Emitter.commit(command, bytesOut, bytesIn, nanos, timedOut);
+		}
+	}
+
+	/**
+	 * Holder for the code referencing flight recorder types, only loaded when
+	 * they are available.
+	 */
+	private static class Emitter {
+		static void commit(int command, int bytesOut, int bytesIn, long nanos, boolean timedOut) {
+			JdwpCommandEvent event = new JdwpCommandEvent();
+			if (!event.isEnabled()) {
+				return;
+			}
+			event.command = JdwpMetrics.commandName(command);
+			event.bytesOut = bytesOut;
+			event.bytesIn = bytesIn;
+			event.roundTrip = nanos;
+			event.timedOut = timedOut;
+			event.commit();
+		}
+	}
+}
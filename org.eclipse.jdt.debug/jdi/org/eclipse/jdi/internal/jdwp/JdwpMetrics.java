@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.jdwp;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low overhead JDWP traffic metrics for one virtual machine, keyed by JDWP
+ * command (command set and command, as in {@link JdwpCommandPacket#getCommand()}).
+ * <p>
+ * For each command the number of requests, bytes sent and received, timeouts
+ * and a histogram of round trip latencies are kept. Command packets received
+ * from the VM (events) are counted the same way, without latencies. Latencies
+ * are bucketed by powers of two microseconds, so percentiles are accurate to
+ * within a factor of two.
+ * </p>
+ */
+public class JdwpMetrics {
+
+	/**
+	 * Number of latency buckets: bucket <code>i</code> counts round trips of less
+	 * than <code>2^i</code> microseconds, the last bucket counts the rest.
+	 */
+	private static final int BUCKETS = 40;
+
+	/**
+	 * Metrics of a single JDWP command.
+	 */
+	public static class CommandMetrics {
+		private final int fCommand;
+		private final LongAdder fCount = new LongAdder();
+		private final LongAdder fBytesOut = new LongAdder();
+		private final LongAdder fBytesIn = new LongAdder();
+		private final LongAdder fTimeouts = new LongAdder();
+		private final LongAdder fTotalNanos = new LongAdder();
+		private final AtomicLongArray fHistogram = new AtomicLongArray(BUCKETS);
+
+		CommandMetrics(int command) {
+			fCommand = command;
+		}
+
+		/**
+		 * @return the JDWP command, 256 * command set + command
+		 */
+		public int getCommand() {
+			return fCommand;
+		}
+
+		/**
+		 * @return the name of the JDWP command
+		 */
+		public String getName() {
+			return commandName(fCommand);
+		}
+
+		/**
+		 * @return number of packets sent or received for this command
+		 */
+		public long getCount() {
+			return fCount.sum();
+		}
+
+		/**
+		 * @return bytes sent to the VM for this command
+		 */
+		public long getBytesOut() {
+			return fBytesOut.sum();
+		}
+
+		/**
+		 * @return bytes received from the VM for this command
+		 */
+		public long getBytesIn() {
+			return fBytesIn.sum();
+		}
+
+		/**
+		 * @return number of requests that timed out
+		 */
+		public long getTimeouts() {
+			return fTimeouts.sum();
+		}
+
+		/**
+		 * @return total round trip time in nanoseconds
+		 */
+		public long getTotalNanos() {
+			return fTotalNanos.sum();
+		}
+
+		/**
+		 * Returns an upper bound of the given percentile of round trip times.
+		 *
+		 * @param percentile percentile between 0 and 1, for example 0.99
+		 * @return latency in microseconds, or 0 if no round trip completed
+		 */
+		public long getLatencyPercentile(double percentile) {
+			long total = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				total += fHistogram.get(i);
+			}
+			if (total == 0) {
+				return 0;
+			}
+			long threshold = (long) Math.ceil(total * percentile);
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += fHistogram.get(i);
+				if (seen >= threshold) {
+					return 1L << i;
+				}
+			}
+			return 1L << (BUCKETS - 1);
+		}
+
+		void recordLatency(long nanos) {
+			fTotalNanos.add(nanos);
+			long micros = nanos / 1000;
+			int bucket = micros <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+			fHistogram.incrementAndGet(bucket);
+		}
+	}
+
+	private final Map<Integer, CommandMetrics> fCommands = new ConcurrentHashMap<>();
+	private final LongAdder fLateReplies = new LongAdder();
+
+	/**
+	 * Returns the name of the given JDWP command.
+	 *
+	 * @param command JDWP command
+	 * @return the name of the command, or "command set/command" if unknown
+	 */
+	static String commandName(int command) {
+		String name = JdwpCommandPacket.commandMap().get(Integer.valueOf(command));
+		return name == null ? Integer.toString(command >> 8) + '/' + (command & 0xFF) : name;
+	}
+
+	private CommandMetrics metrics(int command) {
+		CommandMetrics metrics = fCommands.get(Integer.valueOf(command));
+		if (metrics == null) {
+			metrics = fCommands.computeIfAbsent(Integer.valueOf(command), CommandMetrics::new);
+		}
+		return metrics;
+	}
+
+	/**
+	 * Records a completed request.
+	 *
+	 * @param command JDWP command
+	 * @param bytesOut length of the command packet
+	 * @param bytesIn length of the reply packet
+	 * @param nanos round trip time in nanoseconds
+	 */
+	public void requestCompleted(int command, int bytesOut, int bytesIn, long nanos) {
+		CommandMetrics metrics = metrics(command);
+		metrics.fCount.increment();
+		metrics.fBytesOut.add(bytesOut);
+		metrics.fBytesIn.add(bytesIn);
+		metrics.recordLatency(nanos);
+		JdwpCommandEvents.commit(command, bytesOut, bytesIn, nanos, false);
+	}
+
+	/**
+	 * Records a request that timed out.
+	 *
+	 * @param command JDWP command
+	 * @param bytesOut length of the command packet
+	 * @param nanos time waited in nanoseconds
+	 */
+	public void requestTimedOut(int command, int bytesOut, long nanos) {
+		CommandMetrics metrics = metrics(command);
+		metrics.fCount.increment();
+		metrics.fBytesOut.add(bytesOut);
+		metrics.fTimeouts.increment();
+		JdwpCommandEvents.commit(command, bytesOut, 0, nanos, true);
+	}
+
+	/**
+	 * Records a command packet received from the VM.
+	 *
+	 * @param command JDWP command
+	 * @param bytesIn length of the packet
+	 */
+	public void commandReceived(int command, int bytesIn) {
+		CommandMetrics metrics = metrics(command);
+		metrics.fCount.increment();
+		metrics.fBytesIn.add(bytesIn);
+	}
+
+	/**
+	 * Records a reply that arrived after its request had timed out.
+	 */
+	public void lateReplyReceived() {
+		fLateReplies.increment();
+	}
+
+	/**
+	 * @return number of replies received after their request had timed out
+	 */
+	public long getLateReplies() {
+		return fLateReplies.sum();
+	}
+
+	/**
+	 * Returns a snapshot of the metrics of all commands seen so far, sorted by
+	 * total round trip time, largest first.
+	 *
+	 * @return command metrics
+	 */
+	public List<CommandMetrics> getCommandMetrics() {
+		List<CommandMetrics> list = new ArrayList<>(fCommands.values());
+		Collections.sort(list, (m1, m2) -> Long.compare(m2.getTotalNanos(), m1.getTotalNanos()));
+		return list;
+	}
+
+	/**
+	 * Clears all metrics.
+	 */
+	public void reset() {
+		fCommands.clear();
+		fLateReplies.reset();
+	}
+
+	/**
+	 * Prints a table of all metrics to the given writer.
+	 *
+	 * @param writer writer
+	 */
+	public void dump(PrintWriter writer) {
+		writer.println(String.format("%-40s %10s %12s %12s %8s %10s %10s %10s", //$NON-NLS-1$
+				"command", "count", "bytes out", "bytes in", "timeouts", "p50 us", "p99 us", "total ms")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+		for (CommandMetrics metrics : getCommandMetrics()) {
+			writer.println(String.format("%-40s %10d %12d %12d %8d %10d %10d %10d", //$NON-NLS-1$
+					metrics.getName(), Long.valueOf(metrics.getCount()), Long.valueOf(metrics.getBytesOut()), Long.valueOf(metrics.getBytesIn()), Long.valueOf(metrics.getTimeouts()), Long.valueOf(metrics.getLatencyPercentile(0.5)), Long.valueOf(metrics.getLatencyPercentile(0.99)), Long.valueOf(metrics.getTotalNanos() / 1000000)));
+		}
+		writer.println("late replies: " + getLateReplies()); //$NON-NLS-1$
+		writer.flush();
+	}
+
+	@Override
+	public String toString() {
+		StringWriter writer = new StringWriter();
+		dump(new PrintWriter(writer));
+		return writer.toString();
+	}
+}
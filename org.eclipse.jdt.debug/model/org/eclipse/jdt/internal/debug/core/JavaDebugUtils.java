@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import org.eclipse.debug.core.model.ISourceLocator;
 import org.eclipse.debug.core.sourcelookup.ISourceLookupDirector;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IOrdinaryClassFile;
 import org.eclipse.jdt.core.IType;
@@ -514,4 +515,31 @@ public class JavaDebugUtils {
 		}
 		return name1.equals(name2);
 	}
+
+	/**
+	 * Returns whether the given delta changes Java elements, rather than only
+	 * the non-Java resources of a project or folder, such as scrapbook pages.
+	 *
+	 * @param delta
+	 *            a Java element delta
+	 * @return whether the delta changes Java elements
+	 */
+	public static boolean isJavaChange(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED) {
+			return true;
+		}
+		int flags = delta.getFlags();
+		if ((flags & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0) {
+			return true;
+		}
+		if ((flags & IJavaElementDelta.F_CONTENT) != 0 && delta.getResourceDeltas() == null) {
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isJavaChange(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
 }
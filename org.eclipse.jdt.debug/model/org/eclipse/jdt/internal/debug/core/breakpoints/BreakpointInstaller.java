@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.breakpoints;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.model.IBreakpoint;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.Method;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.VMDisconnectedException;
+
+/**
+ * Prepares the installation of many breakpoints in a debug target, as done
+ * when the target starts.
+ * <p>
+ * Installing a breakpoint takes several round trips to the VM in turn: class
+ * prepare requests, looking up the loaded classes of its type, reading line
+ * tables and creating the breakpoint requests. Before the breakpoints are
+ * installed one after the other, this installer does the first three for all
+ * breakpoints at once, a top level type per task, with several tasks in
+ * flight. Class prepare requests are created once per class name filter and
+ * shared by the breakpoints (see {@link SharedClassPrepareRequests}), and the
+ * loaded classes and line tables are left in the caches of the VM mirror. The
+ * breakpoints are then installed on the calling thread as before, so breakpoint
+ * listeners are notified and vote in the same order, without waiting for these
+ * round trips.
+ * </p>
+ * <p>
+ * The number of concurrent tasks can be set with the system property
+ * <code>org.eclipse.jdt.internal.debug.core.breakpoints.BreakpointInstaller.concurrency</code>,
+ * 1 disables the preparation.
+ * </p>
+ */
+public class BreakpointInstaller {
+
+	/**
+	 * Default number of concurrent preparation tasks
+	 */
+	public static final int DEFAULT_CONCURRENCY = Integer.getInteger("org.eclipse.jdt.internal.debug.core.breakpoints.BreakpointInstaller.concurrency", 8).intValue(); //$NON-NLS-1$
+
+	/**
+	 * What to prepare for the breakpoints of a top level type
+	 */
+	private static class TypeWork {
+		final String fEnclosingTypeName;
+		final Set<String[]> fFilters = new LinkedHashSet<>();
+		final Set<String> fFilterKeys = new LinkedHashSet<>();
+		final Set<String> fTypeNames = new LinkedHashSet<>();
+		final Set<String> fLineTypeNames = new LinkedHashSet<>();
+
+		TypeWork(String enclosingTypeName) {
+			fEnclosingTypeName = enclosingTypeName;
+		}
+	}
+
+	private final JDIDebugTarget fTarget;
+	private int fConcurrency = DEFAULT_CONCURRENCY;
+
+	/**
+	 * Constructs an installer for the given target.
+	 *
+	 * @param target debug target
+	 */
+	public BreakpointInstaller(JDIDebugTarget target) {
+		fTarget = target;
+	}
+
+	/**
+	 * Sets the number of concurrent preparation tasks.
+	 *
+	 * @param concurrency number of tasks, 1 to not prepare
+	 */
+	public void setConcurrency(int concurrency) {
+		fConcurrency = Math.max(1, concurrency);
+	}
+
+	/**
+	 * Installs the given breakpoints, preparing their installation
+	 * concurrently first.
+	 *
+	 * @param breakpoints breakpoints to install
+	 */
+	public void install(IBreakpoint[] breakpoints) {
+		prepare(breakpoints);
+		try {
+			for (IBreakpoint breakpoint : breakpoints) {
+				fTarget.breakpointAdded(breakpoint);
+			}
+		} finally {
+			fTarget.getSharedClassPrepareRequests().deleteUnused();
+		}
+	}
+
+	/**
+	 * Creates the class prepare requests, and reads the loaded classes and
+	 * line tables the given breakpoints will need.
+	 *
+	 * @param breakpoints breakpoints about to be installed
+	 */
+	void prepare(IBreakpoint[] breakpoints) {
+		if (fConcurrency <= 1 || breakpoints.length < 2 || !fTarget.isAvailable()) {
+			return;
+		}
+		Map<String, TypeWork> work = new LinkedHashMap<>();
+		for (IBreakpoint breakpoint : breakpoints) {
+			if (breakpoint instanceof JavaBreakpoint) {
+				try {
+					collect((JavaBreakpoint) breakpoint, work);
+				} catch (CoreException e) {
+					// installation reports the problem
+				}
+			}
+		}
+		int threads = Math.min(fConcurrency, work.size());
+		if (threads <= 1) {
+			return;
+		}
+		AtomicInteger number = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "Breakpoint Installer " + number.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<?>> futures = new ArrayList<>(work.size());
+			for (TypeWork typeWork : work.values()) {
+				futures.add(executor.submit(() -> {
+					prepare(typeWork);
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			if (!(e.getCause() instanceof VMDisconnectedException)) {
+				JDIDebugPlugin.log(e.getCause());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void collect(JavaBreakpoint breakpoint, Map<String, TypeWork> work) throws CoreException {
+		if (breakpoint.shouldSkipBreakpoint() || !breakpoint.isEnabled()) {
+			return;
+		}
+		String typeName = breakpoint.getTypeName();
+		String enclosingTypeName = breakpoint.getEnclosingReferenceTypeName();
+		if (typeName == null || enclosingTypeName == null) {
+			return;
+		}
+		TypeWork typeWork = work.computeIfAbsent(enclosingTypeName, TypeWork::new);
+		typeWork.fTypeNames.add(typeName);
+		// these create their own class prepare requests
+		boolean ownRequests = breakpoint instanceof JavaClassPrepareBreakpoint
+				|| breakpoint instanceof JavaPatternBreakpoint
+				|| breakpoint instanceof JavaStratumLineBreakpoint
+				|| breakpoint instanceof JavaTargetPatternBreakpoint;
+		if (!ownRequests && SharedClassPrepareRequests.isEnabled()) {
+			for (String[] filter : JavaBreakpoint.getClassPrepareFilters(typeName, enclosingTypeName)) {
+				if (typeWork.fFilterKeys.add(filter[0] + '\n' + filter[1])) {
+					typeWork.fFilters.add(filter);
+				}
+			}
+		}
+		// only plain line breakpoints look up locations by line
+		if (breakpoint.getClass() == JavaLineBreakpoint.class) {
+			typeWork.fLineTypeNames.add(typeName);
+		}
+	}
+
+	private void prepare(TypeWork work) throws CoreException {
+		SharedClassPrepareRequests requests = fTarget.getSharedClassPrepareRequests();
+		for (String[] filter : work.fFilters) {
+			requests.prepare(filter[0], filter[1]);
+		}
+		if (!work.fFilters.isEmpty()) {
+			// before any breakpoint looks up local types, so that the local
+			// type index is built once for all types
+			fTarget.getLocalTypeIndex().tracking(work.fEnclosingTypeName);
+		}
+		for (String typeName : work.fTypeNames) {
+			List<ReferenceType> types = fTarget.jdiClassesByName(typeName);
+			if (work.fLineTypeNames.contains(typeName)) {
+				for (ReferenceType type : types) {
+					readLineTables(type);
+				}
+			}
+		}
+	}
+
+	private static void readLineTables(ReferenceType type) {
+		try {
+			for (Method method : type.methods()) {
+				if (!method.isAbstract() && !method.isNative()) {
+					try {
+						method.allLineLocations();
+					} catch (AbsentInformationException e) {
+						// no line numbers, nothing to install
+					}
+				}
+			}
+		} catch (VMDisconnectedException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			// the type was unloaded, installation reports problems
+		}
+	}
+}
@@ -0,0 +1,853 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.breakpoints;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.BooleanLiteral;
+import org.eclipse.jdt.core.dom.CharacterLiteral;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.FieldAccess;
+import org.eclipse.jdt.core.dom.InfixExpression;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.NumberLiteral;
+import org.eclipse.jdt.core.dom.ParenthesizedExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression;
+import org.eclipse.jdt.core.dom.QualifiedName;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.StringLiteral;
+import org.eclipse.jdt.core.dom.ThisExpression;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.ArrayType;
+import com.sun.jdi.BooleanValue;
+import com.sun.jdi.ByteValue;
+import com.sun.jdi.CharValue;
+import com.sun.jdi.ClassNotLoadedException;
+import com.sun.jdi.DoubleValue;
+import com.sun.jdi.Field;
+import com.sun.jdi.FloatValue;
+import com.sun.jdi.IntegerValue;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.LongValue;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.PrimitiveValue;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.ShortValue;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.StringReference;
+import com.sun.jdi.Type;
+import com.sun.jdi.Value;
+
+/**
+ * A breakpoint condition compiled for direct evaluation against the values of
+ * a suspended stack frame, without the evaluation engine.
+ * <p>
+ * Only a side effect free subset of Java is supported: reads of local
+ * variables and fields, literals, arithmetic on and comparison of primitive
+ * values, <code>null</code> checks, <code>equals</code> between a string and a
+ * string literal, and the operators <code>!</code>, <code>&amp;&amp;</code>
+ * and <code>||</code>. The simple names of a condition are read with one
+ * request each for local variables, instance fields and static fields, and
+ * nothing is ever invoked in the target. Fields are resolved against the
+ * declared type of their qualifier, as the compiler does, and are only read
+ * when they are certainly accessible from the type of the frame. When a
+ * condition is outside the
+ * subset, or its values do not have the types the subset handles, the
+ * condition is left to the evaluation engine, which also reports any errors.
+ * </p>
+ */
+public class ConditionPredicate {
+
+	/**
+	 * System property to evaluate all conditions with the evaluation engine
+	 */
+	private static final boolean DISABLED = Boolean.getBoolean("org.eclipse.jdt.internal.debug.core.breakpoints.ConditionPredicate.disable"); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of remembered conditions
+	 */
+	private static final int MAX_CONDITIONS = 256;
+
+	/**
+	 * Compiled conditions by condition text. Conditions outside the supported
+	 * subset map to {@link #UNSUPPORTED}.
+	 */
+	private static final Map<String, ConditionPredicate> fgConditions = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ConditionPredicate> eldest) {
+			return size() > MAX_CONDITIONS;
+		}
+	};
+
+	private static final ConditionPredicate UNSUPPORTED = new ConditionPredicate(null, new LinkedHashSet<>());
+
+	/**
+	 * Value of <code>null</code> during evaluation
+	 */
+	private static final Object NULL = new Object();
+
+	private static final String THIS_PREFIX = "this."; //$NON-NLS-1$
+
+	/**
+	 * Thrown when a condition cannot be evaluated directly.
+	 */
+	private static class Fallback extends Exception {
+		private static final long serialVersionUID = 1L;
+		static final Fallback INSTANCE = new Fallback();
+
+		private Fallback() {
+			super(null, null, false, false);
+		}
+	}
+
+	/**
+	 * The values and declared types of the names read by a condition, and the
+	 * type of the frame it is evaluated in.
+	 */
+	private static class Names {
+		final Map<String, Object> fValues = new HashMap<>();
+		final Map<String, Type> fTypes = new HashMap<>();
+		final ReferenceType fContext;
+
+		Names(ReferenceType context) {
+			fContext = context;
+		}
+
+		Object get(String name) {
+			return fValues.get(name);
+		}
+
+		Type getType(String name) throws Fallback {
+			Type type = fTypes.get(name);
+			if (type == null) {
+				// the declared type is not loaded
+				throw Fallback.INSTANCE;
+			}
+			return type;
+		}
+	}
+
+	/**
+	 * A compiled (sub)expression.
+	 */
+	private interface Node {
+		/**
+		 * @param names
+		 *            values of the names read by the condition
+		 * @return a <code>Boolean</code>, an <code>Integer</code>,
+		 *         <code>Long</code>, <code>Float</code> or <code>Double</code>,
+		 *         a <code>String</code> for string literals, an
+		 *         <code>ObjectReference</code> or {@link #NULL}
+		 */
+		Object evaluate(Names names) throws Fallback;
+
+		/**
+		 * Returns the declared type of this expression, when it is a name or a
+		 * field access.
+		 *
+		 * @param names
+		 *            values of the names read by the condition
+		 * @return declared type
+		 */
+		default Type getDeclaredType(Names names) throws Fallback {
+			throw Fallback.INSTANCE;
+		}
+	}
+
+	private final Node fRoot;
+
+	/**
+	 * Names read by the condition: simple names, resolved as local variables
+	 * or fields, and <code>this.</code> qualified field names
+	 */
+	private final Set<String> fNames;
+
+	private ConditionPredicate(Node root, Set<String> names) {
+		fRoot = root;
+		fNames = names;
+	}
+
+	/**
+	 * Evaluates the given condition in the given stack frame if it is in the
+	 * supported subset.
+	 *
+	 * @param condition
+	 *            breakpoint condition
+	 * @param frame
+	 *            suspended stack frame
+	 * @return the value of the condition, or <code>null</code> if the
+	 *         condition must be evaluated by the evaluation engine
+	 */
+	public static Boolean evaluate(String condition, StackFrame frame) {
+		if (DISABLED) {
+			return null;
+		}
+		ConditionPredicate predicate;
+		synchronized (fgConditions) {
+			predicate = fgConditions.get(condition);
+		}
+		if (predicate == null) {
+			predicate = compile(condition);
+			synchronized (fgConditions) {
+				fgConditions.put(condition, predicate);
+			}
+		}
+		if (predicate == UNSUPPORTED) {
+			return null;
+		}
+		return predicate.evaluate(frame);
+	}
+
+	/**
+	 * Compiles the given condition, returning {@link #UNSUPPORTED} if it is not
+	 * in the supported subset.
+	 */
+	static ConditionPredicate compile(String condition) {
+		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+		parser.setKind(ASTParser.K_EXPRESSION);
+		parser.setSource(condition.toCharArray());
+		ASTNode node = parser.createAST(null);
+		if (!(node instanceof Expression) || (node.getFlags() & ASTNode.MALFORMED) != 0) {
+			return UNSUPPORTED;
+		}
+		Set<String> names = new LinkedHashSet<>();
+		try {
+			return new ConditionPredicate(compile((Expression) node, names), names);
+		} catch (Fallback | NumberFormatException e) {
+			return UNSUPPORTED;
+		}
+	}
+
+	private static Node compile(Expression expression, Set<String> names) throws Fallback {
+		switch (expression.getNodeType()) {
+			case ASTNode.PARENTHESIZED_EXPRESSION:
+				return compile(((ParenthesizedExpression) expression).getExpression(), names);
+			case ASTNode.BOOLEAN_LITERAL: {
+				Boolean value = Boolean.valueOf(((BooleanLiteral) expression).booleanValue());
+				return n -> value;
+			}
+			case ASTNode.NULL_LITERAL:
+				return n -> NULL;
+			case ASTNode.CHARACTER_LITERAL: {
+				Integer value = Integer.valueOf(((CharacterLiteral) expression).charValue());
+				return n -> value;
+			}
+			case ASTNode.STRING_LITERAL: {
+				String value = ((StringLiteral) expression).getLiteralValue();
+				return n -> value;
+			}
+			case ASTNode.NUMBER_LITERAL: {
+				Object value = parseNumber(((NumberLiteral) expression).getToken());
+				return n -> value;
+			}
+			case ASTNode.SIMPLE_NAME: {
+				String name = ((SimpleName) expression).getIdentifier();
+				names.add(name);
+				return name(name);
+			}
+			case ASTNode.FIELD_ACCESS: {
+				FieldAccess access = (FieldAccess) expression;
+				String field = access.getName().getIdentifier();
+				if (access.getExpression() instanceof ThisExpression && ((ThisExpression) access.getExpression()).getQualifier() == null) {
+					String key = THIS_PREFIX + field;
+					names.add(key);
+					return name(key);
+				}
+				return fieldOf(compile(access.getExpression(), names), field);
+			}
+			case ASTNode.QUALIFIED_NAME: {
+				QualifiedName name = (QualifiedName) expression;
+				return fieldOf(compile(name.getQualifier(), names), name.getName().getIdentifier());
+			}
+			case ASTNode.PREFIX_EXPRESSION:
+				return compilePrefix((PrefixExpression) expression, names);
+			case ASTNode.INFIX_EXPRESSION:
+				return compileInfix((InfixExpression) expression, names);
+			case ASTNode.METHOD_INVOCATION:
+				return compileEquals((MethodInvocation) expression, names);
+			default:
+				throw Fallback.INSTANCE;
+		}
+	}
+
+	private static Node compilePrefix(PrefixExpression expression, Set<String> names) throws Fallback {
+		Node operand = compile(expression.getOperand(), names);
+		PrefixExpression.Operator operator = expression.getOperator();
+		if (operator == PrefixExpression.Operator.NOT) {
+			return n -> Boolean.valueOf(!asBoolean(operand.evaluate(n)));
+		}
+		if (operator == PrefixExpression.Operator.MINUS) {
+			if (expression.getOperand() instanceof NumberLiteral) {
+				// fold, so that the minimum int and long literals are valid
+				Object value = parseNumber('-' + ((NumberLiteral) expression.getOperand()).getToken());
+				return n -> value;
+			}
+			return n -> negate(operand.evaluate(n));
+		}
+		if (operator == PrefixExpression.Operator.PLUS) {
+			return n -> {
+				Object value = operand.evaluate(n);
+				if (!(value instanceof Number)) {
+					throw Fallback.INSTANCE;
+				}
+				return value;
+			};
+		}
+		throw Fallback.INSTANCE;
+	}
+
+	private static Node compileInfix(InfixExpression expression, Set<String> names) throws Fallback {
+		InfixExpression.Operator operator = expression.getOperator();
+		Node result = compile(expression.getLeftOperand(), names);
+		List<Expression> operands = new ArrayList<>();
+		operands.add(expression.getRightOperand());
+		for (Object extended : expression.extendedOperands()) {
+			operands.add((Expression) extended);
+		}
+		for (Expression operand : operands) {
+			result = combine(operator, result, compile(operand, names));
+		}
+		return result;
+	}
+
+	private static Node combine(InfixExpression.Operator operator, Node left, Node right) throws Fallback {
+		if (operator == InfixExpression.Operator.CONDITIONAL_AND) {
+			return n -> Boolean.valueOf(asBoolean(left.evaluate(n)) && asBoolean(right.evaluate(n)));
+		}
+		if (operator == InfixExpression.Operator.CONDITIONAL_OR) {
+			return n -> Boolean.valueOf(asBoolean(left.evaluate(n)) || asBoolean(right.evaluate(n)));
+		}
+		if (operator == InfixExpression.Operator.EQUALS) {
+			return n -> Boolean.valueOf(isEqual(left.evaluate(n), right.evaluate(n)));
+		}
+		if (operator == InfixExpression.Operator.NOT_EQUALS) {
+			return n -> Boolean.valueOf(!isEqual(left.evaluate(n), right.evaluate(n)));
+		}
+		if (operator == InfixExpression.Operator.LESS || operator == InfixExpression.Operator.LESS_EQUALS
+				|| operator == InfixExpression.Operator.GREATER || operator == InfixExpression.Operator.GREATER_EQUALS) {
+			return n -> Boolean.valueOf(compare(operator, left.evaluate(n), right.evaluate(n)));
+		}
+		if (operator == InfixExpression.Operator.PLUS || operator == InfixExpression.Operator.MINUS
+				|| operator == InfixExpression.Operator.TIMES || operator == InfixExpression.Operator.DIVIDE
+				|| operator == InfixExpression.Operator.REMAINDER) {
+			return n -> arithmetic(operator, left.evaluate(n), right.evaluate(n));
+		}
+		throw Fallback.INSTANCE;
+	}
+
+	/**
+	 * Compiles <code>string.equals("literal")</code> and
+	 * <code>"literal".equals(value)</code>. Other invocations could run
+	 * arbitrary code in the target and are not supported.
+	 */
+	private static Node compileEquals(MethodInvocation invocation, Set<String> names) throws Fallback {
+		if (!"equals".equals(invocation.getName().getIdentifier()) || invocation.getExpression() == null //$NON-NLS-1$
+				|| invocation.arguments().size() != 1 || !invocation.typeArguments().isEmpty()) {
+			throw Fallback.INSTANCE;
+		}
+		Expression receiverExpression = invocation.getExpression();
+		Expression argumentExpression = (Expression) invocation.arguments().get(0);
+		if (!(receiverExpression instanceof StringLiteral) && !(argumentExpression instanceof StringLiteral)) {
+			throw Fallback.INSTANCE;
+		}
+		Node receiver = compile(receiverExpression, names);
+		Node argument = compile(argumentExpression, names);
+		return n -> {
+			Object value = receiver.evaluate(n);
+			String string;
+			if (value instanceof String) {
+				string = (String) value;
+			} else if (value instanceof StringReference) {
+				string = ((StringReference) value).value();
+			} else {
+				// a NullPointerException, or an equals method of another type
+				throw Fallback.INSTANCE;
+			}
+			Object other = argument.evaluate(n);
+			if (other instanceof StringReference) {
+				other = ((StringReference) other).value();
+			}
+			return Boolean.valueOf(string.equals(other));
+		};
+	}
+
+	/**
+	 * Returns a node reading the given name.
+	 */
+	private static Node name(String name) {
+		return new Node() {
+			@Override
+			public Object evaluate(Names n) {
+				return n.get(name);
+			}
+
+			@Override
+			public Type getDeclaredType(Names n) throws Fallback {
+				return n.getType(name);
+			}
+		};
+	}
+
+	/**
+	 * Returns a node reading the given field of the value of the given
+	 * qualifier. The field is resolved against the declared type of the
+	 * qualifier, so that a field hidden in a subclass of that type is not
+	 * read instead.
+	 */
+	private static Node fieldOf(Node qualifier, String field) {
+		return new Node() {
+			@Override
+			public Object evaluate(Names n) throws Fallback {
+				Object value = qualifier.evaluate(n);
+				if (value instanceof ArrayReference && "length".equals(field) && qualifier.getDeclaredType(n) instanceof ArrayType) { //$NON-NLS-1$
+					return Integer.valueOf(((ArrayReference) value).length());
+				}
+				if (!(value instanceof ObjectReference)) {
+					// a NullPointerException, or a primitive value
+					throw Fallback.INSTANCE;
+				}
+				return toObject(((ObjectReference) value).getValue(resolve(n)));
+			}
+
+			@Override
+			public Type getDeclaredType(Names n) throws Fallback {
+				try {
+					return resolve(n).type();
+				} catch (ClassNotLoadedException e) {
+					throw Fallback.INSTANCE;
+				}
+			}
+
+			private Field resolve(Names n) throws Fallback {
+				Type type = qualifier.getDeclaredType(n);
+				if (!(type instanceof ReferenceType) || type instanceof ArrayType) {
+					throw Fallback.INSTANCE;
+				}
+				ReferenceType declared = (ReferenceType) type;
+				Field resolved = declared.fieldByName(field);
+				if (resolved == null || resolved.isStatic() || !isAccessible(resolved, declared, n.fContext)) {
+					// static fields read through an instance, ambiguous and
+					// inaccessible fields are left to the engine
+					throw Fallback.INSTANCE;
+				}
+				return resolved;
+			}
+		};
+	}
+
+	/**
+	 * Returns whether the given field, a member of the given type, is
+	 * accessible from code in the given context type. Only cases that are
+	 * certain are accepted: for example protected fields read through a
+	 * subclass of the context type in another package, or public members of
+	 * nested types of other packages, are left to the engine.
+	 */
+	private static boolean isAccessible(Field field, ReferenceType type, ReferenceType context) {
+		if (!isAccessible(type, context)) {
+			return false;
+		}
+		ReferenceType declaring = field.declaringType();
+		if (field.isPublic()) {
+			return true;
+		}
+		if (field.isPrivate()) {
+			// private fields are not inherited, and are shared by a top level
+			// type and its nested types
+			return declaring.equals(type) && getTopLevelName(declaring).equals(getTopLevelName(context));
+		}
+		if (field.isProtected()) {
+			// also inherited by the context type, and read through it
+			return type.equals(context) || getPackageName(declaring).equals(getPackageName(context));
+		}
+		// package private fields are only inherited in their package
+		return getPackageName(declaring).equals(getPackageName(context)) && getPackageName(type).equals(getPackageName(context));
+	}
+
+	/**
+	 * Returns whether the given type is accessible from code in the given
+	 * context type, in the cases that are certain.
+	 */
+	private static boolean isAccessible(ReferenceType type, ReferenceType context) {
+		if (type.isPrivate()) {
+			return getTopLevelName(type).equals(getTopLevelName(context));
+		}
+		if (getPackageName(type).equals(getPackageName(context))) {
+			return true;
+		}
+		// the enclosing types of nested types are not known here
+		return type.isPublic() && type.name().indexOf('$') < 0;
+	}
+
+	private static String getPackageName(ReferenceType type) {
+		String name = type.name();
+		int index = name.lastIndexOf('.');
+		return index < 0 ? "" : name.substring(0, index); //$NON-NLS-1$
+	}
+
+	private static String getTopLevelName(ReferenceType type) {
+		String name = type.name();
+		int index = name.indexOf('$');
+		return index < 0 ? name : name.substring(0, index);
+	}
+
+	/**
+	 * Parses the token of a number literal.
+	 */
+	private static Object parseNumber(String token) {
+		String literal = token.replace("_", "").toLowerCase(); //$NON-NLS-1$ //$NON-NLS-2$
+		boolean negative = literal.startsWith("-"); //$NON-NLS-1$
+		String digits = negative ? literal.substring(1) : literal;
+		boolean hex = digits.startsWith("0x"); //$NON-NLS-1$
+		if (!hex && (digits.endsWith("f") || digits.endsWith("d") || digits.contains(".") || digits.contains("e"))) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			if (digits.endsWith("f")) { //$NON-NLS-1$
+				return Float.valueOf(Float.parseFloat(literal));
+			}
+			return Double.valueOf(Double.parseDouble(literal));
+		}
+		boolean isLong = digits.endsWith("l"); //$NON-NLS-1$
+		if (isLong) {
+			digits = digits.substring(0, digits.length() - 1);
+		}
+		if (hex || digits.startsWith("0b") || (digits.length() > 1 && digits.startsWith("0"))) { //$NON-NLS-1$ //$NON-NLS-2$
+			int radix = hex ? 16 : digits.startsWith("0b") ? 2 : 8; //$NON-NLS-1$
+			String unsigned = radix == 8 ? digits.substring(1) : digits.substring(2);
+			long value = Long.parseUnsignedLong(unsigned, radix);
+			if (!isLong && (value >>> 32) != 0) {
+				throw new NumberFormatException(token);
+			}
+			if (isLong) {
+				return Long.valueOf(negative ? -value : value);
+			}
+			return Integer.valueOf(negative ? -(int) value : (int) value);
+		}
+		if (isLong) {
+			return Long.valueOf(Long.parseLong(negative ? '-' + digits : digits));
+		}
+		return Integer.valueOf(Integer.parseInt(negative ? '-' + digits : digits));
+	}
+
+	/**
+	 * Converts a JDI value to the representation used during evaluation.
+	 */
+	private static Object toObject(Value value) throws Fallback {
+		if (value == null) {
+			return NULL;
+		}
+		if (value instanceof ObjectReference) {
+			return value;
+		}
+		if (value instanceof BooleanValue) {
+			return Boolean.valueOf(((BooleanValue) value).value());
+		}
+		if (value instanceof IntegerValue || value instanceof ShortValue || value instanceof ByteValue) {
+			return Integer.valueOf(((PrimitiveValue) value).intValue());
+		}
+		if (value instanceof CharValue) {
+			// chars take part in comparisons and arithmetic as ints
+			return Integer.valueOf(((CharValue) value).value());
+		}
+		if (value instanceof LongValue) {
+			return Long.valueOf(((LongValue) value).value());
+		}
+		if (value instanceof FloatValue) {
+			return Float.valueOf(((FloatValue) value).value());
+		}
+		if (value instanceof DoubleValue) {
+			return Double.valueOf(((DoubleValue) value).value());
+		}
+		throw Fallback.INSTANCE;
+	}
+
+	private static boolean asBoolean(Object value) throws Fallback {
+		if (value instanceof Boolean) {
+			return ((Boolean) value).booleanValue();
+		}
+		// boxed Booleans and other types are left to the engine
+		throw Fallback.INSTANCE;
+	}
+
+	/**
+	 * Returns the type of binary numeric promotion: 'D', 'F', 'J' or 'I'.
+	 */
+	private static char promote(Object left, Object right) throws Fallback {
+		if (!(left instanceof Number) || !(right instanceof Number)) {
+			throw Fallback.INSTANCE;
+		}
+		if (left instanceof Double || right instanceof Double) {
+			return 'D';
+		}
+		if (left instanceof Float || right instanceof Float) {
+			return 'F';
+		}
+		if (left instanceof Long || right instanceof Long) {
+			return 'J';
+		}
+		return 'I';
+	}
+
+	private static boolean isEqual(Object left, Object right) throws Fallback {
+		if (left instanceof Boolean && right instanceof Boolean) {
+			return left.equals(right);
+		}
+		if (left instanceof Number || right instanceof Number) {
+			char type = promote(left, right);
+			Number l = (Number) left;
+			Number r = (Number) right;
+			switch (type) {
+				case 'D':
+					return l.doubleValue() == r.doubleValue();
+				case 'F':
+					return l.floatValue() == r.floatValue();
+				case 'J':
+					return l.longValue() == r.longValue();
+				default:
+					return l.intValue() == r.intValue();
+			}
+		}
+		if ((left == NULL || left instanceof ObjectReference) && (right == NULL || right instanceof ObjectReference)) {
+			// identity of objects, or null checks
+			return left.equals(right);
+		}
+		// includes identity comparison with string literals, which depends on interning
+		throw Fallback.INSTANCE;
+	}
+
+	private static boolean compare(InfixExpression.Operator operator, Object left, Object right) throws Fallback {
+		int sign;
+		switch (promote(left, right)) {
+			case 'D': {
+				double l = ((Number) left).doubleValue();
+				double r = ((Number) right).doubleValue();
+				if (Double.isNaN(l) || Double.isNaN(r)) {
+					return false;
+				}
+				sign = l < r ? -1 : l > r ? 1 : 0;
+				break;
+			}
+			case 'F': {
+				float l = ((Number) left).floatValue();
+				float r = ((Number) right).floatValue();
+				if (Float.isNaN(l) || Float.isNaN(r)) {
+					return false;
+				}
+				sign = l < r ? -1 : l > r ? 1 : 0;
+				break;
+			}
+			case 'J':
+				sign = Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+				break;
+			default:
+				sign = Integer.compare(((Number) left).intValue(), ((Number) right).intValue());
+				break;
+		}
+		if (operator == InfixExpression.Operator.LESS) {
+			return sign < 0;
+		}
+		if (operator == InfixExpression.Operator.LESS_EQUALS) {
+			return sign <= 0;
+		}
+		if (operator == InfixExpression.Operator.GREATER) {
+			return sign > 0;
+		}
+		return sign >= 0;
+	}
+
+	private static Object negate(Object value) throws Fallback {
+		if (value instanceof Integer) {
+			return Integer.valueOf(-((Integer) value).intValue());
+		}
+		if (value instanceof Long) {
+			return Long.valueOf(-((Long) value).longValue());
+		}
+		if (value instanceof Float) {
+			return Float.valueOf(-((Float) value).floatValue());
+		}
+		if (value instanceof Double) {
+			return Double.valueOf(-((Double) value).doubleValue());
+		}
+		throw Fallback.INSTANCE;
+	}
+
+	private static Object arithmetic(InfixExpression.Operator operator, Object left, Object right) throws Fallback {
+		// string concatenation and other operand types are left to the engine
+		char type = promote(left, right);
+		Number l = (Number) left;
+		Number r = (Number) right;
+		switch (type) {
+			case 'D': {
+				double a = l.doubleValue();
+				double b = r.doubleValue();
+				return Double.valueOf(operator == InfixExpression.Operator.PLUS ? a + b
+						: operator == InfixExpression.Operator.MINUS ? a - b
+						: operator == InfixExpression.Operator.TIMES ? a * b
+						: operator == InfixExpression.Operator.DIVIDE ? a / b : a % b);
+			}
+			case 'F': {
+				float a = l.floatValue();
+				float b = r.floatValue();
+				return Float.valueOf(operator == InfixExpression.Operator.PLUS ? a + b
+						: operator == InfixExpression.Operator.MINUS ? a - b
+						: operator == InfixExpression.Operator.TIMES ? a * b
+						: operator == InfixExpression.Operator.DIVIDE ? a / b : a % b);
+			}
+			case 'J': {
+				long a = l.longValue();
+				long b = r.longValue();
+				if (b == 0 && (operator == InfixExpression.Operator.DIVIDE || operator == InfixExpression.Operator.REMAINDER)) {
+					// ArithmeticException
+					throw Fallback.INSTANCE;
+				}
+				return Long.valueOf(operator == InfixExpression.Operator.PLUS ? a + b
+						: operator == InfixExpression.Operator.MINUS ? a - b
+						: operator == InfixExpression.Operator.TIMES ? a * b
+						: operator == InfixExpression.Operator.DIVIDE ? a / b : a % b);
+			}
+			default: {
+				int a = l.intValue();
+				int b = r.intValue();
+				if (b == 0 && (operator == InfixExpression.Operator.DIVIDE || operator == InfixExpression.Operator.REMAINDER)) {
+					// ArithmeticException
+					throw Fallback.INSTANCE;
+				}
+				return Integer.valueOf(operator == InfixExpression.Operator.PLUS ? a + b
+						: operator == InfixExpression.Operator.MINUS ? a - b
+						: operator == InfixExpression.Operator.TIMES ? a * b
+						: operator == InfixExpression.Operator.DIVIDE ? a / b : a % b);
+			}
+		}
+	}
+
+	/**
+	 * Reads the values of the names of this condition from the given frame and
+	 * evaluates the condition.
+	 *
+	 * @param frame
+	 *            suspended stack frame
+	 * @return the value of the condition, or <code>null</code> if it must be
+	 *         evaluated by the evaluation engine
+	 */
+	Boolean evaluate(StackFrame frame) {
+		try {
+			Names names = readNames(frame);
+			if (names == null) {
+				return null;
+			}
+			Object result = fRoot.evaluate(names);
+			return result instanceof Boolean ? (Boolean) result : null;
+		} catch (Fallback e) {
+			return null;
+		} catch (RuntimeException e) {
+			// for example, the frame is no longer valid; let the engine report it
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the values of the names of this condition with one request each for
+	 * local variables, instance fields and static fields.
+	 *
+	 * @return values by name, or <code>null</code> if a name cannot be resolved
+	 */
+	private Names readNames(StackFrame frame) throws Fallback {
+		ReferenceType declaringType = frame.location().declaringType();
+		Names names = new Names(declaringType);
+		if (fNames.isEmpty()) {
+			return names;
+		}
+		Map<String, LocalVariable> locals = new HashMap<>();
+		Map<String, Field> instanceFields = new HashMap<>();
+		Map<String, Field> staticFields = new HashMap<>();
+		for (String name : fNames) {
+			boolean qualified = name.startsWith(THIS_PREFIX);
+			String simpleName = qualified ? name.substring(THIS_PREFIX.length()) : name;
+			if (!qualified) {
+				LocalVariable local;
+				try {
+					local = frame.visibleVariableByName(simpleName);
+				} catch (AbsentInformationException e) {
+					// without local variable information names cannot be resolved
+					return null;
+				}
+				if (local != null) {
+					locals.put(name, local);
+					names.fTypes.put(name, getType(local));
+					continue;
+				}
+			}
+			Field field = declaringType.fieldByName(simpleName);
+			if (field == null || !isAccessible(field, declaringType, declaringType)) {
+				// outer class fields, type names and so on are left to the engine
+				return null;
+			}
+			names.fTypes.put(name, getType(field));
+			if (field.isStatic()) {
+				staticFields.put(name, field);
+			} else {
+				instanceFields.put(name, field);
+			}
+		}
+		if (!locals.isEmpty()) {
+			Map<LocalVariable, Value> values = frame.getValues(new ArrayList<>(locals.values()));
+			for (Map.Entry<String, LocalVariable> entry : locals.entrySet()) {
+				names.fValues.put(entry.getKey(), toObject(values.get(entry.getValue())));
+			}
+		}
+		if (!instanceFields.isEmpty()) {
+			ObjectReference object = frame.thisObject();
+			if (object == null) {
+				return null;
+			}
+			Map<Field, Value> values = object.getValues(new ArrayList<>(new LinkedHashSet<>(instanceFields.values())));
+			for (Map.Entry<String, Field> entry : instanceFields.entrySet()) {
+				names.fValues.put(entry.getKey(), toObject(values.get(entry.getValue())));
+			}
+		}
+		if (!staticFields.isEmpty()) {
+			Map<Field, Value> values = declaringType.getValues(new ArrayList<>(new LinkedHashSet<>(staticFields.values())));
+			for (Map.Entry<String, Field> entry : staticFields.entrySet()) {
+				names.fValues.put(entry.getKey(), toObject(values.get(entry.getValue())));
+			}
+		}
+		return names;
+	}
+
+	private static Type getType(LocalVariable local) {
+		try {
+			return local.type();
+		} catch (ClassNotLoadedException e) {
+			return null;
+		}
+	}
+
+	private static Type getType(Field field) {
+		try {
+			return field.type();
+		} catch (ClassNotLoadedException e) {
+			return null;
+		}
+	}
+}
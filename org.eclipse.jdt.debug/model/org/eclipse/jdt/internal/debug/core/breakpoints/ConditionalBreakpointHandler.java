@@ -40,6 +40,7 @@ import org.eclipse.jdt.debug.eval.IEvaluationResult;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDINullValue;
+import org.eclipse.jdt.internal.debug.core.model.JDIStackFrame;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 import org.eclipse.jdt.internal.debug.core.model.JDIValue;
 
@@ -211,10 +212,17 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 				if (condition == null) {
 					return SUSPEND;
 				}
-				EvaluationListener listener = new EvaluationListener(
-						lineBreakpoint);
 				IJavaStackFrame frame = (IJavaStackFrame) thread
 						.getTopStackFrame();
+				if (lineBreakpoint.isConditionSuspendOnTrue() && frame instanceof JDIStackFrame) {
+					// simple conditions are read directly from the frame
+					Boolean value = ConditionPredicate.evaluate(condition, ((JDIStackFrame) frame).getUnderlyingStackFrame());
+					if (value != null) {
+						return value.booleanValue() ? SUSPEND : DONT_SUSPEND;
+					}
+				}
+				EvaluationListener listener = new EvaluationListener(
+						lineBreakpoint);
 				IJavaProject project = lineBreakpoint.getJavaProject(frame);
 				if (project == null) {
 					fireConditionHasErrors(
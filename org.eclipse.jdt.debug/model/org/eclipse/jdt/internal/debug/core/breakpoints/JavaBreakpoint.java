@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Platform;
@@ -46,6 +47,7 @@ import org.eclipse.jdt.internal.debug.core.model.JDIObjectValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 import org.eclipse.jdt.internal.debug.core.model.JDIType;
 
+import com.sun.jdi.ObjectCollectedException;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.ThreadReference;
@@ -373,6 +375,7 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 	 * @return is the thread should suspend or not
 	 */
 	public boolean handleClassPrepareEvent(ClassPrepareEvent event, JDIDebugTarget target, boolean suspendVote) {
+		target.getLocalTypeIndex().typePrepared(event.referenceType());
 		try {
 			if (!installableReferenceType(event.referenceType(), target)) {
 				// Don't install this breakpoint in an
@@ -627,22 +630,16 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 		if (referenceTypeName == null || enclosingTypeName == null) {
 			return;
 		}
-		// create request to listen to class loads
-		if (referenceTypeName.indexOf('$') == -1) {
-			registerRequest(
-					target.createClassPrepareRequest(enclosingTypeName), target);
-			// register to ensure we hear about local and anonymous inner
-			// classes
-			registerRequest(
-					target.createClassPrepareRequest(enclosingTypeName + "$*"), target); //$NON-NLS-1$
-		} else {
-			registerRequest(
-					target.createClassPrepareRequest(referenceTypeName), target);
-			// register to ensure we hear about local and anonymous inner
-			// classes
-			registerRequest(target.createClassPrepareRequest(enclosingTypeName
-					+ "$*", referenceTypeName), target); //$NON-NLS-1$
+		// create request to listen to class loads, and to ensure we hear
+		// about local and anonymous inner classes
+		for (String[] filter : getClassPrepareFilters(referenceTypeName, enclosingTypeName)) {
+			if (SharedClassPrepareRequests.isEnabled()) {
+				target.getSharedClassPrepareRequests().add(this, filter[0], filter[1]);
+			} else {
+				registerRequest(target.createClassPrepareRequest(filter[0], filter[1]), target);
+			}
 		}
+		target.getLocalTypeIndex().tracking(enclosingTypeName);
 
 		// create breakpoint requests for each class currently loaded
 		List<ReferenceType> classes = target.jdiClassesByName(referenceTypeName);
@@ -664,6 +661,25 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 		}
 	}
 
+	/**
+	 * Returns the class name and exclusion patterns of the class prepare
+	 * requests for a breakpoint in the given type: the type itself, and the
+	 * nested types of its top level type.
+	 *
+	 * @param referenceTypeName name of the type of the breakpoint
+	 * @param enclosingTypeName name of its top level type
+	 * @return pairs of class pattern and class exclusion pattern, which may be
+	 *         <code>null</code>
+	 */
+	static String[][] getClassPrepareFilters(String referenceTypeName, String enclosingTypeName) {
+		if (referenceTypeName.indexOf('$') == -1) {
+			return new String[][] { { enclosingTypeName, null },
+					{ enclosingTypeName + "$*", null } }; //$NON-NLS-1$
+		}
+		return new String[][] { { referenceTypeName, null },
+				{ enclosingTypeName + "$*", referenceTypeName } }; //$NON-NLS-1$
+	}
+
 	/**
 	 * Local types (types defined in methods) are handled specially due to the
 	 * different types that the local type is associated with as well as the
@@ -675,22 +691,65 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 	 * attempts to create a request when a breakpoint is being added to a target
 	 * fail, we must be dealing with a local type and therefore resort to
 	 * looking up all of the nested types of the top level enclosing type.
+	 * <p>
+	 * Nested types are looked up in the target's {@link LocalTypeIndex}. The
+	 * nested type a line was last installed in is tried first, in all of its
+	 * loaded copies; only when none of them contains the line are the nested
+	 * types of every copy of the enclosing type searched.
+	 * </p>
 	 *
 	 * @param target the target
 	 * @param enclosingTypeName the type name of the enclosing type
 	 * @throws CoreException if something bad happens
 	 */
 	protected void addToTargetForLocalType(JDIDebugTarget target, String enclosingTypeName) throws CoreException {
+		IMarker marker = ensureMarker();
+		int lineNumber = marker.getAttribute(IMarker.LINE_NUMBER, -1);
+		IProject project = marker.getResource().getProject();
+		String projectName = project == null ? null : project.getName();
+		if (lineNumber > 0) {
+			String hint = LocalTypeIndex.getLocationHint(projectName, enclosingTypeName, lineNumber);
+			if (hint != null) {
+				// install in every loaded copy of the hinted type, such as the
+				// copies of other class loaders
+				boolean installed = false;
+				for (ReferenceType type : target.jdiClassesByName(hint)) {
+					if (createLocalTypeRequest(target, type)) {
+						installed = true;
+					}
+				}
+				if (installed) {
+					return;
+				}
+			}
+		}
+		LocalTypeIndex index = target.getLocalTypeIndex();
 		List<ReferenceType> classes = target.jdiClassesByName(enclosingTypeName);
 		for(ReferenceType type : classes) {
-			for(ReferenceType nestedType : type.nestedTypes()) {
-				if (createRequest(target, nestedType)) {
+			for(ReferenceType nestedType : index.getNestedTypes(type)) {
+				if (createLocalTypeRequest(target, nestedType)) {
+					if (lineNumber > 0) {
+						LocalTypeIndex.setLocationHint(projectName, enclosingTypeName, lineNumber, nestedType.name());
+					}
 					break;
 				}
 			}
 		}
 	}
 
+	/**
+	 * Attempts to create a request in the given local type, removing the type
+	 * from the target's local type index if it is no longer loaded.
+	 */
+	private boolean createLocalTypeRequest(JDIDebugTarget target, ReferenceType type) throws CoreException {
+		try {
+			return createRequest(target, type);
+		} catch (ObjectCollectedException e) {
+			target.getLocalTypeIndex().typeRemoved(type);
+			return false;
+		}
+	}
+
 	/**
 	 * Returns the JDI suspend policy that corresponds to this breakpoint's
 	 * suspend policy
@@ -806,6 +865,7 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 				deregisterRequest(req, target);
 			}
 		}
+		target.getSharedClassPrepareRequests().remove(this);
 		fRequestsByTarget.remove(target);
 	}
 
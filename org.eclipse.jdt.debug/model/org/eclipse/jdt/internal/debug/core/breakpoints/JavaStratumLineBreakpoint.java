@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2003, 2012 IBM Corporation and others.
+ *  Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,7 @@ import com.sun.jdi.NativeMethodException;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.VMDisconnectedException;
 import com.sun.jdi.VirtualMachine;
+import com.sun.jdi.event.ClassPrepareEvent;
 
 /**
  * A line breakpoint identified by its source file name and/or path, and stratum
@@ -253,8 +254,14 @@ public class JavaStratumLineBreakpoint extends JavaLineBreakpoint implements
 	 * @return
 	 */
 	private boolean validType(String typeName) throws CoreException {
+		return validType(getTypeNamePatterns(), typeName);
+	}
 
-		String[] patterns = getTypeNamePatterns();
+	/**
+	 * Returns whether the given type name matches one of the given patterns,
+	 * as returned by {@link #getTypeNamePatterns()}.
+	 */
+	private boolean validType(String[] patterns, String typeName) {
 		for (int i = 0; i < patterns.length; i++) {
 			if (fSuffix[i] != null) {
 				// pattern starting with '*'
@@ -395,7 +402,7 @@ public class JavaStratumLineBreakpoint extends JavaLineBreakpoint implements
 			return;
 		}
 
-		String[] patterns = null;
+		final String[] patterns;
 		try {
 			patterns = getTypeNamePatterns();
 		} catch (CoreException e1) {
@@ -420,7 +427,7 @@ public class JavaStratumLineBreakpoint extends JavaLineBreakpoint implements
 		}
 		List<ReferenceType> classes = null;
 		try {
-			classes = vm.allClasses();
+			classes = target.getStratumIndex().getTypes(getStratum(), typeName -> validType(patterns, typeName), sourceName, getSourcePath());
 		} catch (RuntimeException e) {
 			target.targetRequestFailed(
 					JDIDebugBreakpointMessages.JavaPatternBreakpoint_0, e);
@@ -436,6 +443,12 @@ public class JavaStratumLineBreakpoint extends JavaLineBreakpoint implements
 		}
 	}
 
+	@Override
+	public boolean handleClassPrepareEvent(ClassPrepareEvent event, JDIDebugTarget target, boolean suspendVote) {
+		target.getStratumIndex().typePrepared(event.referenceType());
+		return super.handleClassPrepareEvent(event, target, suspendVote);
+	}
+
 	public synchronized String[] getTypeNamePatterns() throws CoreException {
 		if (fTypeNamePatterns != null) {
 			return fTypeNamePatterns;
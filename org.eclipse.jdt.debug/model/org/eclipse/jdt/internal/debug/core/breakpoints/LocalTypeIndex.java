@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.breakpoints;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.VirtualMachine;
+
+/**
+ * Index of the loaded nested (local and anonymous) types of top level types in
+ * a debug target, used to install breakpoints in local types without scanning
+ * all loaded classes for every breakpoint.
+ * <p>
+ * The index is built from a single snapshot of the loaded classes and is then
+ * kept current from the class prepare events of the requests for
+ * <code>Outer$*</code> that breakpoints register. A top level type is known to
+ * be complete in the index when its class prepare request was registered
+ * before the snapshot was taken, or while the type was not loaded, as its
+ * nested types cannot have been loaded before it. Otherwise the snapshot is
+ * taken again, once for all the types tracked so far. When a target starts, the
+ * {@link BreakpointInstaller} registers the requests of all breakpoints before
+ * any is installed, so one snapshot covers them all.
+ * </p>
+ * <p>
+ * In addition, the name of the nested type a breakpoint was installed in is
+ * remembered per (project, enclosing type, line) for the whole session, so
+ * that later installs and relaunches try that type first.
+ * </p>
+ */
+public class LocalTypeIndex {
+
+	/**
+	 * Maximum number of remembered breakpoint locations
+	 */
+	private static final int MAX_LOCATION_HINTS = 4096;
+
+	/**
+	 * Session wide map of "project/enclosing type name#line" to the name of the
+	 * nested type that contained the line when a breakpoint was last
+	 * installed.
+	 */
+	private static final Map<String, String> fgLocationHints = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_LOCATION_HINTS;
+		}
+	};
+
+	private final JDIDebugTarget fTarget;
+
+	/**
+	 * Loaded nested types keyed by top level type name, or <code>null</code>
+	 * until the first snapshot has been taken.
+	 */
+	private Map<String, List<ReferenceType>> fNestedTypes;
+
+	/**
+	 * Sequence number at which the current snapshot was taken
+	 */
+	private long fSnapshot = -1;
+
+	/**
+	 * Sequence number at which class prepare events were requested for each
+	 * top level type
+	 */
+	private final Map<String, Long> fTracked = new HashMap<>();
+
+	private long fSequence = 0;
+
+	/**
+	 * Constructs an index for the given target
+	 *
+	 * @param target debug target
+	 */
+	public LocalTypeIndex(JDIDebugTarget target) {
+		fTarget = target;
+	}
+
+	/**
+	 * Notes that class prepare events for the nested types of the given top
+	 * level type have been requested, so that the index will be told about
+	 * nested types loaded from now on.
+	 *
+	 * @param topLevelTypeName name of the top level type
+	 */
+	public void tracking(String topLevelTypeName) {
+		synchronized (this) {
+			if (fTracked.containsKey(topLevelTypeName)) {
+				return;
+			}
+		}
+		// nested types loaded before the request can only exist if the type
+		// itself is loaded
+		boolean loaded = !fTarget.jdiClassesByName(topLevelTypeName).isEmpty();
+		synchronized (this) {
+			if (!fTracked.containsKey(topLevelTypeName)) {
+				fTracked.put(topLevelTypeName, Long.valueOf(loaded ? ++fSequence : 0));
+			}
+		}
+	}
+
+	/**
+	 * Adds a type reported by a class prepare event to the index.
+	 *
+	 * @param type the prepared type
+	 */
+	public synchronized void typePrepared(ReferenceType type) {
+		if (fNestedTypes != null) {
+			add(fNestedTypes, type);
+		}
+	}
+
+	/**
+	 * Removes a type that is no longer valid (for example, it has been
+	 * unloaded) from the index.
+	 *
+	 * @param type the type to remove
+	 */
+	public synchronized void typeRemoved(ReferenceType type) {
+		if (fNestedTypes != null) {
+			String topLevel = getTopLevelName(type.name());
+			if (topLevel != null) {
+				List<ReferenceType> types = fNestedTypes.get(topLevel);
+				if (types != null) {
+					types.remove(type);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns whether a snapshot of the loaded classes has been taken.
+	 *
+	 * @return whether the index has been built
+	 */
+	public synchronized boolean isBuilt() {
+		return fNestedTypes != null;
+	}
+
+	/**
+	 * Returns the loaded nested types of the given type, in the order they
+	 * were loaded.
+	 *
+	 * @param type a loaded type
+	 * @return nested types, possibly empty
+	 */
+	public List<ReferenceType> getNestedTypes(ReferenceType type) {
+		String name = type.name();
+		String topLevel = getTopLevelName(name);
+		if (topLevel == null) {
+			topLevel = name;
+		}
+		List<ReferenceType> nested;
+		synchronized (this) {
+			Long tracked = fTracked.get(topLevel);
+			if (fNestedTypes == null || tracked == null || tracked.longValue() > fSnapshot) {
+				refresh();
+			}
+			nested = fNestedTypes.get(topLevel);
+			if (nested == null) {
+				return Collections.emptyList();
+			}
+			nested = new ArrayList<>(nested);
+		}
+		String prefix = name + '$';
+		List<ReferenceType> result = new ArrayList<>(nested.size());
+		for (ReferenceType nestedType : nested) {
+			if (nestedType.name().startsWith(prefix)) {
+				result.add(nestedType);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Rebuilds the index from the classes currently loaded in the target.
+	 */
+	private void refresh() {
+		Map<String, List<ReferenceType>> index = new HashMap<>();
+		long snapshot = fSequence;
+		VirtualMachine vm = fTarget.getVM();
+		if (vm != null) {
+			for (ReferenceType type : vm.allClasses()) {
+				add(index, type);
+			}
+		}
+		fNestedTypes = index;
+		fSnapshot = snapshot;
+	}
+
+	private static void add(Map<String, List<ReferenceType>> index, ReferenceType type) {
+		String topLevel = getTopLevelName(type.name());
+		if (topLevel == null) {
+			return;
+		}
+		List<ReferenceType> types = index.get(topLevel);
+		if (types == null) {
+			types = new ArrayList<>(2);
+			index.put(topLevel, types);
+		}
+		if (!types.contains(type)) {
+			types.add(type);
+		}
+	}
+
+	/**
+	 * Returns the name of the top level type of a nested type, or
+	 * <code>null</code> if the name is not the name of a nested type.
+	 */
+	private static String getTopLevelName(String typeName) {
+		int index = typeName.indexOf('$');
+		if (index <= 0 || typeName.endsWith("[]")) { //$NON-NLS-1$
+			return null;
+		}
+		return typeName.substring(0, index);
+	}
+
+	/**
+	 * Returns the name of the nested type a breakpoint at the given line of the
+	 * given enclosing type in the given project was last installed in, or
+	 * <code>null</code>.
+	 *
+	 * @param projectName name of the project of the breakpoint, or
+	 *            <code>null</code> if it is not in a project
+	 * @param enclosingTypeName top level type name
+	 * @param lineNumber line number
+	 * @return nested type name or <code>null</code>
+	 */
+	public static String getLocationHint(String projectName, String enclosingTypeName, int lineNumber) {
+		synchronized (fgLocationHints) {
+			return fgLocationHints.get(getLocationKey(projectName, enclosingTypeName, lineNumber));
+		}
+	}
+
+	/**
+	 * Remembers the nested type a breakpoint at the given line of the given
+	 * enclosing type in the given project was installed in.
+	 *
+	 * @param projectName name of the project of the breakpoint, or
+	 *            <code>null</code> if it is not in a project
+	 * @param enclosingTypeName top level type name
+	 * @param lineNumber line number
+	 * @param nestedTypeName name of the type the breakpoint was installed in
+	 */
+	public static void setLocationHint(String projectName, String enclosingTypeName, int lineNumber, String nestedTypeName) {
+		synchronized (fgLocationHints) {
+			fgLocationHints.put(getLocationKey(projectName, enclosingTypeName, lineNumber), nestedTypeName);
+		}
+	}
+
+	private static String getLocationKey(String projectName, String enclosingTypeName, int lineNumber) {
+		return (projectName == null ? "" : projectName) + '/' + enclosingTypeName + '#' + lineNumber; //$NON-NLS-1$
+	}
+}
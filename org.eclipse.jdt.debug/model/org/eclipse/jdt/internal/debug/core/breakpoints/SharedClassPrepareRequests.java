@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.breakpoints;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.internal.debug.core.IJDIEventListener;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+
+import com.sun.jdi.VMDisconnectedException;
+import com.sun.jdi.event.ClassPrepareEvent;
+import com.sun.jdi.event.Event;
+import com.sun.jdi.event.EventSet;
+import com.sun.jdi.request.ClassPrepareRequest;
+import com.sun.jdi.request.EventRequestManager;
+
+/**
+ * Class prepare requests of a debug target shared by all breakpoints that
+ * wait for the same classes.
+ * <p>
+ * Breakpoints in the same type register the same class name filters. Rather
+ * than one request per breakpoint and filter, a single request is created per
+ * filter, and its events are handed to every breakpoint registered for it,
+ * with the resume votes combined as if each breakpoint had its own request.
+ * The request is deleted when the last breakpoint is removed.
+ * </p>
+ * <p>
+ * Requests can be created ahead of the breakpoints that use them, for example
+ * concurrently while a target starts. Requests that no breakpoint has been
+ * registered for are deleted by {@link #deleteUnused()}.
+ * </p>
+ * <p>
+ * Sharing can be disabled with the system property
+ * <code>org.eclipse.jdt.internal.debug.core.breakpoints.SharedClassPrepareRequests.disable</code>.
+ * </p>
+ */
+public class SharedClassPrepareRequests {
+
+	/**
+	 * Whether class prepare requests are shared
+	 */
+	private static final boolean ENABLED = !Boolean.getBoolean("org.eclipse.jdt.internal.debug.core.breakpoints.SharedClassPrepareRequests.disable"); //$NON-NLS-1$
+
+	/**
+	 * A class prepare request and the breakpoints registered for it
+	 */
+	private class Shared implements IJDIEventListener {
+		final ClassPrepareRequest fRequest;
+		final List<IJDIEventListener> fListeners = new ArrayList<>(2);
+
+		Shared(ClassPrepareRequest request) {
+			fRequest = request;
+		}
+
+		@Override
+		public boolean handleEvent(Event event, JDIDebugTarget target, boolean suspendVote, EventSet eventSet) {
+			if (event instanceof ClassPrepareEvent) {
+				// also while no breakpoint is registered yet
+				target.getLocalTypeIndex().typePrepared(((ClassPrepareEvent) event).referenceType());
+			}
+			boolean resume = true;
+			for (IJDIEventListener listener : getListeners(this)) {
+				try {
+					resume = listener.handleEvent(event, target, suspendVote || !resume, eventSet) && resume;
+				} catch (RuntimeException e) {
+					JDIDebugPlugin.log(e);
+				}
+			}
+			return resume;
+		}
+
+		@Override
+		public void eventSetComplete(Event event, JDIDebugTarget target, boolean suspend, EventSet eventSet) {
+			for (IJDIEventListener listener : getListeners(this)) {
+				try {
+					listener.eventSetComplete(event, target, suspend, eventSet);
+				} catch (RuntimeException e) {
+					JDIDebugPlugin.log(e);
+				}
+			}
+		}
+	}
+
+	private final JDIDebugTarget fTarget;
+	private final Map<String, Shared> fShared = new HashMap<>();
+
+	/**
+	 * Constructs the shared requests of the given target.
+	 *
+	 * @param target debug target
+	 */
+	public SharedClassPrepareRequests(JDIDebugTarget target) {
+		fTarget = target;
+	}
+
+	/**
+	 * @return whether class prepare requests are shared between breakpoints
+	 */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	private static String key(String classPattern, String classExclusionPattern) {
+		return classExclusionPattern == null ? classPattern : classPattern + '\n' + classExclusionPattern;
+	}
+
+	/**
+	 * Creates the request for the given filters if it does not exist yet,
+	 * without registering a listener for it.
+	 *
+	 * @param classPattern class name pattern
+	 * @param classExclusionPattern class name pattern to exclude, or
+	 *            <code>null</code>
+	 * @throws CoreException if the request cannot be created
+	 */
+	public void prepare(String classPattern, String classExclusionPattern) throws CoreException {
+		getShared(key(classPattern, classExclusionPattern), classPattern, classExclusionPattern);
+	}
+
+	/**
+	 * Registers a listener for the classes matching the given filters,
+	 * creating the request if needed.
+	 *
+	 * @param listener listener, typically a breakpoint
+	 * @param classPattern class name pattern
+	 * @param classExclusionPattern class name pattern to exclude, or
+	 *            <code>null</code>
+	 * @throws CoreException if the request cannot be created
+	 */
+	public void add(IJDIEventListener listener, String classPattern, String classExclusionPattern) throws CoreException {
+		String key = key(classPattern, classExclusionPattern);
+		while (true) {
+			Shared shared = getShared(key, classPattern, classExclusionPattern);
+			synchronized (this) {
+				// retry if the request was deleted meanwhile
+				if (fShared.get(key) == shared) {
+					if (!shared.fListeners.contains(listener)) {
+						shared.fListeners.add(listener);
+					}
+					return;
+				}
+			}
+		}
+	}
+
+	private Shared getShared(String key, String classPattern, String classExclusionPattern) throws CoreException {
+		synchronized (this) {
+			Shared shared = fShared.get(key);
+			if (shared != null) {
+				return shared;
+			}
+		}
+		ClassPrepareRequest request = fTarget.createClassPrepareRequest(classPattern, classExclusionPattern);
+		Shared created = new Shared(request);
+		Shared existing;
+		synchronized (this) {
+			existing = fShared.get(key);
+			if (existing == null) {
+				fShared.put(key, created);
+			}
+		}
+		if (existing != null) {
+			// created concurrently
+			delete(request);
+			return existing;
+		}
+		fTarget.addJDIEventListener(created, request);
+		return created;
+	}
+
+	/**
+	 * Unregisters the given listener from all requests, and deletes the
+	 * requests no other listener is registered for.
+	 *
+	 * @param listener listener
+	 */
+	public void remove(IJDIEventListener listener) {
+		List<Shared> unused = new ArrayList<>();
+		synchronized (this) {
+			Iterator<Shared> iterator = fShared.values().iterator();
+			while (iterator.hasNext()) {
+				Shared shared = iterator.next();
+				if (shared.fListeners.remove(listener) && shared.fListeners.isEmpty()) {
+					iterator.remove();
+					unused.add(shared);
+				}
+			}
+		}
+		delete(unused);
+	}
+
+	/**
+	 * Deletes the requests that no listener is registered for.
+	 */
+	public void deleteUnused() {
+		List<Shared> unused = new ArrayList<>();
+		synchronized (this) {
+			Iterator<Shared> iterator = fShared.values().iterator();
+			while (iterator.hasNext()) {
+				Shared shared = iterator.next();
+				if (shared.fListeners.isEmpty()) {
+					iterator.remove();
+					unused.add(shared);
+				}
+			}
+		}
+		delete(unused);
+	}
+
+	/**
+	 * @return the number of requests currently shared
+	 */
+	public synchronized int size() {
+		return fShared.size();
+	}
+
+	private synchronized List<IJDIEventListener> getListeners(Shared shared) {
+		return new ArrayList<>(shared.fListeners);
+	}
+
+	private void delete(List<Shared> unused) {
+		for (Shared shared : unused) {
+			fTarget.removeJDIEventListener(shared, shared.fRequest);
+			delete(shared.fRequest);
+		}
+	}
+
+	private void delete(ClassPrepareRequest request) {
+		try {
+			if (fTarget.isAvailable()) {
+				EventRequestManager manager = fTarget.getEventRequestManager();
+				if (manager != null) {
+					manager.deleteEventRequest(request);
+				}
+			}
+		} catch (VMDisconnectedException e) {
+			// the VM is gone
+		} catch (RuntimeException e) {
+			fTarget.internalError(e);
+		}
+	}
+}
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.breakpoints;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.VMDisconnectedException;
+import com.sun.jdi.VirtualMachine;
+
+/**
+ * Index of the loaded types of a debug target by the source names and source
+ * paths they have in a stratum (JSR-045), used to install stratum line
+ * breakpoints without asking every loaded type for its source names.
+ * <p>
+ * Types are added from class prepare events and from the loaded classes of the
+ * target. A type is indexed for a stratum the first time it matches the type
+ * name filter of a lookup in that stratum, so the source debug extension (SMAP)
+ * of a type is read and parsed once, and only for types a breakpoint could be
+ * installed in. Lines are not indexed: the locations of a line are read from
+ * the line tables the type mirror keeps for each stratum.
+ * </p>
+ * <p>
+ * As JDWP can only list all loaded classes, every lookup refreshes the set of
+ * known types with one request, as installing a breakpoint did before. Types
+ * that are no longer loaded are dropped.
+ * </p>
+ */
+public class StratumIndex {
+
+	/**
+	 * Types indexed by source name and source path in one stratum
+	 */
+	private static class Entries {
+		final Map<String, List<ReferenceType>> fByName = new HashMap<>();
+		final Map<String, List<ReferenceType>> fByPath = new HashMap<>();
+
+		/**
+		 * Known types indexed in this stratum
+		 */
+		final Set<ReferenceType> fIndexed = new HashSet<>();
+	}
+
+	private final JDIDebugTarget fTarget;
+
+	/**
+	 * Loaded types known to the index
+	 */
+	private final Set<ReferenceType> fTypes = new HashSet<>();
+
+	/**
+	 * Entries keyed by stratum, <code>null</code> for the default stratum of
+	 * each type
+	 */
+	private final Map<String, Entries> fStrata = new HashMap<>();
+
+	/**
+	 * Constructs an index for the given target
+	 *
+	 * @param target debug target
+	 */
+	public StratumIndex(JDIDebugTarget target) {
+		fTarget = target;
+	}
+
+	/**
+	 * Adds a type reported by a class prepare event to the index.
+	 *
+	 * @param type the prepared type
+	 */
+	public synchronized void typePrepared(ReferenceType type) {
+		fTypes.add(type);
+	}
+
+	/**
+	 * Returns the loaded types whose name is accepted by the given filter and
+	 * that have the given source name and source path in the given stratum, as
+	 * reported by {@link ReferenceType#sourceNames(String)} and
+	 * {@link ReferenceType#sourcePaths(String)}.
+	 *
+	 * @param stratum stratum, or <code>null</code> for the default stratum
+	 * @param typeNames filter of the fully qualified names of the types
+	 * @param sourceName source name, or <code>null</code> for any
+	 * @param sourcePath source path, or <code>null</code> for any
+	 * @return the matching types, possibly empty
+	 */
+	public synchronized List<ReferenceType> getTypes(String stratum, Predicate<String> typeNames, String sourceName, String sourcePath) {
+		refresh();
+		if (sourceName == null && sourcePath == null) {
+			return filter(fTypes, typeNames);
+		}
+		Entries entries = fStrata.get(stratum);
+		if (entries == null) {
+			entries = new Entries();
+			fStrata.put(stratum, entries);
+		}
+		index(stratum, entries, typeNames);
+		List<ReferenceType> byName = sourceName == null ? null : entries.fByName.get(sourceName);
+		List<ReferenceType> byPath = sourcePath == null ? null : entries.fByPath.get(sourcePath);
+		if (sourceName != null && byName == null || sourcePath != null && byPath == null) {
+			return Collections.emptyList();
+		}
+		// types indexed for other filters are in the index too
+		List<ReferenceType> types = filter(byName == null ? byPath : byName, typeNames);
+		if (byName != null && byPath != null) {
+			types.retainAll(new HashSet<>(byPath));
+		}
+		return types;
+	}
+
+	private static List<ReferenceType> filter(Collection<ReferenceType> types, Predicate<String> typeNames) {
+		List<ReferenceType> accepted = new ArrayList<>();
+		for (ReferenceType type : types) {
+			if (typeNames.test(type.name())) {
+				accepted.add(type);
+			}
+		}
+		return accepted;
+	}
+
+	/**
+	 * Adds the loaded types not known yet, and removes the types that are no
+	 * longer loaded.
+	 */
+	private void refresh() {
+		VirtualMachine vm = fTarget.getVM();
+		if (vm == null) {
+			return;
+		}
+		List<ReferenceType> loaded = vm.allClasses();
+		if (loaded == null) {
+			return;
+		}
+		Set<ReferenceType> current = new HashSet<>(loaded);
+		Iterator<ReferenceType> known = fTypes.iterator();
+		while (known.hasNext()) {
+			ReferenceType type = known.next();
+			if (!current.contains(type)) {
+				known.remove();
+				remove(type);
+			}
+		}
+		for (ReferenceType type : loaded) {
+			fTypes.add(type);
+		}
+	}
+
+	private void remove(ReferenceType type) {
+		for (Entries entries : fStrata.values()) {
+			if (entries.fIndexed.remove(type)) {
+				remove(entries.fByName, type);
+				remove(entries.fByPath, type);
+			}
+		}
+	}
+
+	private static void remove(Map<String, List<ReferenceType>> map, ReferenceType type) {
+		Iterator<List<ReferenceType>> lists = map.values().iterator();
+		while (lists.hasNext()) {
+			List<ReferenceType> types = lists.next();
+			if (types.remove(type) && types.isEmpty()) {
+				lists.remove();
+			}
+		}
+	}
+
+	/**
+	 * Indexes the known types accepted by the given filter that are not
+	 * indexed in the given stratum yet.
+	 */
+	private void index(String stratum, Entries entries, Predicate<String> typeNames) {
+		for (ReferenceType type : fTypes) {
+			if (entries.fIndexed.contains(type) || !typeNames.test(type.name())) {
+				continue;
+			}
+			entries.fIndexed.add(type);
+			try {
+				for (String name : type.sourceNames(stratum)) {
+					put(entries.fByName, name, type);
+				}
+				for (String path : type.sourcePaths(stratum)) {
+					put(entries.fByPath, path, type);
+				}
+			} catch (AbsentInformationException e) {
+				// no source information in this stratum
+			} catch (VMDisconnectedException e) {
+				throw e;
+			} catch (RuntimeException e) {
+				// the type was unloaded meanwhile
+			}
+		}
+	}
+
+	private static void put(Map<String, List<ReferenceType>> map, String key, ReferenceType type) {
+		if (key == null) {
+			return;
+		}
+		List<ReferenceType> types = map.get(key);
+		if (types == null) {
+			types = new ArrayList<>(1);
+			map.put(key, types);
+		}
+		if (!types.contains(type)) {
+			types.add(type);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@
 package org.eclipse.jdt.internal.debug.core.logicalstructures;
 
 import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IVariable;
@@ -28,6 +30,10 @@ import org.eclipse.jdt.internal.debug.core.model.JDIArrayValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDIPlaceholderValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIReferenceType;
+import org.eclipse.jdt.internal.debug.core.model.ObjectPages;
+
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
 
 
 
@@ -40,7 +46,8 @@ import org.eclipse.jdt.internal.debug.core.model.JDIReferenceType;
  */
 public class JDIAllInstancesValue extends JDIArrayValue {
 
-	private IJavaObject[] fInstances;
+	private ObjectPages fPages;
+	private IJavaObject fMorePlaceholder;
 	private final JDIReferenceType fRoot;
 	private IJavaArrayType fType;
 	private boolean fIsMoreThanPreference;
@@ -67,34 +74,75 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	}
 
 	/**
-	 * @return an array of java objects that are instances of the root type
+	 * Returns the instances of the root type, whose Java objects are created a
+	 * page at a time. The instances are read again when the target has been
+	 * suspended again.
+	 *
+	 * @return the paged instances of the root type
 	 */
-	protected IJavaObject[] getInstances() {
-		if (fInstances != null) {
-			return fInstances;
+	protected synchronized ObjectPages getPages() {
+		if (fPages != null && !fPages.isStale()) {
+			return fPages;
 		}
-		IJavaObject[] instances = new IJavaObject[0];
+		JDIDebugTarget target = getJavaDebugTarget();
+		List<ObjectReference> instances = Collections.emptyList();
 		fIsMoreThanPreference = false;
+		fMorePlaceholder = null;
+		int max = HeapWalkingManager.getDefault().getAllInstancesMaxCount();
 		if (fRoot != null) {
-			int max = HeapWalkingManager.getDefault()
-					.getAllInstancesMaxCount();
 			try {
-				if (max == 0) {
-					instances = fRoot.getInstances(max);
-				} else {
-					instances = fRoot.getInstances(max + 1);
-					if (instances.length > max) {
-						instances[max] = new JDIPlaceholderValue(
-								(JDIDebugTarget) fRoot.getDebugTarget(),
-								MessageFormat.format(LogicalStructuresMessages.JDIAllInstancesValue_2, Integer.toString(max)));
-						fIsMoreThanPreference = true;
-					}
-				}
-			} catch (DebugException e) {
+				instances = ((ReferenceType) fRoot.getUnderlyingType()).instances(max == 0 ? 0 : max + 1);
+			} catch (RuntimeException e) {
 				JDIDebugPlugin.log(e);
 			}
 		}
-		fInstances = instances;
+		if (max != 0 && instances.size() > max) {
+			instances = instances.subList(0, max);
+			fIsMoreThanPreference = true;
+			fMorePlaceholder = new JDIPlaceholderValue(target,
+					MessageFormat.format(LogicalStructuresMessages.JDIAllInstancesValue_2, Integer.toString(max)));
+		}
+		fPages = new ObjectPages(target, instances);
+		return fPages;
+	}
+
+	/**
+	 * Returns the instance at the given index, or the placeholder that ends
+	 * the list when there are more instances than should be displayed.
+	 *
+	 * @param index
+	 *            index of the instance
+	 * @return the instance at the given index
+	 */
+	private IJavaObject getInstance(int index) {
+		ObjectPages pages = getPages();
+		if (index == pages.size() && fMorePlaceholder != null) {
+			return fMorePlaceholder;
+		}
+		return pages.get(index);
+	}
+
+	/**
+	 * @return the number of instances, including the placeholder that ends
+	 *         the list when there are more instances than should be displayed
+	 */
+	private int getCount() {
+		ObjectPages pages = getPages();
+		return fMorePlaceholder == null ? pages.size() : pages.size() + 1;
+	}
+
+	/**
+	 * Returns all instances of the root type. Creates the Java objects of all
+	 * pages, {@link #getValue(int)} and {@link #getVariables(int, int)} only
+	 * create the objects of the pages they need.
+	 *
+	 * @return an array of java objects that are instances of the root type
+	 */
+	protected IJavaObject[] getInstances() {
+		IJavaObject[] instances = new IJavaObject[getCount()];
+		for (int i = 0; i < instances.length; i++) {
+			instances[i] = getInstance(i);
+		}
 		return instances;
 	}
 
@@ -105,7 +153,7 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 */
 	@Override
 	public synchronized int getLength() throws DebugException {
-		return getInstances().length;
+		return getCount();
 	}
 
 	/*
@@ -115,7 +163,7 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 */
 	@Override
 	public int getSize() throws DebugException {
-		return getInstances().length;
+		return getCount();
 	}
 
 	/*
@@ -126,10 +174,10 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 */
 	@Override
 	public IJavaValue getValue(int index) throws DebugException {
-		if (index > getInstances().length - 1 || index < 0) {
+		if (index > getCount() - 1 || index < 0) {
 			internalError(LogicalStructuresMessages.JDIAllInstancesValue_0);
 		}
-		return getInstances()[index];
+		return getInstance(index);
 	}
 
 	/*
@@ -150,17 +198,18 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 */
 	@Override
 	public IVariable getVariable(int offset) throws DebugException {
-		if (offset > getInstances().length - 1 || offset < 0) {
+		int count = getCount();
+		if (offset > count - 1 || offset < 0) {
 			internalError(LogicalStructuresMessages.JDIAllInstancesValue_1);
 		}
-		if (isMoreThanPreference() && offset == getInstances().length - 1) {
+		if (isMoreThanPreference() && offset == count - 1) {
 			return new JDIPlaceholderVariable(
 					LogicalStructuresMessages.JDIAllInstancesValue_4,
-					getInstances()[offset]);
+					getInstance(offset));
 		}
 		return new JDIPlaceholderVariable(MessageFormat.format(LogicalStructuresMessages.JDIAllInstancesValue_5,
 				Integer.toString(offset)),
-				getInstances()[offset]);
+				getInstance(offset));
 	}
 
 	/*
@@ -176,7 +225,7 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 		if (length == 0) {
 			return new IVariable[0];
 		}
-		if (offset > getInstances().length - 1 || offset < 0) {
+		if (offset > getCount() - 1 || offset < 0) {
 			internalError(LogicalStructuresMessages.JDIAllInstancesValue_1);
 		}
 		IVariable[] vars = new JDIPlaceholderVariable[length];
@@ -193,7 +242,7 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 */
 	@Override
 	public IVariable[] getVariables() throws DebugException {
-		return getVariables(0, getInstances().length);
+		return getVariables(0, getCount());
 	}
 
 	/*
@@ -238,7 +287,7 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 */
 	@Override
 	public boolean hasVariables() throws DebugException {
-		return getInstances().length > 0;
+		return getCount() > 0;
 	}
 
 	/*
@@ -282,13 +331,13 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	public String getValueString() throws DebugException {
 		if (isMoreThanPreference()) {
 			return MessageFormat.format(LogicalStructuresMessages.JDIAllInstancesValue_7,
-							Integer.toString(getInstances().length - 1));
-		} else if (getInstances().length == 1) {
+							Integer.toString(getCount() - 1));
+		} else if (getCount() == 1) {
 			return MessageFormat.format(LogicalStructuresMessages.JDIAllInstancesValue_8,
-					Integer.toString(getInstances().length));
+					Integer.toString(getCount()));
 		} else {
 			return MessageFormat.format(LogicalStructuresMessages.JDIAllInstancesValue_9,
-					Integer.toString(getInstances().length));
+					Integer.toString(getCount()));
 		}
 	}
 
@@ -329,8 +378,8 @@ public class JDIAllInstancesValue extends JDIArrayValue {
 	 *         displayed
 	 */
 	protected boolean isMoreThanPreference() {
-		getInstances(); // The instances must be requested to know if there are
-						// more than the preference
+		getPages(); // The instances must be counted to know if there are
+					// more than the preference
 		return fIsMoreThanPreference;
 	}
 
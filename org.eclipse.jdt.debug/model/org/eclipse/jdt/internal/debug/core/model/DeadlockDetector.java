@@ -0,0 +1,379 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.IThread;
+import org.eclipse.jdt.debug.core.IJavaObject;
+import org.eclipse.jdt.debug.core.IJavaThread;
+
+import com.sun.jdi.IncompatibleThreadStateException;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ThreadReference;
+
+/**
+ * Finds the threads of a debug target that are deadlocked on monitors.
+ * <p>
+ * The contended and owned monitors of all suspended threads are requested with
+ * several requests in flight at a time. Each thread waiting for a monitor
+ * owned by another thread is an edge of a wait-for graph, whose cycles are the
+ * strongly connected components found with Tarjan's algorithm, in time linear
+ * in the number of threads. Threads waiting, directly or through other threads,
+ * for a monitor owned by a thread of a cycle are deadlocked as well.
+ * </p>
+ * <p>
+ * Threads that are not suspended cannot report their monitors and are left
+ * out. The number of concurrent requests can be set with the system property
+ * <code>org.eclipse.jdt.internal.debug.core.model.DeadlockDetector.concurrency</code>.
+ * </p>
+ */
+public class DeadlockDetector {
+
+	/**
+	 * Default number of concurrent monitor requests
+	 */
+	public static final int DEFAULT_CONCURRENCY = Integer.getInteger("org.eclipse.jdt.internal.debug.core.model.DeadlockDetector.concurrency", 8).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Deadlocks found in a debug target.
+	 */
+	public static class Result {
+		private final List<IJavaThread[]> fCycles;
+		private final Set<IJavaThread> fThreads;
+		private final Set<IJavaObject> fMonitors;
+
+		Result(List<IJavaThread[]> cycles, Set<IJavaThread> threads, Set<IJavaObject> monitors) {
+			fCycles = cycles;
+			fThreads = threads;
+			fMonitors = monitors;
+		}
+
+		/**
+		 * @return whether any thread is deadlocked
+		 */
+		public boolean hasDeadlock() {
+			return !fCycles.isEmpty();
+		}
+
+		/**
+		 * Returns the cycles of threads waiting for each other. In each cycle,
+		 * every thread waits for a monitor owned by the next one, and the last
+		 * one for a monitor owned by the first one.
+		 *
+		 * @return the cycles, possibly empty
+		 */
+		public List<IJavaThread[]> getCycles() {
+			return fCycles;
+		}
+
+		/**
+		 * Returns whether the given thread is part of a cycle, or waits for a
+		 * monitor held by a thread that is deadlocked.
+		 *
+		 * @param thread thread
+		 * @return whether the thread is deadlocked
+		 */
+		public boolean isInDeadlock(IJavaThread thread) {
+			return fThreads.contains(thread);
+		}
+
+		/**
+		 * Returns whether the given monitor is waited for by a deadlocked
+		 * thread.
+		 *
+		 * @param monitor monitor
+		 * @return whether the monitor is part of a deadlock
+		 */
+		public boolean isInDeadlock(IJavaObject monitor) {
+			return fMonitors.contains(monitor);
+		}
+	}
+
+	/**
+	 * Result without deadlocks
+	 */
+	public static final Result NO_DEADLOCK = new Result(Collections.emptyList(), Collections.emptySet(), Collections.emptySet());
+
+	private final JDIDebugTarget fTarget;
+	private int fConcurrency = DEFAULT_CONCURRENCY;
+
+	/**
+	 * Constructs a detector for the given target.
+	 *
+	 * @param target debug target
+	 */
+	public DeadlockDetector(JDIDebugTarget target) {
+		fTarget = target;
+	}
+
+	/**
+	 * Sets the number of concurrent monitor requests.
+	 *
+	 * @param concurrency number of requests, at least 1
+	 */
+	public void setConcurrency(int concurrency) {
+		fConcurrency = Math.max(1, concurrency);
+	}
+
+	/**
+	 * Finds the deadlocks between the suspended threads of the target.
+	 *
+	 * @return the deadlocks found
+	 * @throws DebugException if the monitors cannot be retrieved
+	 */
+	public Result detect() throws DebugException {
+		if (!fTarget.supportsMonitorInformation()) {
+			return NO_DEADLOCK;
+		}
+		List<JDIThread> threads = new ArrayList<>();
+		for (IThread thread : fTarget.getThreads()) {
+			if (thread.isSuspended()) {
+				threads.add((JDIThread) thread);
+			}
+		}
+		int count = threads.size();
+		ObjectReference[] contended = new ObjectReference[count];
+		Map<ObjectReference, Integer> owners = new HashMap<>();
+		readMonitors(threads, contended, owners);
+
+		// thread index -> index of the thread owning the monitor it waits for
+		int[] next = new int[count];
+		for (int i = 0; i < count; i++) {
+			Integer owner = contended[i] == null ? null : owners.get(contended[i]);
+			next[i] = owner == null ? -1 : owner.intValue();
+		}
+		List<int[]> components = findCycles(next);
+		if (components.isEmpty()) {
+			return NO_DEADLOCK;
+		}
+		List<IJavaThread[]> cycles = new ArrayList<>(components.size());
+		for (int[] component : components) {
+			IJavaThread[] cycle = new IJavaThread[component.length];
+			for (int i = 0; i < component.length; i++) {
+				cycle[i] = threads.get(component[i]);
+			}
+			cycles.add(cycle);
+		}
+		Set<IJavaThread> deadlocked = new HashSet<>();
+		Set<IJavaObject> monitors = new HashSet<>();
+		boolean[] inDeadlock = findBlocked(next, components);
+		for (int i = 0; i < count; i++) {
+			if (inDeadlock[i]) {
+				deadlocked.add(threads.get(i));
+				monitors.add(new JDIObjectValue(fTarget, contended[i]));
+			}
+		}
+		return new Result(Collections.unmodifiableList(cycles), deadlocked, monitors);
+	}
+
+	/**
+	 * Reads the contended monitor of every thread, and which thread owns each
+	 * monitor.
+	 */
+	private void readMonitors(List<JDIThread> threads, ObjectReference[] contended, Map<ObjectReference, Integer> owners) throws DebugException {
+		List<List<ObjectReference>> owned = new ArrayList<>(Collections.nCopies(threads.size(), null));
+		int poolSize = Math.min(fConcurrency, threads.size());
+		if (poolSize <= 1) {
+			try {
+				for (int i = 0; i < threads.size(); i++) {
+					readMonitors(threads, i, contended, owned);
+				}
+			} catch (RuntimeException e) {
+				fTarget.targetRequestFailed(JDIDebugModelMessages.DeadlockDetector_failed, e);
+			}
+		} else {
+			AtomicInteger number = new AtomicInteger();
+			ExecutorService executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+				Thread thread = new Thread(runnable, "Deadlock Detector " + number.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			try {
+				List<Future<?>> futures = new ArrayList<>(threads.size());
+				for (int i = 0; i < threads.size(); i++) {
+					int index = i;
+					futures.add(executor.submit(() -> readMonitors(threads, index, contended, owned)));
+				}
+				for (Future<?> future : futures) {
+					future.get();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				fTarget.targetRequestFailed(JDIDebugModelMessages.DeadlockDetector_failed, e);
+			} catch (ExecutionException e) {
+				fTarget.targetRequestFailed(JDIDebugModelMessages.DeadlockDetector_failed, e.getCause());
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+		for (int i = 0; i < threads.size(); i++) {
+			List<ObjectReference> monitors = owned.get(i);
+			if (monitors != null) {
+				Integer owner = Integer.valueOf(i);
+				for (ObjectReference monitor : monitors) {
+					owners.put(monitor, owner);
+				}
+			}
+		}
+	}
+
+	private static void readMonitors(List<JDIThread> threads, int index, ObjectReference[] contended, List<List<ObjectReference>> owned) {
+		ThreadReference thread = threads.get(index).getUnderlyingThread();
+		try {
+			contended[index] = thread.currentContendedMonitor();
+			List<ObjectReference> monitors = thread.ownedMonitors();
+			synchronized (owned) {
+				owned.set(index, monitors);
+			}
+		} catch (IncompatibleThreadStateException e) {
+			// resumed meanwhile, left out
+		}
+	}
+
+	/**
+	 * Returns the vertices of the given wait-for graph that are deadlocked:
+	 * part of a cycle, or waiting for a vertex that is. Clients that already
+	 * know which thread waits for which can use this instead of
+	 * {@link #detect()}, which reads the monitors from the target.
+	 *
+	 * @param next for each thread, the index of the thread owning the monitor
+	 *            it waits for, or -1
+	 * @return whether each thread is deadlocked
+	 */
+	public static boolean[] findDeadlocked(int[] next) {
+		List<int[]> cycles = findCycles(next);
+		if (cycles.isEmpty()) {
+			return new boolean[next.length];
+		}
+		return findBlocked(next, cycles);
+	}
+
+	/**
+	 * Returns the cycles of the given graph, whose vertices have at most one
+	 * successor, as the strongly connected components of more than one vertex
+	 * found with Tarjan's algorithm. Vertices of each cycle are in the order
+	 * of their edges.
+	 *
+	 * @param next successor of each vertex, or -1
+	 * @return the cycles
+	 */
+	static List<int[]> findCycles(int[] next) {
+		int count = next.length;
+		int[] index = new int[count];
+		int[] low = new int[count];
+		boolean[] onStack = new boolean[count];
+		int[] stack = new int[count];
+		int[] path = new int[count];
+		int stackSize = 0;
+		int counter = 1;
+		List<int[]> cycles = new ArrayList<>();
+		for (int root = 0; root < count; root++) {
+			if (index[root] != 0) {
+				continue;
+			}
+			// descend along the edges while they lead to new vertices
+			int pathSize = 0;
+			int vertex = root;
+			while (true) {
+				index[vertex] = low[vertex] = counter++;
+				stack[stackSize++] = vertex;
+				onStack[vertex] = true;
+				path[pathSize++] = vertex;
+				int successor = next[vertex];
+				if (successor >= 0 && index[successor] == 0) {
+					vertex = successor;
+					continue;
+				}
+				if (successor >= 0 && onStack[successor]) {
+					low[vertex] = Math.min(low[vertex], index[successor]);
+				}
+				break;
+			}
+			// back up, popping the components whose root is reached
+			int child = -1;
+			while (pathSize > 0) {
+				int current = path[--pathSize];
+				if (child >= 0) {
+					low[current] = Math.min(low[current], low[child]);
+				}
+				if (low[current] == index[current]) {
+					int start = stackSize;
+					do {
+						onStack[stack[--start]] = false;
+					} while (stack[start] != current);
+					int size = stackSize - start;
+					if (size > 1 || next[current] == current) {
+						int[] cycle = new int[size];
+						System.arraycopy(stack, start, cycle, 0, size);
+						cycles.add(cycle);
+					}
+					stackSize = start;
+				}
+				child = current;
+			}
+		}
+		return cycles;
+	}
+
+	/**
+	 * Returns the vertices of the given graph that are part of a cycle or lead
+	 * to one.
+	 *
+	 * @param next successor of each vertex, or -1
+	 * @param cycles the cycles of the graph
+	 * @return whether each vertex is part of or leads to a cycle
+	 */
+	static boolean[] findBlocked(int[] next, List<int[]> cycles) {
+		int count = next.length;
+		// 0 unknown, 1 blocked, 2 not blocked
+		byte[] state = new byte[count];
+		for (int[] cycle : cycles) {
+			for (int vertex : cycle) {
+				state[vertex] = 1;
+			}
+		}
+		int[] path = new int[count];
+		for (int i = 0; i < count; i++) {
+			int pathSize = 0;
+			int vertex = i;
+			// all cycles are marked, so the walk ends
+			while (vertex >= 0 && state[vertex] == 0) {
+				path[pathSize++] = vertex;
+				vertex = next[vertex];
+			}
+			byte result = vertex >= 0 && state[vertex] == 1 ? (byte) 1 : (byte) 2;
+			while (pathSize > 0) {
+				state[path[--pathSize]] = result;
+			}
+		}
+		boolean[] blocked = new boolean[count];
+		for (int i = 0; i < count; i++) {
+			blocked[i] = state[i] == 1;
+		}
+		return blocked;
+	}
+}
@@ -0,0 +1,583 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.debug.core.DebugException;
+
+import com.sun.jdi.ObjectCollectedException;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.VirtualMachine;
+
+/**
+ * Heap histogram of a debug target: the number of instances of every loaded
+ * type, retrieved with <code>VirtualMachine.instanceCounts</code>.
+ * <p>
+ * Instance counts are requested for all loaded types in chunks, with several
+ * chunks in flight at a time, on threads of the histogram that end when they
+ * have been idle for a while. The last snapshots are kept, as one array of
+ * counts per snapshot indexed by a type table shared by all snapshots, so that
+ * snapshots taken at different suspends can be compared to find the types
+ * whose instance counts grew. When snapshots are dropped, the table is
+ * compacted to the types loaded in the snapshots still kept, so that it does
+ * not hold on to unloaded types.
+ * </p>
+ * <p>
+ * The chunk size, number of concurrent requests and number of snapshots kept
+ * can be set with the system properties
+ * <code>org.eclipse.jdt.internal.debug.core.model.HeapHistogram.chunkSize</code>,
+ * <code>.concurrency</code> and <code>.history</code>.
+ * </p>
+ */
+public class HeapHistogram {
+
+	private static final String PROPERTY_PREFIX = "org.eclipse.jdt.internal.debug.core.model.HeapHistogram."; //$NON-NLS-1$
+
+	/**
+	 * Default number of types per instance counts request
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = Integer.getInteger(PROPERTY_PREFIX + "chunkSize", 4096).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Default number of concurrent instance counts requests
+	 */
+	public static final int DEFAULT_CONCURRENCY = Integer.getInteger(PROPERTY_PREFIX + "concurrency", 4).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Default number of snapshots kept
+	 */
+	public static final int DEFAULT_HISTORY = Integer.getInteger(PROPERTY_PREFIX + "history", 8).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Number of seconds an idle request thread is kept
+	 */
+	private static final int KEEP_ALIVE = 10;
+
+	/**
+	 * Types and their indexes in the counts of the snapshots that share them
+	 */
+	private static class TypeTable {
+		final List<ReferenceType> fTypes = new ArrayList<>();
+		final Map<ReferenceType, Integer> fIndexes = new HashMap<>();
+
+		int intern(ReferenceType type) {
+			Integer index = fIndexes.get(type);
+			if (index == null) {
+				index = Integer.valueOf(fTypes.size());
+				fTypes.add(type);
+				fIndexes.put(type, index);
+			}
+			return index.intValue();
+		}
+
+		int indexOf(ReferenceType type) {
+			Integer index = fIndexes.get(type);
+			return index == null ? -1 : index.intValue();
+		}
+	}
+
+	/**
+	 * Instance counts of the loaded types at one point in time.
+	 */
+	public static class Snapshot {
+		private final long fTime;
+
+		/**
+		 * Type table the counts are indexed by, replaced when the table is
+		 * compacted while the snapshot is kept
+		 */
+		private TypeTable fTable;
+
+		/**
+		 * Instance counts indexed by type table index, -1 for types that were
+		 * not loaded
+		 */
+		private long[] fCounts;
+
+		private final HeapHistogram fHistogram;
+
+		Snapshot(HeapHistogram histogram, long time, TypeTable table, long[] counts) {
+			fHistogram = histogram;
+			fTime = time;
+			fTable = table;
+			fCounts = counts;
+		}
+
+		/**
+		 * @return time the snapshot was taken, in milliseconds since the epoch
+		 */
+		public long getTime() {
+			return fTime;
+		}
+
+		/**
+		 * Returns the instance count of the given type in this snapshot.
+		 *
+		 * @param type type
+		 * @return number of instances, or -1 if the type was not loaded
+		 */
+		public long getInstanceCount(ReferenceType type) {
+			synchronized (fHistogram) {
+				int index = fTable.indexOf(type);
+				return index < 0 ? -1 : getCount(index);
+			}
+		}
+
+		/**
+		 * @return total number of instances of all types
+		 */
+		public long getTotalInstances() {
+			long total = 0;
+			for (long count : getCounts()) {
+				if (count > 0) {
+					total += count;
+				}
+			}
+			return total;
+		}
+
+		/**
+		 * Returns the types with the most instances.
+		 *
+		 * @param max maximum number of entries
+		 * @return entries sorted by instance count, largest first
+		 */
+		public List<Entry> getLargest(int max) {
+			List<Entry> entries = new ArrayList<>();
+			synchronized (fHistogram) {
+				for (int i = 0; i < fCounts.length; i++) {
+					if (fCounts[i] > 0) {
+						entries.add(new Entry(fTable.fTypes.get(i), -1, fCounts[i]));
+					}
+				}
+			}
+			entries.sort((e1, e2) -> Long.compare(e2.getCount(), e1.getCount()));
+			return entries.size() > max ? new ArrayList<>(entries.subList(0, max)) : entries;
+		}
+
+		long getCount(int index) {
+			return index < fCounts.length ? fCounts[index] : -1;
+		}
+
+		private long[] getCounts() {
+			synchronized (fHistogram) {
+				return fCounts;
+			}
+		}
+
+		/**
+		 * Returns the counts of this snapshot indexed by the given table.
+		 */
+		long[] getCounts(TypeTable table) {
+			if (table == fTable) {
+				return fCounts;
+			}
+			long[] counts = new long[table.fTypes.size()];
+			Arrays.fill(counts, -1);
+			for (int i = 0; i < fCounts.length; i++) {
+				if (fCounts[i] >= 0) {
+					int index = table.indexOf(fTable.fTypes.get(i));
+					if (index >= 0) {
+						counts[index] = fCounts[i];
+					}
+				}
+			}
+			return counts;
+		}
+	}
+
+	/**
+	 * The instance count of a type, and its change since an earlier snapshot.
+	 */
+	public static class Entry {
+		private final ReferenceType fType;
+		private final long fPrevious;
+		private final long fCount;
+
+		Entry(ReferenceType type, long previous, long count) {
+			fType = type;
+			fPrevious = previous;
+			fCount = count;
+		}
+
+		/**
+		 * @return the type
+		 */
+		public ReferenceType getType() {
+			return fType;
+		}
+
+		/**
+		 * @return number of instances in the earlier snapshot, or -1 if the
+		 *         type was not loaded then
+		 */
+		public long getPreviousCount() {
+			return fPrevious;
+		}
+
+		/**
+		 * @return number of instances, or -1 if the type is no longer loaded
+		 */
+		public long getCount() {
+			return fCount;
+		}
+
+		/**
+		 * @return change in the number of instances
+		 */
+		public long getDelta() {
+			return Math.max(fCount, 0) - Math.max(fPrevious, 0);
+		}
+
+		@Override
+		public String toString() {
+			return fType.name() + ' ' + fPrevious + " -> " + fCount; //$NON-NLS-1$
+		}
+	}
+
+	private final JDIDebugTarget fTarget;
+
+	/**
+	 * Types loaded in any kept snapshot, and their indexes in the counts of
+	 * the kept snapshots
+	 */
+	private TypeTable fTable = new TypeTable();
+
+	private final Deque<Snapshot> fSnapshots = new ArrayDeque<>();
+
+	private int fChunkSize = DEFAULT_CHUNK_SIZE;
+	private int fConcurrency = DEFAULT_CONCURRENCY;
+	private int fHistory = DEFAULT_HISTORY;
+
+	/**
+	 * Threads the instance counts are requested on, created on demand
+	 */
+	private ThreadPoolExecutor fExecutor;
+
+	/**
+	 * Constructs a heap histogram for the given target.
+	 *
+	 * @param target debug target
+	 */
+	public HeapHistogram(JDIDebugTarget target) {
+		fTarget = target;
+	}
+
+	/**
+	 * Sets the number of types per instance counts request.
+	 *
+	 * @param chunkSize number of types, at least 1
+	 */
+	public void setChunkSize(int chunkSize) {
+		fChunkSize = Math.max(1, chunkSize);
+	}
+
+	/**
+	 * Sets the number of concurrent instance counts requests.
+	 *
+	 * @param concurrency number of requests, at least 1
+	 */
+	public synchronized void setConcurrency(int concurrency) {
+		fConcurrency = Math.max(1, concurrency);
+		if (fExecutor != null) {
+			if (fConcurrency > fExecutor.getMaximumPoolSize()) {
+				fExecutor.setMaximumPoolSize(fConcurrency);
+				fExecutor.setCorePoolSize(fConcurrency);
+			} else {
+				fExecutor.setCorePoolSize(fConcurrency);
+				fExecutor.setMaximumPoolSize(fConcurrency);
+			}
+		}
+	}
+
+	/**
+	 * Sets the number of snapshots kept.
+	 *
+	 * @param history number of snapshots, at least 2
+	 */
+	public synchronized void setHistory(int history) {
+		fHistory = Math.max(2, history);
+		trim();
+	}
+
+	/**
+	 * Takes a snapshot of the instance counts of all loaded types and adds it
+	 * to the kept snapshots.
+	 *
+	 * @param monitor progress monitor or <code>null</code>
+	 * @return the snapshot
+	 * @throws DebugException if the target does not support instance counts,
+	 *             or the counts cannot be retrieved
+	 */
+	public Snapshot takeSnapshot(IProgressMonitor monitor) throws DebugException {
+		VirtualMachine vm = fTarget.getVM();
+		if (vm == null || !fTarget.supportsInstanceRetrieval()) {
+			fTarget.requestFailed(JDIDebugModelMessages.HeapHistogram_not_supported, null);
+		}
+		List<ReferenceType> types;
+		try {
+			types = vm.allClasses();
+		} catch (RuntimeException e) {
+			fTarget.targetRequestFailed(JDIDebugModelMessages.HeapHistogram_failed, e);
+			return null;
+		}
+		long time = System.currentTimeMillis();
+		int chunks = (types.size() + fChunkSize - 1) / fChunkSize;
+		SubMonitor progress = SubMonitor.convert(monitor, JDIDebugModelMessages.HeapHistogram_taking_snapshot, chunks);
+		long[] counts = new long[types.size()];
+		int threads;
+		synchronized (this) {
+			threads = Math.min(fConcurrency, chunks);
+		}
+		if (threads <= 1) {
+			try {
+				for (int start = 0; start < types.size(); start += fChunkSize) {
+					count(vm, types, counts, start, Math.min(types.size(), start + fChunkSize));
+					progress.split(1);
+				}
+			} catch (RuntimeException e) {
+				if (e instanceof OperationCanceledException) {
+					throw e;
+				}
+				fTarget.targetRequestFailed(JDIDebugModelMessages.HeapHistogram_failed, e);
+			}
+		} else {
+			ThreadPoolExecutor executor = getExecutor();
+			List<Future<?>> futures = new ArrayList<>(chunks);
+			try {
+				for (int start = 0; start < types.size(); start += fChunkSize) {
+					int from = start;
+					int to = Math.min(types.size(), start + fChunkSize);
+					futures.add(executor.submit(() -> count(vm, types, counts, from, to)));
+				}
+				for (Future<?> future : futures) {
+					if (progress.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					future.get();
+					progress.worked(1);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				fTarget.targetRequestFailed(JDIDebugModelMessages.HeapHistogram_failed, e.getCause());
+			} finally {
+				// stop the chunks still queued when canceled or failed
+				for (Future<?> future : futures) {
+					future.cancel(true);
+				}
+			}
+		}
+		Snapshot snapshot;
+		synchronized (this) {
+			long[] indexed = new long[fTable.fTypes.size() + types.size()];
+			Arrays.fill(indexed, -1);
+			int size = 0;
+			for (int i = 0; i < types.size(); i++) {
+				int index = fTable.intern(types.get(i));
+				indexed[index] = counts[i];
+				size = Math.max(size, index + 1);
+			}
+			snapshot = new Snapshot(this, time, fTable, Arrays.copyOf(indexed, Math.max(size, fTable.fTypes.size())));
+			fSnapshots.addLast(snapshot);
+			trim();
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Returns the threads to request instance counts on. Idle threads end
+	 * after a few seconds, so none are left behind once snapshots are no
+	 * longer taken.
+	 */
+	private synchronized ThreadPoolExecutor getExecutor() {
+		if (fExecutor == null) {
+			AtomicInteger number = new AtomicInteger();
+			fExecutor = new ThreadPoolExecutor(fConcurrency, fConcurrency, KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread = new Thread(runnable, "Heap Histogram " + number.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			fExecutor.allowCoreThreadTimeOut(true);
+		}
+		return fExecutor;
+	}
+
+	/**
+	 * Requests the instance counts of <code>types[from..to)</code>. Types
+	 * unloaded meanwhile fail the whole request, so a failing chunk is split
+	 * until the unloaded types are found, and their count is -1.
+	 */
+	private static void count(VirtualMachine vm, List<ReferenceType> types, long[] counts, int from, int to) {
+		try {
+			long[] chunk = vm.instanceCounts(types.subList(from, to));
+			System.arraycopy(chunk, 0, counts, from, to - from);
+		} catch (ObjectCollectedException e) {
+			if (to - from == 1) {
+				counts[from] = -1;
+			} else {
+				int middle = (from + to) >>> 1;
+				count(vm, types, counts, from, middle);
+				count(vm, types, counts, middle, to);
+			}
+		}
+	}
+
+	private void trim() {
+		if (fSnapshots.size() <= fHistory) {
+			return;
+		}
+		while (fSnapshots.size() > fHistory) {
+			fSnapshots.removeFirst();
+		}
+		compact();
+	}
+
+	/**
+	 * Replaces the type table by one of the types loaded in the kept
+	 * snapshots, and reindexes their counts. Dropped snapshots keep the old
+	 * table.
+	 */
+	private void compact() {
+		int size = fTable.fTypes.size();
+		boolean[] used = new boolean[size];
+		int count = 0;
+		for (Snapshot snapshot : fSnapshots) {
+			for (int i = 0; i < snapshot.fCounts.length; i++) {
+				if (snapshot.fCounts[i] >= 0 && !used[i]) {
+					used[i] = true;
+					count++;
+				}
+			}
+		}
+		if (count == size) {
+			return;
+		}
+		TypeTable table = new TypeTable();
+		int[] map = new int[size];
+		for (int i = 0; i < size; i++) {
+			map[i] = used[i] ? table.intern(fTable.fTypes.get(i)) : -1;
+		}
+		for (Snapshot snapshot : fSnapshots) {
+			long[] counts = new long[count];
+			Arrays.fill(counts, -1);
+			for (int i = 0; i < snapshot.fCounts.length; i++) {
+				if (map[i] >= 0) {
+					counts[map[i]] = snapshot.fCounts[i];
+				}
+			}
+			snapshot.fTable = table;
+			snapshot.fCounts = counts;
+		}
+		fTable = table;
+	}
+
+	/**
+	 * @return the kept snapshots, oldest first
+	 */
+	public synchronized List<Snapshot> getSnapshots() {
+		return new ArrayList<>(fSnapshots);
+	}
+
+	/**
+	 * Returns the types whose instance counts changed the most between two
+	 * snapshots.
+	 *
+	 * @param older earlier snapshot
+	 * @param newer later snapshot
+	 * @param max maximum number of entries
+	 * @return entries sorted by growth, largest growth first
+	 */
+	public List<Entry> diff(Snapshot older, Snapshot newer, int max) {
+		TypeTable table;
+		long[] olderCounts;
+		long[] newerCounts;
+		synchronized (this) {
+			// a snapshot dropped meanwhile may be indexed by an older table
+			table = newer.fTable;
+			newerCounts = newer.fCounts;
+			olderCounts = older.getCounts(table);
+		}
+		int size = Math.max(olderCounts.length, newerCounts.length);
+		// select by growth on the primitive arrays, only materialize the result
+		long[] deltas = new long[size];
+		Integer[] order = new Integer[size];
+		int changed = 0;
+		for (int i = 0; i < size; i++) {
+			long delta = Math.max(getCount(newerCounts, i), 0) - Math.max(getCount(olderCounts, i), 0);
+			if (delta != 0) {
+				deltas[i] = delta;
+				order[changed++] = Integer.valueOf(i);
+			}
+		}
+		Integer[] sorted = Arrays.copyOf(order, changed);
+		Arrays.sort(sorted, (i1, i2) -> Long.compare(deltas[i2.intValue()], deltas[i1.intValue()]));
+		List<Entry> entries = new ArrayList<>(Math.min(max, changed));
+		for (int i = 0; i < sorted.length && entries.size() < max; i++) {
+			int index = sorted[i].intValue();
+			entries.add(new Entry(table.fTypes.get(index), getCount(olderCounts, index), getCount(newerCounts, index)));
+		}
+		return entries;
+	}
+
+	private static long getCount(long[] counts, int index) {
+		return index < counts.length ? counts[index] : -1;
+	}
+
+	/**
+	 * Returns the growth between the last two snapshots.
+	 *
+	 * @param max maximum number of entries
+	 * @return entries sorted by growth, or an empty list if there are fewer
+	 *         than two snapshots
+	 */
+	public List<Entry> diffLast(int max) {
+		Snapshot older;
+		Snapshot newer;
+		synchronized (this) {
+			if (fSnapshots.size() < 2) {
+				return new ArrayList<>();
+			}
+			newer = fSnapshots.removeLast();
+			older = fSnapshots.peekLast();
+			fSnapshots.addLast(newer);
+		}
+		return diff(older, newer, max);
+	}
+
+	/**
+	 * Discards all kept snapshots.
+	 */
+	public synchronized void clear() {
+		fSnapshots.clear();
+		fTable = new TypeTable();
+	}
+}
@@ -21,6 +21,7 @@ import java.util.List;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IIndexedValue;
 import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.jdi.internal.ArrayReferenceImpl;
 import org.eclipse.jdt.debug.core.IJavaArray;
 import org.eclipse.jdt.debug.core.IJavaValue;
 
@@ -28,6 +29,7 @@ import com.sun.jdi.ArrayReference;
 import com.sun.jdi.ClassNotLoadedException;
 import com.sun.jdi.InvalidTypeException;
 import com.sun.jdi.Value;
+import com.sun.jdi.VirtualMachine;
 
 public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 		IIndexedValue {
@@ -304,4 +306,42 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 		setValues(0, length, values, 0);
 	}
 
+	/**
+	 * Replaces the leading components of this <code>byte</code> array with the
+	 * given bytes. When the underlying VM is provided by the Eclipse JDI
+	 * implementation the bytes are transferred in bulk, without creating a
+	 * value per byte.
+	 *
+	 * @param values
+	 *            the new bytes
+	 * @throws DebugException
+	 *             if this is not a <code>byte</code> array or the request
+	 *             fails
+	 */
+	public void setValues(byte[] values) throws DebugException {
+		if (values.length == 0) {
+			return;
+		}
+		ArrayReference array = getArrayReference();
+		try {
+			if (array instanceof ArrayReferenceImpl) {
+				((ArrayReferenceImpl) array).setValues(0, values, 0, -1);
+			} else {
+				VirtualMachine vm = array.virtualMachine();
+				List<Value> list = new ArrayList<>(values.length);
+				for (byte value : values) {
+					list.add(vm.mirrorOf(value));
+				}
+				array.setValues(list);
+			}
+		} catch (IndexOutOfBoundsException e) {
+			throw e;
+		} catch (InvalidTypeException | ClassNotLoadedException | RuntimeException e) {
+			targetRequestFailed(
+					MessageFormat.format(
+							JDIDebugModelMessages.JDIArrayValue_exception_while_setting_value_in_array,
+							e.toString()), e);
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,6 +62,17 @@ public class JDIDebugModelMessages extends NLS {
 	public static String JDIDebugTarget_Unable_to_retrieve_types___VM_disconnected__4;
 	public static String JDIDebugTarget_0;
 	public static String JDIDebugTarget_ThreadNameNotifier;
+	public static String JDIDebugTarget_ThreadNameRefresh;
+	public static String JDIDebugTarget_ThreadLifecycle;
+	public static String JDIDebugTarget_VariablePrefetch;
+
+	public static String HeapHistogram_not_supported;
+	public static String HeapHistogram_failed;
+	public static String HeapHistogram_taking_snapshot;
+	public static String RetainedSizeEstimator_not_supported;
+	public static String RetainedSizeEstimator_failed;
+	public static String RetainedSizeEstimator_estimating;
+	public static String DeadlockDetector_failed;
 
 	public static String JDIFieldVariable_exception_modifying_value;
 	public static String JDIFieldVariable_exception_retrieving_field_name;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,12 +23,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
@@ -65,6 +67,7 @@ import org.eclipse.debug.core.model.ISuspendResume;
 import org.eclipse.debug.core.model.IThread;
 import org.eclipse.jdi.TimeoutException;
 import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdi.internal.jdwp.JdwpMetrics;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaElement;
@@ -80,6 +83,7 @@ import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 import org.eclipse.jdt.debug.core.IJavaBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaClassObject;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaHotCodeReplaceListener;
 import org.eclipse.jdt.debug.core.IJavaObject;
@@ -93,9 +97,14 @@ import org.eclipse.jdt.debug.eval.EvaluationManager;
 import org.eclipse.jdt.debug.eval.IAstEvaluationEngine;
 import org.eclipse.jdt.internal.debug.core.EventDispatcher;
 import org.eclipse.jdt.internal.debug.core.IJDIEventListener;
+import org.eclipse.jdt.internal.debug.core.JDIDebugOptions;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.breakpoints.BreakpointInstaller;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaLineBreakpoint;
+import org.eclipse.jdt.internal.debug.core.breakpoints.LocalTypeIndex;
+import org.eclipse.jdt.internal.debug.core.breakpoints.SharedClassPrepareRequests;
+import org.eclipse.jdt.internal.debug.core.breakpoints.StratumIndex;
 
 import com.sun.jdi.ClassType;
 import com.sun.jdi.InternalException;
@@ -219,6 +228,12 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	private ThreadNameChangeHandler fThreadNameChangeHandler;
 
+	/**
+	 * Coalesces thread start and death notifications, or <code>null</code> if
+	 * every thread is tracked as soon as it starts.
+	 */
+	private ThreadLifecycleCoalescer fThreadLifecycle;
+
 	/**
 	 * Whether this VM is suspended.
 	 */
@@ -239,6 +254,23 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	private int fSuspendCount;
 
+	/**
+	 * Values read while this target stays suspended, or <code>null</code>
+	 */
+	private SuspendSnapshot fSnapshot;
+
+	/**
+	 * Incremented each time the snapshot is discarded
+	 */
+	private int fSnapshotEpoch = 0;
+
+	private final Object fSnapshotLock = new Object();
+
+	/**
+	 * Records expanded variables and reads them again on suspend
+	 */
+	private final VariablePrefetcher fPrefetcher = new VariablePrefetcher(this, VariablePrefetcher.DEFAULT_BUDGET);
+
 	/**
 	 * Evaluation engine cache by Java project. Engines are disposed when this
 	 * target terminates.
@@ -329,6 +361,45 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	private Map<String, Boolean> fKnownTypes = new HashMap<>();
 
+	/**
+	 * Index of loaded local and anonymous types
+	 */
+	private final LocalTypeIndex fLocalTypeIndex = new LocalTypeIndex(this);
+
+	/**
+	 * Class prepare requests shared by the breakpoints of this target
+	 */
+	private final SharedClassPrepareRequests fSharedClassPrepareRequests = new SharedClassPrepareRequests(this);
+
+	/**
+	 * Index of loaded types by stratum source names and paths
+	 */
+	private final StratumIndex fStratumIndex = new StratumIndex(this);
+
+	/**
+	 * Heap histogram snapshots of this target, or <code>null</code> until
+	 * requested
+	 */
+	private HeapHistogram fHeapHistogram;
+
+	/**
+	 * Maximum number of remembered injected classes
+	 */
+	private static final int MAX_INJECTED_CLASSES = 256;
+
+	/**
+	 * Classes injected into this target for evaluations, keyed by class loader,
+	 * class name and class file contents
+	 */
+	private final Map<String, IJavaClassObject> fInjectedClasses = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, IJavaClassObject> eldest) {
+			return size() > MAX_INJECTED_CLASSES;
+		}
+	};
+
 	/**
 	 * Labels given by the user is stored in this map, where the key is the unique ID of the object.
 	 */
@@ -611,6 +682,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * Registers event handlers for thread creation, thread termination.
 	 */
 	protected void initializeRequests() {
+		fThreadLifecycle = ThreadLifecycleCoalescer.isEnabled() ? new ThreadLifecycleCoalescer() : null;
 		setThreadStartHandler(new ThreadStartHandler());
 		setThreadNameChangeHandler(new ThreadNameChangeHandler());
 		new ThreadDeathHandler();
@@ -626,11 +698,13 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		manager.addBreakpointListener(this);
 		IBreakpoint[] bps = manager.getBreakpoints(JDIDebugModel
 				.getPluginIdentifier());
+		List<IBreakpoint> javaBreakpoints = new ArrayList<>(bps.length);
 		for (IBreakpoint bp : bps) {
 			if (bp instanceof IJavaBreakpoint) {
-				breakpointAdded(bp);
+				javaBreakpoints.add(bp);
 			}
 		}
+		new BreakpointInstaller(this).install(javaBreakpoints.toArray(new IBreakpoint[javaBreakpoints.size()]));
 	}
 
 	/**
@@ -902,6 +976,10 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		if (nameChangeHandler != null) {
 			nameChangeHandler.deleteRequest();
 		}
+		ThreadLifecycleCoalescer lifecycle = fThreadLifecycle;
+		if (lifecycle != null) {
+			lifecycle.stop();
+		}
 	}
 
 	public String getObjectLabel(IJavaObject javaObject) throws DebugException {
@@ -1055,6 +1133,27 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * @return the associated model thread
 	 */
 	public JDIThread findThread(ThreadReference tr) {
+		JDIThread thread = findKnownThread(tr);
+		if (thread == null) {
+			ThreadLifecycleCoalescer lifecycle = fThreadLifecycle;
+			if (lifecycle != null) {
+				// a thread whose start has not been reported yet, or that is
+				// excluded from tracking, is created when it is needed
+				thread = lifecycle.materialize(tr);
+			}
+		}
+		return thread;
+	}
+
+	/**
+	 * Returns the model thread for the given thread reference if it has been
+	 * created already, or <code>null</code>.
+	 *
+	 * @param tr
+	 *            the underlying thread reference
+	 * @return associated model thread or <code>null</code>
+	 */
+	private JDIThread findKnownThread(ThreadReference tr) {
 		Iterator<JDIThread> iter = getThreadIterator();
 		while (iter.hasNext()) {
 			JDIThread thread = iter.next();
@@ -1885,6 +1984,15 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			}
 			fEngines.clear();
 		}
+		if (JDIDebugOptions.DEBUG_JDI_REQUEST_TIMES) {
+			JdwpMetrics metrics = getJdwpMetrics();
+			if (metrics != null) {
+				JDIDebugOptions.trace("JDWP metrics for " + fName + ":\n" + metrics); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		synchronized (fInjectedClasses) {
+			fInjectedClasses.clear();
+		}
 		fVirtualMachine = null;
 		setThreadStartHandler(null);
 		setEventDispatcher(null);
@@ -1944,6 +2052,103 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 	}
 
+	/**
+	 * Returns the index of loaded local and anonymous types in this target.
+	 *
+	 * @return local type index
+	 */
+	public LocalTypeIndex getLocalTypeIndex() {
+		return fLocalTypeIndex;
+	}
+
+	/**
+	 * Returns the class prepare requests shared by the breakpoints of this
+	 * target.
+	 *
+	 * @return shared class prepare requests
+	 */
+	public SharedClassPrepareRequests getSharedClassPrepareRequests() {
+		return fSharedClassPrepareRequests;
+	}
+
+	/**
+	 * Returns the index of loaded types by stratum source names and paths in
+	 * this target.
+	 *
+	 * @return stratum index
+	 */
+	public StratumIndex getStratumIndex() {
+		return fStratumIndex;
+	}
+
+	/**
+	 * Returns a class previously injected into this target for an evaluation,
+	 * or <code>null</code>.
+	 *
+	 * @param key key identifying the class loader, class name and class file
+	 * @return the injected class or <code>null</code>
+	 */
+	public IJavaClassObject getInjectedClass(String key) {
+		synchronized (fInjectedClasses) {
+			return fInjectedClasses.get(key);
+		}
+	}
+
+	/**
+	 * Remembers a class injected into this target for an evaluation, or
+	 * forgets it when <code>null</code>.
+	 *
+	 * @param key key identifying the class loader, class name and class file
+	 * @param injectedClass the injected class or <code>null</code>
+	 */
+	public void setInjectedClass(String key, IJavaClassObject injectedClass) {
+		synchronized (fInjectedClasses) {
+			if (injectedClass == null) {
+				fInjectedClasses.remove(key);
+			} else {
+				fInjectedClasses.put(key, injectedClass);
+			}
+		}
+	}
+
+	/**
+	 * Returns the metrics of the JDWP traffic with this target's VM, or
+	 * <code>null</code> if the VM is not provided by the Eclipse JDI
+	 * implementation or this target is terminated.
+	 *
+	 * @return JDWP metrics or <code>null</code>
+	 */
+	public JdwpMetrics getJdwpMetrics() {
+		VirtualMachine vm = getVM();
+		if (vm instanceof VirtualMachineImpl) {
+			return ((VirtualMachineImpl) vm).metrics();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the heap histogram of this target, created on first use.
+	 *
+	 * @return heap histogram
+	 */
+	public synchronized HeapHistogram getHeapHistogram() {
+		if (fHeapHistogram == null) {
+			fHeapHistogram = new HeapHistogram(this);
+		}
+		return fHeapHistogram;
+	}
+
+	/**
+	 * Finds the threads of this target that are deadlocked on monitors. Only
+	 * suspended threads are considered.
+	 *
+	 * @return the deadlocks found
+	 * @throws DebugException if monitor information cannot be retrieved
+	 */
+	public DeadlockDetector.Result detectDeadlocks() throws DebugException {
+		return new DeadlockDetector(this).detect();
+	}
+
 	/**
 	 * Returns VirtualMachine.classesByName(String), logging any JDI exceptions.
 	 *
@@ -2299,7 +2504,12 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			} catch (TimeoutException e) {
 				// continue - attempt to create the thread
 			}
-			JDIThread jdiThread = findThread(thread);
+			JDIThread jdiThread = findKnownThread(thread);
+			ThreadLifecycleCoalescer lifecycle = fThreadLifecycle;
+			if (jdiThread == null && lifecycle != null && lifecycle.threadStarted(thread)) {
+				// the thread is created later, or when needed
+				return true;
+			}
 			if (jdiThread == null) {
 				jdiThread = createThread(thread);
 				if (jdiThread == null) {
@@ -2381,14 +2591,24 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		public boolean handleEvent(Event event, JDIDebugTarget target,
 				boolean suspend, EventSet eventSet) {
 			ThreadReference ref = ((ThreadDeathEvent) event).thread();
-			JDIThread thread = findThread(ref);
+			ThreadLifecycleCoalescer lifecycle = fThreadLifecycle;
+			if (lifecycle != null && lifecycle.threadDied(ref)) {
+				// the thread was never reported, so there is nothing to remove
+				return true;
+			}
+			JDIThread thread = findKnownThread(ref);
 			if (thread == null) {
-				thread = target.findThread(ref);
+				thread = target.findKnownThread(ref);
 			}
 			if (thread != null) {
 				toRemove.put(event, thread);
-				// triggers DebugEvent
-				thread.terminated();
+				if (lifecycle != null && lifecycle.isCoalescing()) {
+					// the terminate event is fired with the next batch
+					lifecycle.threadTerminated(thread);
+				} else {
+					// triggers DebugEvent
+					thread.terminated();
+				}
 			}
 			return true;
 		}
@@ -2415,7 +2635,15 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	}
 
 	/**
-	 * Triggers updates on a thread when {@link java.lang.Thread#setName(String)} is called on that thread, in the target JVM.
+	 * Triggers updates on a thread when its name changes in the target JVM.
+	 * <p>
+	 * By default a non-suspending breakpoint on {@link java.lang.Thread#setName(String)}
+	 * reports every rename. As that sends an event for each rename, which is
+	 * costly for applications that rename pooled threads per task, names can
+	 * instead be refreshed lazily: all threads are checked in one pass after a
+	 * thread suspends, and optionally polled at a fixed interval while the
+	 * target runs.
+	 * </p>
 	 */
 	class ThreadNameChangeHandler implements IJDIEventListener {
 
@@ -2423,19 +2651,65 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		 * Environment variable that can be passed down to Eclipse, to disable this listener.
 		 */
 		private static final String DISABLE_THREAD_NAME_CHANGE_LISTENER = "org.eclipse.jdt.internal.debug.core.model.ThreadNameChangeListener.disable"; //$NON-NLS-1$
+		/**
+		 * Environment variable that can be passed down to Eclipse, to select how thread names are refreshed: {@link #MODE_BREAKPOINT} (the
+		 * default), {@link #MODE_LAZY} or {@link #MODE_POLL}.
+		 */
+		private static final String THREAD_NAME_REFRESH_MODE = "org.eclipse.jdt.internal.debug.core.model.ThreadNameChangeListener.mode"; //$NON-NLS-1$
+		/**
+		 * Environment variable that can be passed down to Eclipse, to set the polling interval in milliseconds of {@link #MODE_POLL}.
+		 */
+		private static final String THREAD_NAME_POLL_INTERVAL = "org.eclipse.jdt.internal.debug.core.model.ThreadNameChangeListener.pollInterval"; //$NON-NLS-1$
+		private static final String MODE_BREAKPOINT = "breakpoint"; //$NON-NLS-1$
+		private static final String MODE_LAZY = "lazy"; //$NON-NLS-1$
+		private static final String MODE_POLL = "poll"; //$NON-NLS-1$
+		private static final long DEFAULT_POLL_INTERVAL = 2000;
+		private static final long MIN_POLL_INTERVAL = 500;
 		private static final String TYPE_NAME = "java.lang.Thread"; //$NON-NLS-1$
 		private static final String METHOD_NAME = "setName"; //$NON-NLS-1$
 		private static final String METHOD_SIGNATURE = "(Ljava/lang/String;)V"; //$NON-NLS-1$
 
 		private EventRequest request;
 		private ThreadChangeNotifierJob notfierJob;
+		private ThreadNameRefreshJob refreshJob;
 
 		ThreadNameChangeHandler() {
 			String disableListenerSystemProperty = System.getProperty(DISABLE_THREAD_NAME_CHANGE_LISTENER);
 			boolean isDisabled = String.valueOf(Boolean.TRUE).equals(disableListenerSystemProperty);
 			if (!isDisabled) {
-				createRequest();
-				notfierJob = new ThreadChangeNotifierJob();
+				String mode = System.getProperty(THREAD_NAME_REFRESH_MODE, MODE_BREAKPOINT);
+				if (MODE_LAZY.equals(mode)) {
+					refreshJob = new ThreadNameRefreshJob(0);
+				} else if (MODE_POLL.equals(mode)) {
+					refreshJob = new ThreadNameRefreshJob(getPollInterval());
+					refreshJob.schedule(refreshJob.getInterval());
+				} else {
+					createRequest();
+					notfierJob = new ThreadChangeNotifierJob();
+				}
+			}
+		}
+
+		private long getPollInterval() {
+			long interval = DEFAULT_POLL_INTERVAL;
+			String value = System.getProperty(THREAD_NAME_POLL_INTERVAL);
+			if (value != null) {
+				try {
+					interval = Long.parseLong(value);
+				} catch (NumberFormatException e) {
+					// use the default
+				}
+			}
+			return Math.max(MIN_POLL_INTERVAL, interval);
+		}
+
+		/**
+		 * Notes that a thread of this target suspended, so that the names of
+		 * all threads are refreshed if names are refreshed lazily.
+		 */
+		void threadSuspended() {
+			if (refreshJob != null) {
+				refreshJob.schedule(100);
 			}
 		}
 
@@ -2492,6 +2766,9 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			if (notfierJob != null) {
 				notfierJob.stop();
 			}
+			if (refreshJob != null) {
+				refreshJob.stop();
+			}
 		}
 
 		@Override
@@ -2526,6 +2803,268 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 	}
 
+	/**
+	 * Coalesces the thread lifecycle events of this target.
+	 * <p>
+	 * When coalescing is enabled, threads are not created as their start
+	 * events arrive. Instead, the threads started and terminated during a
+	 * short interval are reported in a single event set, and a thread that
+	 * terminates before it was reported is never created at all. Threads
+	 * that hit a breakpoint or are otherwise looked up before their start is
+	 * reported are created immediately.
+	 * </p>
+	 * <p>
+	 * Threads can also be excluded from lifecycle tracking by thread group or
+	 * thread name. Excluded threads are only created if they are looked up,
+	 * for example when they suspend at a breakpoint.
+	 * </p>
+	 */
+	class ThreadLifecycleCoalescer extends Job {
+
+		/**
+		 * Environment variable that can be passed down to Eclipse, to coalesce thread start and death events.
+		 */
+		private static final String COALESCE_THREAD_EVENTS = "org.eclipse.jdt.internal.debug.core.model.ThreadLifecycle.coalesce"; //$NON-NLS-1$
+		/**
+		 * Environment variable that can be passed down to Eclipse, with a comma separated list of names of thread groups whose threads are not
+		 * tracked.
+		 */
+		private static final String EXCLUDE_THREAD_GROUPS = "org.eclipse.jdt.internal.debug.core.model.ThreadLifecycle.excludeGroups"; //$NON-NLS-1$
+		/**
+		 * Environment variable that can be passed down to Eclipse, with a comma separated list of thread name patterns, where <code>*</code>
+		 * matches any characters, of threads that are not tracked.
+		 */
+		private static final String EXCLUDE_THREAD_NAMES = "org.eclipse.jdt.internal.debug.core.model.ThreadLifecycle.excludeNames"; //$NON-NLS-1$
+		/**
+		 * Delay in milliseconds in which thread starts and deaths are collected before they are reported
+		 */
+		private static final long DELAY = 100;
+
+		private final boolean fCoalescing;
+		private final Set<String> fExcludedGroups;
+		private final List<Pattern> fExcludedNames;
+		private final Map<ThreadGroupReference, Boolean> fGroupExclusions = new HashMap<>();
+		private final Set<ThreadReference> fPending = new LinkedHashSet<>();
+		private final Set<ThreadReference> fExcluded = new HashSet<>();
+		private final List<JDIThread> fTerminated = new ArrayList<>();
+		/**
+		 * Lock held while a pending thread is created, so that a thread is
+		 * never looked up between leaving the pending set and being added to
+		 * the threads of this target
+		 */
+		private final Object fCreationLock = new Object();
+		private volatile boolean fStopped = false;
+
+		ThreadLifecycleCoalescer() {
+			super(JDIDebugModelMessages.JDIDebugTarget_ThreadLifecycle);
+			setSystem(true);
+			fCoalescing = Boolean.getBoolean(COALESCE_THREAD_EVENTS);
+			fExcludedGroups = new HashSet<>(split(System.getProperty(EXCLUDE_THREAD_GROUPS)));
+			fExcludedNames = new ArrayList<>();
+			for (String name : split(System.getProperty(EXCLUDE_THREAD_NAMES))) {
+				fExcludedNames.add(Pattern.compile(Pattern.quote(name).replace("*", "\\E.*\\Q"))); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+
+		/**
+		 * @return whether thread lifecycle events are coalesced or filtered
+		 */
+		static boolean isEnabled() {
+			return Boolean.getBoolean(COALESCE_THREAD_EVENTS) || System.getProperty(EXCLUDE_THREAD_GROUPS) != null
+					|| System.getProperty(EXCLUDE_THREAD_NAMES) != null;
+		}
+
+		private static List<String> split(String value) {
+			List<String> list = new ArrayList<>();
+			if (value != null) {
+				for (String element : value.split(",")) { //$NON-NLS-1$
+					element = element.trim();
+					if (!element.isEmpty()) {
+						list.add(element);
+					}
+				}
+			}
+			return list;
+		}
+
+		boolean isCoalescing() {
+			return fCoalescing;
+		}
+
+		/**
+		 * Notes that the given thread started.
+		 *
+		 * @param thread
+		 *            the started thread
+		 * @return <code>true</code> if the thread is excluded or will be
+		 *         reported later, <code>false</code> if it should be created
+		 *         now
+		 */
+		boolean threadStarted(ThreadReference thread) {
+			if (isExcluded(thread)) {
+				synchronized (this) {
+					fExcluded.add(thread);
+				}
+				return true;
+			}
+			if (!fCoalescing) {
+				return false;
+			}
+			synchronized (this) {
+				fPending.add(thread);
+			}
+			schedule(DELAY);
+			return true;
+		}
+
+		/**
+		 * Notes that the given thread died.
+		 *
+		 * @param thread
+		 *            the thread that died
+		 * @return <code>true</code> if the thread was never reported, so that
+		 *         there is nothing else to do
+		 */
+		boolean threadDied(ThreadReference thread) {
+			synchronized (fCreationLock) {
+				synchronized (this) {
+					return fPending.remove(thread) || fExcluded.remove(thread);
+				}
+			}
+		}
+
+		/**
+		 * Marks the given model thread as terminated, firing its terminate
+		 * event with the next batch.
+		 *
+		 * @param thread
+		 *            the terminated thread
+		 */
+		void threadTerminated(JDIThread thread) {
+			thread.setTerminated(true);
+			thread.setRunning(false);
+			synchronized (this) {
+				fTerminated.add(thread);
+			}
+			schedule(DELAY);
+		}
+
+		/**
+		 * Creates the model thread for a thread whose start has not been
+		 * reported yet, or that is excluded from tracking.
+		 *
+		 * @param thread
+		 *            the thread reference
+		 * @return the model thread, or <code>null</code> if the thread is not
+		 *         pending or excluded
+		 */
+		JDIThread materialize(ThreadReference thread) {
+			synchronized (fCreationLock) {
+				JDIThread known = findKnownThread(thread);
+				if (known != null) {
+					return known;
+				}
+				synchronized (this) {
+					if (!fPending.remove(thread) && !fExcluded.remove(thread)) {
+						return null;
+					}
+				}
+				return createThread(thread);
+			}
+		}
+
+		private boolean isExcluded(ThreadReference thread) {
+			if (fExcludedGroups.isEmpty() && fExcludedNames.isEmpty()) {
+				return false;
+			}
+			try {
+				if (!fExcludedGroups.isEmpty()) {
+					ThreadGroupReference group = thread.threadGroup();
+					if (group != null) {
+						Boolean excluded;
+						synchronized (fGroupExclusions) {
+							excluded = fGroupExclusions.get(group);
+						}
+						if (excluded == null) {
+							excluded = Boolean.valueOf(fExcludedGroups.contains(group.name()));
+							synchronized (fGroupExclusions) {
+								fGroupExclusions.put(group, excluded);
+							}
+						}
+						if (excluded.booleanValue()) {
+							return true;
+						}
+					}
+				}
+				if (!fExcludedNames.isEmpty()) {
+					String name = thread.name();
+					for (Pattern pattern : fExcludedNames) {
+						if (pattern.matcher(name).matches()) {
+							return true;
+						}
+					}
+				}
+			} catch (RuntimeException e) {
+				// the thread is tracked if it cannot be inspected
+			}
+			return false;
+		}
+
+		void stop() {
+			fStopped = true;
+			cancel();
+			synchronized (this) {
+				fPending.clear();
+				fExcluded.clear();
+				fTerminated.clear();
+			}
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			List<ThreadReference> started;
+			List<JDIThread> terminated;
+			synchronized (this) {
+				started = new ArrayList<>(fPending);
+				terminated = new ArrayList<>(fTerminated);
+				fTerminated.clear();
+			}
+			List<DebugEvent> events = new ArrayList<>(started.size() + terminated.size());
+			for (ThreadReference reference : started) {
+				if (fStopped || isDisconnected()) {
+					return Status.OK_STATUS;
+				}
+				synchronized (fCreationLock) {
+					synchronized (this) {
+						if (!fPending.remove(reference)) {
+							// died or created on demand in the meantime
+							continue;
+						}
+					}
+					JDIThread thread = newThread(reference);
+					if (thread != null) {
+						synchronized (fThreads) {
+							fThreads.add(thread);
+						}
+						events.add(new DebugEvent(thread, DebugEvent.CREATE));
+					}
+				}
+			}
+			for (JDIThread thread : terminated) {
+				events.add(new DebugEvent(thread, DebugEvent.TERMINATE));
+			}
+			if (!events.isEmpty()) {
+				DebugPlugin.getDefault().fireDebugEventSet(events.toArray(new DebugEvent[events.size()]));
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == JDIDebugTarget.this;
+		}
+	}
+
 	/**
 	 * Job to throttle thread name change events notification.
 	 */
@@ -2579,6 +3118,75 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 	}
 
+	/**
+	 * Job to refresh the names of all threads in one pass, optionally
+	 * repeating at a fixed interval. A single event set is fired for the
+	 * renamed threads.
+	 */
+	class ThreadNameRefreshJob extends Job {
+
+		private final long fInterval;
+		private volatile boolean fStopped = false;
+
+		/**
+		 * @param interval
+		 *            polling interval in milliseconds, or 0 to only refresh
+		 *            when scheduled explicitly
+		 */
+		ThreadNameRefreshJob(long interval) {
+			super(JDIDebugModelMessages.JDIDebugTarget_ThreadNameRefresh);
+			setSystem(true);
+			setPriority(Job.DECORATE);
+			fInterval = interval;
+		}
+
+		long getInterval() {
+			return fInterval;
+		}
+
+		void stop() {
+			fStopped = true;
+			cancel();
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (fStopped || !isAvailable()) {
+				return Status.OK_STATUS;
+			}
+			JDIThread[] threads;
+			synchronized (fThreads) {
+				threads = fThreads.toArray(new JDIThread[fThreads.size()]);
+			}
+			List<DebugEvent> events = new ArrayList<>();
+			for (JDIThread thread : threads) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				if (!thread.isTerminated() && thread.refreshName()) {
+					events.add(new DebugEvent(thread, DebugEvent.CHANGE, DebugEvent.STATE));
+				}
+			}
+			if (!events.isEmpty()) {
+				DebugPlugin.getDefault().fireDebugEventSet(events.toArray(new DebugEvent[events.size()]));
+			}
+			if (fInterval > 0 && !fStopped) {
+				schedule(fInterval);
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == JDIDebugTarget.this;
+		}
+
+		@Override
+		public boolean shouldSchedule() {
+			return !fStopped && isAvailable();
+		}
+	}
+
 	class CleanUpJob extends Job {
 
 		/**
@@ -2848,6 +3456,48 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 	}
 
+	/**
+	 * Returns the snapshot of the values read while this target stays
+	 * suspended, creating one if necessary.
+	 *
+	 * @return the current snapshot
+	 */
+	public SuspendSnapshot getSnapshot() {
+		synchronized (fSnapshotLock) {
+			if (fSnapshot == null) {
+				boolean suspended = true;
+				Iterator<JDIThread> threads = getThreadIterator();
+				while (suspended && threads.hasNext()) {
+					suspended = threads.next().isSuspended();
+				}
+				fSnapshot = new SuspendSnapshot(fSnapshotEpoch, suspended);
+			}
+			return fSnapshot;
+		}
+	}
+
+	/**
+	 * Returns the prefetcher of the variables expanded in this target.
+	 *
+	 * @return variable prefetcher
+	 */
+	public VariablePrefetcher getVariablePrefetcher() {
+		return fPrefetcher;
+	}
+
+	/**
+	 * Discards the snapshot of the values read while this target stays
+	 * suspended, as a thread resumes or a value is modified.
+	 */
+	public void discardSnapshot() {
+		synchronized (fSnapshotLock) {
+			if (fSnapshot != null) {
+				fSnapshot = null;
+				fSnapshotEpoch++;
+			}
+		}
+	}
+
 	/**
 	 * Returns an evaluation engine for the given project, creating one if
 	 * necessary.
@@ -2975,6 +3625,16 @@ public class JDIDebugTarget extends JDIDebugElement implements
 				new CleanUpJob().schedule(timeout);
 			}
 		}
+		ThreadNameChangeHandler nameChangeHandler = getThreadNameChangeHandler();
+		if (nameChangeHandler != null) {
+			for (DebugEvent event : events) {
+				if (event.getKind() == DebugEvent.SUSPEND && event.getSource() instanceof JDIThread
+						&& ((JDIThread) event.getSource()).getDebugTarget() == this) {
+					nameChangeHandler.threadSuspended();
+					break;
+				}
+			}
+		}
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -92,10 +92,14 @@ public class JDIFieldVariable extends JDIModificationVariable implements
 	 */
 	@Override
 	protected Value retrieveValue() {
+		JDIDebugTarget target = (JDIDebugTarget) getDebugTarget();
+		SuspendSnapshot snapshot = target.getSnapshot();
 		if (getField().isStatic()) {
-			return (getField().declaringType().getValue(getField()));
+			return snapshot.getValue(getField());
 		}
-		return getObjectReference().getValue(getField());
+		Value value = snapshot.getValue(getObjectReference(), getField());
+		target.getVariablePrefetcher().fieldRead(getObjectReference(), getField(), value);
+		return value;
 	}
 
 	/**
@@ -138,6 +142,7 @@ public class JDIFieldVariable extends JDIModificationVariable implements
 			} else {
 				getObjectReference().setValue(getField(), value);
 			}
+			((JDIDebugTarget) getDebugTarget()).discardSnapshot();
 			fireChangeEvent(DebugEvent.CONTENT);
 		} catch (ClassNotLoadedException e) {
 			targetRequestFailed(
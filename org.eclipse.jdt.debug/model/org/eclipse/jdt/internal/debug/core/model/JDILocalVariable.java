@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -61,7 +61,10 @@ public class JDILocalVariable extends JDIModificationVariable {
 			if (getStackFrame().isSuspended()) {
 				StackFrame frame = getStackFrame().getUnderlyingStackFrame();
 				if (frame != null) {
-					return frame.getValue(fLocal);
+					JDIDebugTarget target = (JDIDebugTarget) getDebugTarget();
+					Value value = target.getSnapshot().getValue(getStackFrame(), frame, fLocal);
+					target.getVariablePrefetcher().rootRead(getStackFrame(), fLocal.name(), value);
+					return value;
 				}
 			}
 		}
@@ -105,6 +108,7 @@ public class JDILocalVariable extends JDIModificationVariable {
 									errorMessage), new Throwable(errorMessage)); // use Throwable, as RuntimeException is re-thrown
 				}
 			}
+			((JDIDebugTarget) getDebugTarget()).discardSnapshot();
 			fireChangeEvent(DebugEvent.CONTENT);
 		} catch (ClassNotLoadedException e) {
 			targetRequestFailed(
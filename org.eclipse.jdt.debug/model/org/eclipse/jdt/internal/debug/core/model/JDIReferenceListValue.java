@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,13 +15,14 @@
 package org.eclipse.jdt.internal.debug.core.model;
 
 import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IIndexedValue;
 import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.jdt.debug.core.IJavaObject;
 import org.eclipse.jdt.debug.core.IJavaType;
-import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.internal.debug.core.HeapWalkingManager;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.logicalstructures.JDIPlaceholderVariable;
@@ -46,6 +47,8 @@ public class JDIReferenceListValue extends JDIObjectValue implements
 	private final IJavaObject fRoot;
 	private boolean fIsMoreThanPreference;
 	private IJavaType fType = null;
+	private ObjectPages fPages;
+	private IJavaObject fMorePlaceholder;
 
 	/**
 	 * Constructor, initializes this value with its debug target and root object
@@ -69,33 +72,86 @@ public class JDIReferenceListValue extends JDIObjectValue implements
 		}
 	}
 
+	/**
+	 * Returns the references to the root object, whose Java objects are
+	 * created a page at a time. The references are read again when the target
+	 * has been suspended again.
+	 *
+	 * @return the paged references to the root object
+	 */
+	protected synchronized ObjectPages getPages() {
+		if (fPages != null && !fPages.isStale()) {
+			return fPages;
+		}
+		List<ObjectReference> references = Collections.emptyList();
+		int max = HeapWalkingManager.getDefault().getAllReferencesMaxCount();
+		fIsMoreThanPreference = false;
+		fMorePlaceholder = null;
+		ObjectReference root = ((JDIObjectValue) fRoot).getUnderlyingObject();
+		if (root != null) {
+			try {
+				references = root.referringObjects(max == 0 ? 0 : max + 1);
+			} catch (RuntimeException e) {
+				JDIDebugPlugin.log(e);
+			}
+		}
+		if (max != 0 && references.size() > max) {
+			references = references.subList(0, max);
+			fIsMoreThanPreference = true;
+			fMorePlaceholder = new JDIPlaceholderValue(
+					(JDIDebugTarget) fRoot.getDebugTarget(),
+					MessageFormat.format(
+							JDIDebugModelMessages.JDIReferenceListValue_9,
+							Integer.toString(max)));
+		}
+		fPages = new ObjectPages((JDIDebugTarget) fRoot.getDebugTarget(),
+				references);
+		return fPages;
+	}
+
+	/**
+	 * @return the number of references, including the placeholder that ends
+	 *         the list when there are more references than should be
+	 *         displayed
+	 */
+	private int getCount() {
+		ObjectPages pages = getPages();
+		return fMorePlaceholder == null ? pages.size() : pages.size() + 1;
+	}
+
+	/**
+	 * Returns the variable for the reference at the given index, creating the
+	 * Java objects of its page if needed.
+	 *
+	 * @param index
+	 *            index of the reference
+	 * @return variable for the reference
+	 */
+	private IVariable getReferenceVariable(int index) {
+		ObjectPages pages = getPages();
+		if (index == pages.size() && fMorePlaceholder != null) {
+			return new JDIPlaceholderVariable(
+					JDIDebugModelMessages.JDIReferenceListValue_11,
+					fMorePlaceholder);
+		}
+		return new JDIReferenceListEntryVariable(MessageFormat.format(
+				JDIDebugModelMessages.JDIReferenceListValue_0,
+				Integer.toString(index)), pages.get(index));
+	}
+
 	/**
 	 * @return all references to the root object as an array of IJavaObjects
 	 */
 	protected synchronized IJavaObject[] getReferences() {
-		try {
-			int max = HeapWalkingManager.getDefault()
-					.getAllReferencesMaxCount();
-			IJavaObject[] referringObjects = null;
-			fIsMoreThanPreference = false;
-			if (max == 0) {
-				referringObjects = fRoot.getReferringObjects(max);
-			} else {
-				referringObjects = fRoot.getReferringObjects(max + 1);
-				if (referringObjects.length > max) {
-					fIsMoreThanPreference = true;
-					referringObjects[max] = new JDIPlaceholderValue(
-							(JDIDebugTarget) fRoot.getDebugTarget(),
-							MessageFormat
-									.format(JDIDebugModelMessages.JDIReferenceListValue_9,
-											Integer.toString(max)));
-				}
-			}
-			return referringObjects;
-		} catch (DebugException e) {
-			JDIDebugPlugin.log(e);
-			return new IJavaObject[0];
+		IJavaObject[] referringObjects = new IJavaObject[getCount()];
+		ObjectPages pages = getPages();
+		for (int i = 0; i < pages.size(); i++) {
+			referringObjects[i] = pages.get(i);
 		}
+		if (fMorePlaceholder != null) {
+			referringObjects[pages.size()] = fMorePlaceholder;
+		}
+		return referringObjects;
 	}
 
 	/**
@@ -103,6 +159,9 @@ public class JDIReferenceListValue extends JDIObjectValue implements
 	 *         the vm yet.
 	 */
 	protected synchronized boolean referencesLoaded() {
+		if (fPages != null) {
+			return true;
+		}
 		if (fRoot instanceof JDIObjectValue) {
 			return ((JDIObjectValue) fRoot).isReferencesLoaded();
 		}
@@ -116,22 +175,7 @@ public class JDIReferenceListValue extends JDIObjectValue implements
 	 */
 	@Override
 	public IVariable[] getVariables() throws DebugException {
-		IJavaObject[] elements = getReferences();
-		IVariable[] vars = new JDIPlaceholderVariable[elements.length];
-		int length = elements.length;
-		if (fIsMoreThanPreference) {
-			length--;
-			vars[length] = new JDIPlaceholderVariable(
-					JDIDebugModelMessages.JDIReferenceListValue_11,
-					elements[length]);
-		}
-
-		for (int i = 0; i < length; i++) {
-			vars[i] = new JDIReferenceListEntryVariable(MessageFormat.format(
-					JDIDebugModelMessages.JDIReferenceListValue_0,
-					Integer.toString(i)), elements[i]);
-		}
-		return vars;
+		return getVariables(0, getCount());
 	}
 
 	/*
@@ -154,7 +198,7 @@ public class JDIReferenceListValue extends JDIObjectValue implements
 	@Override
 	public boolean hasVariables() throws DebugException {
 		if (referencesLoaded()) {
-			return getReferences().length > 0;
+			return getCount() > 0;
 		}
 		return true;
 	}
@@ -305,7 +349,7 @@ public class JDIReferenceListValue extends JDIObjectValue implements
 	 */
 	@Override
 	public int getSize() throws DebugException {
-		return getVariables().length;
+		return getCount();
 	}
 
 	/*
@@ -315,9 +359,8 @@ public class JDIReferenceListValue extends JDIObjectValue implements
 	 */
 	@Override
 	public IVariable getVariable(int offset) throws DebugException {
-		IVariable[] variables = getVariables();
-		if (offset < variables.length) {
-			return variables[offset];
+		if (offset >= 0 && offset < getCount()) {
+			return getReferenceVariable(offset);
 		}
 		requestFailed(JDIDebugModelMessages.JDIReferenceListValue_7, new IndexOutOfBoundsException());
 		return null;
@@ -331,10 +374,12 @@ public class JDIReferenceListValue extends JDIObjectValue implements
 	@Override
 	public IVariable[] getVariables(int offset, int length)
 			throws DebugException {
-		IVariable[] variables = getVariables();
-		if (offset < variables.length && (offset + length) <= variables.length) {
-			IJavaVariable[] vars = new IJavaVariable[length];
-			System.arraycopy(variables, offset, vars, 0, length);
+		int count = getCount();
+		if (length == 0 || (offset >= 0 && offset < count && (offset + length) <= count)) {
+			IVariable[] vars = new IVariable[length];
+			for (int i = 0; i < length; i++) {
+				vars[i] = getReferenceVariable(offset + i);
+			}
 			return vars;
 		}
 		requestFailed(JDIDebugModelMessages.JDIReferenceListValue_8, new IndexOutOfBoundsException());
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -289,6 +289,16 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 		return false;
 	}
 
+	/**
+	 * Returns this frame's depth in the call stack, counted from the bottom of
+	 * the stack, or -1 if this frame is invalid.
+	 */
+	protected int getDepth() {
+		synchronized (fThread) {
+			return fDepth;
+		}
+	}
+
 	/**
 	 * Returns the underlying method associated with this stack frame,
 	 * retrieving the method is necessary.
@@ -370,6 +380,7 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 					if (t != null) {
 						fVariables.add(new JDIThisVariable(
 								(JDIDebugTarget) getDebugTarget(), t));
+						((JDIDebugTarget) getDebugTarget()).getVariablePrefetcher().rootRead(this, null, t);
 					}
 				}
 				if (LambdaUtils.isLambdaFrame(this)) {
@@ -727,6 +738,7 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 			// update "this"
 			ObjectReference thisObject;
 			thisObject = getUnderlyingThisObject();
+			((JDIDebugTarget) getDebugTarget()).getVariablePrefetcher().rootRead(this, null, thisObject);
 			JDIThisVariable oldThisObject = null;
 			if (!fVariables.isEmpty()
 					&& fVariables.get(0) instanceof JDIThisVariable) {
@@ -1354,7 +1366,7 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 	 *                frame (is in an interim state where this frame's thread
 	 *                has been resumed, and is not yet suspended).
 	 */
-	protected StackFrame getUnderlyingStackFrame() throws DebugException {
+	public StackFrame getUnderlyingStackFrame() throws DebugException {
 		synchronized (fThread) {
 			if (fStackFrame == null) {
 				if (fDepth == -1) {
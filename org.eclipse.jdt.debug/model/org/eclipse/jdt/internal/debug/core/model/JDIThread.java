@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1273,6 +1273,23 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 		}
 	}
 
+	/**
+	 * Fetches the name of the underlying thread and returns whether it differs
+	 * from the name last retrieved.
+	 *
+	 * @return whether the thread has been renamed since its name was last
+	 *         retrieved
+	 */
+	boolean refreshName() {
+		String previous = fPreviousName;
+		try {
+			getName();
+		} catch (DebugException e) {
+			return false;
+		}
+		return previous != null && !previous.equals(fPreviousName);
+	}
+
 	@Override
 	public String getName() throws DebugException {
 		try {
@@ -1534,6 +1551,7 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 					} else {
 						fireSuspendEvent(DebugEvent.BREAKPOINT);
 					}
+					((JDIDebugTarget) getDebugTarget()).getVariablePrefetcher().suspended(this);
 				} else {
 					if (policy == IJavaBreakpoint.SUSPEND_VM) {
 						((JDIDebugTarget) getDebugTarget())
@@ -1691,6 +1709,8 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 */
 	protected void setRunning(boolean running) {
 		fRunning = running;
+		// values read meanwhile may be stale, or fields may now be kept
+		((JDIDebugTarget) getDebugTarget()).discardSnapshot();
 		if (running) {
 			synchronized (breakpointAcessLock) {
 				fCurrentBreakpoints.clear();
@@ -2952,6 +2972,7 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 			setPendingStepHandler(null);
 			if (set != null) {
 				queueSuspendEvent(DebugEvent.STEP_END, set);
+				((JDIDebugTarget) getDebugTarget()).getVariablePrefetcher().suspended(JDIThread.this);
 			}
 		}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -240,6 +240,9 @@ public class JDIValue extends JDIDebugElement implements IJavaValue {
 	 * @throws DebugException
 	 */
 	protected synchronized List<IJavaVariable> getVariablesList() throws DebugException {
+		if (fValue instanceof ObjectReference) {
+			getJavaDebugTarget().getVariablePrefetcher().expanded((ObjectReference) fValue);
+		}
 		if (fVariables != null) {
 			return fVariables;
 		} else if (fValue instanceof ObjectReference) {
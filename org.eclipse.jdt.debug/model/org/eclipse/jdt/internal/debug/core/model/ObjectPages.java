@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.debug.core.IJavaObject;
+
+import com.sun.jdi.ObjectReference;
+
+/**
+ * A list of objects in a target VM whose Java objects are created a page at a
+ * time, used for long lists of instances and references.
+ * <p>
+ * The object IDs of the list are read with one request when it is created.
+ * Java objects are created only for the pages that are requested, and only
+ * the objects of a bounded set of recently used pages are kept. Objects are
+ * not kept from being garbage collected, so that displaying a list does not
+ * change the behavior of the program once it resumes.
+ * </p>
+ */
+public class ObjectPages {
+
+	/**
+	 * Number of elements in a page, the size of the partitions used for
+	 * indexed values in views
+	 */
+	public static final int PAGE_SIZE = 100;
+
+	/**
+	 * Maximum number of pages whose objects are kept
+	 */
+	private static final int MAX_PAGES = Math.max(1, Integer.getInteger("org.eclipse.jdt.internal.debug.core.model.ObjectPages.maxPages", 8).intValue()); //$NON-NLS-1$
+
+	private final JDIDebugTarget fTarget;
+	private final List<ObjectReference> fReferences;
+	private final int fSuspendCount;
+	private final Map<Integer, IJavaObject[]> fPages = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, IJavaObject[]> eldest) {
+			return size() > MAX_PAGES;
+		}
+	};
+
+	/**
+	 * Constructs a list of the given objects.
+	 *
+	 * @param target
+	 *            the target VM
+	 * @param references
+	 *            the objects of the list
+	 */
+	public ObjectPages(JDIDebugTarget target, List<ObjectReference> references) {
+		fTarget = target;
+		fReferences = references;
+		fSuspendCount = target.getSuspendCount();
+	}
+
+	/**
+	 * @return number of elements in the list
+	 */
+	public int size() {
+		return fReferences.size();
+	}
+
+	/**
+	 * Returns whether the target has been suspended again since this list was
+	 * created, and the list may no longer reflect the objects in the VM.
+	 *
+	 * @return whether the list is out of date
+	 */
+	public boolean isStale() {
+		return fSuspendCount < fTarget.getSuspendCount();
+	}
+
+	/**
+	 * Returns the element at the given index, creating the Java objects of its
+	 * page if needed.
+	 *
+	 * @param index
+	 *            index of the element
+	 * @return the element, or <code>null</code> if the index is out of range
+	 */
+	public synchronized IJavaObject get(int index) {
+		if (index < 0 || index >= fReferences.size()) {
+			return null;
+		}
+		Integer key = Integer.valueOf(index / PAGE_SIZE);
+		IJavaObject[] page = fPages.get(key);
+		if (page == null) {
+			page = createPage(key.intValue());
+			fPages.put(key, page);
+		}
+		return page[index % PAGE_SIZE];
+	}
+
+	/**
+	 * Returns the number of pages whose objects are currently kept.
+	 *
+	 * @return number of materialized pages
+	 */
+	public synchronized int getPageCount() {
+		return fPages.size();
+	}
+
+	private IJavaObject[] createPage(int page) {
+		int start = page * PAGE_SIZE;
+		int end = Math.min(fReferences.size(), start + PAGE_SIZE);
+		IJavaObject[] objects = new IJavaObject[end - start];
+		for (int i = start; i < end; i++) {
+			objects[i - start] = (IJavaObject) JDIValue.createValue(fTarget, fReferences.get(i));
+		}
+		return objects;
+	}
+}
@@ -0,0 +1,882 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.IValue;
+import org.eclipse.jdt.debug.core.IJavaObject;
+import org.eclipse.jdt.debug.core.IJavaReferenceType;
+import org.eclipse.jdt.debug.core.IJavaVariable;
+
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.ArrayType;
+import com.sun.jdi.ClassLoaderReference;
+import com.sun.jdi.ClassObjectReference;
+import com.sun.jdi.Field;
+import com.sun.jdi.ObjectCollectedException;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.ThreadGroupReference;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.Value;
+
+/**
+ * Estimates the shallow and retained sizes of objects in a suspended target
+ * by walking the object graph over JDI.
+ * <p>
+ * The graph is walked breadth first from the selected objects, a level at a
+ * time, with the objects of a level read by several threads. The reference
+ * fields of an object are read with one <code>ObjectReference.GetValues</code>
+ * request, and the elements of an object array with
+ * <code>ArrayReference.GetValues</code> requests of up to 1024 elements.
+ * Classes, class loaders and threads are not walked into. The walk stops at a
+ * maximum depth, number of objects or time.
+ * </p>
+ * <p>
+ * An object is considered retained by the selected objects when it would
+ * become unreachable if the selected objects did, that is when the selected
+ * objects dominate it. Immediate dominators are computed over the walked
+ * objects with the algorithm of Cooper, Harvey and Kennedy, from a node
+ * standing for everything outside the walk. That node refers to a node
+ * standing for the selected objects, which refers to each of them, and to
+ * every walked object with referrers outside the walk, so objects in cycles
+ * such as linked lists and parent links are retained when nothing else
+ * refers to them.
+ * </p>
+ * <p>
+ * Referrers outside the walked objects are detected by asking the VM for one
+ * more referring object than were found in the walk, which needs instance
+ * retrieval support; without it the retained size is the size of all reachable
+ * objects. Only objects still dominated by the selected objects are asked
+ * about, from the selected objects down, as an object dominated by one with
+ * outside referrers is not retained either. The number of objects asked about
+ * is limited. Objects that could not be walked or asked about count as
+ * referred to from outside the walk, so limits lower the retained size rather
+ * than overstate it.
+ * </p>
+ * <p>
+ * Sizes are estimated for a 64 bit VM with compressed references: 12 byte
+ * object and 16 byte array headers, 4 byte references, and objects aligned
+ * to 8 bytes.
+ * </p>
+ * <p>
+ * The default limits and number of threads can be set with the system
+ * properties
+ * <code>org.eclipse.jdt.internal.debug.core.model.RetainedSizeEstimator.maxDepth</code>,
+ * <code>.maxObjects</code>, <code>.maxReferrerChecks</code>,
+ * <code>.timeLimit</code> (milliseconds) and <code>.concurrency</code>.
+ * </p>
+ */
+public class RetainedSizeEstimator {
+
+	private static final String PROPERTY_PREFIX = "org.eclipse.jdt.internal.debug.core.model.RetainedSizeEstimator."; //$NON-NLS-1$
+
+	/**
+	 * Default maximum number of references followed from the selected objects
+	 */
+	public static final int DEFAULT_MAX_DEPTH = Integer.getInteger(PROPERTY_PREFIX + "maxDepth", 64).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Default maximum number of objects walked
+	 */
+	public static final int DEFAULT_MAX_OBJECTS = Integer.getInteger(PROPERTY_PREFIX + "maxObjects", 100000).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Default maximum number of objects whose referrers are asked for
+	 */
+	public static final int DEFAULT_MAX_REFERRER_CHECKS = Integer.getInteger(PROPERTY_PREFIX + "maxReferrerChecks", 10000).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Default maximum time of an estimate, in milliseconds
+	 */
+	public static final long DEFAULT_TIME_LIMIT = Long.getLong(PROPERTY_PREFIX + "timeLimit", 30000).longValue(); //$NON-NLS-1$
+
+	/**
+	 * Default number of threads reading objects
+	 */
+	public static final int DEFAULT_CONCURRENCY = Integer.getInteger(PROPERTY_PREFIX + "concurrency", 4).intValue(); //$NON-NLS-1$
+
+	private static final int OBJECT_HEADER = 12;
+	private static final int ARRAY_HEADER = 16;
+	private static final int REFERENCE_SIZE = 4;
+	private static final int ALIGNMENT = 8;
+
+	/**
+	 * Maximum number of array elements per request
+	 */
+	private static final int ARRAY_CHUNK = 1024;
+
+	/**
+	 * Maximum number of objects whose referrers are asked for at once
+	 */
+	private static final int REFERRER_BATCH = 256;
+
+	/**
+	 * Index of the node standing for everything outside the walk
+	 */
+	private static final int OUTSIDE = 0;
+
+	/**
+	 * Index of the node standing for the selected objects
+	 */
+	private static final int SELECTION = 1;
+
+	/**
+	 * Estimated sizes of a set of objects.
+	 */
+	public static class Estimate {
+		private final long fShallowSize;
+		private final long fRetainedSize;
+		private final long fReachableSize;
+		private final int fRootCount;
+		private final int fRetainedCount;
+		private final int fReachableCount;
+		private final boolean fTruncated;
+		private final boolean fReferrersChecked;
+
+		Estimate(long shallowSize, long retainedSize, long reachableSize, int rootCount, int retainedCount, int reachableCount, boolean truncated, boolean referrersChecked) {
+			fShallowSize = shallowSize;
+			fRetainedSize = retainedSize;
+			fReachableSize = reachableSize;
+			fRootCount = rootCount;
+			fRetainedCount = retainedCount;
+			fReachableCount = reachableCount;
+			fTruncated = truncated;
+			fReferrersChecked = referrersChecked;
+		}
+
+		/**
+		 * @return size of the selected objects, in bytes
+		 */
+		public long getShallowSize() {
+			return fShallowSize;
+		}
+
+		/**
+		 * @return size of the selected objects and the objects they retain, in
+		 *         bytes
+		 */
+		public long getRetainedSize() {
+			return fRetainedSize;
+		}
+
+		/**
+		 * @return size of all walked objects, in bytes
+		 */
+		public long getReachableSize() {
+			return fReachableSize;
+		}
+
+		/**
+		 * @return number of selected objects
+		 */
+		public int getRootCount() {
+			return fRootCount;
+		}
+
+		/**
+		 * @return number of retained objects, including the selected objects
+		 */
+		public int getRetainedCount() {
+			return fRetainedCount;
+		}
+
+		/**
+		 * @return number of walked objects
+		 */
+		public int getReachableCount() {
+			return fReachableCount;
+		}
+
+		/**
+		 * @return whether the walk stopped at a limit before reaching all
+		 *         objects
+		 */
+		public boolean isTruncated() {
+			return fTruncated;
+		}
+
+		/**
+		 * @return whether referrers outside the walked objects were taken into
+		 *         account, otherwise the retained size is the reachable size
+		 */
+		public boolean isReferrersChecked() {
+			return fReferrersChecked;
+		}
+
+		@Override
+		public String toString() {
+			return "shallow " + fShallowSize + ", retained " + fRetainedSize + " (" + fRetainedCount + " objects), reachable " + fReachableSize + " (" + fReachableCount + " objects)" + (fTruncated ? ", truncated" : ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+		}
+	}
+
+	/**
+	 * Layout of the instances of a type
+	 */
+	private static class TypeInfo {
+		/**
+		 * Instance size, or element size for arrays
+		 */
+		long fSize;
+
+		/**
+		 * Instance fields holding references
+		 */
+		List<Field> fReferenceFields = Collections.emptyList();
+
+		/**
+		 * Whether the type is an array type with reference elements
+		 */
+		boolean fReferenceElements;
+	}
+
+	/**
+	 * An object read from the target
+	 */
+	private static class Expansion {
+		long fSize;
+		List<ObjectReference> fReferences = new ArrayList<>();
+	}
+
+	/**
+	 * A walked object
+	 */
+	private static class Node {
+		final ObjectReference fObject;
+		final boolean fRoot;
+		boolean fExpanded;
+		long fSize;
+		final Set<Node> fChildren = new LinkedHashSet<>(4);
+		int fReferrers;
+		boolean fExternal;
+
+		/**
+		 * Index in the dominator graph
+		 */
+		int fIndex;
+
+		Node(ObjectReference object, boolean root) {
+			fObject = object;
+			fRoot = root;
+		}
+	}
+
+	private final JDIDebugTarget fTarget;
+	private final Map<ReferenceType, TypeInfo> fTypes = new ConcurrentHashMap<>();
+
+	private int fMaxDepth = DEFAULT_MAX_DEPTH;
+	private int fMaxObjects = DEFAULT_MAX_OBJECTS;
+	private int fMaxReferrerChecks = DEFAULT_MAX_REFERRER_CHECKS;
+	private long fTimeLimit = DEFAULT_TIME_LIMIT;
+	private int fConcurrency = DEFAULT_CONCURRENCY;
+
+	/**
+	 * Constructs an estimator for the given target.
+	 *
+	 * @param target debug target
+	 */
+	public RetainedSizeEstimator(JDIDebugTarget target) {
+		fTarget = target;
+	}
+
+	/**
+	 * Sets the maximum number of references followed from the selected
+	 * objects.
+	 *
+	 * @param maxDepth maximum depth, 0 to only size the selected objects
+	 */
+	public void setMaxDepth(int maxDepth) {
+		fMaxDepth = Math.max(0, maxDepth);
+	}
+
+	/**
+	 * Sets the maximum number of objects walked.
+	 *
+	 * @param maxObjects number of objects, at least 1
+	 */
+	public void setMaxObjects(int maxObjects) {
+		fMaxObjects = Math.max(1, maxObjects);
+	}
+
+	/**
+	 * Sets the maximum number of objects whose referrers are asked for.
+	 *
+	 * @param maxReferrerChecks number of objects, 0 to count all objects
+	 *            other than the selected ones as referred to from outside
+	 */
+	public void setMaxReferrerChecks(int maxReferrerChecks) {
+		fMaxReferrerChecks = Math.max(0, maxReferrerChecks);
+	}
+
+	/**
+	 * Sets the maximum time of an estimate.
+	 *
+	 * @param timeLimit time in milliseconds, at least 1
+	 */
+	public void setTimeLimit(long timeLimit) {
+		fTimeLimit = Math.max(1, timeLimit);
+	}
+
+	/**
+	 * Sets the number of threads reading objects.
+	 *
+	 * @param concurrency number of threads, at least 1
+	 */
+	public void setConcurrency(int concurrency) {
+		fConcurrency = Math.max(1, concurrency);
+	}
+
+	/**
+	 * Estimates the sizes of the given object.
+	 *
+	 * @param object object
+	 * @param monitor progress monitor or <code>null</code>
+	 * @return estimated sizes
+	 * @throws DebugException if the objects cannot be read
+	 */
+	public Estimate estimate(IJavaObject object, IProgressMonitor monitor) throws DebugException {
+		List<ObjectReference> roots = new ArrayList<>(1);
+		if (object instanceof JDIObjectValue) {
+			ObjectReference reference = ((JDIObjectValue) object).getUnderlyingObject();
+			if (reference != null) {
+				roots.add(reference);
+			}
+		}
+		return estimate(roots, monitor);
+	}
+
+	/**
+	 * Estimates the sizes of the object held by the given variable.
+	 *
+	 * @param variable variable
+	 * @param monitor progress monitor or <code>null</code>
+	 * @return estimated sizes, all zero if the variable does not hold an
+	 *         object
+	 * @throws DebugException if the objects cannot be read
+	 */
+	public Estimate estimate(IJavaVariable variable, IProgressMonitor monitor) throws DebugException {
+		IValue value = variable.getValue();
+		if (value instanceof IJavaObject) {
+			return estimate((IJavaObject) value, monitor);
+		}
+		return estimate(new ArrayList<>(0), monitor);
+	}
+
+	/**
+	 * Estimates the sizes of the instances of the given type. At most the
+	 * maximum number of objects are taken as instances.
+	 *
+	 * @param type type
+	 * @param monitor progress monitor or <code>null</code>
+	 * @return estimated sizes
+	 * @throws DebugException if the target does not support instance
+	 *             retrieval, or the objects cannot be read
+	 */
+	public Estimate estimate(IJavaReferenceType type, IProgressMonitor monitor) throws DebugException {
+		if (!fTarget.supportsInstanceRetrieval() || !(type instanceof JDIReferenceType)) {
+			fTarget.requestFailed(JDIDebugModelMessages.RetainedSizeEstimator_not_supported, null);
+		}
+		List<ObjectReference> roots = null;
+		try {
+			roots = ((ReferenceType) ((JDIReferenceType) type).getUnderlyingType()).instances(fMaxObjects);
+		} catch (RuntimeException e) {
+			fTarget.targetRequestFailed(JDIDebugModelMessages.RetainedSizeEstimator_failed, e);
+		}
+		return estimate(roots, monitor);
+	}
+
+	private Estimate estimate(List<ObjectReference> roots, IProgressMonitor monitor) throws DebugException {
+		long deadline = System.currentTimeMillis() + fTimeLimit;
+		SubMonitor progress = SubMonitor.convert(monitor, JDIDebugModelMessages.RetainedSizeEstimator_estimating, 2);
+		Map<Long, Node> nodes = new HashMap<>();
+		List<Node> frontier = new ArrayList<>();
+		for (ObjectReference root : roots) {
+			Long id = Long.valueOf(root.uniqueID());
+			if (!nodes.containsKey(id)) {
+				Node node = new Node(root, true);
+				nodes.put(id, node);
+				frontier.add(node);
+			}
+		}
+		List<Node> walked = new ArrayList<>(0);
+		AtomicBoolean truncated = new AtomicBoolean();
+		boolean checkReferrers = fTarget.supportsInstanceRetrieval();
+		ExecutorService executor = null;
+		if (fConcurrency > 1) {
+			AtomicInteger number = new AtomicInteger();
+			executor = Executors.newFixedThreadPool(fConcurrency, runnable -> {
+				Thread thread = new Thread(runnable, "Retained Size " + number.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		try {
+			SubMonitor walk = progress.split(1);
+			for (int depth = 0; !frontier.isEmpty(); depth++) {
+				walk.setWorkRemaining(fMaxDepth - depth + 2);
+				List<Expansion> expansions = map(executor, frontier, deadline, truncated, node -> expand(node.fObject));
+				walk.split(1);
+				List<Node> next = new ArrayList<>();
+				for (int i = 0; i < expansions.size(); i++) {
+					Expansion expansion = expansions.get(i);
+					if (expansion == null) {
+						continue;
+					}
+					Node node = frontier.get(i);
+					node.fExpanded = true;
+					node.fSize = expansion.fSize;
+					for (ObjectReference reference : expansion.fReferences) {
+						Long id = Long.valueOf(reference.uniqueID());
+						Node child = nodes.get(id);
+						if (child == null) {
+							if (depth >= fMaxDepth || nodes.size() >= fMaxObjects) {
+								truncated.set(true);
+								continue;
+							}
+							child = new Node(reference, false);
+							nodes.put(id, child);
+							next.add(child);
+						}
+						if (node.fChildren.add(child)) {
+							child.fReferrers++;
+						}
+					}
+				}
+				frontier = next;
+			}
+			walked = new ArrayList<>(nodes.values());
+			for (int i = 0; i < walked.size(); i++) {
+				walked.get(i).fIndex = i + 2;
+			}
+			if (checkReferrers) {
+				checkReferrers(walked, executor, deadline, truncated);
+			}
+			progress.split(1);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			fTarget.targetRequestFailed(JDIDebugModelMessages.RetainedSizeEstimator_failed, e.getCause());
+		} catch (RuntimeException e) {
+			if (e instanceof OperationCanceledException) {
+				throw e;
+			}
+			fTarget.targetRequestFailed(JDIDebugModelMessages.RetainedSizeEstimator_failed, e);
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+		return retain(walked, truncated.get(), checkReferrers);
+	}
+
+	/**
+	 * Marks the walked objects referred to from outside the walk. Objects are
+	 * asked about in batches, from the selected objects down the dominator
+	 * tree of the walked objects, skipping the objects dominated by one that
+	 * is referred to from outside.
+	 */
+	private void checkReferrers(List<Node> nodes, ExecutorService executor, long deadline, AtomicBoolean truncated) throws InterruptedException, ExecutionException {
+		Dominators dominators = new Dominators(nodes);
+		Deque<Integer> queue = new ArrayDeque<>();
+		dominators.addChildren(SELECTION, queue);
+		int checks = 0;
+		while (!queue.isEmpty()) {
+			List<Node> batch = new ArrayList<>();
+			while (!queue.isEmpty() && batch.size() < REFERRER_BATCH) {
+				int index = queue.removeFirst().intValue();
+				Node node = nodes.get(index - 2);
+				if (node.fRoot) {
+					dominators.addChildren(index, queue);
+				} else if (checks < fMaxReferrerChecks) {
+					batch.add(node);
+					checks++;
+				} else {
+					node.fExternal = true;
+					truncated.set(true);
+				}
+			}
+			List<Boolean> external = map(executor, batch, deadline, truncated, node -> Boolean.valueOf(node.fObject.referringObjects(node.fReferrers + 1).size() > node.fReferrers));
+			for (int i = 0; i < batch.size(); i++) {
+				Node node = batch.get(i);
+				// unchecked objects count as referred to from outside
+				node.fExternal = !Boolean.FALSE.equals(external.get(i));
+				if (!node.fExternal) {
+					dominators.addChildren(node.fIndex, queue);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sums up the sizes of the walked objects and of those dominated by the
+	 * selected objects.
+	 */
+	private static Estimate retain(List<Node> nodes, boolean truncated, boolean referrersChecked) {
+		Dominators dominators = new Dominators(nodes);
+		long shallow = 0;
+		long reachable = 0;
+		long retained = 0;
+		int roots = 0;
+		int expanded = 0;
+		int retainedCount = 0;
+		for (Node node : nodes) {
+			if (node.fRoot) {
+				shallow += node.fSize;
+				roots++;
+			}
+			if (node.fExpanded) {
+				reachable += node.fSize;
+				expanded++;
+			}
+			if (dominators.isRetained(node.fIndex)) {
+				retained += node.fSize;
+				retainedCount++;
+			}
+		}
+		return new Estimate(shallow, retained, reachable, roots, retainedCount, expanded, truncated, referrersChecked);
+	}
+
+	/**
+	 * Immediate dominators of the walked objects, computed with the iterative
+	 * algorithm of Cooper, Harvey and Kennedy. The graph is entered at
+	 * {@link #OUTSIDE}, which refers to {@link #SELECTION} and to the objects
+	 * that were not walked or are referred to from outside the walk.
+	 * {@link #SELECTION} refers to the selected objects, and references
+	 * between walked objects to the selected objects are left out, so that
+	 * the objects dominated by {@link #SELECTION} are those retained by the
+	 * selected objects. Walked objects have the index of their node.
+	 */
+	private static class Dominators {
+
+		/**
+		 * Immediate dominator of each node, or -1 if not reachable
+		 */
+		private final int[] fDominators;
+
+		/**
+		 * Reachable nodes in reverse postorder
+		 */
+		private final int[] fOrder;
+
+		/**
+		 * Whether each node is dominated by {@link #SELECTION}
+		 */
+		private final boolean[] fRetained;
+
+		/**
+		 * First child and next sibling of each node in the dominator tree, or
+		 * -1
+		 */
+		private int[] fFirstChild;
+		private int[] fNextSibling;
+
+		Dominators(List<Node> nodes) {
+			int size = nodes.size() + 2;
+			int[][] successors = new int[size][];
+			int[] predecessorCounts = new int[size];
+			List<Node> outside = new ArrayList<>();
+			int[] selection = new int[nodes.size()];
+			int roots = 0;
+			for (Node node : nodes) {
+				if (node.fRoot) {
+					selection[roots++] = node.fIndex;
+				} else if (!node.fExpanded || node.fExternal) {
+					outside.add(node);
+				}
+				int count = 0;
+				int[] children = new int[node.fChildren.size()];
+				for (Node child : node.fChildren) {
+					if (!child.fRoot) {
+						children[count++] = child.fIndex;
+					}
+				}
+				successors[node.fIndex] = Arrays.copyOf(children, count);
+			}
+			successors[SELECTION] = Arrays.copyOf(selection, roots);
+			successors[OUTSIDE] = new int[outside.size() + 1];
+			successors[OUTSIDE][0] = SELECTION;
+			for (int i = 0; i < outside.size(); i++) {
+				successors[OUTSIDE][i + 1] = outside.get(i).fIndex;
+			}
+			for (int[] targets : successors) {
+				for (int target : targets) {
+					predecessorCounts[target]++;
+				}
+			}
+			int[][] predecessors = new int[size][];
+			for (int i = 0; i < size; i++) {
+				predecessors[i] = new int[predecessorCounts[i]];
+				predecessorCounts[i] = 0;
+			}
+			for (int i = 0; i < size; i++) {
+				for (int target : successors[i]) {
+					predecessors[target][predecessorCounts[target]++] = i;
+				}
+			}
+
+			// postorder numbers from a depth first search
+			int[] postorder = new int[size];
+			Arrays.fill(postorder, -1);
+			boolean[] visited = new boolean[size];
+			int[] stack = new int[size];
+			int[] next = new int[size];
+			int top = 0;
+			int count = 0;
+			stack[0] = OUTSIDE;
+			visited[OUTSIDE] = true;
+			while (top >= 0) {
+				int node = stack[top];
+				if (next[node] < successors[node].length) {
+					int successor = successors[node][next[node]++];
+					if (!visited[successor]) {
+						visited[successor] = true;
+						stack[++top] = successor;
+					}
+				} else {
+					postorder[node] = count++;
+					top--;
+				}
+			}
+			fOrder = new int[count];
+			for (int i = 0; i < size; i++) {
+				if (postorder[i] >= 0) {
+					fOrder[count - 1 - postorder[i]] = i;
+				}
+			}
+
+			fDominators = new int[size];
+			Arrays.fill(fDominators, -1);
+			fDominators[OUTSIDE] = OUTSIDE;
+			boolean changed = true;
+			while (changed) {
+				changed = false;
+				for (int i = 1; i < fOrder.length; i++) {
+					int node = fOrder[i];
+					int dominator = -1;
+					for (int predecessor : predecessors[node]) {
+						if (fDominators[predecessor] != -1) {
+							dominator = dominator == -1 ? predecessor : intersect(predecessor, dominator, postorder);
+						}
+					}
+					if (fDominators[node] != dominator) {
+						fDominators[node] = dominator;
+						changed = true;
+					}
+				}
+			}
+
+			fRetained = new boolean[size];
+			for (int i = 1; i < fOrder.length; i++) {
+				int node = fOrder[i];
+				int dominator = fDominators[node];
+				fRetained[node] = dominator == SELECTION || fRetained[dominator];
+			}
+		}
+
+		private int intersect(int first, int second, int[] postorder) {
+			while (first != second) {
+				while (postorder[first] < postorder[second]) {
+					first = fDominators[first];
+				}
+				while (postorder[second] < postorder[first]) {
+					second = fDominators[second];
+				}
+			}
+			return first;
+		}
+
+		/**
+		 * @return whether the given node is dominated by {@link #SELECTION}
+		 */
+		boolean isRetained(int node) {
+			return fRetained[node];
+		}
+
+		/**
+		 * Adds the nodes immediately dominated by the given node to the given
+		 * queue.
+		 */
+		void addChildren(int node, Deque<Integer> queue) {
+			if (fFirstChild == null) {
+				fFirstChild = new int[fDominators.length];
+				fNextSibling = new int[fDominators.length];
+				Arrays.fill(fFirstChild, -1);
+				for (int i = fOrder.length - 1; i > 0; i--) {
+					int child = fOrder[i];
+					int dominator = fDominators[child];
+					fNextSibling[child] = fFirstChild[dominator];
+					fFirstChild[dominator] = child;
+				}
+			}
+			for (int child = fFirstChild[node]; child != -1; child = fNextSibling[child]) {
+				queue.addLast(Integer.valueOf(child));
+			}
+		}
+	}
+
+	private interface Reader<T> {
+		T read(Node node);
+	}
+
+	/**
+	 * Reads the given objects, with the executor if any. Objects that are
+	 * collected or not read before the deadline have a <code>null</code>
+	 * result.
+	 */
+	private static <T> List<T> map(ExecutorService executor, List<Node> nodes, long deadline, AtomicBoolean truncated, Reader<T> reader) throws InterruptedException, ExecutionException {
+		Object[] results = new Object[nodes.size()];
+		if (executor == null || nodes.size() < 2) {
+			read(nodes, 0, nodes.size(), results, deadline, truncated, reader);
+		} else {
+			int chunk = Math.max(16, (nodes.size() + 63) / 64);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int start = 0; start < nodes.size(); start += chunk) {
+				int from = start;
+				int to = Math.min(nodes.size(), start + chunk);
+				futures.add(executor.submit(() -> read(nodes, from, to, results, deadline, truncated, reader)));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		List<T> list = new ArrayList<>(results.length);
+		for (Object result : results) {
+			@SuppressWarnings("unchecked")
+			T value = (T) result;
+			list.add(value);
+		}
+		return list;
+	}
+
+	private static <T> void read(List<Node> nodes, int from, int to, Object[] results, long deadline, AtomicBoolean truncated, Reader<T> reader) {
+		for (int i = from; i < to; i++) {
+			if (System.currentTimeMillis() > deadline) {
+				truncated.set(true);
+				return;
+			}
+			try {
+				results[i] = reader.read(nodes.get(i));
+			} catch (ObjectCollectedException e) {
+				// not walked
+			}
+		}
+	}
+
+	/**
+	 * Reads the size of an object and the objects it refers to.
+	 */
+	private Expansion expand(ObjectReference object) {
+		Expansion expansion = new Expansion();
+		TypeInfo info = getTypeInfo(object.referenceType());
+		if (object instanceof ArrayReference) {
+			ArrayReference array = (ArrayReference) object;
+			int length = array.length();
+			expansion.fSize = align(ARRAY_HEADER + length * info.fSize);
+			if (info.fReferenceElements) {
+				int end = Math.min(length, fMaxObjects);
+				for (int start = 0; start < end; start += ARRAY_CHUNK) {
+					addReferences(expansion, array.getValues(start, Math.min(ARRAY_CHUNK, end - start)));
+				}
+			}
+		} else {
+			expansion.fSize = info.fSize;
+			if (!info.fReferenceFields.isEmpty()) {
+				addReferences(expansion, object.getValues(info.fReferenceFields).values());
+			}
+		}
+		return expansion;
+	}
+
+	private static void addReferences(Expansion expansion, Iterable<? extends Value> values) {
+		for (Value value : values) {
+			if (value instanceof ObjectReference && !(value instanceof ClassObjectReference || value instanceof ClassLoaderReference || value instanceof ThreadReference || value instanceof ThreadGroupReference)) {
+				expansion.fReferences.add((ObjectReference) value);
+			}
+		}
+	}
+
+	private TypeInfo getTypeInfo(ReferenceType type) {
+		TypeInfo info = fTypes.get(type);
+		if (info != null) {
+			return info;
+		}
+		info = new TypeInfo();
+		if (type instanceof ArrayType) {
+			char component = ((ArrayType) type).componentSignature().charAt(0);
+			info.fSize = sizeOf(component);
+			info.fReferenceElements = component == 'L' || component == '[';
+		} else {
+			long size = OBJECT_HEADER;
+			List<Field> fields = new ArrayList<>();
+			for (Field field : type.allFields()) {
+				if (!field.isStatic()) {
+					char signature = field.signature().charAt(0);
+					size += sizeOf(signature);
+					if (signature == 'L' || signature == '[') {
+						fields.add(field);
+					}
+				}
+			}
+			info.fSize = align(size);
+			info.fReferenceFields = fields;
+		}
+		fTypes.put(type, info);
+		return info;
+	}
+
+	private static int sizeOf(char signature) {
+		switch (signature) {
+			case 'Z':
+			case 'B':
+				return 1;
+			case 'C':
+			case 'S':
+				return 2;
+			case 'J':
+			case 'D':
+				return 8;
+			case 'I':
+			case 'F':
+				return 4;
+			default:
+				return REFERENCE_SIZE;
+		}
+	}
+
+	private static long align(long size) {
+		return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+	}
+}
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.Field;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.VMDisconnectedException;
+import com.sun.jdi.Value;
+
+/**
+ * The values read from a debug target while it stays suspended: the values of
+ * the visible locals of each stack frame, and of the fields of each object and
+ * type. Values are read a whole frame, object or type at a time, with one
+ * request, the first time one of them is asked for, and are not read again
+ * until the snapshot is discarded.
+ * <p>
+ * A debug target discards its snapshot when one of its threads resumes, for
+ * any reason including method invocations, or suspends, and when a variable is
+ * modified.
+ * Each snapshot has the epoch of the target at the time it was created.
+ * Locals are kept as long as the snapshot is, as only the thread of a frame
+ * changes them. Fields are only kept when all threads of the target were
+ * suspended when the snapshot was created, as running threads could change
+ * them.
+ * </p>
+ */
+public class SuspendSnapshot {
+
+	/**
+	 * Values of the locals of a stack frame, read from the given underlying
+	 * frame
+	 */
+	private static class FrameValues {
+		final StackFrame fFrame;
+		final Map<LocalVariable, Value> fValues;
+
+		FrameValues(StackFrame frame, Map<LocalVariable, Value> values) {
+			fFrame = frame;
+			fValues = values;
+		}
+	}
+
+	private final int fEpoch;
+
+	private final boolean fFieldsStable;
+
+	private final Map<JDIStackFrame, FrameValues> fFrames = new HashMap<>();
+
+	private final Map<ObjectReference, Map<Field, Value>> fObjects = new HashMap<>();
+
+	private final Map<ReferenceType, Map<Field, Value>> fTypes = new HashMap<>();
+
+	/**
+	 * Constructs an empty snapshot.
+	 *
+	 * @param epoch
+	 *            the epoch of the target
+	 * @param fieldsStable
+	 *            whether all threads of the target are suspended, so that
+	 *            field values can be kept
+	 */
+	public SuspendSnapshot(int epoch, boolean fieldsStable) {
+		fEpoch = epoch;
+		fFieldsStable = fieldsStable;
+	}
+
+	/**
+	 * Returns the epoch of the target when this snapshot was created.
+	 *
+	 * @return epoch
+	 */
+	public int getEpoch() {
+		return fEpoch;
+	}
+
+	/**
+	 * Returns the value of the given local in the given stack frame, reading
+	 * the values of all visible locals of the frame when it was not read yet.
+	 *
+	 * @param stackFrame
+	 *            the stack frame
+	 * @param frame
+	 *            the underlying stack frame
+	 * @param local
+	 *            a local variable of the frame
+	 * @return the value
+	 */
+	public Value getValue(JDIStackFrame stackFrame, StackFrame frame, LocalVariable local) {
+		FrameValues values;
+		synchronized (this) {
+			values = fFrames.get(stackFrame);
+		}
+		if (values == null || values.fFrame != frame || !values.fValues.containsKey(local)) {
+			List<LocalVariable> locals;
+			try {
+				locals = new ArrayList<>(frame.visibleVariables());
+			} catch (AbsentInformationException e) {
+				locals = new ArrayList<>(1);
+			}
+			if (!locals.contains(local)) {
+				locals.add(local);
+			}
+			Map<LocalVariable, Value> read;
+			try {
+				read = frame.getValues(locals);
+			} catch (VMDisconnectedException e) {
+				throw e;
+			} catch (RuntimeException e) {
+				// a local the frame cannot read, such as an unassigned slot
+				return frame.getValue(local);
+			}
+			values = new FrameValues(frame, Collections.unmodifiableMap(new HashMap<>(read)));
+			synchronized (this) {
+				fFrames.put(stackFrame, values);
+			}
+		}
+		return values.fValues.get(local);
+	}
+
+	/**
+	 * Returns whether field values are kept, as all threads of the target were
+	 * suspended when this snapshot was created.
+	 *
+	 * @return whether field values are kept
+	 */
+	public boolean isFieldsStable() {
+		return fFieldsStable;
+	}
+
+	/**
+	 * Returns the value of the given instance field of the given object,
+	 * reading the values of all instance fields of the object when it was not
+	 * read yet.
+	 *
+	 * @param object
+	 *            the object
+	 * @param field
+	 *            an instance field of the object
+	 * @return the value
+	 */
+	public Value getValue(ObjectReference object, Field field) {
+		if (!fFieldsStable) {
+			return object.getValue(field);
+		}
+		Map<Field, Value> values;
+		synchronized (this) {
+			values = fObjects.get(object);
+		}
+		if (values == null || !values.containsKey(field)) {
+			values = read(object, field);
+		}
+		return values.get(field);
+	}
+
+	/**
+	 * Reads the values of all instance fields of the given object, unless they
+	 * are read already or field values are not kept.
+	 *
+	 * @param object
+	 *            the object
+	 */
+	public void readValues(ObjectReference object) {
+		if (!fFieldsStable) {
+			return;
+		}
+		synchronized (this) {
+			if (fObjects.containsKey(object)) {
+				return;
+			}
+		}
+		read(object, null);
+	}
+
+	/**
+	 * Reads and keeps the values of all instance fields of the given object and
+	 * of the given field, if any.
+	 */
+	private Map<Field, Value> read(ObjectReference object, Field field) {
+		List<Field> fields = new ArrayList<>();
+		for (Field each : object.referenceType().allFields()) {
+			if (!each.isStatic()) {
+				fields.add(each);
+			}
+		}
+		if (field != null && !fields.contains(field)) {
+			fields.add(field);
+		}
+		Map<Field, Value> values = Collections.unmodifiableMap(new HashMap<>(object.getValues(fields)));
+		synchronized (this) {
+			fObjects.put(object, values);
+		}
+		return values;
+	}
+
+	/**
+	 * Returns the value of the given static field, reading the values of all
+	 * static fields of its declaring type when it was not read yet.
+	 *
+	 * @param field
+	 *            a static field
+	 * @return the value
+	 */
+	public Value getValue(Field field) {
+		ReferenceType type = field.declaringType();
+		if (!fFieldsStable) {
+			return type.getValue(field);
+		}
+		Map<Field, Value> values;
+		synchronized (this) {
+			values = fTypes.get(type);
+		}
+		if (values == null || !values.containsKey(field)) {
+			List<Field> fields = new ArrayList<>();
+			for (Field each : type.fields()) {
+				if (each.isStatic()) {
+					fields.add(each);
+				}
+			}
+			if (!fields.contains(field)) {
+				fields.add(field);
+			}
+			values = Collections.unmodifiableMap(new HashMap<>(type.getValues(fields)));
+			synchronized (this) {
+				fTypes.put(type, values);
+			}
+		}
+		return values.get(field);
+	}
+}
@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugException;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.Field;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Method;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.Value;
+
+/**
+ * Records which variables are expanded in each method and frame depth, and
+ * reads their values again when a thread suspends at the same or a nearby
+ * location, before they are asked for.
+ * <p>
+ * The path of an object from the frame it was read in, a local or
+ * <code>this</code> followed by field names, is recorded as its value is read.
+ * When the children of an object with a known path are asked for, the path is
+ * recorded as expanded in the method of its frame. When a thread suspends at a
+ * breakpoint or at the end of a step, a system job resolves the paths expanded
+ * in the method of its top frame, at the same depth or one frame deeper or
+ * shallower, through the suspend snapshot of the target: the locals of the frame
+ * and the fields of each object on the paths are read with one request each.
+ * Fields are only read when the snapshot keeps them. The job stops once its
+ * time budget is spent, or when the thread resumes or the snapshot is
+ * discarded, so that it never delays a resume by more than one request.
+ * </p>
+ * <p>
+ * The budget in milliseconds can be set with the system property
+ * <code>org.eclipse.jdt.internal.debug.core.model.VariablePrefetcher.budget</code>,
+ * 0 disables recording and prefetching.
+ * </p>
+ */
+public class VariablePrefetcher {
+
+	/**
+	 * Default time budget of a prefetch, in milliseconds
+	 */
+	public static final int DEFAULT_BUDGET = Integer.getInteger("org.eclipse.jdt.internal.debug.core.model.VariablePrefetcher.budget", 50).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of objects whose path is remembered
+	 */
+	private static final int MAX_OBJECTS = 512;
+
+	/**
+	 * Maximum number of methods whose expanded paths are remembered
+	 */
+	private static final int MAX_METHODS = 64;
+
+	/**
+	 * Maximum number of expanded paths remembered per method
+	 */
+	private static final int MAX_PATHS = 32;
+
+	/**
+	 * Name of the root of the paths read from the receiver of a frame
+	 */
+	private static final String THIS = "this"; //$NON-NLS-1$
+
+	/**
+	 * The path of an object from the frame it was read in
+	 */
+	private static class Path {
+		final String fMethod;
+		final int fDepth;
+		final String[] fNames;
+
+		Path(String method, int depth, String[] names) {
+			fMethod = method;
+			fDepth = depth;
+			fNames = names;
+		}
+
+		Path append(String name) {
+			String[] names = Arrays.copyOf(fNames, fNames.length + 1);
+			names[fNames.length] = name;
+			return new Path(fMethod, fDepth, names);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof Path) {
+				Path path = (Path) obj;
+				return fDepth == path.fDepth && fMethod.equals(path.fMethod) && Arrays.equals(fNames, path.fNames);
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return (fMethod.hashCode() * 31 + fDepth) * 31 + Arrays.hashCode(fNames);
+		}
+	}
+
+	private final JDIDebugTarget fTarget;
+
+	private final int fBudget;
+
+	/**
+	 * Paths of the objects read lately, in least recently used order
+	 */
+	private final Map<ObjectReference, Path> fObjects = new LinkedHashMap<ObjectReference, Path>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ObjectReference, Path> eldest) {
+			return size() > MAX_OBJECTS;
+		}
+	};
+
+	/**
+	 * Expanded paths by method, in least recently used order
+	 */
+	private final Map<String, Set<Path>> fExpanded = new LinkedHashMap<String, Set<Path>>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Set<Path>> eldest) {
+			return size() > MAX_METHODS;
+		}
+	};
+
+	/**
+	 * Constructs a prefetcher for the given target.
+	 *
+	 * @param target
+	 *            the debug target
+	 * @param budget
+	 *            time budget of a prefetch in milliseconds, 0 disables the
+	 *            prefetcher
+	 */
+	public VariablePrefetcher(JDIDebugTarget target, int budget) {
+		fTarget = target;
+		fBudget = Math.max(0, budget);
+	}
+
+	/**
+	 * Returns whether paths are recorded and prefetched.
+	 *
+	 * @return whether this prefetcher is enabled
+	 */
+	public boolean isEnabled() {
+		return fBudget > 0;
+	}
+
+	/**
+	 * Notes that the given value was read from a local variable or the
+	 * receiver of the given frame.
+	 *
+	 * @param frame
+	 *            the stack frame
+	 * @param name
+	 *            the name of the local variable, or <code>null</code> for the
+	 *            receiver
+	 * @param value
+	 *            the value read
+	 */
+	public void rootRead(JDIStackFrame frame, String name, Value value) {
+		if (!isEnabled() || !isObject(value)) {
+			return;
+		}
+		Path path = new Path(getMethodKey(frame.getUnderlyingMethod()), frame.getDepth(), new String[] { name == null ? THIS : name });
+		synchronized (this) {
+			fObjects.put((ObjectReference) value, path);
+		}
+	}
+
+	/**
+	 * Notes that the given value was read from the given field of the given
+	 * object.
+	 *
+	 * @param object
+	 *            the object
+	 * @param field
+	 *            an instance field of the object
+	 * @param value
+	 *            the value read
+	 */
+	public void fieldRead(ObjectReference object, Field field, Value value) {
+		if (!isEnabled() || !isObject(value)) {
+			return;
+		}
+		synchronized (this) {
+			Path parent = fObjects.get(object);
+			if (parent != null) {
+				fObjects.put((ObjectReference) value, parent.append(field.name()));
+			}
+		}
+	}
+
+	/**
+	 * Notes that the children of the given object are asked for, recording its
+	 * path as expanded when it is known.
+	 *
+	 * @param object
+	 *            the object
+	 */
+	public void expanded(ObjectReference object) {
+		if (!isEnabled() || object instanceof ArrayReference) {
+			return;
+		}
+		synchronized (this) {
+			Path path = fObjects.get(object);
+			if (path == null) {
+				return;
+			}
+			Set<Path> paths = fExpanded.get(path.fMethod);
+			if (paths == null) {
+				paths = new LinkedHashSet<>();
+				fExpanded.put(path.fMethod, paths);
+			}
+			// keep the latest paths last
+			paths.remove(path);
+			paths.add(path);
+			Iterator<Path> iter = paths.iterator();
+			while (paths.size() > MAX_PATHS && iter.hasNext()) {
+				iter.next();
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Schedules a prefetch of the paths expanded at the location the given
+	 * thread suspended at.
+	 *
+	 * @param thread
+	 *            a suspended thread
+	 */
+	public void suspended(final JDIThread thread) {
+		if (!isEnabled()) {
+			return;
+		}
+		synchronized (this) {
+			if (fExpanded.isEmpty()) {
+				return;
+			}
+		}
+		Job job = new Job(JDIDebugModelMessages.JDIDebugTarget_VariablePrefetch) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				prefetch(thread, monitor);
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.setPriority(Job.SHORT);
+		job.schedule();
+	}
+
+	/**
+	 * Reads the values of the paths expanded at the location of the top frame
+	 * of the given thread into the suspend snapshot of the target, until the
+	 * time budget is spent.
+	 *
+	 * @param thread
+	 *            a suspended thread
+	 * @param monitor
+	 *            progress monitor
+	 * @return the number of paths read entirely
+	 */
+	public int prefetch(JDIThread thread, IProgressMonitor monitor) {
+		long deadline = System.currentTimeMillis() + fBudget;
+		SuspendSnapshot snapshot = fTarget.getSnapshot();
+		JDIStackFrame frame;
+		try {
+			if (!thread.isSuspended()) {
+				return 0;
+			}
+			frame = (JDIStackFrame) thread.getTopStackFrame();
+		} catch (DebugException | RuntimeException e) {
+			return 0;
+		}
+		if (frame == null) {
+			return 0;
+		}
+		String method = getMethodKey(frame.getUnderlyingMethod());
+		int depth = frame.getDepth();
+		List<Path> paths = new ArrayList<>();
+		synchronized (this) {
+			Set<Path> expanded = fExpanded.get(method);
+			if (expanded == null) {
+				return 0;
+			}
+			for (Path path : expanded) {
+				if (Math.abs(path.fDepth - depth) <= 1) {
+					paths.add(path);
+				}
+			}
+		}
+		// shorter paths first, so that a spent budget leaves the outer levels
+		paths.sort((a, b) -> a.fNames.length - b.fNames.length);
+		int read = 0;
+		for (Path path : paths) {
+			if (!isCurrent(thread, snapshot, deadline, monitor)) {
+				break;
+			}
+			try {
+				if (prefetch(thread, frame, path, snapshot, deadline, monitor)) {
+					read++;
+				}
+			} catch (DebugException | AbsentInformationException | RuntimeException e) {
+				// the frame is gone, an object was collected or the target
+				// disconnected
+				break;
+			}
+		}
+		return read;
+	}
+
+	/**
+	 * Reads the values along the given path and the fields of the object at
+	 * its end, returning whether all were read.
+	 */
+	private boolean prefetch(JDIThread thread, JDIStackFrame frame, Path path, SuspendSnapshot snapshot, long deadline, IProgressMonitor monitor) throws DebugException, AbsentInformationException {
+		Value value;
+		synchronized (thread) {
+			if (!thread.isSuspended()) {
+				return false;
+			}
+			String root = path.fNames[0];
+			if (THIS.equals(root)) {
+				value = frame.getUnderlyingThisObject();
+			} else {
+				StackFrame underlying = frame.getUnderlyingStackFrame();
+				LocalVariable local = underlying.visibleVariableByName(root);
+				if (local == null) {
+					return false;
+				}
+				value = snapshot.getValue(frame, underlying, local);
+			}
+		}
+		if (!snapshot.isFieldsStable()) {
+			return path.fNames.length == 1;
+		}
+		for (int i = 1; i <= path.fNames.length; i++) {
+			if (!isObject(value) || !isCurrent(thread, snapshot, deadline, monitor)) {
+				return false;
+			}
+			ObjectReference object = (ObjectReference) value;
+			if (i == path.fNames.length) {
+				// the children of the expanded object
+				snapshot.readValues(object);
+				return true;
+			}
+			Field field = object.referenceType().fieldByName(path.fNames[i]);
+			if (field == null || field.isStatic()) {
+				return false;
+			}
+			value = snapshot.getValue(object, field);
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the prefetch for a suspend of the given thread can go
+	 * on.
+	 */
+	private boolean isCurrent(JDIThread thread, SuspendSnapshot snapshot, long deadline, IProgressMonitor monitor) {
+		return !monitor.isCanceled() && System.currentTimeMillis() < deadline && thread.isSuspended()
+				&& fTarget.getSnapshot() == snapshot;
+	}
+
+	private static boolean isObject(Value value) {
+		return value instanceof ObjectReference && !(value instanceof ArrayReference);
+	}
+
+	private static String getMethodKey(Method method) {
+		return method.declaringType().name() + '.' + method.name() + method.signature();
+	}
+}
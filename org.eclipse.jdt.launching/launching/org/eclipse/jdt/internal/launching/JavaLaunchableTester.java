@@ -597,6 +597,55 @@ public class JavaLaunchableTester extends PropertyTester {
 				}
 			}
 		}
+		LaunchableTesterCache cache = element == null ? null : LaunchableTesterCache.getDefault();
+		if (cache == null || !isCacheable(property)) {
+			return test(element, property, args);
+		}
+		String key = LaunchableTesterCache.getKey(element, property, args);
+		Boolean cached = cache.get(key);
+		if (cached != null) {
+			return cached.booleanValue();
+		}
+		long stamp = cache.getStamp();
+		boolean result = test(element, property, args);
+		cache.put(key, element, isGlobal(property), result, stamp);
+		return result;
+	}
+
+	/**
+	 * Returns whether results of the given property are worth caching.
+	 *
+	 * @param property the property
+	 * @return whether to cache results of the property
+	 */
+	private static boolean isCacheable(String property) {
+		return PROPERTY_HAS_MAIN.equals(property) || PROPERTY_HAS_METHOD.equals(property)
+				|| PROPERTY_HAS_METHOD_WITH_ANNOTATION.equals(property) || PROPERTY_HAS_TYPE_WITH_ANNOTATION.equals(property)
+				|| isGlobal(property);
+	}
+
+	/**
+	 * Returns whether results of the given property depend on other elements
+	 * than the compilation unit or class file of the tested element, as type
+	 * hierarchies and build paths do.
+	 *
+	 * @param property the property
+	 * @return whether the property depends on the whole Java model
+	 */
+	private static boolean isGlobal(String property) {
+		return PROPERTY_EXTENDS_CLASS.equals(property) || PROPERTY_EXTENDS_INTERFACE.equals(property)
+				|| PROPERTY_BUILDPATH_REFERENCE.equals(property);
+	}
+
+	/**
+	 * Tests a property of the given Java element, without caching.
+	 *
+	 * @param element the element, possibly <code>null</code>
+	 * @param property the property
+	 * @param args the arguments of the test
+	 * @return whether the element has the property
+	 */
+	private boolean test(IJavaElement element, String property, Object[] args) {
 		if(PROPERTY_HAS_MAIN.equals(property)) {
 			return hasMain(element);
 		}
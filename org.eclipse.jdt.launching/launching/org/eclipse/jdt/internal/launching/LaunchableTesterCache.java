@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.launching;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * A bounded cache of the results of {@link JavaLaunchableTester}, which is
+ * asked the same questions for the same elements each time the Run As and
+ * Debug As menus or launch shortcuts are evaluated.
+ * <p>
+ * Results are keyed by element handle, property and arguments, and kept in
+ * least recently used order. Each result depends either on the compilation
+ * unit or class file of its element, and is dropped when a Java element delta
+ * (including reconcile deltas of working copies) changes that unit, one of its
+ * members or one of its parents, or on the whole Java model, as type
+ * hierarchies and build paths do, and is dropped on any delta.
+ * </p>
+ * <p>
+ * The capacity can be set with the system property
+ * <code>org.eclipse.jdt.launching.launchableTesterCacheSize</code>, 0 disables
+ * the cache.
+ * </p>
+ */
+public class LaunchableTesterCache implements IElementChangedListener {
+
+	/**
+	 * Default maximum number of cached results
+	 */
+	public static final int DEFAULT_CAPACITY = 2048;
+
+	/**
+	 * System property that can be used to override the default capacity
+	 */
+	private static final String CAPACITY_PROPERTY = "org.eclipse.jdt.launching.launchableTesterCacheSize"; //$NON-NLS-1$
+
+	private static LaunchableTesterCache fgDefault;
+
+	/**
+	 * A cached result with the handle of the element it depends on
+	 */
+	private static class Entry {
+		final String fDependency;
+		final boolean fValue;
+
+		Entry(String dependency, boolean value) {
+			fDependency = dependency;
+			fValue = value;
+		}
+	}
+
+	/**
+	 * Results keyed by element handle, property and arguments, in access order
+	 */
+	private final LinkedHashMap<String, Entry> fEntries = new LinkedHashMap<>(64, 0.75f, true);
+
+	private final int fCapacity;
+
+	/**
+	 * Incremented by each invalidation, so that results computed meanwhile
+	 * are not cached
+	 */
+	private long fStamp = 0;
+
+	/**
+	 * Returns the shared cache used by the launchable tester, listening to
+	 * Java element changes once created, or <code>null</code> if the cache is
+	 * disabled.
+	 *
+	 * @return the shared cache or <code>null</code>
+	 */
+	public static synchronized LaunchableTesterCache getDefault() {
+		if (fgDefault == null) {
+			int capacity = Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY).intValue();
+			if (capacity <= 0) {
+				return null;
+			}
+			fgDefault = new LaunchableTesterCache(capacity);
+			JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Stops listening to Java element changes and discards the shared cache.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			fgDefault = null;
+		}
+	}
+
+	/**
+	 * Constructs a cache that keeps at most <code>capacity</code> results.
+	 *
+	 * @param capacity maximum number of results, at least 1
+	 */
+	public LaunchableTesterCache(int capacity) {
+		fCapacity = Math.max(1, capacity);
+	}
+
+	/**
+	 * Returns the key of a result.
+	 *
+	 * @param element the tested element
+	 * @param property the tested property
+	 * @param args the arguments of the test, or <code>null</code>
+	 * @return the key
+	 */
+	public static String getKey(IJavaElement element, String property, Object[] args) {
+		return element.getHandleIdentifier() + '\n' + property + '\n' + Arrays.toString(args);
+	}
+
+	/**
+	 * Returns the cached result with the given key, or <code>null</code> if
+	 * none.
+	 *
+	 * @param key key from {@link #getKey(IJavaElement, String, Object[])}
+	 * @return the result or <code>null</code>
+	 */
+	public synchronized Boolean get(String key) {
+		Entry entry = fEntries.get(key);
+		return entry == null ? null : Boolean.valueOf(entry.fValue);
+	}
+
+	/**
+	 * Returns a stamp to pass to {@link #put(String, IJavaElement, boolean, boolean, long)}
+	 * once a result is computed.
+	 *
+	 * @return the current stamp
+	 */
+	public synchronized long getStamp() {
+		return fStamp;
+	}
+
+	/**
+	 * Caches a result, unless the cache was invalidated since the given stamp
+	 * was returned.
+	 *
+	 * @param key key from {@link #getKey(IJavaElement, String, Object[])}
+	 * @param element the tested element
+	 * @param global whether the result depends on other elements than the
+	 *            compilation unit or class file of the element
+	 * @param value the result
+	 * @param stamp stamp from {@link #getStamp()} taken before the result was
+	 *            computed
+	 */
+	public synchronized void put(String key, IJavaElement element, boolean global, boolean value, long stamp) {
+		if (stamp != fStamp) {
+			return;
+		}
+		fEntries.put(key, new Entry(global ? null : getDependency(element), value));
+		Iterator<Entry> iter = fEntries.values().iterator();
+		while (fEntries.size() > fCapacity && iter.hasNext()) {
+			iter.next();
+			iter.remove();
+		}
+	}
+
+	/**
+	 * Removes all results.
+	 */
+	public synchronized void clear() {
+		fStamp++;
+		fEntries.clear();
+	}
+
+	/**
+	 * Returns the number of cached results.
+	 *
+	 * @return number of results
+	 */
+	public synchronized int size() {
+		return fEntries.size();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		IJavaElementDelta delta = event.getDelta();
+		synchronized (this) {
+			fStamp++;
+			if (fEntries.isEmpty()) {
+				return;
+			}
+			invalidate(delta);
+		}
+	}
+
+	/**
+	 * Removes the results depending on the elements changed by the given delta
+	 * and its children, and all global results.
+	 */
+	private void invalidate(IJavaElementDelta delta) {
+		boolean changed = delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0;
+		String handle = delta.getElement().getHandleIdentifier();
+		Iterator<Entry> iter = fEntries.values().iterator();
+		while (iter.hasNext()) {
+			String dependency = iter.next().fDependency;
+			// members of a unit start with its handle, as a unit with the handles of its parents
+			if (dependency == null || changed && (dependency.startsWith(handle) || handle.startsWith(dependency))) {
+				iter.remove();
+			}
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (fEntries.isEmpty()) {
+				return;
+			}
+			invalidate(child);
+		}
+	}
+
+	/**
+	 * Returns the handle of the compilation unit or class file of the given
+	 * element, or of the element itself when it is not in one.
+	 */
+	private static String getDependency(IJavaElement element) {
+		IJavaElement unit = element.getAncestor(IJavaElement.COMPILATION_UNIT);
+		if (unit == null) {
+			unit = element.getAncestor(IJavaElement.CLASS_FILE);
+		}
+		return (unit == null ? element : unit).getHandleIdentifier();
+	}
+}
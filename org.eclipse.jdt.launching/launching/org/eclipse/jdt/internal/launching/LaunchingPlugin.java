@@ -539,6 +539,7 @@ public class LaunchingPlugin extends Plugin implements DebugOptionsListener, IEc
 			DebugPlugin.getDefault().removeDebugEventListener(this);
 			ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
 			ArchiveSourceLocation.closeArchives();
+			LaunchableTesterCache.shutdown();
 			InstanceScope.INSTANCE.getNode(ID_PLUGIN).removePreferenceChangeListener(this);
 			JavaRuntime.removeVMInstallChangedListener(this);
 			JavaRuntime.saveVMConfiguration();
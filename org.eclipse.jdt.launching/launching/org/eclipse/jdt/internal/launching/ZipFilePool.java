@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.launching;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A bounded pool of open zip files shared by archive based source lookup.
+ * <p>
+ * Archives are reference counted: clients {@link #acquire(String)} an archive
+ * and must {@link #release(ZipFile)} it when done. When the pool grows beyond
+ * its capacity the least recently used archives are evicted. An evicted archive
+ * that is still referenced is closed once its last reference is released.
+ * </p>
+ * <p>
+ * Each pooled archive also maintains an index from simple file name to entry
+ * names, built on first use, so that repeated lookups do not rescan the
+ * central directory of the archive.
+ * </p>
+ */
+public class ZipFilePool {
+
+	/**
+	 * Default maximum number of archives kept open
+	 */
+	public static final int DEFAULT_CAPACITY = 32;
+
+	/**
+	 * System property that can be used to override the default capacity
+	 */
+	private static final String CAPACITY_PROPERTY = "org.eclipse.jdt.launching.zipFilePoolSize"; //$NON-NLS-1$
+
+	private static ZipFilePool fgDefault;
+
+	/**
+	 * A pooled archive with its reference count and entry index
+	 */
+	private static class PooledZip {
+		final ZipFile fZip;
+		int fReferences = 0;
+		boolean fEvicted = false;
+		Map<String, List<String>> fIndex = null;
+
+		PooledZip(ZipFile zip) {
+			fZip = zip;
+		}
+	}
+
+	/**
+	 * Pooled archives keyed by archive name, in access order
+	 */
+	private final LinkedHashMap<String, PooledZip> fPool;
+
+	/**
+	 * Archives that have been evicted from the pool but are still referenced
+	 */
+	private final Map<ZipFile, PooledZip> fEvicted = new HashMap<>();
+
+	private final int fCapacity;
+
+	/**
+	 * Returns the shared pool used by source lookup.
+	 *
+	 * @return the shared pool
+	 */
+	public static synchronized ZipFilePool getDefault() {
+		if (fgDefault == null) {
+			fgDefault = new ZipFilePool(Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY).intValue());
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Constructs a pool that keeps at most <code>capacity</code> archives open
+	 * while they are not referenced.
+	 *
+	 * @param capacity maximum number of pooled archives, at least 1
+	 */
+	public ZipFilePool(int capacity) {
+		fCapacity = Math.max(1, capacity);
+		fPool = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Returns the open archive with the given name, opening it if required, and
+	 * increments its reference count. Callers must call {@link #release(ZipFile)}
+	 * when done with the archive.
+	 *
+	 * @param name zip file name
+	 * @return the open archive
+	 * @throws IOException if the archive cannot be opened
+	 */
+	public synchronized ZipFile acquire(String name) throws IOException {
+		PooledZip pooled = fPool.get(name);
+		if (pooled == null) {
+			pooled = new PooledZip(new ZipFile(name));
+			fPool.put(name, pooled);
+			evict();
+		}
+		pooled.fReferences++;
+		return pooled.fZip;
+	}
+
+	/**
+	 * Decrements the reference count of the given archive. An archive that has
+	 * been evicted from the pool is closed when it is no longer referenced.
+	 *
+	 * @param zip an archive previously returned by {@link #acquire(String)}
+	 */
+	public synchronized void release(ZipFile zip) {
+		PooledZip pooled = fEvicted.get(zip);
+		if (pooled == null) {
+			pooled = fPool.get(zip.getName());
+			if (pooled == null || pooled.fZip != zip) {
+				return;
+			}
+		}
+		if (pooled.fReferences > 0) {
+			pooled.fReferences--;
+		}
+		if (pooled.fEvicted && pooled.fReferences == 0) {
+			fEvicted.remove(zip);
+			close(zip);
+		} else {
+			evict();
+		}
+	}
+
+	/**
+	 * Opens an input stream on the given entry of the named archive. The archive
+	 * is referenced until the returned stream is closed.
+	 *
+	 * @param name zip file name
+	 * @param entryName name of the entry
+	 * @return input stream on the entry, or <code>null</code> if the entry does not exist
+	 * @throws IOException if the archive or entry cannot be read
+	 */
+	public InputStream getInputStream(String name, String entryName) throws IOException {
+		ZipFile zip = acquire(name);
+		boolean release = true;
+		try {
+			ZipEntry entry = zip.getEntry(entryName);
+			if (entry == null) {
+				return null;
+			}
+			InputStream stream = zip.getInputStream(entry);
+			release = false;
+			return new FilterInputStream(stream) {
+				private boolean fClosed = false;
+
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						synchronized (this) {
+							if (fClosed) {
+								return;
+							}
+							fClosed = true;
+						}
+						release(zip);
+					}
+				}
+			};
+		} finally {
+			if (release) {
+				release(zip);
+			}
+		}
+	}
+
+	/**
+	 * Returns the names of all entries in the given pooled archive whose simple
+	 * file name (last path segment) is <code>fileName</code>. The index is built
+	 * once per archive and retained while the archive is pooled.
+	 *
+	 * @param zip an archive previously returned by {@link #acquire(String)}
+	 * @param fileName simple file name, for example <code>Foo.java</code>
+	 * @return names of matching entries, possibly empty
+	 */
+	public List<String> getEntryNames(ZipFile zip, String fileName) {
+		PooledZip pooled;
+		synchronized (this) {
+			pooled = fPool.get(zip.getName());
+			if (pooled == null || pooled.fZip != zip) {
+				pooled = fEvicted.get(zip);
+			}
+		}
+		if (pooled == null) {
+			return Collections.emptyList();
+		}
+		synchronized (pooled) {
+			if (pooled.fIndex == null) {
+				pooled.fIndex = buildIndex(zip);
+			}
+			List<String> names = pooled.fIndex.get(fileName);
+			return names == null ? Collections.<String> emptyList() : names;
+		}
+	}
+
+	/**
+	 * Closes all archives in the pool. Archives that are still referenced are
+	 * closed when released.
+	 */
+	public synchronized void closeAll() {
+		Iterator<PooledZip> iter = fPool.values().iterator();
+		while (iter.hasNext()) {
+			PooledZip pooled = iter.next();
+			iter.remove();
+			retire(pooled);
+		}
+	}
+
+	/**
+	 * Returns the number of archives currently held by this pool, including
+	 * evicted archives that are still referenced.
+	 *
+	 * @return number of open archives
+	 */
+	public synchronized int size() {
+		return fPool.size() + fEvicted.size();
+	}
+
+	/**
+	 * Evicts least recently used archives while the pool is over capacity.
+	 */
+	private void evict() {
+		Iterator<PooledZip> iter = fPool.values().iterator();
+		while (fPool.size() > fCapacity && iter.hasNext()) {
+			PooledZip pooled = iter.next();
+			iter.remove();
+			retire(pooled);
+		}
+	}
+
+	/**
+	 * Closes the given archive, or defers closing until it is no longer referenced.
+	 */
+	private void retire(PooledZip pooled) {
+		pooled.fEvicted = true;
+		if (pooled.fReferences == 0) {
+			close(pooled.fZip);
+		} else {
+			fEvicted.put(pooled.fZip, pooled);
+		}
+	}
+
+	private static Map<String, List<String>> buildIndex(ZipFile zip) {
+		Map<String, List<String>> index = new HashMap<>();
+		try {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (entry.isDirectory()) {
+					continue;
+				}
+				String entryName = entry.getName();
+				String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+				List<String> names = index.get(fileName);
+				if (names == null) {
+					names = new ArrayList<>(1);
+					index.put(fileName, names);
+				}
+				names.add(entryName);
+			}
+		} catch (IllegalStateException e) {
+			// the archive has been closed
+		}
+		return index;
+	}
+
+	private static void close(ZipFile zip) {
+		try {
+			zip.close();
+		} catch (IOException e) {
+			LaunchingPlugin.log(e);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,9 @@ package org.eclipse.jdt.launching.sourcelookup;
 
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
-import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -34,6 +33,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.jdt.internal.launching.LaunchingMessages;
 import org.eclipse.jdt.internal.launching.LaunchingPlugin;
+import org.eclipse.jdt.internal.launching.ZipFilePool;
 import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
 import org.eclipse.osgi.util.NLS;
 import org.w3c.dom.Document;
@@ -65,50 +65,54 @@ import org.xml.sax.helpers.DefaultHandler;
 public class ArchiveSourceLocation extends PlatformObject implements IJavaSourceLocation {
 
 	/**
-	 * Cache of shared zip files. Zip files are closed
-	 * when the launching plug-in is shutdown.
+	 * Archives returned by {@link #getArchive()}, keyed by name. The
+	 * reference acquired from the zip file pool for each is held until
+	 * {@link #closeArchives()}.
 	 */
-	private static HashMap<String, ZipFile> fZipFileCache = new HashMap<>(5);
+	private static final HashMap<String, ZipFile> fgArchives = new HashMap<>(5);
 
 	/**
-	 * Returns a zip file with the given name
-	 *
-	 * @param name zip file name
-	 * @return The zip file with the given name
-	 * @exception IOException if unable to create the specified zip
-	 * 	file
+	 * Closes all zip files that have been opened,
+	 * and removes them from the shared zip file pool.
+	 * Archives still in use by a source element are closed
+	 * once they are released.
+	 * This method is only to be called by the launching
+	 * plug-in.
 	 */
-	private static ZipFile getZipFile(String name) throws IOException {
-		synchronized (fZipFileCache) {
-			ZipFile zip = fZipFileCache.get(name);
-			if (zip == null) {
-				zip = new ZipFile(name);
-				fZipFileCache.put(name, zip);
+	public static void closeArchives() {
+		ZipFilePool pool = ZipFilePool.getDefault();
+		synchronized (fgArchives) {
+			for (ZipFile zip : fgArchives.values()) {
+				pool.release(zip);
 			}
-			return zip;
+			fgArchives.clear();
 		}
+		pool.closeAll();
 	}
 
 	/**
-	 * Closes all zip files that have been opened,
-	 * and removes them from the zip file cache.
-	 * This method is only to be called by the launching
-	 * plug-in.
+	 * Storage for a zip entry of a pooled archive. Contents are read
+	 * through the pool so that the storage remains valid after the
+	 * archive has been evicted from the pool.
 	 */
-	public static void closeArchives() {
-		synchronized (fZipFileCache) {
-			Iterator<ZipFile> iter = fZipFileCache.values().iterator();
-			while (iter.hasNext()) {
-				try (ZipFile file = iter.next()) {
-					synchronized (file) {
-						file.close();
-					}
-				}
-				catch (IOException e) {
-					LaunchingPlugin.log(e);
+	private static class PooledZipEntryStorage extends ZipEntryStorage {
+
+		PooledZipEntryStorage(ZipFile archive, ZipEntry entry) {
+			super(archive, entry);
+		}
+
+		@Override
+		public InputStream getContents() throws CoreException {
+			try {
+				InputStream stream = ZipFilePool.getDefault().getInputStream(getArchive().getName(), getZipEntry().getName());
+				if (stream != null) {
+					return stream;
 				}
+			} catch (IOException e) {
+				throw new CoreException(new Status(IStatus.ERROR, LaunchingPlugin.getUniqueIdentifier(), IJavaLaunchConfigurationConstants.ERR_INTERNAL_ERROR,
+					NLS.bind(LaunchingMessages.ArchiveSourceLocation_Unable_to_locate_source_element_in_archive__0__1, new String[] {getArchive().getName()}), e));
 			}
-			fZipFileCache.clear();
+			return super.getContents();
 		}
 	}
 
@@ -154,11 +158,9 @@ public class ArchiveSourceLocation extends PlatformObject implements IJavaSource
 	 */
 	@Override
 	public Object findSourceElement(String name) throws CoreException {
+		ZipFile zip = null;
 		try {
-			ZipFile zip = getArchive();
-			if (zip == null) {
-				return null;
-			}
+			zip = ZipFilePool.getDefault().acquire(getName());
 
 			boolean possibleInnerType = false;
 			String pathStr= name.replace('.', '/');
@@ -166,13 +168,13 @@ public class ArchiveSourceLocation extends PlatformObject implements IJavaSource
 			String typeName = pathStr;
 			do {
 				IPath entryPath = new Path(typeName + ".java"); //$NON-NLS-1$
-				autoDetectRoot(entryPath);
+				autoDetectRoot(zip, entryPath);
 				if (getRootPath() != null) {
 					entryPath = getRootPath().append(entryPath);
 				}
-				ZipEntry entry = getArchive().getEntry(entryPath.toString());
+				ZipEntry entry = zip.getEntry(entryPath.toString());
 				if (entry != null) {
-					return new ZipEntryStorage(zip, entry);
+					return new PooledZipEntryStorage(zip, entry);
 				}
 				int index = typeName.lastIndexOf('$');
 				if (index > lastSlash) {
@@ -186,45 +188,39 @@ public class ArchiveSourceLocation extends PlatformObject implements IJavaSource
 		} catch (IOException e) {
 			throw new CoreException(new Status(IStatus.ERROR, LaunchingPlugin.getUniqueIdentifier(), IJavaLaunchConfigurationConstants.ERR_INTERNAL_ERROR,
 				NLS.bind(LaunchingMessages.ArchiveSourceLocation_Unable_to_locate_source_element_in_archive__0__1, new String[] {getName()}), e));
+		} finally {
+			if (zip != null) {
+				ZipFilePool.getDefault().release(zip);
+			}
 		}
 	}
 
 	/**
-	 * Automatically detect the root path, if required.
+	 * Automatically detect the root path, if required. Uses the entry index of the
+	 * pooled archive rather than scanning all entries of the archive.
 	 *
+	 * @param zip the archive, acquired from the zip file pool
 	 * @param path source file name, excluding root path
 	 * @throws CoreException  if unable to detect the root path for this source archive
 	 */
-	private void autoDetectRoot(IPath path) throws CoreException {
+	private void autoDetectRoot(ZipFile zip, IPath path) throws CoreException {
 		if (!fRootDetected) {
-			ZipFile zip = null;
+			String fileName = path.toString();
 			try {
-				zip = getArchive();
-			} catch (IOException e) {
-				throw new CoreException(new Status(IStatus.ERROR, LaunchingPlugin.getUniqueIdentifier(), IJavaLaunchConfigurationConstants.ERR_INTERNAL_ERROR,
-					NLS.bind(LaunchingMessages.ArchiveSourceLocation_Exception_occurred_while_detecting_root_source_directory_in_archive__0__1, new String[] {getName()}), e));
-			}
-			synchronized (zip) {
-				Enumeration<? extends ZipEntry> entries = zip.entries();
-				String fileName = path.toString();
-				try {
-					while (entries.hasMoreElements()) {
-						ZipEntry entry = entries.nextElement();
-						String entryName = entry.getName();
-						if (entryName.endsWith(fileName)) {
-							int rootLength = entryName.length() - fileName.length();
-							if (rootLength > 0) {
-								String root = entryName.substring(0, rootLength);
-								setRootPath(root);
-							}
-							fRootDetected = true;
-							return;
+				for (String entryName : ZipFilePool.getDefault().getEntryNames(zip, path.lastSegment())) {
+					if (entryName.endsWith(fileName)) {
+						int rootLength = entryName.length() - fileName.length();
+						if (rootLength > 0) {
+							String root = entryName.substring(0, rootLength);
+							setRootPath(root);
 						}
+						fRootDetected = true;
+						return;
 					}
-				} catch (IllegalStateException e) {
-					throw new CoreException(new Status(IStatus.ERROR, LaunchingPlugin.getUniqueIdentifier(), IJavaLaunchConfigurationConstants.ERR_INTERNAL_ERROR,
-						NLS.bind(LaunchingMessages.ArchiveSourceLocation_Exception_occurred_while_detecting_root_source_directory_in_archive__0__2, new String[] {getName()}), e));
 				}
+			} catch (IllegalStateException e) {
+				throw new CoreException(new Status(IStatus.ERROR, LaunchingPlugin.getUniqueIdentifier(), IJavaLaunchConfigurationConstants.ERR_INTERNAL_ERROR,
+					NLS.bind(LaunchingMessages.ArchiveSourceLocation_Exception_occurred_while_detecting_root_source_directory_in_archive__0__2, new String[] {getName()}), e));
 			}
 		}
 	}
@@ -233,12 +229,24 @@ public class ArchiveSourceLocation extends PlatformObject implements IJavaSource
 	 * Returns the archive associated with this source
 	 * location.
 	 *
+	 * The archive is shared through the zip file pool, and
+	 * remains open until the archives are closed by
+	 * {@link #closeArchives()}.
+	 *
 	 * @return zip file
 	 * @throws IOException if unable to create the zip
 	 * 	file associated with this location
 	 */
 	protected ZipFile getArchive() throws IOException {
-		return getZipFile(getName());
+		String name = getName();
+		synchronized (fgArchives) {
+			ZipFile zip = fgArchives.get(name);
+			if (zip == null) {
+				zip = ZipFilePool.getDefault().acquire(name);
+				fgArchives.put(name, zip);
+			}
+			return zip;
+		}
 	}
 
 	/**
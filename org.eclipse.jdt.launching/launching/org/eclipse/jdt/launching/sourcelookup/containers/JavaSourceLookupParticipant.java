@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,23 +14,45 @@
 
 package org.eclipse.jdt.launching.sourcelookup.containers;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.sourcelookup.AbstractSourceLookupParticipant;
 import org.eclipse.debug.core.sourcelookup.ISourceContainer;
 import org.eclipse.debug.core.sourcelookup.ISourceLookupDirector;
 import org.eclipse.debug.core.sourcelookup.containers.ArchiveSourceContainer;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.debug.core.JavaDebugUtils;
+import org.eclipse.jdt.internal.launching.LaunchingPlugin;
 
 /**
  * A source lookup participant that searches for Java source code.
@@ -49,6 +71,46 @@ public class JavaSourceLookupParticipant extends AbstractSourceLookupParticipant
 	 */
 	private Map<ISourceContainer, PackageFragmentRootSourceContainer> fDelegateContainers;
 
+	/**
+	 * Maximum number of source names whose lookup results are cached
+	 */
+	private static final int RESULT_CACHE_SIZE = 512;
+
+	/**
+	 * Containers are only searched in parallel when there are at least this many
+	 */
+	private static final int PARALLEL_THRESHOLD = 4;
+
+	/**
+	 * Executor used to search source containers in parallel, shared by all participants
+	 * and shut down when the last participant is disposed
+	 */
+	private static ExecutorService fgExecutor;
+
+	/**
+	 * Number of participants that have been initialized and not yet disposed
+	 */
+	private static int fgParticipants = 0;
+
+	/**
+	 * Cache of lookup results (including empty results) for the current set of
+	 * source containers, keyed by source name. Cleared when the source containers
+	 * change, when source attachments change, and when archives are added or
+	 * removed. The results for the source names a file added or removed may match
+	 * are removed.
+	 */
+	private Map<String, Object[]> fResultCache;
+
+	/**
+	 * Removes the cached results that added or removed resources may change
+	 */
+	private IResourceChangeListener fResourceListener;
+
+	/**
+	 * Clears the result cache on classpath and source attachment changes
+	 */
+	private IElementChangedListener fElementListener;
+
 	/**
 	 * Returns the source name associated with the given object, or <code>null</code>
 	 * if none.
@@ -75,6 +137,19 @@ public class JavaSourceLookupParticipant extends AbstractSourceLookupParticipant
 			container.dispose();
 		}
 		fDelegateContainers = null;
+		if (fResourceListener != null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(fResourceListener);
+			fResourceListener = null;
+		}
+		if (fElementListener != null) {
+			JavaCore.removeElementChangedListener(fElementListener);
+			fElementListener = null;
+		}
+		if (fResultCache != null) {
+			clearResultCache();
+			fResultCache = null;
+			disconnect();
+		}
 		super.dispose();
 
 	}
@@ -97,6 +172,263 @@ public class JavaSourceLookupParticipant extends AbstractSourceLookupParticipant
 	public void init(ISourceLookupDirector director) {
 		super.init(director);
 		fDelegateContainers = new HashMap<>();
+		fResultCache = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Object[]> eldest) {
+				return size() > RESULT_CACHE_SIZE;
+			}
+		};
+		fResourceListener = event -> {
+			IResourceDelta delta = event.getDelta();
+			if (delta != null) {
+				invalidateResultCache(delta);
+			}
+		};
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(fResourceListener, IResourceChangeEvent.POST_CHANGE);
+		fElementListener = event -> {
+			if (affectsSourceAttachments(event.getDelta())) {
+				clearResultCache();
+			}
+		};
+		JavaCore.addElementChangedListener(fElementListener, ElementChangedEvent.POST_CHANGE);
+		connect();
+	}
+
+	/**
+	 * Removes the cached lookup results that the resources added or removed by
+	 * the given delta may change. A file matches the source names that are
+	 * suffixes of its path, <code>C.java</code>, <code>b/C.java</code> and
+	 * <code>a/b/C.java</code> for <code>/P/a/b/C.java</code>. The cache is
+	 * cleared when an archive is added or removed, or a project is opened or
+	 * closed, since their content is not described by the delta.
+	 *
+	 * @param delta resource delta
+	 * @return whether the cache was cleared
+	 */
+	private boolean invalidateResultCache(IResourceDelta delta) {
+		IResource resource = delta.getResource();
+		int kind = delta.getKind();
+		if ((delta.getFlags() & IResourceDelta.OPEN) != 0) {
+			clearResultCache();
+			return true;
+		}
+		if ((kind == IResourceDelta.ADDED || kind == IResourceDelta.REMOVED) && resource.getType() == IResource.FILE) {
+			String extension = resource.getFileExtension();
+			if ("jar".equalsIgnoreCase(extension) || "zip".equalsIgnoreCase(extension)) { //$NON-NLS-1$ //$NON-NLS-2$
+				clearResultCache();
+				return true;
+			}
+			Map<String, Object[]> cache = fResultCache;
+			if (cache != null) {
+				String[] segments = resource.getFullPath().segments();
+				String name = null;
+				synchronized (cache) {
+					for (int i = segments.length - 1; i >= 0; i--) {
+						name = name == null ? segments[i] : segments[i] + '/' + name;
+						cache.remove(name);
+						cache.remove(name + '*');
+					}
+				}
+			}
+			return false;
+		}
+		for (IResourceDelta child : delta.getAffectedChildren(IResourceDelta.ADDED | IResourceDelta.REMOVED | IResourceDelta.CHANGED)) {
+			if (invalidateResultCache(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the given delta describes a classpath or source attachment change.
+	 *
+	 * @param delta Java element delta
+	 * @return whether cached lookup results may be stale
+	 */
+	private boolean affectsSourceAttachments(IJavaElementDelta delta) {
+		int mask = IJavaElementDelta.F_SOURCEATTACHED | IJavaElementDelta.F_SOURCEDETACHED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+				| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH;
+		if ((delta.getFlags() & mask) != 0) {
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsSourceAttachments(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Clears cached lookup results.
+	 */
+	private void clearResultCache() {
+		Map<String, Object[]> cache = fResultCache;
+		if (cache != null) {
+			synchronized (cache) {
+				cache.clear();
+			}
+		}
+	}
+
+	/**
+	 * Notes that a participant has been initialized.
+	 */
+	private static synchronized void connect() {
+		fgParticipants++;
+	}
+
+	/**
+	 * Notes that a participant has been disposed, shutting down the executor
+	 * when no participant is left.
+	 */
+	private static synchronized void disconnect() {
+		if (--fgParticipants == 0 && fgExecutor != null) {
+			fgExecutor.shutdown();
+			fgExecutor = null;
+		}
+	}
+
+	/**
+	 * Returns the executor used to search source containers in parallel.
+	 *
+	 * @return executor
+	 */
+	private static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			AtomicInteger count = new AtomicInteger();
+			int threads = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+			fgExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread = new Thread(runnable, "Java Source Lookup " + count.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fgExecutor;
+	}
+
+	/**
+	 * Searches the source containers for the given object. Containers are searched
+	 * in parallel when there are several of them, and results are selected in
+	 * container order. Results, including empty results, are cached per source
+	 * name for the current set of source containers.
+	 *
+	 * @see org.eclipse.debug.core.sourcelookup.AbstractSourceLookupParticipant#findSourceElements(java.lang.Object)
+	 */
+	@Override
+	public Object[] findSourceElements(Object object) throws CoreException {
+		String name = getSourceName(object);
+		Map<String, Object[]> cache = fResultCache;
+		if (name == null || cache == null) {
+			return super.findSourceElements(object);
+		}
+		boolean duplicates = isFindDuplicates();
+		String key = duplicates ? name + '*' : name;
+		synchronized (cache) {
+			Object[] cached = cache.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		ISourceContainer[] containers = getSourceContainers();
+		ISourceContainer[] delegates = new ISourceContainer[containers.length];
+		for (int i = 0; i < containers.length; i++) {
+			delegates[i] = getDelegateContainer(containers[i]);
+		}
+		List<Object> results = new ArrayList<>();
+		List<CoreException> errors = new ArrayList<>();
+		if (delegates.length < PARALLEL_THRESHOLD) {
+			for (ISourceContainer delegate : delegates) {
+				if (collect(lookup(delegate, name), duplicates, results, errors)) {
+					break;
+				}
+			}
+		} else {
+			List<CompletableFuture<Object>> futures = new ArrayList<>(delegates.length);
+			ExecutorService executor = getExecutor();
+			for (ISourceContainer delegate : delegates) {
+				futures.add(CompletableFuture.supplyAsync(() -> lookup(delegate, name), executor));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				Object result;
+				try {
+					result = futures.get(i).join();
+				} catch (CompletionException e) {
+					result = new CoreException(new Status(IStatus.ERROR, LaunchingPlugin.getUniqueIdentifier(), e.getMessage(), e.getCause()));
+				}
+				if (collect(result, duplicates, results, errors)) {
+					for (int j = i + 1; j < futures.size(); j++) {
+						futures.get(j).cancel(false);
+					}
+					break;
+				}
+			}
+		}
+		// as the platform, failures are only reported when no container has the source
+		if (results.isEmpty() && !errors.isEmpty()) {
+			if (errors.size() == 1) {
+				throw errors.get(0);
+			}
+			IStatus[] statuses = new IStatus[errors.size()];
+			for (int i = 0; i < statuses.length; i++) {
+				statuses[i] = errors.get(i).getStatus();
+			}
+			MultiStatus status = new MultiStatus(DebugPlugin.getUniqueIdentifier(), DebugPlugin.ERROR, statuses, "Source lookup error", null); //$NON-NLS-1$
+			throw new CoreException(status);
+		}
+		Object[] elements = results.isEmpty() ? EMPTY : results.toArray();
+		if (errors.isEmpty()) {
+			synchronized (cache) {
+				if (cache == fResultCache) {
+					cache.put(key, elements);
+				}
+			}
+		}
+		return elements;
+	}
+
+	/**
+	 * Returns the source elements found in the given container, or the exception
+	 * of the failure.
+	 *
+	 * @param container source container
+	 * @param name source name
+	 * @return <code>Object[]</code> of source elements, or a <code>CoreException</code>
+	 */
+	private static Object lookup(ISourceContainer container, String name) {
+		if (container == null) {
+			return EMPTY;
+		}
+		try {
+			return container.findSourceElements(name);
+		} catch (CoreException e) {
+			return e;
+		}
+	}
+
+	/**
+	 * Adds the result of a container lookup to the results collected so far.
+	 *
+	 * @return whether the search is complete
+	 */
+	private static boolean collect(Object result, boolean duplicates, List<Object> results, List<CoreException> errors) {
+		if (result instanceof CoreException) {
+			errors.add((CoreException) result);
+			return false;
+		}
+		Object[] objects = (Object[]) result;
+		if (objects.length == 0) {
+			return false;
+		}
+		if (duplicates) {
+			Collections.addAll(results, objects);
+			return false;
+		}
+		results.add(objects[0]);
+		return true;
 	}
 	/* (non-Javadoc)
 	 * @see org.eclipse.debug.internal.core.sourcelookup.ISourceLookupParticipant#sourceContainersChanged(org.eclipse.debug.internal.core.sourcelookup.ISourceLookupDirector)
@@ -105,6 +437,7 @@ public class JavaSourceLookupParticipant extends AbstractSourceLookupParticipant
 	public void sourceContainersChanged(ISourceLookupDirector director) {
 		// use package fragment roots in place of local archives, where they exist
 		fDelegateContainers.clear();
+		clearResultCache();
 		ISourceContainer[] containers = director.getSourceContainers();
 		for (int i = 0; i < containers.length; i++) {
 			ISourceContainer container = containers[i];